@@ -0,0 +1,158 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.microbenchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sonar.duplications.block.Block;
+import org.sonar.duplications.block.ByteArray;
+import org.sonar.duplications.index.CloneIndex;
+import org.sonar.duplications.index.OffHeapCloneIndex;
+import org.sonar.duplications.index.PackedMemoryCloneIndex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the in-memory CPD indices used by batch: {@link PackedMemoryCloneIndex} (int arrays on heap)
+ * and {@link OffHeapCloneIndex} (direct buffers). Indices are filled once, then queried by hash
+ * and by resource, as done by detection of duplications. Run with -prof gc to compare allocation rates.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.Throughput)
+public class CloneIndexBenchmark {
+
+  static final int BLOCKS_PER_FILE = 100;
+
+  @Param({"100000", "1000000"})
+  public int nbBlocks;
+
+  private final Random random = new Random(42);
+
+  private PackedMemoryCloneIndex packedIndex;
+  private OffHeapCloneIndex offHeapIndex;
+  private ByteArray[] hashes;
+  private String[] resourceIds;
+
+  private final OffHeapCloneIndex.Visitor countingVisitor = new OffHeapCloneIndex.Visitor() {
+    @Override
+    public void visit(OffHeapCloneIndex.BlockView block) {
+      visitedLines += block.getEndLine() - block.getStartLine();
+    }
+  };
+  private long visitedLines;
+
+  @Setup
+  public void setup() throws Exception {
+    packedIndex = new PackedMemoryCloneIndex();
+    offHeapIndex = new OffHeapCloneIndex();
+    int nbFiles = nbBlocks / BLOCKS_PER_FILE;
+    resourceIds = new String[nbFiles];
+    // about one block of ten is duplicated somewhere else
+    hashes = new ByteArray[nbBlocks / 10];
+    for (int i = 0; i < hashes.length; i++) {
+      hashes[i] = new ByteArray(random.nextLong());
+    }
+    for (int file = 0; file < nbFiles; file++) {
+      resourceIds[file] = "org/sonar/File" + file + ".java";
+      for (int i = 0; i < BLOCKS_PER_FILE; i++) {
+        ByteArray hash = random.nextInt(10) == 0 ? hashes[random.nextInt(hashes.length)] : new ByteArray(random.nextLong());
+        Block block = Block.builder()
+          .setResourceId(resourceIds[file])
+          .setBlockHash(hash)
+          .setIndexInFile(i)
+          .setLines(i, i + 10)
+          .setUnit(i, i + 10)
+          .build();
+        packedIndex.insert(block);
+        offHeapIndex.insert(block);
+      }
+    }
+    // sort both indices before measuring queries
+    packedIndex.getBySequenceHash(hashes[0]);
+    offHeapIndex.freeze();
+  }
+
+  @Benchmark
+  public int packed_by_hash() {
+    return byHash(packedIndex);
+  }
+
+  @Benchmark
+  public int offHeap_by_hash() {
+    return byHash(offHeapIndex);
+  }
+
+  @Benchmark
+  public int offHeap_visit_by_hash() {
+    return offHeapIndex.visitBySequenceHash(hashes[random.nextInt(hashes.length)], countingVisitor);
+  }
+
+  @Benchmark
+  public int packed_by_resource() {
+    return byResource(packedIndex);
+  }
+
+  @Benchmark
+  public int offHeap_by_resource() {
+    return byResource(offHeapIndex);
+  }
+
+  @Benchmark
+  public int offHeap_visit_by_resource() {
+    return offHeapIndex.visitByResourceId(resourceIds[random.nextInt(resourceIds.length)], countingVisitor);
+  }
+
+  private int byHash(CloneIndex index) {
+    return index.getBySequenceHash(hashes[random.nextInt(hashes.length)]).size();
+  }
+
+  private int byResource(CloneIndex index) {
+    return index.getByResourceId(resourceIds[random.nextInt(resourceIds.length)]).size();
+  }
+
+  /**
+   * You can this benchmark with maven command-line (see run.sh) or by executing this method
+   * in IDE
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+      .include(CloneIndexBenchmark.class.getSimpleName())
+      .build();
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.microbenchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.utils.Duration;
+import org.sonar.api.utils.System2;
+import org.sonar.server.computation.issue.DefaultIssueSerializer;
+import org.sonar.server.util.CloseableIterator;
+import org.sonar.server.util.ObjectInputStreamIterator;
+import org.sonar.server.util.cache.DiskCache;
+import org.sonar.server.util.cache.JavaSerializer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the formats of {@link DiskCache} when writing then reading the issues of an analysis:
+ * <ul>
+ *   <li>legacy: single Java serialization stream, as done before the introduction of binary records</li>
+ *   <li>java: length-prefixed records serialized with {@link JavaSerializer}</li>
+ *   <li>binary: length-prefixed records serialized with {@link DefaultIssueSerializer}</li>
+ *   <li>binary_lz4: same as binary, compressed with LZ4</li>
+ * </ul>
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class DiskCacheBenchmark {
+
+  static final int NB_OF_ISSUES = 10000;
+
+  File outputFile;
+  List<DefaultIssue> issues = new ArrayList<>();
+
+  @Setup
+  public void setup() throws Exception {
+    outputFile = File.createTempFile("microbenchmark", ".out");
+    for (int i = 0; i < NB_OF_ISSUES; i++) {
+      issues.add(new DefaultIssue()
+        .setKey("UUID_" + i)
+        .setComponentUuid("FILE_" + (i / 10))
+        .setComponentKey("org.codehaus.sonar:sonar-server:src/main/java/File" + (i / 10) + ".java")
+        .setProjectUuid("PROJECT")
+        .setProjectKey("org.codehaus.sonar:sonar")
+        .setRuleKey(RuleKey.of("squid", "S00" + (i % 100)))
+        .setSeverity("BLOCKER")
+        .setMessage("this is the message of issue " + i)
+        .setLine(i)
+        .setDebt(Duration.create(10L))
+        .setStatus("OPEN")
+        .setChecksum("c7b5db46591806455cf082bb348631e8")
+        .setAuthorLogin("someone")
+        .setCreationDate(new Date())
+        .setTags(Arrays.asList("tag" + i, "othertag" + i)));
+    }
+  }
+
+  @Benchmark
+  public int legacy() throws Exception {
+    try (ObjectOutputStream output = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile, false)))) {
+      for (DefaultIssue issue : issues) {
+        output.writeObject(issue);
+      }
+    }
+    try (CloseableIterator<DefaultIssue> it = new ObjectInputStreamIterator<>(new BufferedInputStream(new FileInputStream(outputFile)))) {
+      return consume(it);
+    }
+  }
+
+  @Benchmark
+  public int java() throws Exception {
+    return writeAndRead(new DiskCache<>(outputFile, System2.INSTANCE, new JavaSerializer<DefaultIssue>(), false));
+  }
+
+  @Benchmark
+  public int binary() throws Exception {
+    return writeAndRead(new DiskCache<>(outputFile, System2.INSTANCE, new DefaultIssueSerializer(), false));
+  }
+
+  @Benchmark
+  public int binary_lz4() throws Exception {
+    return writeAndRead(new DiskCache<>(outputFile, System2.INSTANCE, new DefaultIssueSerializer(), true));
+  }
+
+  int writeAndRead(DiskCache<DefaultIssue> cache) {
+    try (DiskCache<DefaultIssue>.DiskAppender appender = cache.newAppender()) {
+      for (DefaultIssue issue : issues) {
+        appender.append(issue);
+      }
+    }
+    try (CloseableIterator<DefaultIssue> it = cache.traverse()) {
+      return consume(it);
+    }
+  }
+
+  private static int consume(CloseableIterator<DefaultIssue> it) {
+    int count = 0;
+    while (it.hasNext()) {
+      it.next();
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * You can this benchmark with maven command-line (see run.sh) or by executing this method
+   * in IDE
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+      .include(DiskCacheBenchmark.class.getSimpleName())
+      .build();
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.microbenchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sonar.batch.issue.tracking.FileHashes;
+import org.sonar.batch.issue.tracking.IssueTrackingBlocksRecognizer;
+import org.sonar.batch.issue.tracking.LinesDiff;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways of matching the lines of issues between two versions of a large file, when lines
+ * can't be matched by their hashes only:
+ * <ul>
+ *   <li>blocks: weight of all the pairs of lines, as done before the introduction of {@link LinesDiff}</li>
+ *   <li>diff: {@link LinesDiff}</li>
+ * </ul>
+ * The new version of file is generated by inserting, deleting and modifying random lines.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+public class IssueTrackingBenchmark {
+
+  /**
+   * One issue every ISSUE_PERIOD lines
+   */
+  static final int ISSUE_PERIOD = 10;
+
+  @Param({"1000", "5000", "20000"})
+  public int nbOfLines;
+
+  /**
+   * Percentage of lines which are edited in the new version
+   */
+  @Param({"1", "10"})
+  public int editRatio;
+
+  FileHashes reference;
+  FileHashes source;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(nbOfLines);
+    String[] referenceHashes = new String[nbOfLines];
+    List<String> sourceHashes = new ArrayList<>();
+    for (int i = 0; i < nbOfLines; i++) {
+      // source code has a lot of duplicated lines, like braces or blank lines
+      referenceHashes[i] = "line" + random.nextInt(nbOfLines / 4);
+      if (random.nextInt(100) < editRatio) {
+        switch (random.nextInt(3)) {
+          case 0:
+            sourceHashes.add("inserted" + i);
+            sourceHashes.add(referenceHashes[i]);
+            break;
+          case 1:
+            // deleted
+            break;
+          default:
+            sourceHashes.add("modified" + i);
+            break;
+        }
+      } else {
+        sourceHashes.add(referenceHashes[i]);
+      }
+    }
+    reference = FileHashes.create(referenceHashes);
+    source = FileHashes.create(sourceHashes.toArray(new String[sourceHashes.size()]));
+  }
+
+  @Benchmark
+  public int blocks() {
+    IssueTrackingBlocksRecognizer rec = new IssueTrackingBlocksRecognizer(reference, source);
+    List<int[]> pairs = new ArrayList<>();
+    for (int oldLine = 1; oldLine <= reference.length(); oldLine += ISSUE_PERIOD) {
+      for (int newLine = 1; newLine <= source.length(); newLine += ISSUE_PERIOD) {
+        pairs.add(new int[] {oldLine, newLine, rec.computeLengthOfMaximalBlock(oldLine, newLine)});
+      }
+    }
+    Collections.sort(pairs, new Comparator<int[]>() {
+      @Override
+      public int compare(int[] o1, int[] o2) {
+        int weightDiff = o2[2] - o1[2];
+        if (weightDiff != 0) {
+          return weightDiff;
+        }
+        return Math.abs(o1[0] - o1[1]) - Math.abs(o2[0] - o2[1]);
+      }
+    });
+    return pairs.size();
+  }
+
+  @Benchmark
+  public int diff() {
+    LinesDiff diff = LinesDiff.compute(reference, source);
+    int matched = 0;
+    for (int oldLine = 1; oldLine <= reference.length(); oldLine += ISSUE_PERIOD) {
+      if (diff.matchingLine(oldLine) > 0 || diff.replacingLine(oldLine) > 0) {
+        matched++;
+      }
+    }
+    return matched;
+  }
+
+  /**
+   * You can this benchmark with maven command-line (see run.sh) or by executing this method
+   * in IDE
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+      .include(IssueTrackingBenchmark.class.getSimpleName())
+      .build();
+    new Runner(opt).run();
+  }
+}
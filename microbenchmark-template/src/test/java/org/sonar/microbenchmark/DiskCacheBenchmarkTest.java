@@ -0,0 +1,64 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.microbenchmark;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DiskCacheBenchmarkTest {
+
+  DiskCacheBenchmark benchmark = new DiskCacheBenchmark();
+
+  @Before
+  public void setUp() throws Exception {
+    benchmark.setup();
+  }
+
+  @Test
+  public void size_of_legacy_output() throws Exception {
+    assertThat(benchmark.legacy()).isEqualTo(DiskCacheBenchmark.NB_OF_ISSUES);
+    System.out.println("Legacy java.io.Serializable: " + sizeOfOutput());
+  }
+
+  @Test
+  public void size_of_java_output() throws Exception {
+    assertThat(benchmark.java()).isEqualTo(DiskCacheBenchmark.NB_OF_ISSUES);
+    System.out.println("Records of java.io.Serializable: " + sizeOfOutput());
+  }
+
+  @Test
+  public void size_of_binary_output() throws Exception {
+    assertThat(benchmark.binary()).isEqualTo(DiskCacheBenchmark.NB_OF_ISSUES);
+    System.out.println("Binary records: " + sizeOfOutput());
+  }
+
+  @Test
+  public void size_of_binary_lz4_output() throws Exception {
+    assertThat(benchmark.binary_lz4()).isEqualTo(DiskCacheBenchmark.NB_OF_ISSUES);
+    System.out.println("Binary records (LZ4): " + sizeOfOutput());
+  }
+
+  private String sizeOfOutput() {
+    return FileUtils.byteCountToDisplaySize(FileUtils.sizeOf(benchmark.outputFile));
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.benchmark;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+import org.junit.Rule;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.issue.Issue;
+import org.sonar.api.resources.Qualifiers;
+import org.sonar.api.resources.Scopes;
+import org.sonar.api.rule.Severity;
+import org.sonar.api.utils.internal.Uuids;
+import org.sonar.core.component.ComponentDto;
+import org.sonar.server.issue.index.IssueAuthorizationDao;
+import org.sonar.server.issue.index.IssueAuthorizationIndexer;
+import org.sonar.server.issue.index.IssueDoc;
+import org.sonar.server.issue.index.IssueIndex;
+import org.sonar.server.issue.index.IssueIndexer;
+import org.sonar.server.tester.ServerTester;
+import org.sonar.server.user.MockUserSession;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Timer;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streaming of the issues of a big project, as requested by preview and incremental analyses
+ */
+public class IssueIndexBatchBenchmarkTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger("benchmarkIssuesForBatch");
+
+  static final String PROJECT_UUID = "PROJECT1";
+  static final int MODULES = 10;
+  static final int FILES = 10000;
+  static final int ISSUES_PER_FILE = 100;
+
+  @Rule
+  public ServerTester tester = new ServerTester();
+
+  @Rule
+  public Benchmark benchmark = new Benchmark();
+
+  @Test
+  public void benchmark() throws Exception {
+    IssueAuthorizationDao.Dto authorization = new IssueAuthorizationDao.Dto(PROJECT_UUID, System.currentTimeMillis());
+    authorization.addGroup("sonar-users");
+    tester.get(IssueAuthorizationIndexer.class).index(Arrays.asList(authorization));
+
+    LOGGER.info("Indexing issues");
+    IssueIterator issues = new IssueIterator();
+    ProgressTask progressTask = new ProgressTask(LOGGER, "issues", issues.count);
+    Timer timer = new Timer("IssuesIndex");
+    timer.schedule(progressTask, ProgressTask.PERIOD_MS, ProgressTask.PERIOD_MS);
+    tester.get(IssueIndexer.class).index(issues);
+    timer.cancel();
+
+    MockUserSession.set().setLogin("john").setUserGroups("sonar-users");
+    ComponentDto project = new ComponentDto().setUuid(PROJECT_UUID).setScope(Scopes.PROJECT).setQualifier(Qualifiers.PROJECT);
+    for (int scrollSize : new int[] {100, IssueIndex.BATCH_SCROLL_SIZE, 10000}) {
+      benchmarkScroll(project, scrollSize);
+    }
+  }
+
+  private void benchmarkScroll(ComponentDto project, int scrollSize) {
+    IssueIndex index = tester.get(IssueIndex.class);
+    long start = System.currentTimeMillis();
+    long count = 0L;
+    for (Iterator<IssueDoc> it = index.selectIssuesForBatch(project, scrollSize); it.hasNext();) {
+      IssueDoc issue = it.next();
+      // fields read by batch/issues
+      issue.key();
+      issue.moduleUuid();
+      issue.ruleKey();
+      count++;
+    }
+    long period = System.currentTimeMillis() - start;
+    long throughputPerSecond = 1000L * count / Math.max(1L, period);
+    LOGGER.info(String.format("%d issues streamed with scroll size %d in %d ms (%d issues/second)", count, scrollSize, period, throughputPerSecond));
+    // wide range, as throughput has not been calibrated on the benchmark box yet
+    benchmark.expectBetween("Throughput to stream issues with scroll size " + scrollSize, throughputPerSecond, 5000L, 500000L);
+
+    // closed issues are not returned
+    assertThat(count).isGreaterThan(0L).isLessThan((long) FILES * ISSUES_PER_FILE);
+  }
+
+  private static class IssueIterator implements Iterator<IssueDoc> {
+    private final AtomicLong count = new AtomicLong(0L);
+    private final Iterator<String> severities = Iterables.cycle(Severity.ALL).iterator();
+    private final Iterator<String> statuses = Iterables.cycle(Issue.STATUSES).iterator();
+    private int currentFile = 0;
+
+    @Override
+    public boolean hasNext() {
+      return count.get() < (long) FILES * ISSUES_PER_FILE;
+    }
+
+    @Override
+    public IssueDoc next() {
+      String moduleUuid = "MODULE" + (currentFile % MODULES);
+      IssueDoc issue = new IssueDoc(Maps.<String, Object>newHashMap());
+      issue.setKey(Uuids.create());
+      issue.setFilePath("src/main/java/Foo" + currentFile);
+      issue.setComponentUuid("FILE" + currentFile);
+      issue.setModuleUuid(moduleUuid);
+      issue.setModuleUuidPath("." + PROJECT_UUID + "." + moduleUuid + ".");
+      issue.setProjectUuid(PROJECT_UUID);
+      issue.setRuleKey("squid:rule" + (count.get() % 1000));
+      issue.setSeverity(severities.next());
+      issue.setManualSeverity(false);
+      String status = statuses.next();
+      issue.setStatus(status);
+      issue.setResolution(Issue.STATUS_CLOSED.equals(status) ? Issue.RESOLUTION_FIXED : null);
+      issue.setLine((int) (count.get() % 1000) + 1);
+      issue.setChecksum("checksum" + count.get());
+      issue.setMessage("this is the message. Not too short.");
+      issue.setFuncCreationDate(new Date());
+      issue.setTechnicalUpdateDate(new Date());
+      count.incrementAndGet();
+      if (count.get() % ISSUES_PER_FILE == 0) {
+        currentFile++;
+      }
+      return issue;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -20,6 +20,9 @@
 
 package org.sonar.core.computation.dbcleaner;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.picocontainer.Startable;
 import org.sonar.api.CoreProperties;
 import org.sonar.api.ServerComponent;
 import org.sonar.api.config.Settings;
@@ -28,22 +31,35 @@ import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.core.computation.dbcleaner.period.DefaultPeriodCleaner;
 import org.sonar.core.persistence.DbSession;
+import org.sonar.core.persistence.MyBatis;
 import org.sonar.core.purge.IdUuidPair;
 import org.sonar.core.purge.PurgeConfiguration;
 import org.sonar.core.purge.PurgeDao;
 import org.sonar.core.purge.PurgeListener;
 import org.sonar.core.purge.PurgeProfiler;
+import org.sonar.server.db.DbClient;
 import org.sonar.server.issue.index.IssueIndex;
 import org.sonar.server.properties.ProjectSettingsFactory;
 
 import javax.annotation.Nullable;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.sonar.core.purge.PurgeConfiguration.newDefaultPurgeConfiguration;
 
-public class ProjectCleaner implements ServerComponent {
+/**
+ * Purges the history of projects. Purges requested by {@link #purgeInBackground(IdUuidPair)} are executed
+ * sequentially by a single low-priority thread, so that the integration of analysis reports does not
+ * wait for housekeeping.
+ */
+public class ProjectCleaner implements ServerComponent, Startable {
   private static final Logger LOG = Loggers.get(ProjectCleaner.class);
+  private static final String THREAD_NAME = "project-purge";
 
   private final PurgeProfiler profiler;
   private final PurgeListener purgeListener;
@@ -51,15 +67,63 @@ public class ProjectCleaner implements ServerComponent {
   private final DefaultPeriodCleaner periodCleaner;
   private final ProjectSettingsFactory projectSettingsFactory;
   private final IssueIndex issueIndex;
+  private final DbClient dbClient;
+  private final ExecutorService executor;
+
+  /**
+   * Ids of the projects waiting for purge in the executor queue
+   */
+  private final Set<Long> pendingProjectIds = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
 
   public ProjectCleaner(PurgeDao purgeDao, DefaultPeriodCleaner periodCleaner, PurgeProfiler profiler, PurgeListener purgeListener,
-                        ProjectSettingsFactory projectSettingsFactory, IssueIndex issueIndex) {
+                        ProjectSettingsFactory projectSettingsFactory, IssueIndex issueIndex, DbClient dbClient) {
     this.purgeDao = purgeDao;
     this.periodCleaner = periodCleaner;
     this.profiler = profiler;
     this.purgeListener = purgeListener;
     this.projectSettingsFactory = projectSettingsFactory;
     this.issueIndex = issueIndex;
+    this.dbClient = dbClient;
+    this.executor = Executors.newSingleThreadExecutor(
+      new ThreadFactoryBuilder().setNameFormat(THREAD_NAME).setPriority(Thread.MIN_PRIORITY).build());
+  }
+
+  @Override
+  public void start() {
+    // nothing to do
+  }
+
+  @Override
+  public void stop() {
+    executor.shutdown();
+  }
+
+  /**
+   * Requests the purge of a project in background. Does nothing if the project is already waiting for purge.
+   */
+  public void purgeInBackground(final IdUuidPair idUuidPair) {
+    if (pendingProjectIds.add(idUuidPair.getId())) {
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          pendingProjectIds.remove(idUuidPair.getId());
+          purge(idUuidPair);
+        }
+      });
+    }
+  }
+
+  @VisibleForTesting
+  void purge(IdUuidPair idUuidPair) {
+    DbSession session = dbClient.openSession(true);
+    try {
+      purge(session, idUuidPair);
+    } catch (Exception e) {
+      // purge errors must not stop the thread
+      LOG.error("Fail to purge project [id=" + idUuidPair.getId() + "]", e);
+    } finally {
+      MyBatis.closeQuietly(session);
+    }
   }
 
   public ProjectCleaner purge(DbSession session, IdUuidPair idUuidPair) {
@@ -20,6 +20,7 @@
 
 package org.sonar.server.batch;
 
+import org.sonar.api.config.Settings;
 import org.sonar.api.resources.Scopes;
 import org.sonar.api.server.ws.Request;
 import org.sonar.api.server.ws.RequestHandler;
@@ -41,20 +42,36 @@ import java.io.OutputStream;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
 
 public class IssuesAction implements RequestHandler {
 
   private static final String PARAM_KEY = "key";
 
+  /**
+   * Number of issues for which module keys are loaded in a single request
+   */
+  static final int PAGE_SIZE = 1000;
+
+  /**
+   * Number of issues requested to each shard on each scroll. Default is {@link IssueIndex#BATCH_SCROLL_SIZE}.
+   */
+  public static final String SCROLL_SIZE_PROPERTY = "sonar.batch.issuesScrollSize";
+
   private final DbClient dbClient;
 
   private final IssueIndex issueIndex;
 
-  public IssuesAction(DbClient dbClient, IssueIndex issueIndex) {
+  private final int scrollSize;
+
+  public IssuesAction(DbClient dbClient, IssueIndex issueIndex, Settings settings) {
     this.dbClient = dbClient;
     this.issueIndex = issueIndex;
+    this.scrollSize = Math.max(1, settings.hasKey(SCROLL_SIZE_PROPERTY) ? settings.getInt(SCROLL_SIZE_PROPERTY) : IssueIndex.BATCH_SCROLL_SIZE);
   }
 
   void define(WebService.NewController controller) {
@@ -80,17 +97,50 @@ public class IssuesAction implements RequestHandler {
     DbSession session = dbClient.openSession(false);
     try {
       ComponentDto component = dbClient.componentDao().getByKey(session, moduleKey);
-      Map<String, String> keysByUUid = keysByUUid(session, component);
+      if (Scopes.FILE.equals(component.scope()) && component.moduleUuid() == null) {
+        throw new IllegalArgumentException(String.format("The component '%s' has no module uuid", component.uuid()));
+      }
+      Map<String, String> keysByUUid = newHashMap();
+      if (Scopes.PROJECT.equals(component.scope())) {
+        keysByUUid.put(component.uuid(), component.key());
+      }
 
       BatchInput.ServerIssue.Builder issueBuilder = BatchInput.ServerIssue.newBuilder();
-      for (Iterator<IssueDoc> issueDocIterator = issueIndex.selectIssuesForBatch(component); issueDocIterator.hasNext();) {
-        handleIssue(issueDocIterator.next(), issueBuilder, keysByUUid, response.stream().output());
+      List<IssueDoc> page = newArrayList();
+      for (Iterator<IssueDoc> issueDocIterator = issueIndex.selectIssuesForBatch(component, scrollSize); issueDocIterator.hasNext();) {
+        page.add(issueDocIterator.next());
+        if (page.size() == PAGE_SIZE) {
+          handlePage(session, page, issueBuilder, keysByUUid, response.stream().output());
+        }
       }
+      handlePage(session, page, issueBuilder, keysByUUid, response.stream().output());
     } finally {
       MyBatis.closeQuietly(session);
     }
   }
 
+  /**
+   * Keys of the modules that have not been met on previous pages are loaded in a single request,
+   * instead of loading the whole tree of modules before streaming issues.
+   */
+  private void handlePage(DbSession session, List<IssueDoc> page, BatchInput.ServerIssue.Builder issueBuilder, Map<String, String> keysByUUid, OutputStream out) {
+    Set<String> unknownModuleUuids = newHashSet();
+    for (IssueDoc issue : page) {
+      if (!keysByUUid.containsKey(issue.moduleUuid())) {
+        unknownModuleUuids.add(issue.moduleUuid());
+      }
+    }
+    if (!unknownModuleUuids.isEmpty()) {
+      for (ComponentDto module : dbClient.componentDao().getByUuids(session, unknownModuleUuids)) {
+        keysByUUid.put(module.uuid(), module.key());
+      }
+    }
+    for (IssueDoc issue : page) {
+      handleIssue(issue, issueBuilder, keysByUUid, out);
+    }
+    page.clear();
+  }
+
   private void handleIssue(IssueDoc issue, BatchInput.ServerIssue.Builder issueBuilder, Map<String, String> keysByUUid, OutputStream out) {
     issueBuilder.setKey(issue.key());
     issueBuilder.setModuleKey(keysByUUid.get(issue.moduleUuid()));
@@ -131,22 +181,4 @@ public class IssuesAction implements RequestHandler {
     }
     issueBuilder.clear();
   }
-
-  private Map<String, String> keysByUUid(DbSession session, ComponentDto component) {
-    Map<String, String> keysByUUid = newHashMap();
-    if (Scopes.PROJECT.equals(component.scope())) {
-      List<ComponentDto> modulesTree = dbClient.componentDao().selectModulesTree(session, component.uuid());
-      for (ComponentDto componentDto : modulesTree) {
-        keysByUUid.put(componentDto.uuid(), componentDto.key());
-      }
-    } else {
-      String moduleUuid = component.moduleUuid();
-      if (moduleUuid == null) {
-        throw new IllegalArgumentException(String.format("The component '%s' has no module uuid", component.uuid()));
-      }
-      ComponentDto module = dbClient.componentDao().getByUuid(session, moduleUuid);
-      keysByUUid.put(module.uuid(), module.key());
-    }
-    return keysByUUid;
-  }
 }
@@ -0,0 +1,178 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.batch;
+
+import org.sonar.api.ServerComponent;
+import org.sonar.batch.protocol.input.QProfile;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Least recently used project repositories, serialized as delimited protobuf messages. An entry is identified by the
+ * project, the module and the versions of its quality profiles, so that it's not used anymore as soon as a profile is
+ * updated or the project is re-created. Entries of a project are also invalidated when its settings change, when one of
+ * its analysis reports has been processed or when it's deleted.
+ */
+public class ProjectRepositoryCache implements ServerComponent {
+
+  static final long MAX_SIZE_IN_BYTES = 50L * 1024 * 1024;
+
+  private final long maxSizeInBytes;
+  private final LinkedHashMap<Key, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long sizeInBytes = 0L;
+  private long generation = 0L;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  public ProjectRepositoryCache() {
+    this(MAX_SIZE_IN_BYTES);
+  }
+
+  ProjectRepositoryCache(long maxSizeInBytes) {
+    this.maxSizeInBytes = maxSizeInBytes;
+  }
+
+  @CheckForNull
+  public synchronized byte[] get(Key key) {
+    byte[] repository = entries.get(key);
+    if (repository == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    return repository;
+  }
+
+  public long maxSizeInBytes() {
+    return maxSizeInBytes;
+  }
+
+  /**
+   * Identifier of the last invalidation, to be read before loading the repository to be put in cache.
+   */
+  public synchronized long generation() {
+    return generation;
+  }
+
+  /**
+   * The repository is not cached if the cache has been invalidated since it has been loaded, as it can be outdated.
+   */
+  public synchronized void put(Key key, byte[] repository, long loadedAtGeneration) {
+    if (loadedAtGeneration != generation || repository.length > maxSizeInBytes) {
+      return;
+    }
+    byte[] previous = entries.put(key, repository);
+    if (previous != null) {
+      sizeInBytes -= previous.length;
+    }
+    sizeInBytes += repository.length;
+    Iterator<byte[]> eldest = entries.values().iterator();
+    while (sizeInBytes > maxSizeInBytes) {
+      sizeInBytes -= eldest.next().length;
+      eldest.remove();
+    }
+  }
+
+  public synchronized void invalidateProject(String projectUuid) {
+    generation++;
+    for (Iterator<Map.Entry<Key, byte[]>> it = entries.entrySet().iterator(); it.hasNext();) {
+      Map.Entry<Key, byte[]> entry = it.next();
+      if (entry.getKey().projectUuid.equals(projectUuid)) {
+        sizeInBytes -= entry.getValue().length;
+        it.remove();
+      }
+    }
+  }
+
+  public synchronized void invalidateAll() {
+    generation++;
+    entries.clear();
+    sizeInBytes = 0L;
+  }
+
+  public long hits() {
+    return hits.get();
+  }
+
+  public long misses() {
+    return misses.get();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized long sizeInBytes() {
+    return sizeInBytes;
+  }
+
+  public static class Key {
+    private final String projectUuid;
+    private final String moduleKey;
+    private final String profileName;
+    private final boolean hasScanPerm;
+    private final String profileVersions;
+
+    public Key(String projectUuid, String moduleKey, @Nullable String profileName, boolean hasScanPerm, List<QProfile> qProfiles) {
+      this.projectUuid = projectUuid;
+      this.moduleKey = moduleKey;
+      this.profileName = profileName;
+      this.hasScanPerm = hasScanPerm;
+      StringBuilder sb = new StringBuilder();
+      for (QProfile qProfile : qProfiles) {
+        Date rulesUpdatedAt = qProfile.rulesUpdatedAt();
+        sb.append(qProfile.key()).append('=').append(rulesUpdatedAt != null ? rulesUpdatedAt.getTime() : 0L).append(';');
+      }
+      this.profileVersions = sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return hasScanPerm == key.hasScanPerm && projectUuid.equals(key.projectUuid) && moduleKey.equals(key.moduleKey)
+        && profileVersions.equals(key.profileVersions)
+        && (profileName != null ? profileName.equals(key.profileName) : key.profileName == null);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = projectUuid.hashCode();
+      result = 31 * result + moduleKey.hashCode();
+      result = 31 * result + (profileName != null ? profileName.hashCode() : 0);
+      result = 31 * result + (hasScanPerm ? 1 : 0);
+      result = 31 * result + profileVersions.hashCode();
+      return result;
+    }
+  }
+}
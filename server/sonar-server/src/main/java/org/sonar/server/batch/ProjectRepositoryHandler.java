@@ -0,0 +1,47 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.batch;
+
+import org.sonar.batch.protocol.input.ActiveRule;
+import org.sonar.batch.protocol.input.FileData;
+import org.sonar.batch.protocol.input.QProfile;
+
+import javax.annotation.Nullable;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Receives the different parts of a project repository as soon as they are loaded by {@link ProjectRepositoryLoader}.
+ * Settings of a same module can be given several times, in which case they must be merged.
+ */
+public interface ProjectRepositoryHandler {
+
+  void setLastAnalysisDate(@Nullable Date lastAnalysisDate);
+
+  void addSettings(String moduleKey, Map<String, String> properties);
+
+  void addQProfile(QProfile qProfile);
+
+  void addActiveRule(ActiveRule activeRule);
+
+  void addFileData(String moduleKey, String path, FileData fileData);
+
+}
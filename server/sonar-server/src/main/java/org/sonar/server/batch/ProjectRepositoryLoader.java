@@ -30,9 +30,12 @@ import org.sonar.api.resources.Languages;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.sonar.api.web.UserRole;
 import org.sonar.batch.protocol.input.FileData;
 import org.sonar.batch.protocol.input.ProjectRepositories;
+import org.sonar.batch.protocol.input.QProfile;
 import org.sonar.core.UtcDateUtils;
 import org.sonar.core.component.ComponentDto;
 import org.sonar.core.component.FilePathWithHashDto;
@@ -54,8 +57,13 @@ import org.sonar.server.search.QueryContext;
 import org.sonar.server.search.Result;
 import org.sonar.server.user.UserSession;
 
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 
 import static com.google.common.collect.Lists.newArrayList;
@@ -70,62 +78,123 @@ public class ProjectRepositoryLoader implements ServerComponent {
   private final QProfileLoader qProfileLoader;
   private final RuleService ruleService;
   private final Languages languages;
+  private final ProjectRepositoryCache cache;
 
   public ProjectRepositoryLoader(DbClient dbClient, QProfileFactory qProfileFactory, QProfileLoader qProfileLoader, RuleService ruleService,
-    Languages languages) {
+    Languages languages, ProjectRepositoryCache cache) {
     this.dbClient = dbClient;
     this.qProfileFactory = qProfileFactory;
     this.qProfileLoader = qProfileLoader;
     this.ruleService = ruleService;
     this.languages = languages;
+    this.cache = cache;
   }
 
   public ProjectRepositories load(ProjectRepositoryQuery query) {
+    ProjectRepositories ref = new ProjectRepositories();
+    load(query, new ProjectRepositoriesFiller(ref));
+    return ref;
+  }
+
+  /**
+   * Give the project repository to the handler piece by piece, without keeping it in memory.
+   */
+  public void load(ProjectRepositoryQuery query, ProjectRepositoryHandler ref) {
     boolean hasScanPerm = UserSession.get().hasGlobalPermission(GlobalPermissions.SCAN_EXECUTION);
     checkPermission(query.isPreview());
 
     DbSession session = dbClient.openSession(false);
     try {
-      ProjectRepositories ref = new ProjectRepositories();
-      String projectKey = query.getModuleKey();
-      ComponentDto module = dbClient.componentDao().getNullableByKey(session, query.getModuleKey());
-      // Current project/module can be null when analysing a new project
-      if (module != null) {
-        // Scan permission is enough to analyze all projects but preview permission is limited to projects user can access
-        if (query.isPreview() && !UserSession.get().hasProjectPermissionByUuid(UserRole.USER, module.projectUuid())) {
-          throw new ForbiddenException("You're not authorized to access to project '" + module.name() + "', please contact your SonarQube administrator.");
-        }
+      ComponentDto module = getModule(query, session);
+      ComponentDto project = module != null ? getProject(module, session) : null;
+      List<QProfile> qProfiles = getProfiles(project != null ? project.key() : query.getModuleKey(), query.getProfileName(), session);
+      load(session, query, module, project, qProfiles, hasScanPerm, ref);
+    } finally {
+      MyBatis.closeQuietly(session);
+    }
+  }
 
-        ComponentDto project = getProject(module, session);
-        if (!project.key().equals(module.key())) {
-          addSettings(ref, module.getKey(), getSettingsFromParents(module, hasScanPerm, session));
-          projectKey = project.key();
-        }
+  /**
+   * Write the project repository as delimited protobuf messages. They are served from {@link ProjectRepositoryCache}
+   * as long as the project, its settings and its quality profiles are not updated. Messages are streamed to the output
+   * while being loaded, a copy is kept for the cache only as long as it's not bigger than the cache.
+   */
+  public void writeProtobuf(ProjectRepositoryQuery query, OutputStream output) {
+    boolean hasScanPerm = UserSession.get().hasGlobalPermission(GlobalPermissions.SCAN_EXECUTION);
+    checkPermission(query.isPreview());
 
-        List<ComponentDto> modulesTree = dbClient.componentDao().selectModulesTree(session, module.uuid());
-        Map<String, String> moduleUuidsByKey = moduleUuidsByKey(module, modulesTree);
-        Map<String, Long> moduleIdsByKey = moduleIdsByKey(module, modulesTree);
+    DbSession session = dbClient.openSession(false);
+    try {
+      ComponentDto module = getModule(query, session);
+      ComponentDto project = module != null ? getProject(module, session) : null;
+      List<QProfile> qProfiles = getProfiles(project != null ? project.key() : query.getModuleKey(), query.getProfileName(), session);
+      if (module == null) {
+        // New project : nothing would invalidate the cache once it's analysed
+        load(session, query, null, null, qProfiles, hasScanPerm, new ProjectRepositoryProtobufWriter(output));
+        return;
+      }
 
-        List<PropertyDto> modulesTreeSettings = dbClient.propertiesDao().selectModulePropertiesTree(module.uuid(), session);
-        TreeModuleSettings treeModuleSettings = new TreeModuleSettings(moduleUuidsByKey, moduleIdsByKey, modulesTree, modulesTreeSettings, module);
+      ProjectRepositoryCache.Key key = new ProjectRepositoryCache.Key(module.projectUuid(), query.getModuleKey(), query.getProfileName(), hasScanPerm,
+        qProfiles);
+      byte[] repository = cache.get(key);
+      if (repository != null) {
+        output.write(repository);
+        return;
+      }
+      long generation = cache.generation();
+      CopyingOutputStream copyingOutput = new CopyingOutputStream(output, cache.maxSizeInBytes());
+      load(session, query, module, project, qProfiles, hasScanPerm, new ProjectRepositoryProtobufWriter(copyingOutput));
+      repository = copyingOutput.copy();
+      if (repository != null) {
+        cache.put(key, repository, generation);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to write project repository", e);
+    } finally {
+      MyBatis.closeQuietly(session);
+    }
+  }
 
-        addSettingsToChildrenModules(ref, query.getModuleKey(), Maps.<String, String>newHashMap(), treeModuleSettings, hasScanPerm, session);
-        addFileData(session, ref, modulesTree, module.uuid());
+  @CheckForNull
+  private ComponentDto getModule(ProjectRepositoryQuery query, DbSession session) {
+    ComponentDto module = dbClient.componentDao().getNullableByKey(session, query.getModuleKey());
+    // Scan permission is enough to analyze all projects but preview permission is limited to projects user can access
+    if (module != null && query.isPreview() && !UserSession.get().hasProjectPermissionByUuid(UserRole.USER, module.projectUuid())) {
+      throw new ForbiddenException("You're not authorized to access to project '" + module.name() + "', please contact your SonarQube administrator.");
+    }
+    return module;
+  }
 
-        // FIXME need real value but actually only used to know if there is a previous analysis in local issue tracking mode so any value is
-        // ok
-        ref.setLastAnalysisDate(new Date());
-      } else {
-        ref.setLastAnalysisDate(null);
+  private void load(DbSession session, ProjectRepositoryQuery query, @Nullable ComponentDto module, @Nullable ComponentDto project, List<QProfile> qProfiles,
+    boolean hasScanPerm, ProjectRepositoryHandler ref) {
+    // Current project/module can be null when analysing a new project
+    if (module != null && project != null) {
+      if (!project.key().equals(module.key())) {
+        addSettings(ref, module.getKey(), getSettingsFromParents(module, hasScanPerm, session));
       }
 
-      addProfiles(ref, projectKey, query.getProfileName(), session);
-      addActiveRules(ref);
-      addManualRules(ref);
-      return ref;
-    } finally {
-      MyBatis.closeQuietly(session);
+      List<ComponentDto> modulesTree = dbClient.componentDao().selectModulesTree(session, module.uuid());
+      Map<String, String> moduleUuidsByKey = moduleUuidsByKey(module, modulesTree);
+      Map<String, Long> moduleIdsByKey = moduleIdsByKey(module, modulesTree);
+
+      List<PropertyDto> modulesTreeSettings = dbClient.propertiesDao().selectModulePropertiesTree(module.uuid(), session);
+      TreeModuleSettings treeModuleSettings = new TreeModuleSettings(moduleUuidsByKey, moduleIdsByKey, modulesTree, modulesTreeSettings, module);
+
+      addSettingsToChildrenModules(ref, query.getModuleKey(), Maps.<String, String>newHashMap(), treeModuleSettings, hasScanPerm, session);
+      addFileData(session, ref, modulesTree, module.uuid());
+
+      // FIXME need real value but actually only used to know if there is a previous analysis in local issue tracking mode so any value is
+      // ok
+      ref.setLastAnalysisDate(new Date());
+    } else {
+      ref.setLastAnalysisDate(null);
     }
+
+    for (QProfile qProfile : qProfiles) {
+      ref.addQProfile(qProfile);
+    }
+    addActiveRules(ref, qProfiles);
+    addManualRules(ref);
   }
 
   private ComponentDto getProject(ComponentDto module, DbSession session) {
@@ -159,7 +228,7 @@ public class ProjectRepositoryLoader implements ServerComponent {
     }
   }
 
-  private void addSettingsToChildrenModules(ProjectRepositories ref, String moduleKey, Map<String, String> parentProperties, TreeModuleSettings treeModuleSettings,
+  private void addSettingsToChildrenModules(ProjectRepositoryHandler ref, String moduleKey, Map<String, String> parentProperties, TreeModuleSettings treeModuleSettings,
     boolean hasScanPerm, DbSession session) {
     Map<String, String> currentParentProperties = newHashMap();
     currentParentProperties.putAll(parentProperties);
@@ -167,12 +236,11 @@ public class ProjectRepositoryLoader implements ServerComponent {
     addSettings(ref, moduleKey, currentParentProperties);
 
     for (ComponentDto childModule : treeModuleSettings.findChildrenModule(moduleKey)) {
-      addSettings(ref, childModule.getKey(), currentParentProperties);
       addSettingsToChildrenModules(ref, childModule.getKey(), currentParentProperties, treeModuleSettings, hasScanPerm, session);
     }
   }
 
-  private void addSettings(ProjectRepositories ref, String module, Map<String, String> properties) {
+  private void addSettings(ProjectRepositoryHandler ref, String module, Map<String, String> properties) {
     if (!properties.isEmpty()) {
       ref.addSettings(module, properties);
     }
@@ -194,16 +262,18 @@ public class ProjectRepositoryLoader implements ServerComponent {
     return !key.contains(".secured") || hasScanPerm;
   }
 
-  private void addProfiles(ProjectRepositories ref, @Nullable String projectKey, @Nullable String profileName, DbSession session) {
+  private List<QProfile> getProfiles(@Nullable String projectKey, @Nullable String profileName, DbSession session) {
+    List<QProfile> qProfiles = newArrayList();
     for (Language language : languages.all()) {
       String languageKey = language.getKey();
       QualityProfileDto qualityProfileDto = getProfile(languageKey, projectKey, profileName, session);
-      ref.addQProfile(new org.sonar.batch.protocol.input.QProfile(
+      qProfiles.add(new QProfile(
         qualityProfileDto.getKey(),
         qualityProfileDto.getName(),
         qualityProfileDto.getLanguage(),
         UtcDateUtils.parseDateTime(qualityProfileDto.getRulesUpdatedAt())));
     }
+    return qProfiles;
   }
 
   /**
@@ -226,8 +296,8 @@ public class ProjectRepositoryLoader implements ServerComponent {
     }
   }
 
-  private void addActiveRules(ProjectRepositories ref) {
-    for (org.sonar.batch.protocol.input.QProfile qProfile : ref.qProfiles()) {
+  private void addActiveRules(ProjectRepositoryHandler ref, List<QProfile> qProfiles) {
+    for (QProfile qProfile : qProfiles) {
       // Load all rules of the profile language (only needed fields are loaded)
       Map<RuleKey, Rule> languageRules = ruleByRuleKey(ruleService.search(new RuleQuery().setLanguages(newArrayList(qProfile.language())),
         new QueryContext().setLimit(100).setFieldsToReturn(newArrayList(
@@ -268,7 +338,7 @@ public class ProjectRepositoryLoader implements ServerComponent {
     });
   }
 
-  private void addManualRules(ProjectRepositories ref) {
+  private void addManualRules(ProjectRepositoryHandler ref) {
     Result<Rule> ruleSearchResult = ruleService.search(new RuleQuery().setRepositories(newArrayList(RuleKey.MANUAL_REPOSITORY_KEY)), new QueryContext().setScroll(true)
       .setFieldsToReturn(newArrayList(RuleNormalizer.RuleField.KEY.field(), RuleNormalizer.RuleField.NAME.field())));
     Iterator<Rule> rules = ruleSearchResult.scroll();
@@ -282,16 +352,21 @@ public class ProjectRepositoryLoader implements ServerComponent {
     }
   }
 
-  private void addFileData(DbSession session, ProjectRepositories ref, List<ComponentDto> moduleChildren, String moduleKey) {
-    Map<String, String> moduleKeysByUuid = newHashMap();
+  private void addFileData(DbSession session, final ProjectRepositoryHandler ref, List<ComponentDto> moduleChildren, String moduleKey) {
+    final Map<String, String> moduleKeysByUuid = newHashMap();
     for (ComponentDto module : moduleChildren) {
       moduleKeysByUuid.put(module.uuid(), module.key());
     }
 
-    for (FilePathWithHashDto file : dbClient.componentDao().selectModuleFilesTree(session, moduleKey)) {
-      FileData fileData = new FileData(file.getSrcHash(), false, null, null, null);
-      ref.addFileData(moduleKeysByUuid.get(file.getModuleUuid()), file.getPath(), fileData);
-    }
+    // Files are given to the handler as soon as they are read, as there can be a lot of them
+    dbClient.componentDao().selectModuleFilesTree(session, moduleKey, new ResultHandler() {
+      @Override
+      public void handleResult(ResultContext context) {
+        FilePathWithHashDto file = (FilePathWithHashDto) context.getResultObject();
+        FileData fileData = new FileData(file.getSrcHash(), false, null, null, null);
+        ref.addFileData(moduleKeysByUuid.get(file.getModuleUuid()), file.getPath(), fileData);
+      }
+    });
   }
 
   private void checkPermission(boolean preview) {
@@ -326,6 +401,40 @@ public class ProjectRepositoryLoader implements ServerComponent {
     return moduleIdsByKey;
   }
 
+  private static class ProjectRepositoriesFiller implements ProjectRepositoryHandler {
+
+    private final ProjectRepositories ref;
+
+    private ProjectRepositoriesFiller(ProjectRepositories ref) {
+      this.ref = ref;
+    }
+
+    @Override
+    public void setLastAnalysisDate(@Nullable Date lastAnalysisDate) {
+      ref.setLastAnalysisDate(lastAnalysisDate);
+    }
+
+    @Override
+    public void addSettings(String moduleKey, Map<String, String> properties) {
+      ref.addSettings(moduleKey, properties);
+    }
+
+    @Override
+    public void addQProfile(QProfile qProfile) {
+      ref.addQProfile(qProfile);
+    }
+
+    @Override
+    public void addActiveRule(org.sonar.batch.protocol.input.ActiveRule activeRule) {
+      ref.addActiveRule(activeRule);
+    }
+
+    @Override
+    public void addFileData(String moduleKey, String path, FileData fileData) {
+      ref.addFileData(moduleKey, path, fileData);
+    }
+  }
+
   private static class TreeModuleSettings {
 
     private Map<String, Long> moduleIdsByKey;
@@ -362,4 +471,50 @@ public class ProjectRepositoryLoader implements ServerComponent {
       return newArrayList(moduleChildrenByModuleUuid.get(moduleUuid));
     }
   }
+
+  /**
+   * Writes to the wrapped stream and keeps a copy of the written bytes, which is dropped as soon as it exceeds the
+   * given size.
+   */
+  private static class CopyingOutputStream extends FilterOutputStream {
+    private final long maxCopySizeInBytes;
+    private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+    CopyingOutputStream(OutputStream out, long maxCopySizeInBytes) {
+      super(out);
+      this.maxCopySizeInBytes = maxCopySizeInBytes;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      if (copy != null) {
+        if (copy.size() + 1L > maxCopySizeInBytes) {
+          copy = null;
+        } else {
+          copy.write(b);
+        }
+      }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      if (copy != null) {
+        if (copy.size() + (long) len > maxCopySizeInBytes) {
+          copy = null;
+        } else {
+          copy.write(b, off, len);
+        }
+      }
+    }
+
+    /**
+     * @return null if the written bytes exceed the max size of the copy
+     */
+    @CheckForNull
+    byte[] copy() {
+      return copy != null ? copy.toByteArray() : null;
+    }
+  }
 }
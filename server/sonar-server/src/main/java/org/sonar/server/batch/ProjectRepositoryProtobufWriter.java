@@ -0,0 +1,135 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.batch;
+
+import org.sonar.batch.protocol.input.ActiveRule;
+import org.sonar.batch.protocol.input.BatchInput;
+import org.sonar.batch.protocol.input.FileData;
+import org.sonar.batch.protocol.input.QProfile;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Writes each part of the project repository as a delimited protobuf message, as soon as it's loaded.
+ */
+class ProjectRepositoryProtobufWriter implements ProjectRepositoryHandler {
+
+  private final OutputStream output;
+  private final BatchInput.ProjectRepositoryItem.Builder itemBuilder = BatchInput.ProjectRepositoryItem.newBuilder();
+
+  ProjectRepositoryProtobufWriter(OutputStream output) {
+    this.output = output;
+  }
+
+  @Override
+  public void setLastAnalysisDate(@Nullable Date lastAnalysisDate) {
+    if (lastAnalysisDate != null) {
+      itemBuilder.setLastAnalysisDate(lastAnalysisDate.getTime());
+      write();
+    }
+  }
+
+  @Override
+  public void addSettings(String moduleKey, Map<String, String> properties) {
+    BatchInput.ProjectRepositoryItem.ModuleSettings.Builder settingsBuilder = itemBuilder.getModuleSettingsBuilder();
+    settingsBuilder.setModuleKey(moduleKey);
+    for (Map.Entry<String, String> entry : properties.entrySet()) {
+      settingsBuilder.addProperty(toProperty(entry));
+    }
+    write();
+  }
+
+  @Override
+  public void addQProfile(QProfile qProfile) {
+    BatchInput.ProjectRepositoryItem.QProfile.Builder qProfileBuilder = itemBuilder.getQprofileBuilder();
+    qProfileBuilder
+      .setKey(qProfile.key())
+      .setName(qProfile.name())
+      .setLanguage(qProfile.language());
+    Date rulesUpdatedAt = qProfile.rulesUpdatedAt();
+    if (rulesUpdatedAt != null) {
+      qProfileBuilder.setRulesUpdatedAt(rulesUpdatedAt.getTime());
+    }
+    write();
+  }
+
+  @Override
+  public void addActiveRule(ActiveRule activeRule) {
+    BatchInput.ProjectRepositoryItem.ActiveRule.Builder ruleBuilder = itemBuilder.getActiveRuleBuilder();
+    ruleBuilder
+      .setRepositoryKey(activeRule.repositoryKey())
+      .setRuleKey(activeRule.ruleKey());
+    if (activeRule.templateRuleKey() != null) {
+      ruleBuilder.setTemplateRuleKey(activeRule.templateRuleKey());
+    }
+    if (activeRule.name() != null) {
+      ruleBuilder.setName(activeRule.name());
+    }
+    if (activeRule.severity() != null) {
+      ruleBuilder.setSeverity(activeRule.severity());
+    }
+    if (activeRule.internalKey() != null) {
+      ruleBuilder.setInternalKey(activeRule.internalKey());
+    }
+    if (activeRule.language() != null) {
+      ruleBuilder.setLanguage(activeRule.language());
+    }
+    for (Map.Entry<String, String> entry : activeRule.params().entrySet()) {
+      ruleBuilder.addParam(toProperty(entry));
+    }
+    write();
+  }
+
+  @Override
+  public void addFileData(String moduleKey, String path, FileData fileData) {
+    BatchInput.ProjectRepositoryItem.FileData.Builder fileBuilder = itemBuilder.getFileDataBuilder();
+    fileBuilder
+      .setModuleKey(moduleKey)
+      .setPath(path);
+    if (fileData.hash() != null) {
+      fileBuilder.setHash(fileData.hash());
+    }
+    write();
+  }
+
+  private static BatchInput.ProjectRepositoryItem.Property toProperty(Map.Entry<String, String> entry) {
+    BatchInput.ProjectRepositoryItem.Property.Builder propertyBuilder = BatchInput.ProjectRepositoryItem.Property.newBuilder()
+      .setKey(entry.getKey());
+    if (entry.getValue() != null) {
+      propertyBuilder.setValue(entry.getValue());
+    }
+    return propertyBuilder.build();
+  }
+
+  private void write() {
+    try {
+      itemBuilder.build().writeDelimitedTo(output);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to write project repository", e);
+    } finally {
+      itemBuilder.clear();
+    }
+  }
+}
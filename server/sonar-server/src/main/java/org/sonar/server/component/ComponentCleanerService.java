@@ -27,9 +27,11 @@ import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.MyBatis;
 import org.sonar.core.purge.IdUuidPair;
 import org.sonar.core.purge.PurgeDao;
+import org.sonar.server.batch.ProjectRepositoryCache;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.issue.index.IssueAuthorizationIndexer;
 import org.sonar.server.issue.index.IssueIndexer;
+import org.sonar.server.measure.index.ProjectMeasuresIndexer;
 import org.sonar.server.source.index.SourceLineIndexer;
 
 public class ComponentCleanerService implements ServerComponent {
@@ -39,14 +41,18 @@ public class ComponentCleanerService implements ServerComponent {
   private final IssueAuthorizationIndexer issueAuthorizationIndexer;
   private final IssueIndexer issueIndexer;
   private final SourceLineIndexer sourceLineIndexer;
+  private final ProjectMeasuresIndexer projectMeasuresIndexer;
+  private final ProjectRepositoryCache projectRepositoryCache;
 
   public ComponentCleanerService(DbClient dbClient, PurgeDao purgeDao, IssueAuthorizationIndexer issueAuthorizationIndexer, IssueIndexer issueIndexer,
-    SourceLineIndexer sourceLineIndexer) {
+    SourceLineIndexer sourceLineIndexer, ProjectMeasuresIndexer projectMeasuresIndexer, ProjectRepositoryCache projectRepositoryCache) {
     this.dbClient = dbClient;
     this.purgeDao = purgeDao;
     this.issueAuthorizationIndexer = issueAuthorizationIndexer;
     this.issueIndexer = issueIndexer;
     this.sourceLineIndexer = sourceLineIndexer;
+    this.projectMeasuresIndexer = projectMeasuresIndexer;
+    this.projectRepositoryCache = projectRepositoryCache;
   }
 
   public void delete(String projectKey) {
@@ -59,6 +65,7 @@ public class ComponentCleanerService implements ServerComponent {
       purgeDao.deleteResourceTree(new IdUuidPair(project.getId(), project.uuid()));
       dbSession.commit();
 
+      projectRepositoryCache.invalidateProject(project.uuid());
       deleteFromIndices(project.uuid());
     } finally {
       MyBatis.closeQuietly(dbSession);
@@ -70,6 +77,7 @@ public class ComponentCleanerService implements ServerComponent {
     issueAuthorizationIndexer.deleteProject(projectUuid, false);
     issueIndexer.deleteProject(projectUuid, true);
     sourceLineIndexer.deleteByProject(projectUuid);
+    projectMeasuresIndexer.deleteProject(projectUuid);
   }
 
 }
@@ -21,6 +21,8 @@
 package org.sonar.server.component.db;
 
 import com.google.common.base.Function;
+import com.google.common.collect.ImmutableMap;
+import org.apache.ibatis.session.ResultHandler;
 import org.sonar.api.ServerComponent;
 import org.sonar.api.resources.Qualifiers;
 import org.sonar.api.resources.Scopes;
@@ -103,6 +105,15 @@ public class ComponentDao extends BaseDao<ComponentMapper, ComponentDto, String>
     return mapper(session).selectModuleFilesTree(rootComponentUuid, Scopes.FILE);
   }
 
+  /**
+   * Same as {@link #selectModuleFilesTree(DbSession, String)} but rows are given one by one to the handler, so that
+   * files of big projects are not loaded all together in memory.
+   */
+  public void selectModuleFilesTree(DbSession session, String rootComponentUuid, ResultHandler handler) {
+    session.select("org.sonar.core.component.db.ComponentMapper.selectModuleFilesTree",
+      ImmutableMap.of("moduleUuid", rootComponentUuid, "scope", Scopes.FILE), handler);
+  }
+
   public List<ComponentDto> getByIds(final DbSession session, Collection<Long> ids) {
     return DaoUtils.executeLargeInputs(ids, new Function<List<Long>, List<ComponentDto>>() {
       @Override
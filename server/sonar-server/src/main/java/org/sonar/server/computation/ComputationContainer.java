@@ -37,19 +37,29 @@ import java.util.List;
 
 public class ComputationContainer {
 
+  /**
+   * {@link ComponentContainer} supports a single child container and its list of children is not thread-safe.
+   * Creation and removal of the containers of concurrent computation workers are serialized, and each worker
+   * removes its own container.
+   */
+  private static final Object CONTAINER_LOCK = new Object();
+
   public void execute(ReportQueue.Item item) {
     ComponentContainer container = Platform.getInstance().getContainer();
-    ComponentContainer child = container.createChild();
+    ComponentContainer child;
+    synchronized (CONTAINER_LOCK) {
+      child = container.createChild();
+    }
     child.addSingletons(componentClasses());
     child.addSingletons(ComputationSteps.orderedStepClasses());
     child.startComponents();
     try {
       child.getComponentByType(ComputationService.class).process(item);
     } finally {
-      child.stopComponents();
-      // TODO not possible to have multiple children -> will be
-      // a problem when we will have multiple concurrent computation workers
-      container.removeChild();
+      synchronized (CONTAINER_LOCK) {
+        child.stopComponents();
+        container.getPicoContainer().removeChildContainer(child.getPicoContainer());
+      }
     }
   }
 
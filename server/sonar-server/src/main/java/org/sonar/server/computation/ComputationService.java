@@ -20,7 +20,10 @@
 
 package org.sonar.server.computation;
 
+import com.google.common.base.Joiner;
 import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.ArrayUtils;
 import org.sonar.api.ServerComponent;
@@ -37,12 +40,22 @@ import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.MyBatis;
 import org.sonar.server.activity.Activity;
 import org.sonar.server.activity.ActivityService;
+import org.sonar.server.batch.ProjectRepositoryCache;
 import org.sonar.server.computation.step.ComputationStep;
 import org.sonar.server.computation.step.ComputationSteps;
 import org.sonar.server.db.DbClient;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.sonar.api.utils.DateUtils.formatDateTimeNullSafe;
 import static org.sonar.api.utils.DateUtils.longToDate;
@@ -56,14 +69,16 @@ public class ComputationService implements ServerComponent {
   private final ActivityService activityService;
   private final TempFolder tempFolder;
   private final System2 system;
+  private final ProjectRepositoryCache projectRepositoryCache;
 
   public ComputationService(DbClient dbClient, ComputationSteps steps, ActivityService activityService,
-    TempFolder tempFolder, System2 system) {
+    TempFolder tempFolder, System2 system, ProjectRepositoryCache projectRepositoryCache) {
     this.dbClient = dbClient;
     this.steps = steps;
     this.activityService = activityService;
     this.tempFolder = tempFolder;
     this.system = system;
+    this.projectRepositoryCache = projectRepositoryCache;
   }
 
   public void process(ReportQueue.Item item) {
@@ -71,17 +86,12 @@ public class ComputationService implements ServerComponent {
       "Analysis of project %s (report %d)", item.dto.getProjectKey(), item.dto.getId()));
 
     ComponentDto project = loadProject(item);
+    Map<ComputationStep, Long> durations = Collections.synchronizedMap(new LinkedHashMap<ComputationStep, Long>());
     try {
       File reportDir = extractReportInDir(item);
       BatchReportReader reader = new BatchReportReader(reportDir);
       ComputationContext context = new ComputationContext(reader, project);
-      for (ComputationStep step : steps.orderedSteps()) {
-        if (ArrayUtils.contains(step.supportedProjectQualifiers(), context.getProject().qualifier())) {
-          Profiler stepProfiler = Profiler.createIfDebug(LOG).startDebug(step.getDescription());
-          step.execute(context);
-          stepProfiler.stopDebug();
-        }
-      }
+      executeSteps(context, durations);
       item.dto.succeed();
 
     } catch (Exception e) {
@@ -90,11 +100,78 @@ public class ComputationService implements ServerComponent {
 
     } finally {
       item.dto.setFinishedAt(system.now());
-      saveActivity(item.dto, project);
+      saveActivity(item.dto, project, durations);
+      // settings and file hashes sent to next analyses may have changed
+      projectRepositoryCache.invalidateProject(project.uuid());
       profiler.stopInfo();
     }
   }
 
+  private void executeSteps(ComputationContext context, Map<ComputationStep, Long> durations) throws InterruptedException {
+    ExecutorService executor = null;
+    try {
+      for (List<ComputationStep> stage : steps.stages()) {
+        List<StepTask> tasks = Lists.newArrayList();
+        for (ComputationStep step : stage) {
+          if (ArrayUtils.contains(step.supportedProjectQualifiers(), context.getProject().qualifier())) {
+            tasks.add(new StepTask(step, context, durations));
+          }
+        }
+        if (tasks.size() == 1) {
+          tasks.get(0).call();
+        } else if (tasks.size() > 1) {
+          if (executor == null) {
+            executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+              .setNameFormat(Thread.currentThread().getName() + "-step-%d")
+              .setDaemon(true)
+              .build());
+          }
+          // waits for all the steps of the stage, then fails on the first error
+          for (Future<Void> future : executor.invokeAll(tasks)) {
+            getUnchecked(future);
+          }
+        }
+      }
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  private static void getUnchecked(Future<Void> future) throws InterruptedException {
+    try {
+      future.get();
+    } catch (ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  private class StepTask implements Callable<Void> {
+    private final ComputationStep step;
+    private final ComputationContext context;
+    private final Map<ComputationStep, Long> durations;
+
+    private StepTask(ComputationStep step, ComputationContext context, Map<ComputationStep, Long> durations) {
+      this.step = step;
+      this.context = context;
+      this.durations = durations;
+    }
+
+    @Override
+    public Void call() {
+      Profiler stepProfiler = Profiler.createIfDebug(LOG).startDebug(step.getDescription());
+      long startedAt = system.now();
+      try {
+        step.execute(context);
+      } finally {
+        durations.put(step, system.now() - startedAt);
+        stepProfiler.stopDebug();
+      }
+      return null;
+    }
+  }
+
   private File extractReportInDir(ReportQueue.Item item) {
     File dir = tempFolder.newDir();
     try {
@@ -120,7 +197,7 @@ public class ComputationService implements ServerComponent {
     }
   }
 
-  private void saveActivity(AnalysisReportDto report, ComponentDto project) {
+  private void saveActivity(AnalysisReportDto report, ComponentDto project, Map<ComputationStep, Long> durations) {
     Activity activity = new Activity();
     activity.setType(Activity.Type.ANALYSIS_REPORT);
     activity.setAction("LOG_ANALYSIS_REPORT");
@@ -132,7 +209,23 @@ public class ComputationService implements ServerComponent {
       .setData("status", String.valueOf(report.getStatus()))
       .setData("submittedAt", formatDateTimeNullSafe(longToDate(report.getCreatedAt())))
       .setData("startedAt", formatDateTimeNullSafe(longToDate(report.getStartedAt())))
-      .setData("finishedAt", formatDateTimeNullSafe(longToDate(report.getFinishedAt())));
+      .setData("finishedAt", formatDateTimeNullSafe(longToDate(report.getFinishedAt())))
+      // reports are processed synchronously by the thread of the computation worker
+      .setData("worker", Thread.currentThread().getName())
+      .setData("stepDurations", formatDurations(durations));
     activityService.save(activity);
   }
+
+  /**
+   * Wall-clock durations of the executed steps, for example "Parse report: 120ms, Persist issues: 35ms"
+   */
+  private static String formatDurations(Map<ComputationStep, Long> durations) {
+    List<String> result = Lists.newArrayList();
+    synchronized (durations) {
+      for (Map.Entry<ComputationStep, Long> duration : durations.entrySet()) {
+        result.add(String.format("%s: %dms", duration.getKey().getDescription(), duration.getValue()));
+      }
+    }
+    return Joiner.on(", ").join(result);
+  }
 }
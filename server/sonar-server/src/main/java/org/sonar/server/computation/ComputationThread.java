@@ -24,6 +24,8 @@ import com.google.common.annotations.VisibleForTesting;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 
+import javax.annotation.CheckForNull;
+
 /**
  * This thread pops a report from the queue and integrate it.
  */
@@ -31,22 +33,40 @@ public class ComputationThread implements Runnable {
 
   private static final Logger LOG = Loggers.get(ComputationThread.class);
 
+  private final String name;
   private final ReportQueue queue;
   private final ComputationContainer container;
+  private volatile ReportQueue.Item currentItem = null;
 
   public ComputationThread(ReportQueue queue) {
-    this.queue = queue;
-    this.container = new ComputationContainer();
+    this(ComputationThreadLauncher.THREAD_NAME_PREFIX + "0", queue);
+  }
+
+  public ComputationThread(String name, ReportQueue queue) {
+    this(name, queue, new ComputationContainer());
   }
 
   @VisibleForTesting
   ComputationThread(ReportQueue queue, ComputationContainer container) {
+    this(ComputationThreadLauncher.THREAD_NAME_PREFIX + "0", queue, container);
+  }
+
+  @VisibleForTesting
+  ComputationThread(String name, ReportQueue queue, ComputationContainer container) {
+    this.name = name;
     this.queue = queue;
     this.container = container;
   }
 
   @Override
   public void run() {
+    process();
+  }
+
+  /**
+   * @return true if a report has been popped from the queue
+   */
+  boolean process() {
     ReportQueue.Item item = null;
     try {
       item = queue.pop();
@@ -54,15 +74,34 @@ public class ComputationThread implements Runnable {
       LOG.error("Failed to pop the queue of analysis reports", e);
     }
     if (item != null) {
+      currentItem = item;
       try {
         container.execute(item);
       } catch (Exception e) {
         LOG.error(String.format(
           "Failed to process analysis report %d of project %s", item.dto.getId(), item.dto.getProjectKey()), e);
       } finally {
+        currentItem = null;
         removeSilentlyFromQueue(item);
       }
     }
+    return item != null;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * The report being processed, or null if the thread is idle
+   */
+  @CheckForNull
+  public ReportQueue.Item getCurrentItem() {
+    return currentItem;
+  }
+
+  public boolean isIdle() {
+    return currentItem == null;
   }
 
   private void removeSilentlyFromQueue(ReportQueue.Item item) {
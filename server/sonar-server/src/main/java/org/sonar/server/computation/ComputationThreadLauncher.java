@@ -21,41 +21,64 @@
 package org.sonar.server.computation;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.picocontainer.Startable;
 import org.sonar.api.ServerComponent;
+import org.sonar.api.config.Settings;
 import org.sonar.api.platform.Server;
 import org.sonar.api.platform.ServerStartHandler;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Launches the workers that integrate analysis reports. Each worker has its own thread and
+ * polls the queue periodically. Reports of a same project are never processed at the same time,
+ * see {@link ReportQueue#pop()}.
+ */
 public class ComputationThreadLauncher implements Startable, ServerComponent, ServerStartHandler {
 
   public static final String THREAD_NAME_PREFIX = "computation-";
 
-  private final ReportQueue queue;
-  private final ScheduledExecutorService executorService;
+  /**
+   * Number of reports that can be processed at the same time. Default is 1.
+   * @since 5.1
+   */
+  public static final String WORKERS_PROPERTY = "sonar.computation.workers";
+
+  private final List<Worker> workers;
 
   private final long delayBetweenTasks;
   private final long delayForFirstStart;
   private final TimeUnit timeUnit;
 
-  public ComputationThreadLauncher(ReportQueue queue) {
-    this.queue = queue;
-    this.executorService = Executors.newSingleThreadScheduledExecutor(newThreadFactory());
+  public ComputationThreadLauncher(ReportQueue queue, Settings settings) {
+    this(queue, 0, 10, TimeUnit.SECONDS, Math.max(1, settings.getInt(WORKERS_PROPERTY)));
+  }
 
-    this.delayBetweenTasks = 10;
-    this.delayForFirstStart = 0;
-    this.timeUnit = TimeUnit.SECONDS;
+  @VisibleForTesting
+  ComputationThreadLauncher(ReportQueue queue) {
+    this(queue, 0, 10, TimeUnit.SECONDS, 1);
   }
 
   @VisibleForTesting
   ComputationThreadLauncher(ReportQueue queue, long delayForFirstStart, long delayBetweenTasks, TimeUnit timeUnit) {
-    this.queue = queue;
-    this.executorService = Executors.newSingleThreadScheduledExecutor(newThreadFactory());
+    this(queue, delayForFirstStart, delayBetweenTasks, timeUnit, 1);
+  }
+
+  @VisibleForTesting
+  ComputationThreadLauncher(ReportQueue queue, long delayForFirstStart, long delayBetweenTasks, TimeUnit timeUnit, int nbOfWorkers) {
+    List<Worker> list = new ArrayList<>();
+    for (int i = 0; i < nbOfWorkers; i++) {
+      String name = THREAD_NAME_PREFIX + i;
+      list.add(new Worker(new ComputationThread(name, queue), Executors.newSingleThreadScheduledExecutor(newThreadFactory(name))));
+    }
+    this.workers = ImmutableList.copyOf(list);
 
     this.delayBetweenTasks = delayBetweenTasks;
     this.delayForFirstStart = delayForFirstStart;
@@ -69,20 +92,62 @@ public class ComputationThreadLauncher implements Startable, ServerComponent, Se
 
   @Override
   public void stop() {
-    executorService.shutdown();
+    for (Worker worker : workers) {
+      worker.executorService.shutdown();
+    }
   }
 
+  /**
+   * Wakes up an idle worker, so that a newly submitted report does not wait for the next periodic check
+   * of the queue. Does nothing if all workers are busy.
+   */
   public void startAnalysisTaskNow() {
-    executorService.execute(new ComputationThread(queue));
+    for (Worker worker : workers) {
+      if (worker.thread.isIdle()) {
+        worker.executorService.execute(worker);
+        return;
+      }
+    }
   }
 
   @Override
   public void onServerStart(Server server) {
-    executorService.scheduleAtFixedRate(new ComputationThread(queue), delayForFirstStart, delayBetweenTasks, timeUnit);
+    for (Worker worker : workers) {
+      worker.executorService.scheduleAtFixedRate(worker, delayForFirstStart, delayBetweenTasks, timeUnit);
+    }
+  }
+
+  /**
+   * Status of workers, for monitoring
+   */
+  public List<ComputationThread> getWorkers() {
+    List<ComputationThread> threads = new ArrayList<>();
+    for (Worker worker : workers) {
+      threads.add(worker.thread);
+    }
+    return threads;
   }
 
-  private ThreadFactory newThreadFactory() {
+  private static ThreadFactory newThreadFactory(String name) {
     return new ThreadFactoryBuilder()
-      .setNameFormat(THREAD_NAME_PREFIX + "%d").setPriority(Thread.MIN_PRIORITY).build();
+      .setNameFormat(name).setPriority(Thread.MIN_PRIORITY).build();
+  }
+
+  private static class Worker implements Runnable {
+    private final ComputationThread thread;
+    private final ScheduledExecutorService executorService;
+
+    private Worker(ComputationThread thread, ScheduledExecutorService executorService) {
+      this.thread = thread;
+      this.executorService = executorService;
+    }
+
+    @Override
+    public void run() {
+      // The queue is drained without waiting for the next periodic check
+      while (thread.process() && !executorService.isShutdown()) {
+        // next report
+      }
+    }
   }
 }
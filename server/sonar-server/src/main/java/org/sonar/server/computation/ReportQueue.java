@@ -103,8 +103,12 @@ public class ReportQueue implements ServerComponent {
     }
   }
 
+  /**
+   * Books the oldest pending report of a project that is not already being processed. Calls are
+   * serialized, so that concurrent workers never book two reports of the same project.
+   */
   @CheckForNull
-  public Item pop() {
+  public synchronized Item pop() {
     DbSession session = dbClient.openSession(false);
     try {
       AnalysisReportDto dto = dbClient.analysisReportDao().pop(session);
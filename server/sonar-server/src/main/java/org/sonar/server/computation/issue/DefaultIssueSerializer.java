@@ -0,0 +1,260 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation.issue;
+
+import org.sonar.api.issue.IssueComment;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.issue.internal.DefaultIssueComment;
+import org.sonar.api.issue.internal.FieldDiffs;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.utils.Duration;
+import org.sonar.server.util.cache.Serializer;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Charsets.UTF_8;
+
+/**
+ * Compact binary format of {@link DefaultIssue} used by {@link IssueCache}. Scalar fields
+ * are written explicitly. Comments and changes, which are rare and contain arbitrary values,
+ * are delegated to Java serialization.
+ */
+public class DefaultIssueSerializer implements Serializer<DefaultIssue> {
+
+  private static final int MANUAL_SEVERITY = 1;
+  private static final int NEW = 1 << 1;
+  private static final int END_OF_LIFE = 1 << 2;
+  private static final int ON_DISABLED_RULE = 1 << 3;
+  private static final int CHANGED = 1 << 4;
+  private static final int SEND_NOTIFICATIONS = 1 << 5;
+
+  @Override
+  public void write(DefaultIssue issue, DataOutputStream output) throws IOException {
+    writeString(issue.key(), output);
+    writeString(issue.componentUuid(), output);
+    writeString(issue.componentKey(), output);
+    writeString(issue.moduleUuid(), output);
+    writeString(issue.moduleUuidPath(), output);
+    writeString(issue.projectUuid(), output);
+    writeString(issue.projectKey(), output);
+    RuleKey ruleKey = issue.ruleKey();
+    writeString(ruleKey != null ? ruleKey.repository() : null, output);
+    writeString(ruleKey != null ? ruleKey.rule() : null, output);
+    writeString(issue.language(), output);
+    writeString(issue.severity(), output);
+    writeString(issue.message(), output);
+    writeLong(issue.line() != null ? issue.line().longValue() : null, output);
+    Double effortToFix = issue.effortToFix();
+    output.writeBoolean(effortToFix != null);
+    if (effortToFix != null) {
+      output.writeDouble(effortToFix);
+    }
+    writeLong(issue.debtInMinutes(), output);
+    writeString(issue.status(), output);
+    writeString(issue.resolution(), output);
+    writeString(issue.reporter(), output);
+    writeString(issue.assignee(), output);
+    writeString(issue.checksum(), output);
+    writeString(issue.authorLogin(), output);
+    writeString(issue.actionPlanKey(), output);
+    writeDate(issue.creationDate(), output);
+    writeDate(issue.updateDate(), output);
+    writeDate(issue.closeDate(), output);
+    writeLong(issue.selectedAt(), output);
+    output.writeByte(flags(issue));
+
+    Map<String, String> attributes = issue.attributes();
+    output.writeInt(attributes.size());
+    for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+      writeString(attribute.getKey(), output);
+      writeString(attribute.getValue(), output);
+    }
+    Collection<String> tags = issue.tags();
+    output.writeInt(tags.size());
+    for (String tag : tags) {
+      writeString(tag, output);
+    }
+
+    boolean hasHistory = !issue.comments().isEmpty() || !issue.changes().isEmpty() || issue.currentChange() != null;
+    output.writeBoolean(hasHistory);
+    if (hasHistory) {
+      // serialized in the same stream in order to keep the current change
+      // identical to the last one of the list of changes
+      ObjectOutputStream objectOutput = new ObjectOutputStream(output);
+      objectOutput.writeObject(new ArrayList<>(issue.comments()));
+      objectOutput.writeObject(new ArrayList<>(issue.changes()));
+      objectOutput.writeObject(issue.currentChange());
+      objectOutput.flush();
+    }
+  }
+
+  @Override
+  public DefaultIssue read(DataInputStream input) throws IOException {
+    DefaultIssue issue = new DefaultIssue();
+    issue.setKey(readString(input));
+    issue.setComponentUuid(readString(input));
+    issue.setComponentKey(readString(input));
+    issue.setModuleUuid(readString(input));
+    issue.setModuleUuidPath(readString(input));
+    issue.setProjectUuid(readString(input));
+    issue.setProjectKey(readString(input));
+    String repository = readString(input);
+    String rule = readString(input);
+    if (repository != null && rule != null) {
+      issue.setRuleKey(RuleKey.of(repository, rule));
+    }
+    issue.setLanguage(readString(input));
+    issue.setSeverity(readString(input));
+    issue.setMessage(readString(input));
+    Long line = readLong(input);
+    issue.setLine(line != null ? line.intValue() : null);
+    if (input.readBoolean()) {
+      issue.setEffortToFix(input.readDouble());
+    }
+    Long debt = readLong(input);
+    issue.setDebt(debt != null ? Duration.create(debt) : null);
+    String status = readString(input);
+    if (status != null) {
+      issue.setStatus(status);
+    }
+    issue.setResolution(readString(input));
+    issue.setReporter(readString(input));
+    issue.setAssignee(readString(input));
+    issue.setChecksum(readString(input));
+    issue.setAuthorLogin(readString(input));
+    issue.setActionPlanKey(readString(input));
+    issue.setCreationDate(readDate(input));
+    issue.setUpdateDate(readDate(input));
+    issue.setCloseDate(readDate(input));
+    issue.setSelectedAt(readLong(input));
+    int flags = input.readByte();
+    issue.setManualSeverity((flags & MANUAL_SEVERITY) != 0);
+    issue.setNew((flags & NEW) != 0);
+    issue.setEndOfLife((flags & END_OF_LIFE) != 0);
+    issue.setOnDisabledRule((flags & ON_DISABLED_RULE) != 0);
+    issue.setChanged((flags & CHANGED) != 0);
+    issue.setSendNotifications((flags & SEND_NOTIFICATIONS) != 0);
+
+    int nbOfAttributes = input.readInt();
+    for (int i = 0; i < nbOfAttributes; i++) {
+      issue.setAttribute(readString(input), readString(input));
+    }
+    int nbOfTags = input.readInt();
+    if (nbOfTags > 0) {
+      List<String> tags = new ArrayList<>(nbOfTags);
+      for (int i = 0; i < nbOfTags; i++) {
+        tags.add(readString(input));
+      }
+      issue.setTags(tags);
+    }
+
+    if (input.readBoolean()) {
+      readHistory(issue, input);
+    }
+    return issue;
+  }
+
+  private static void readHistory(DefaultIssue issue, DataInputStream input) throws IOException {
+    ObjectInputStream objectInput = new ObjectInputStream(input);
+    try {
+      List<IssueComment> comments = (List<IssueComment>) objectInput.readObject();
+      List<FieldDiffs> changes = (List<FieldDiffs>) objectInput.readObject();
+      FieldDiffs currentChange = (FieldDiffs) objectInput.readObject();
+      for (IssueComment comment : comments) {
+        issue.addComment((DefaultIssueComment) comment);
+      }
+      if (currentChange != null) {
+        // also adds the current change to list of changes, which is overridden just below
+        issue.setCurrentChange(currentChange);
+      }
+      if (!changes.isEmpty()) {
+        issue.setChanges(changes);
+      }
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("Fail to deserialize history of issue " + issue.key(), e);
+    }
+  }
+
+  private static int flags(DefaultIssue issue) {
+    int flags = 0;
+    flags |= issue.manualSeverity() ? MANUAL_SEVERITY : 0;
+    flags |= issue.isNew() ? NEW : 0;
+    flags |= issue.isEndOfLife() ? END_OF_LIFE : 0;
+    flags |= issue.isOnDisabledRule() ? ON_DISABLED_RULE : 0;
+    flags |= issue.isChanged() ? CHANGED : 0;
+    flags |= issue.mustSendNotifications() ? SEND_NOTIFICATIONS : 0;
+    return flags;
+  }
+
+  private static void writeString(@Nullable String s, DataOutputStream output) throws IOException {
+    if (s == null) {
+      output.writeInt(-1);
+    } else {
+      byte[] bytes = s.getBytes(UTF_8);
+      output.writeInt(bytes.length);
+      output.write(bytes);
+    }
+  }
+
+  @CheckForNull
+  private static String readString(DataInputStream input) throws IOException {
+    int length = input.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    input.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  private static void writeLong(@Nullable Long l, DataOutputStream output) throws IOException {
+    output.writeBoolean(l != null);
+    if (l != null) {
+      output.writeLong(l);
+    }
+  }
+
+  @CheckForNull
+  private static Long readLong(DataInputStream input) throws IOException {
+    return input.readBoolean() ? input.readLong() : null;
+  }
+
+  private static void writeDate(@Nullable Date date, DataOutputStream output) throws IOException {
+    writeLong(date != null ? date.getTime() : null, output);
+  }
+
+  @CheckForNull
+  private static Date readDate(DataInputStream input) throws IOException {
+    Long time = readLong(input);
+    return time != null ? new Date(time) : null;
+  }
+}
@@ -31,6 +31,7 @@ import org.sonar.server.computation.ComputationContext;
 import org.sonar.server.util.cache.DiskCache;
 
 import java.util.Date;
+import java.util.Iterator;
 
 public class IssueComputation {
 
@@ -48,8 +49,16 @@ public class IssueComputation {
   }
 
   public void processComponentIssues(ComputationContext context, String componentUuid, Iterable<BatchReport.Issue> issues) {
+    processComponentIssues(context, componentUuid, issues.iterator());
+  }
+
+  /**
+   * Issues are consumed one at a time, so that they don't need to be all loaded in memory
+   */
+  public void processComponentIssues(ComputationContext context, String componentUuid, Iterator<BatchReport.Issue> issues) {
     linesCache.init(componentUuid);
-    for (BatchReport.Issue reportIssue : issues) {
+    while (issues.hasNext()) {
+      BatchReport.Issue reportIssue = issues.next();
       DefaultIssue issue = toDefaultIssue(context, componentUuid, reportIssue);
       if (issue.isNew()) {
         guessAuthor(issue);
@@ -43,10 +43,11 @@ public class ComputationSteps {
       IndexComponentsStep.class,
       PurgeDatastoresStep.class,
 
-      // ES indexing is done after all db changes
+      // ES indexing is done after all db changes. Indices are populated concurrently.
       ApplyPermissionsStep.class,
       IndexIssuesStep.class,
       IndexSourceLinesStep.class,
+      IndexProjectMeasuresStep.class,
       IndexViewsStep.class,
 
       // Purge of removed views has to be done after Views has been indexed
@@ -57,15 +58,60 @@ public class ComputationSteps {
   }
 
   private final List<ComputationStep> orderedSteps;
+  private final List<List<ComputationStep>> stages;
 
   public ComputationSteps(ComputationStep... s) {
     this.orderedSteps = order(s);
+    this.stages = stages(orderedSteps);
   }
 
   public List<ComputationStep> orderedSteps() {
     return orderedSteps;
   }
 
+  /**
+   * Steps grouped by stages, ordered by execution sequence. The steps of a stage do not
+   * depend on each other, so they can be executed concurrently once the previous stages
+   * are completed. See {@link DependsOn}.
+   */
+  public List<List<ComputationStep>> stages() {
+    return stages;
+  }
+
+  private static List<List<ComputationStep>> stages(List<ComputationStep> orderedSteps) {
+    List<Class<? extends ComputationStep>> classes = orderedStepClasses();
+    int[] stageIndices = new int[classes.size()];
+    int lastStageIndex = -1;
+    for (int i = 0; i < classes.size(); i++) {
+      DependsOn dependsOn = classes.get(i).getAnnotation(DependsOn.class);
+      int stageIndex = lastStageIndex + 1;
+      if (dependsOn != null) {
+        stageIndex = 0;
+        for (Class<? extends ComputationStep> dependency : dependsOn.value()) {
+          int dependencyIndex = classes.subList(0, i).indexOf(dependency);
+          if (dependencyIndex < 0) {
+            throw new IllegalStateException(String.format("Step %s must be declared after its dependency %s", classes.get(i), dependency));
+          }
+          stageIndex = Math.max(stageIndex, stageIndices[dependencyIndex] + 1);
+        }
+      }
+      stageIndices[i] = stageIndex;
+      lastStageIndex = Math.max(lastStageIndex, stageIndex);
+    }
+
+    List<List<ComputationStep>> result = Lists.newArrayList();
+    for (int stageIndex = 0; stageIndex <= lastStageIndex; stageIndex++) {
+      List<ComputationStep> stage = Lists.newArrayList();
+      for (int i = 0; i < stageIndices.length; i++) {
+        if (stageIndices[i] == stageIndex) {
+          stage.add(orderedSteps.get(i));
+        }
+      }
+      result.add(stage);
+    }
+    return result;
+  }
+
   private static List<ComputationStep> order(ComputationStep[] steps) {
     List<ComputationStep> result = Lists.newArrayList();
     for (Class<? extends ComputationStep> clazz : orderedStepClasses()) {
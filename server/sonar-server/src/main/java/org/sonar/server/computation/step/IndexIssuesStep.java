@@ -25,6 +25,7 @@ import org.sonar.server.computation.ComputationContext;
 import org.sonar.server.issue.index.IssueAuthorizationIndexer;
 import org.sonar.server.issue.index.IssueIndexer;
 
+@DependsOn(ApplyPermissionsStep.class)
 public class IndexIssuesStep implements ComputationStep {
 
   private final IssueAuthorizationIndexer authorizationIndexer;
@@ -23,6 +23,7 @@ import org.sonar.api.resources.Qualifiers;
 import org.sonar.server.computation.ComputationContext;
 import org.sonar.server.source.index.SourceLineIndexer;
 
+@DependsOn(ApplyPermissionsStep.class)
 public class IndexSourceLinesStep implements ComputationStep {
 
   private final SourceLineIndexer indexer;
@@ -38,7 +39,7 @@ public class IndexSourceLinesStep implements ComputationStep {
 
   @Override
   public void execute(ComputationContext context) {
-    indexer.index();
+    indexer.index(context.getProject().uuid());
   }
 
   @Override
@@ -24,6 +24,7 @@ import org.sonar.api.resources.Qualifiers;
 import org.sonar.server.computation.ComputationContext;
 import org.sonar.server.view.index.ViewIndexer;
 
+@DependsOn(ApplyPermissionsStep.class)
 public class IndexViewsStep implements ComputationStep {
 
   private final ViewIndexer indexer;
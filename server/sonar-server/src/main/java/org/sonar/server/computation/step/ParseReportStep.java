@@ -23,11 +23,10 @@ package org.sonar.server.computation.step;
 import org.sonar.api.resources.Qualifiers;
 import org.sonar.batch.protocol.output.BatchReport;
 import org.sonar.batch.protocol.output.BatchReportReader;
+import org.sonar.batch.protocol.output.ReportIterator;
 import org.sonar.server.computation.ComputationContext;
 import org.sonar.server.computation.issue.IssueComputation;
 
-import java.util.List;
-
 public class ParseReportStep implements ComputationStep {
 
   private final IssueComputation issueComputation;
@@ -52,8 +51,9 @@ public class ParseReportStep implements ComputationStep {
   private void recursivelyProcessComponent(ComputationContext context, int componentRef) {
     BatchReportReader reportReader = context.getReportReader();
     BatchReport.Component component = reportReader.readComponent(componentRef);
-    List<BatchReport.Issue> issues = reportReader.readComponentIssues(componentRef);
-    issueComputation.processComponentIssues(context, component.getUuid(), issues);
+    try (ReportIterator<BatchReport.Issue> issues = reportReader.readComponentIssuesIterator(componentRef)) {
+      issueComputation.processComponentIssues(context, component.getUuid(), issues);
+    }
     for (Integer childRef : component.getChildRefsList()) {
       recursivelyProcessComponent(context, childRef);
     }
@@ -22,20 +22,18 @@ package org.sonar.server.computation.step;
 
 import org.sonar.api.resources.Qualifiers;
 import org.sonar.core.computation.dbcleaner.ProjectCleaner;
-import org.sonar.core.persistence.DbSession;
-import org.sonar.core.persistence.MyBatis;
 import org.sonar.core.purge.IdUuidPair;
 import org.sonar.server.computation.ComputationContext;
-import org.sonar.server.db.DbClient;
 
+/**
+ * The purge is executed in background, so the next reports do not wait for it
+ */
 public class PurgeDatastoresStep implements ComputationStep {
 
   private final ProjectCleaner projectCleaner;
-  private final DbClient dbClient;
 
-  public PurgeDatastoresStep(DbClient dbClient, ProjectCleaner projectCleaner) {
+  public PurgeDatastoresStep(ProjectCleaner projectCleaner) {
     this.projectCleaner = projectCleaner;
-    this.dbClient = dbClient;
   }
 
   @Override
@@ -45,13 +43,7 @@ public class PurgeDatastoresStep implements ComputationStep {
 
   @Override
   public void execute(ComputationContext context) {
-    DbSession session = dbClient.openSession(true);
-    try {
-      projectCleaner.purge(session, new IdUuidPair(context.getProject().getId(), context.getProject().uuid()));
-      session.commit();
-    } finally {
-      MyBatis.closeQuietly(session);
-    }
+    projectCleaner.purgeInBackground(new IdUuidPair(context.getProject().getId(), context.getProject().uuid()));
   }
 
   @Override
@@ -26,9 +26,13 @@ import org.sonar.api.server.ws.Response;
 import org.sonar.api.server.ws.WebService;
 import org.sonar.api.utils.text.JsonWriter;
 import org.sonar.core.computation.db.AnalysisReportDto;
+import org.sonar.server.computation.ComputationThread;
+import org.sonar.server.computation.ComputationThreadLauncher;
 import org.sonar.server.computation.ReportQueue;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.sonar.api.utils.DateUtils.longToDate;
 
@@ -37,9 +41,11 @@ import static org.sonar.api.utils.DateUtils.longToDate;
  */
 public class QueueWsAction implements ComputationWsAction, RequestHandler {
   private final ReportQueue queue;
+  private final ComputationThreadLauncher launcher;
 
-  public QueueWsAction(ReportQueue queue) {
+  public QueueWsAction(ReportQueue queue, ComputationThreadLauncher launcher) {
     this.queue = queue;
+    this.launcher = launcher;
   }
 
   @Override
@@ -54,15 +60,39 @@ public class QueueWsAction implements ComputationWsAction, RequestHandler {
 
   @Override
   public void handle(Request request, Response response) throws Exception {
+    List<ComputationThread> workers = launcher.getWorkers();
     List<AnalysisReportDto> reports = queue.all();
 
     JsonWriter json = response.newJsonWriter().beginObject();
-    writeReports(reports, json);
+    Map<Long, String> workerByReportId = writeWorkers(workers, json);
+    writeReports(reports, workerByReportId, json);
     json.endObject();
     json.close();
   }
 
-  private void writeReports(List<AnalysisReportDto> reports, JsonWriter json) {
+  private static Map<Long, String> writeWorkers(List<ComputationThread> workers, JsonWriter json) {
+    Map<Long, String> workerByReportId = new HashMap<>();
+    json.name("workers").beginArray();
+    for (ComputationThread worker : workers) {
+      json.beginObject();
+      json.prop("name", worker.getName());
+      ReportQueue.Item item = worker.getCurrentItem();
+      if (item == null) {
+        json.prop("status", "IDLE");
+      } else {
+        workerByReportId.put(item.dto.getId(), worker.getName());
+        json.prop("status", "WORKING");
+        json.prop("reportKey", item.dto.getId());
+        json.prop("projectKey", item.dto.getProjectKey());
+        json.propDateTime("startedAt", longToDate(item.dto.getStartedAt()));
+      }
+      json.endObject();
+    }
+    json.endArray();
+    return workerByReportId;
+  }
+
+  private static void writeReports(List<AnalysisReportDto> reports, Map<Long, String> workerByReportId, JsonWriter json) {
     json.name("reports").beginArray();
     for (AnalysisReportDto report : reports) {
       json.beginObject();
@@ -73,6 +103,7 @@ public class QueueWsAction implements ComputationWsAction, RequestHandler {
       json.propDateTime("finishedAt", longToDate(report.getFinishedAt()));
       json.propDateTime("submittedAt", longToDate(report.getCreatedAt()));
       json.prop("status", report.getStatus().toString());
+      json.prop("worker", workerByReportId.get(report.getId()));
       json.endObject();
     }
     json.endArray();
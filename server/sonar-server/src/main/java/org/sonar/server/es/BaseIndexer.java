@@ -61,7 +61,7 @@ public abstract class BaseIndexer implements ServerComponent, Startable {
   public void index() {
     if (enabled) {
       final long requestedAt = System.currentTimeMillis();
-      Future submit = executor.submit(new Runnable() {
+      execute(new Runnable() {
         @Override
         public void run() {
           if (requestedAt > lastUpdatedAt) {
@@ -71,16 +71,31 @@ public abstract class BaseIndexer implements ServerComponent, Startable {
           }
         }
       });
-      try {
-        Uninterruptibles.getUninterruptibly(submit);
-      } catch (ExecutionException e) {
-        Throwables.propagate(e);
-      }
     }
   }
 
   protected abstract long doIndex(long lastUpdatedAt);
 
+  /**
+   * Index a subset of documents, for example the documents of a single project, in the same thread as
+   * {@link #index()}. Does nothing if indexer is disabled. The date of last indexing is not updated, as documents
+   * of other projects updated before the indexed ones may not be indexed yet.
+   */
+  protected void indexSubset(Runnable indexing) {
+    if (enabled) {
+      execute(indexing);
+    }
+  }
+
+  private void execute(Runnable indexing) {
+    Future submit = executor.submit(indexing);
+    try {
+      Uninterruptibles.getUninterruptibly(submit);
+    } catch (ExecutionException e) {
+      Throwables.propagate(e);
+    }
+  }
+
   public BaseIndexer setEnabled(boolean b) {
     this.enabled = b;
     return this;
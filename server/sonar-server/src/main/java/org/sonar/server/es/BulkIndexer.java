@@ -22,10 +22,12 @@ package org.sonar.server.es;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.ActionRequest;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
 import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequestBuilder;
 import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.cluster.metadata.IndexMetaData;
@@ -38,7 +40,11 @@ import org.sonar.server.util.ProgressLogger;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Helper to bulk requests in an efficient way :
@@ -46,6 +52,8 @@ import java.util.concurrent.atomic.AtomicLong;
  *   <li>bulk request is sent on the wire when its size is higher than 5Mb</li>
  *   <li>on large table indexing, replicas and automatic refresh can be temporarily disabled</li>
  *   <li>index refresh is optional (enabled by default)</li>
+ *   <li>bulk requests can be sent asynchronously, so that documents are built while
+ *   previous requests are processed by Elasticsearch</li>
  * </ul>
  */
 public class BulkIndexer implements Startable {
@@ -58,8 +66,12 @@ public class BulkIndexer implements Startable {
   private final String indexName;
   private boolean large = false;
   private long flushByteSize = FLUSH_BYTE_SIZE;
+  private int concurrentRequests = 0;
   private BulkRequestBuilder bulkRequest = null;
   private Map<String, Object> largeInitialSettings = null;
+  private Semaphore semaphore = null;
+  private final Queue<ActionRequest> asyncRetries = new ConcurrentLinkedQueue<>();
+  private final AtomicReference<Throwable> asyncFailure = new AtomicReference<>();
 
   private final AtomicLong counter = new AtomicLong(0L);
   private final ProgressLogger progress;
@@ -91,6 +103,18 @@ public class BulkIndexer implements Startable {
     return this;
   }
 
+  /**
+   * Maximum number of bulk requests that are sent but not processed yet by Elasticsearch.
+   * When the limit is reached, {@link #add(org.elasticsearch.action.ActionRequest)} blocks until
+   * a request is processed. Default value is 0: requests are sent synchronously.
+   */
+  public BulkIndexer setConcurrentRequests(int i) {
+    Preconditions.checkState(bulkRequest == null, ALREADY_STARTED_MESSAGE);
+    Preconditions.checkArgument(i >= 0, "Number of concurrent requests must be positive or zero (got " + i + ")");
+    this.concurrentRequests = i;
+    return this;
+  }
+
   @Override
   public void start() {
     Preconditions.checkState(bulkRequest == null, ALREADY_STARTED_MESSAGE);
@@ -114,6 +138,9 @@ public class BulkIndexer implements Startable {
       updateSettings(bulkSettings);
     }
     bulkRequest = client.prepareBulk();
+    semaphore = concurrentRequests > 0 ? new Semaphore(concurrentRequests) : null;
+    asyncRetries.clear();
+    asyncFailure.set(null);
     counter.set(0L);
     progress.start();
   }
@@ -122,31 +149,47 @@ public class BulkIndexer implements Startable {
     bulkRequest.request().add(request);
     counter.getAndIncrement();
     if (bulkRequest.request().estimatedSizeInBytes() >= flushByteSize) {
-      executeBulk(bulkRequest);
+      send(bulkRequest);
       bulkRequest = client.prepareBulk();
     }
   }
 
   @Override
   public void stop() {
+    try {
+      flush();
+      client.prepareRefresh(indexName).get();
+      if (large) {
+        // optimize lucene segments. Optimization must be done before re-applying replicas:
+        // http://www.elasticsearch.org/blog/performance-considerations-elasticsearch-indexing/
+        client.prepareOptimize(indexName).get();
+      }
+    } finally {
+      if (large) {
+        // index settings are reverted even if indexing failed
+        updateSettings(largeInitialSettings);
+      }
+      bulkRequest = null;
+    }
+  }
+
+  private void flush() {
     try {
       if (bulkRequest.numberOfActions() > 0) {
-        executeBulk(bulkRequest);
+        send(bulkRequest);
       }
     } finally {
+      if (semaphore != null) {
+        // wait for all the outstanding requests
+        semaphore.acquireUninterruptibly(concurrentRequests);
+        semaphore.release(concurrentRequests);
+      }
       progress.stop();
     }
-
-    client.prepareRefresh(indexName).get();
-    if (large) {
-      // optimize lucene segments and revert index settings
-      // Optimization must be done before re-applying replicas:
-      // http://www.elasticsearch.org/blog/performance-considerations-elasticsearch-indexing/
-      client.prepareOptimize(indexName).get();
-
-      updateSettings(largeInitialSettings);
+    if (semaphore != null) {
+      checkAsyncFailure();
+      retry(Lists.newArrayList(asyncRetries));
     }
-    bulkRequest = null;
   }
 
   private void updateSettings(Map<String, Object> settings) {
@@ -155,17 +198,71 @@ public class BulkIndexer implements Startable {
     req.get();
   }
 
+  private void send(BulkRequestBuilder bulkRequest) {
+    if (semaphore == null) {
+      executeBulk(bulkRequest);
+    } else {
+      executeBulkAsync(bulkRequest);
+    }
+  }
+
   private void executeBulk(BulkRequestBuilder bulkRequest) {
-    List<ActionRequest> retries = Lists.newArrayList();
     BulkResponse response = bulkRequest.get();
+    retry(failedRequests(bulkRequest.request(), response));
+  }
+
+  /**
+   * Blocks while the maximum number of concurrent requests is reached. Failed items are
+   * retried synchronously when stopping.
+   */
+  private void executeBulkAsync(BulkRequestBuilder bulkRequest) {
+    checkAsyncFailure();
+    semaphore.acquireUninterruptibly();
+    final BulkRequest request = bulkRequest.request();
+    try {
+      bulkRequest.execute(new ActionListener<BulkResponse>() {
+        @Override
+        public void onResponse(BulkResponse response) {
+          try {
+            asyncRetries.addAll(failedRequests(request, response));
+          } finally {
+            semaphore.release();
+          }
+        }
 
+        @Override
+        public void onFailure(Throwable e) {
+          try {
+            asyncFailure.compareAndSet(null, e);
+          } finally {
+            semaphore.release();
+          }
+        }
+      });
+    } catch (RuntimeException e) {
+      semaphore.release();
+      throw e;
+    }
+  }
+
+  private void checkAsyncFailure() {
+    Throwable failure = asyncFailure.get();
+    if (failure != null) {
+      throw new IllegalStateException(String.format("Fail to execute bulk request on index %s", indexName), failure);
+    }
+  }
+
+  private static List<ActionRequest> failedRequests(BulkRequest request, BulkResponse response) {
+    List<ActionRequest> result = Lists.newArrayList();
     for (BulkItemResponse item : response.getItems()) {
       if (item.isFailed()) {
-        ActionRequest retry = bulkRequest.request().requests().get(item.getItemId());
-        retries.add(retry);
+        result.add(request.requests().get(item.getItemId()));
       }
     }
+    return result;
+  }
 
+  private void retry(List<ActionRequest> retries) {
     if (!retries.isEmpty()) {
       LOGGER.warn(String.format("%d index requests failed. Trying again.", retries.size()));
       BulkRequestBuilder retryBulk = client.prepareBulk();
@@ -39,6 +39,7 @@ import org.elasticsearch.action.deletebyquery.DeleteByQueryRequestBuilder;
 import org.elasticsearch.action.get.GetRequestBuilder;
 import org.elasticsearch.action.get.MultiGetRequestBuilder;
 import org.elasticsearch.action.index.IndexRequestBuilder;
+import org.elasticsearch.action.search.ClearScrollRequestBuilder;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchScrollRequestBuilder;
 import org.elasticsearch.client.Client;
@@ -183,6 +184,11 @@ public class EsClient implements Startable {
     return new ProxyClearCacheRequestBuilder(client).setIndices(indices);
   }
 
+  public ClearScrollRequestBuilder prepareClearScroll(String scrollId) {
+    // TODO add proxy for profiling
+    return new ClearScrollRequestBuilder(client).addScrollId(scrollId);
+  }
+
   public long getMaxFieldValue(String indexName, String typeName, String fieldName) {
     SearchRequestBuilder request = prepareSearch(indexName)
       .setTypes(typeName)
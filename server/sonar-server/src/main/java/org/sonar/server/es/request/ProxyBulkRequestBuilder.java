@@ -22,6 +22,7 @@ package org.sonar.server.es.request;
 
 import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Multiset.Entry;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.ActionRequest;
 import org.elasticsearch.action.ListenableActionFuture;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
@@ -72,6 +73,34 @@ public class ProxyBulkRequestBuilder extends BulkRequestBuilder {
     throw new UnsupportedOperationException("execute() should not be called as it's used for asynchronous");
   }
 
+  /**
+   * Asynchronous execution, profiled like {@link #get()}. Failures are given to the listener.
+   */
+  @Override
+  public void execute(final ActionListener<BulkResponse> listener) {
+    final Profiler profiler = Profiler.createIfTrace(EsClient.LOGGER).start();
+    final String description = profiler.isTraceEnabled() ? toString() : null;
+    super.execute(new ActionListener<BulkResponse>() {
+      @Override
+      public void onResponse(BulkResponse response) {
+        stopTrace(profiler, description);
+        listener.onResponse(response);
+      }
+
+      @Override
+      public void onFailure(Throwable e) {
+        stopTrace(profiler, description);
+        listener.onFailure(new IllegalStateException(String.format("Fail to execute %s", description == null ? ProxyBulkRequestBuilder.this.toString() : description), e));
+      }
+    });
+  }
+
+  private static void stopTrace(Profiler profiler, String description) {
+    if (profiler.isTraceEnabled()) {
+      profiler.stopTrace(description);
+    }
+  }
+
   private UnsupportedOperationException unsupported() {
     throw new UnsupportedOperationException("See " + ProxyBulkRequestBuilder.class.getName());
   }
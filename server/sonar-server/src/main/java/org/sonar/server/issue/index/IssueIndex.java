@@ -77,6 +77,11 @@ public class IssueIndex extends BaseIndex {
 
   private static final int SCROLL_TIME_IN_MINUTES = 3;
 
+  /**
+   * Default number of issues requested to each shard on each scroll of {@link #selectIssuesForBatch(ComponentDto)}
+   */
+  public static final int BATCH_SCROLL_SIZE = 1000;
+
   private static final String SUBSTRING_MATCH_REGEXP = ".*%s.*";
 
   public static final List<String> SUPPORTED_FACETS = ImmutableList.of(
@@ -688,6 +693,14 @@ public class IssueIndex extends BaseIndex {
    * Only fields needed for the batch are returned.
    */
   public Iterator<IssueDoc> selectIssuesForBatch(ComponentDto component) {
+    return selectIssuesForBatch(component, BATCH_SCROLL_SIZE);
+  }
+
+  /**
+   * Same as {@link #selectIssuesForBatch(ComponentDto)}, with the number of issues requested to each shard on each scroll.
+   * Issues are sent in index order (scan search), so a page contains at most {@code scrollSize * number of shards} issues.
+   */
+  public Iterator<IssueDoc> selectIssuesForBatch(ComponentDto component, int scrollSize) {
     BoolFilterBuilder filter = FilterBuilders.boolFilter()
       .must(createAuthorizationFilter(true, UserSession.get().login(), UserSession.get().userGroups()))
       .mustNot(FilterBuilders.termsFilter(IssueIndexDefinition.FIELD_ISSUE_STATUS, Issue.STATUS_CLOSED));
@@ -708,7 +721,7 @@ public class IssueIndex extends BaseIndex {
       .setTypes(IssueIndexDefinition.TYPE_ISSUE)
       .setSearchType(SearchType.SCAN)
       .setScroll(TimeValue.timeValueMinutes(SCROLL_TIME_IN_MINUTES))
-      .setSize(10000)
+      .setSize(scrollSize)
       .setFetchSource(
         new String[] {IssueIndexDefinition.FIELD_ISSUE_KEY, IssueIndexDefinition.FIELD_ISSUE_RULE_KEY, IssueIndexDefinition.FIELD_ISSUE_MODULE_UUID,
           IssueIndexDefinition.FIELD_ISSUE_FILE_PATH, IssueIndexDefinition.FIELD_ISSUE_SEVERITY, IssueIndexDefinition.FIELD_ISSUE_MANUAL_SEVERITY,
@@ -726,13 +739,19 @@ public class IssueIndex extends BaseIndex {
   private Iterator<IssueDoc> scroll(final String scrollId) {
     return new Iterator<IssueDoc>() {
       private final Queue<SearchHit> hits = new ArrayDeque<>();
+      private String currentScrollId = scrollId;
+      private boolean done = false;
 
       @Override
       public boolean hasNext() {
-        if (hits.isEmpty()) {
-          SearchScrollRequestBuilder esRequest = getClient().prepareSearchScroll(scrollId)
+        if (hits.isEmpty() && !done) {
+          SearchScrollRequestBuilder esRequest = getClient().prepareSearchScroll(currentScrollId)
             .setScroll(TimeValue.timeValueMinutes(SCROLL_TIME_IN_MINUTES));
-          Collections.addAll(hits, esRequest.get().getHits().getHits());
+          SearchResponse response = esRequest.get();
+          currentScrollId = response.getScrollId();
+          Collections.addAll(hits, response.getHits().getHits());
+          // an empty page means that the scroll is over, do not request it again
+          done = hits.isEmpty();
         }
         return !hits.isEmpty();
       }
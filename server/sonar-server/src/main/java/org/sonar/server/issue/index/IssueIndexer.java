@@ -102,6 +102,10 @@ public class IssueIndexer extends BaseIndexer {
   BulkIndexer createBulkIndexer(boolean large) {
     BulkIndexer bulk = new BulkIndexer(esClient, IssueIndexDefinition.INDEX);
     bulk.setLarge(large);
+    if (large) {
+      // rows are read from db while the previous bulk requests are processed
+      bulk.setConcurrentRequests(2);
+    }
     return bulk;
   }
 
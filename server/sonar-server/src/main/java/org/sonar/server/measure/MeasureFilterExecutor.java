@@ -37,11 +37,13 @@ public class MeasureFilterExecutor implements ServerComponent {
   private MyBatis mybatis;
   private Database database;
   private ResourceDao resourceDao;
+  private MeasureFilterIndexExecutor indexExecutor;
 
-  public MeasureFilterExecutor(MyBatis mybatis, Database database, ResourceDao resourceDao) {
+  public MeasureFilterExecutor(MyBatis mybatis, Database database, ResourceDao resourceDao, MeasureFilterIndexExecutor indexExecutor) {
     this.mybatis = mybatis;
     this.database = database;
     this.resourceDao = resourceDao;
+    this.indexExecutor = indexExecutor;
   }
 
   public List<MeasureFilterRow> execute(MeasureFilter filter, MeasureFilterContext context) throws SQLException {
@@ -56,13 +58,16 @@ public class MeasureFilterExecutor implements ServerComponent {
       session = mybatis.openSession(false);
       prepareContext(context, filter, session);
 
-      if (isValid(filter, context)) {
+      if (!isValid(filter, context)) {
+        rows = Collections.emptyList();
+      } else if (indexExecutor.accept(filter)) {
+        // the measures of projects are searched without requesting database
+        rows = indexExecutor.execute(filter);
+      } else {
         MeasureFilterSql sql = new MeasureFilterSql(database, filter, context);
         context.setSql(sql.sql());
         connection = session.getConnection();
         rows = sql.execute(connection);
-      } else {
-        rows = Collections.emptyList();
       }
     } finally {
       MyBatis.closeQuietly(session);
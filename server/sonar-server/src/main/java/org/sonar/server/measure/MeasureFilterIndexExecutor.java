@@ -0,0 +1,205 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang.StringUtils;
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.BoolFilterBuilder;
+import org.elasticsearch.index.query.FilterBuilders;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.index.query.RangeFilterBuilder;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.sonar.api.ServerComponent;
+import org.sonar.api.resources.Qualifiers;
+import org.sonar.api.resources.Scopes;
+import org.sonar.server.es.EsClient;
+import org.sonar.server.measure.index.ProjectMeasuresIndexDefinition;
+import org.sonar.server.search.IndexField;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.sonar.server.measure.index.ProjectMeasuresIndexDefinition.*;
+
+/**
+ * Executes measure filters on projects with the index {@link ProjectMeasuresIndexDefinition}, instead of
+ * requesting database. Conditions and sorting are applied by Elasticsearch. Filters that are not supported
+ * by the index, for example on files or on the children of a component, are executed by {@link MeasureFilterSql}.
+ */
+public class MeasureFilterIndexExecutor implements ServerComponent {
+
+  private static final int SCROLL_TIME_IN_MINUTES = 3;
+  private static final int PAGE_SIZE = 500;
+
+  private static final String[] FETCHED_FIELDS = {FIELD_SNAPSHOT_ID, FIELD_PROJECT_ID};
+
+  private final EsClient esClient;
+
+  public MeasureFilterIndexExecutor(EsClient esClient) {
+    this.esClient = esClient;
+  }
+
+  /**
+   * The index contains only the last analysis of projects, without links to their favourites,
+   * modules, files or to the resource index.
+   */
+  boolean accept(MeasureFilter filter) {
+    boolean accepted = StringUtils.isEmpty(filter.getBaseResourceKey()) && !filter.isOnFavourites();
+    accepted &= StringUtils.isBlank(filter.getResourceName()) && StringUtils.isBlank(filter.getResourceKey());
+    accepted &= ImmutableList.of(Qualifiers.PROJECT).equals(filter.getResourceQualifiers());
+    accepted &= filter.getResourceScopes().isEmpty() || ImmutableList.of(Scopes.PROJECT).equals(filter.getResourceScopes());
+    for (MeasureFilterCondition condition : filter.getMeasureConditions()) {
+      // conditions on text values are written in SQL
+      accepted &= condition.textValue() == null && condition.operator() != MeasureFilterCondition.Operator.IN;
+    }
+    MeasureFilterSort sort = filter.sort();
+    // text measures are sorted programmatically
+    accepted &= !sort.isOnMeasure() || sort.isOnNumericMeasure();
+    return accepted;
+  }
+
+  List<MeasureFilterRow> execute(MeasureFilter filter) {
+    SearchRequestBuilder request = esClient.prepareSearch(INDEX)
+      .setTypes(TYPE_PROJECT)
+      .setQuery(QueryBuilders.filteredQuery(QueryBuilders.matchAllQuery(), createFilter(filter)))
+      .setFetchSource(FETCHED_FIELDS, null)
+      .setScroll(TimeValue.timeValueMinutes(SCROLL_TIME_IN_MINUTES))
+      .setSize(PAGE_SIZE);
+    addSort(request, filter.sort());
+
+    List<MeasureFilterRow> rows = newArrayList();
+    SearchResponse response = request.get();
+    String scrollId = response.getScrollId();
+    try {
+      while (response.getHits().getHits().length > 0) {
+        for (SearchHit hit : response.getHits().getHits()) {
+          Map<String, Object> source = hit.getSource();
+          long projectId = ((Number) source.get(FIELD_PROJECT_ID)).longValue();
+          // projects are their own root
+          rows.add(new MeasureFilterRow(((Number) source.get(FIELD_SNAPSHOT_ID)).longValue(), projectId, projectId));
+        }
+        response = esClient.prepareSearchScroll(scrollId)
+          .setScroll(TimeValue.timeValueMinutes(SCROLL_TIME_IN_MINUTES))
+          .get();
+        scrollId = response.getScrollId();
+      }
+    } finally {
+      // do not keep search context until expiration of scroll
+      esClient.prepareClearScroll(scrollId).get();
+    }
+    return rows;
+  }
+
+  private static BoolFilterBuilder createFilter(MeasureFilter filter) {
+    BoolFilterBuilder esFilter = FilterBuilders.boolFilter()
+      .must(FilterBuilders.termsFilter(FIELD_QUALIFIER, filter.getResourceQualifiers()));
+
+    Date fromDate = filter.getFromDate();
+    Date toDate = filter.getToDate();
+    if (fromDate != null || toDate != null) {
+      RangeFilterBuilder dateFilter = FilterBuilders.rangeFilter(FIELD_ANALYSED_AT);
+      if (fromDate != null) {
+        dateFilter.gte(fromDate.getTime());
+      }
+      if (toDate != null) {
+        dateFilter.lte(toDate.getTime());
+      }
+      esFilter.must(dateFilter);
+    }
+
+    for (MeasureFilterCondition condition : filter.getMeasureConditions()) {
+      esFilter.must(FilterBuilders.nestedFilter(FIELD_MEASURES, FilterBuilders.boolFilter()
+        .must(FilterBuilders.termFilter(measureField(FIELD_MEASURE_METRIC_ID), condition.metric().getId()))
+        .must(createValueFilter(condition))));
+    }
+    return esFilter;
+  }
+
+  private static RangeFilterBuilder createValueFilter(MeasureFilterCondition condition) {
+    String field = measureField(condition.period() != null ? variationField(condition.period()) : FIELD_MEASURE_VALUE);
+    RangeFilterBuilder valueFilter = FilterBuilders.rangeFilter(field);
+    switch (condition.operator()) {
+      case EQUALS:
+        return valueFilter.gte(condition.value()).lte(condition.value());
+      case GREATER:
+        return valueFilter.gt(condition.value());
+      case GREATER_OR_EQUALS:
+        return valueFilter.gte(condition.value());
+      case LESS:
+        return valueFilter.lt(condition.value());
+      case LESS_OR_EQUALS:
+        return valueFilter.lte(condition.value());
+      default:
+        throw new IllegalArgumentException("Unsupported operator: " + condition.operator());
+    }
+  }
+
+  private static void addSort(SearchRequestBuilder request, MeasureFilterSort sort) {
+    SortOrder order = sort.isAsc() ? SortOrder.ASC : SortOrder.DESC;
+    FieldSortBuilder sortBuilder;
+    switch (sort.field()) {
+      case KEY:
+        sortBuilder = SortBuilders.fieldSort(sortField(FIELD_KEY));
+        break;
+      case NAME:
+        sortBuilder = SortBuilders.fieldSort(sortField(FIELD_NAME));
+        break;
+      case SHORT_NAME:
+        sortBuilder = SortBuilders.fieldSort(sortField(FIELD_SHORT_NAME));
+        break;
+      case DESCRIPTION:
+        sortBuilder = SortBuilders.fieldSort(sortField(FIELD_DESCRIPTION));
+        break;
+      case VERSION:
+        sortBuilder = SortBuilders.fieldSort(sortField(FIELD_VERSION));
+        break;
+      case DATE:
+        sortBuilder = SortBuilders.fieldSort(FIELD_ANALYSED_AT);
+        break;
+      case PROJECT_CREATION_DATE:
+        sortBuilder = SortBuilders.fieldSort(FIELD_CREATED_AT);
+        break;
+      case METRIC:
+        String field = sort.period() != null ? variationField(sort.period()) : FIELD_MEASURE_VALUE;
+        sortBuilder = SortBuilders.fieldSort(measureField(field))
+          .setNestedPath(FIELD_MEASURES)
+          .setNestedFilter(FilterBuilders.termFilter(measureField(FIELD_MEASURE_METRIC_ID), sort.metric().getId()));
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported sorting: " + sort.field());
+    }
+    // as in SQL filters, projects without value are the last ones, whatever the order
+    request.addSort(sortBuilder.order(order).missing("_last"));
+    // results do not depend on the order of documents in index
+    request.addSort(SortBuilders.fieldSort(FIELD_UUID).order(SortOrder.ASC));
+  }
+
+  private static String sortField(String field) {
+    return field + "." + IndexField.SORT_SUFFIX;
+  }
+}
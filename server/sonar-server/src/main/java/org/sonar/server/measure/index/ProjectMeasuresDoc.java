@@ -0,0 +1,170 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import com.google.common.collect.Maps;
+import org.sonar.server.search.BaseDoc;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.sonar.server.measure.index.ProjectMeasuresIndexDefinition.*;
+
+public class ProjectMeasuresDoc extends BaseDoc {
+
+  public ProjectMeasuresDoc(Map<String, Object> fields) {
+    super(fields);
+  }
+
+  public ProjectMeasuresDoc() {
+    this(Maps.<String, Object>newHashMapWithExpectedSize(13));
+    setField(FIELD_MEASURES, new ArrayList<Map<String, Object>>());
+  }
+
+  public String uuid() {
+    return getField(FIELD_UUID);
+  }
+
+  public long projectId() {
+    return ((Number) getField(FIELD_PROJECT_ID)).longValue();
+  }
+
+  public long snapshotId() {
+    return ((Number) getField(FIELD_SNAPSHOT_ID)).longValue();
+  }
+
+  public String key() {
+    return getField(FIELD_KEY);
+  }
+
+  @CheckForNull
+  public String name() {
+    return getNullableField(FIELD_NAME);
+  }
+
+  @CheckForNull
+  public String shortName() {
+    return getNullableField(FIELD_SHORT_NAME);
+  }
+
+  @CheckForNull
+  public String description() {
+    return getNullableField(FIELD_DESCRIPTION);
+  }
+
+  @CheckForNull
+  public String version() {
+    return getNullableField(FIELD_VERSION);
+  }
+
+  public String qualifier() {
+    return getField(FIELD_QUALIFIER);
+  }
+
+  public String scope() {
+    return getField(FIELD_SCOPE);
+  }
+
+  public long analysedAt() {
+    return ((Number) getField(FIELD_ANALYSED_AT)).longValue();
+  }
+
+  @CheckForNull
+  public Long createdAt() {
+    Number createdAt = getNullableField(FIELD_CREATED_AT);
+    return createdAt != null ? createdAt.longValue() : null;
+  }
+
+  /**
+   * Each measure is a map of the fields FIELD_MEASURE_*
+   */
+  public List<Map<String, Object>> measures() {
+    return getField(FIELD_MEASURES);
+  }
+
+  public ProjectMeasuresDoc setUuid(String s) {
+    setField(FIELD_UUID, s);
+    return this;
+  }
+
+  public ProjectMeasuresDoc setProjectId(long l) {
+    setField(FIELD_PROJECT_ID, l);
+    return this;
+  }
+
+  public ProjectMeasuresDoc setSnapshotId(long l) {
+    setField(FIELD_SNAPSHOT_ID, l);
+    return this;
+  }
+
+  public ProjectMeasuresDoc setKey(String s) {
+    setField(FIELD_KEY, s);
+    return this;
+  }
+
+  public ProjectMeasuresDoc setName(@Nullable String s) {
+    setField(FIELD_NAME, s);
+    return this;
+  }
+
+  public ProjectMeasuresDoc setShortName(@Nullable String s) {
+    setField(FIELD_SHORT_NAME, s);
+    return this;
+  }
+
+  public ProjectMeasuresDoc setDescription(@Nullable String s) {
+    setField(FIELD_DESCRIPTION, s);
+    return this;
+  }
+
+  public ProjectMeasuresDoc setVersion(@Nullable String s) {
+    setField(FIELD_VERSION, s);
+    return this;
+  }
+
+  public ProjectMeasuresDoc setQualifier(String s) {
+    setField(FIELD_QUALIFIER, s);
+    return this;
+  }
+
+  public ProjectMeasuresDoc setScope(String s) {
+    setField(FIELD_SCOPE, s);
+    return this;
+  }
+
+  public ProjectMeasuresDoc setAnalysedAt(long l) {
+    setField(FIELD_ANALYSED_AT, l);
+    return this;
+  }
+
+  public ProjectMeasuresDoc setCreatedAt(@Nullable Long l) {
+    setField(FIELD_CREATED_AT, l);
+    return this;
+  }
+
+  public ProjectMeasuresDoc addMeasures(List<Map<String, Object>> measures) {
+    measures().addAll(measures);
+    return this;
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import com.google.common.collect.ImmutableMap;
+import org.elasticsearch.cluster.metadata.IndexMetaData;
+import org.sonar.api.config.Settings;
+import org.sonar.process.ProcessConstants;
+import org.sonar.server.es.IndexDefinition;
+import org.sonar.server.es.NewIndex;
+
+import java.util.Map;
+
+/**
+ * Definition of ES index "measures", including settings and fields. A document contains
+ * the measures of the last analysis of a project.
+ */
+public class ProjectMeasuresIndexDefinition implements IndexDefinition {
+
+  public static final String INDEX = "measures";
+
+  public static final String TYPE_PROJECT = "project";
+
+  public static final String FIELD_UUID = "uuid";
+  public static final String FIELD_PROJECT_ID = "projectId";
+  public static final String FIELD_SNAPSHOT_ID = "snapshotId";
+  public static final String FIELD_KEY = "key";
+  public static final String FIELD_NAME = "name";
+  public static final String FIELD_SHORT_NAME = "shortName";
+  public static final String FIELD_DESCRIPTION = "description";
+  public static final String FIELD_VERSION = "version";
+  public static final String FIELD_QUALIFIER = "qualifier";
+  public static final String FIELD_SCOPE = "scope";
+  public static final String FIELD_ANALYSED_AT = "analysedAt";
+  public static final String FIELD_CREATED_AT = "createdAt";
+  public static final String FIELD_MEASURES = "measures";
+
+  // fields of nested documents "measures"
+  public static final String FIELD_MEASURE_METRIC_ID = "metricId";
+  public static final String FIELD_MEASURE_VALUE = "value";
+  public static final String FIELD_MEASURE_TEXT_VALUE = "textValue";
+  public static final String FIELD_MEASURE_VARIATION_PREFIX = "variation";
+  public static final int NB_OF_PERIODS = 5;
+
+  private final Settings settings;
+
+  public ProjectMeasuresIndexDefinition(Settings settings) {
+    this.settings = settings;
+  }
+
+  public static String measureField(String field) {
+    return FIELD_MEASURES + "." + field;
+  }
+
+  public static String variationField(int period) {
+    return FIELD_MEASURE_VARIATION_PREFIX + period;
+  }
+
+  @Override
+  public void define(IndexDefinitionContext context) {
+    NewIndex index = context.create(INDEX);
+
+    // shards
+    boolean clusterMode = settings.getBoolean(ProcessConstants.CLUSTER_ACTIVATE);
+    if (clusterMode) {
+      index.getSettings().put(IndexMetaData.SETTING_NUMBER_OF_SHARDS, 4);
+      index.getSettings().put(IndexMetaData.SETTING_NUMBER_OF_REPLICAS, 1);
+      // else keep defaults (one shard)
+    }
+
+    // type "project"
+    NewIndex.NewIndexType mapping = index.createType(TYPE_PROJECT);
+    mapping.setAttribute("_id", ImmutableMap.of("path", FIELD_UUID));
+    mapping.stringFieldBuilder(FIELD_UUID).build();
+    mapping.createLongField(FIELD_PROJECT_ID);
+    mapping.createLongField(FIELD_SNAPSHOT_ID);
+    mapping.stringFieldBuilder(FIELD_KEY).enableSorting().build();
+    mapping.stringFieldBuilder(FIELD_NAME).enableSorting().build();
+    mapping.stringFieldBuilder(FIELD_SHORT_NAME).enableSorting().build();
+    mapping.stringFieldBuilder(FIELD_DESCRIPTION).enableSorting().build();
+    mapping.stringFieldBuilder(FIELD_VERSION).enableSorting().build();
+    mapping.stringFieldBuilder(FIELD_QUALIFIER).build();
+    mapping.stringFieldBuilder(FIELD_SCOPE).build();
+    mapping.createDateTimeField(FIELD_ANALYSED_AT);
+    mapping.createDateTimeField(FIELD_CREATED_AT);
+
+    ImmutableMap.Builder<String, Object> measureFields = ImmutableMap.builder();
+    measureFields.put(FIELD_MEASURE_METRIC_ID, ImmutableMap.of("type", "integer"));
+    measureFields.put(FIELD_MEASURE_VALUE, ImmutableMap.of("type", "double"));
+    measureFields.put(FIELD_MEASURE_TEXT_VALUE, ImmutableMap.of("type", "string", "index", "not_analyzed", "omit_norms", "true"));
+    for (int period = 1; period <= NB_OF_PERIODS; period++) {
+      measureFields.put(variationField(period), ImmutableMap.of("type", "double"));
+    }
+    Map<String, Object> measures = ImmutableMap.<String, Object>of("type", "nested", "properties", measureFields.build());
+    mapping.setProperty(FIELD_MEASURES, measures);
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+import org.elasticsearch.action.index.IndexRequest;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.es.BaseIndexer;
+import org.sonar.server.es.BulkIndexer;
+import org.sonar.server.es.EsClient;
+
+import javax.annotation.Nullable;
+
+import java.sql.Connection;
+import java.util.Iterator;
+
+/**
+ * Add to Elasticsearch index {@link ProjectMeasuresIndexDefinition} the measures of the
+ * last analysis of projects
+ */
+public class ProjectMeasuresIndexer extends BaseIndexer {
+
+  private final DbClient dbClient;
+
+  public ProjectMeasuresIndexer(DbClient dbClient, EsClient esClient) {
+    super(esClient, 300, ProjectMeasuresIndexDefinition.INDEX, ProjectMeasuresIndexDefinition.TYPE_PROJECT,
+      ProjectMeasuresIndexDefinition.FIELD_ANALYSED_AT);
+    this.dbClient = dbClient;
+  }
+
+  @Override
+  protected long doIndex(long lastUpdatedAt) {
+    BulkIndexer bulk = new BulkIndexer(esClient, ProjectMeasuresIndexDefinition.INDEX);
+    bulk.setLarge(lastUpdatedAt == 0L);
+    return doIndex(bulk, lastUpdatedAt, null);
+  }
+
+  /**
+   * Index the measures of the last analysis of a single project. Used by the compute engine.
+   */
+  public void index(final String projectUuid) {
+    indexSubset(new Runnable() {
+      @Override
+      public void run() {
+        doIndex(new BulkIndexer(esClient, ProjectMeasuresIndexDefinition.INDEX), 0L, projectUuid);
+      }
+    });
+  }
+
+  private long doIndex(BulkIndexer bulk, long lastUpdatedAt, @Nullable String projectUuid) {
+    DbSession dbSession = dbClient.openSession(false);
+    Connection dbConnection = dbSession.getConnection();
+    try {
+      ProjectMeasuresResultSetIterator rowIt = ProjectMeasuresResultSetIterator.create(dbClient, dbConnection, lastUpdatedAt, projectUuid);
+      try {
+        return doIndex(bulk, rowIt);
+      } finally {
+        rowIt.close();
+      }
+
+    } finally {
+      dbSession.close();
+    }
+  }
+
+  private long doIndex(BulkIndexer bulk, Iterator<ProjectMeasuresDoc> rows) {
+    long maxUpdatedAt = 0L;
+    bulk.start();
+    PeekingIterator<ProjectMeasuresDoc> rowIt = Iterators.peekingIterator(rows);
+    while (rowIt.hasNext()) {
+      ProjectMeasuresDoc doc = rowIt.next();
+      // one row per measure. Rows of the same snapshot are consecutive.
+      while (rowIt.hasNext() && rowIt.peek().snapshotId() == doc.snapshotId()) {
+        doc.addMeasures(rowIt.next().measures());
+      }
+      bulk.add(newIndexRequest(doc));
+      maxUpdatedAt = Math.max(maxUpdatedAt, doc.analysedAt());
+    }
+    bulk.stop();
+    return maxUpdatedAt;
+  }
+
+  public void deleteProject(String projectUuid) {
+    esClient.prepareDelete(ProjectMeasuresIndexDefinition.INDEX, ProjectMeasuresIndexDefinition.TYPE_PROJECT, projectUuid)
+      .setRefresh(true)
+      .get();
+  }
+
+  private IndexRequest newIndexRequest(ProjectMeasuresDoc doc) {
+    // the whole document is replaced, so that the measures of the previous analysis are removed
+    return new IndexRequest(ProjectMeasuresIndexDefinition.INDEX, ProjectMeasuresIndexDefinition.TYPE_PROJECT, doc.uuid())
+      .source(doc.getFields());
+  }
+}
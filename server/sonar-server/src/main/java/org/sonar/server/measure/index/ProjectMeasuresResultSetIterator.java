@@ -0,0 +1,149 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import com.google.common.collect.Maps;
+import org.apache.commons.lang.StringUtils;
+import org.sonar.api.resources.Qualifiers;
+import org.sonar.api.resources.Scopes;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.db.ResultSetIterator;
+
+import javax.annotation.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.sonar.server.db.migrations.SqlUtil.getDouble;
+import static org.sonar.server.db.migrations.SqlUtil.getInt;
+import static org.sonar.server.measure.index.ProjectMeasuresIndexDefinition.*;
+
+/**
+ * Scrolls over the measures of the last snapshots of projects. There is one element per measure,
+ * so it contains the fields of the project and a single measure (or none if the snapshot has
+ * no measures). The elements of a snapshot are consecutive.
+ */
+class ProjectMeasuresResultSetIterator extends ResultSetIterator<ProjectMeasuresDoc> {
+
+  private static final String[] FIELDS = {
+    // column 1
+    "s.id",
+    "p.id",
+    "p.uuid",
+    "p.kee",
+    "p.long_name",
+    "p.name",
+    "p.description",
+    "s.version",
+    "s.qualifier",
+    "s.scope",
+
+    // column 11
+    "s.created_at",
+    "p.created_at",
+    "pm.metric_id",
+    "pm.value",
+    "pm.text_value",
+    "pm.variation_value_1",
+    "pm.variation_value_2",
+    "pm.variation_value_3",
+    "pm.variation_value_4",
+    "pm.variation_value_5"
+  };
+
+  private static final String SQL_ALL = "SELECT " + StringUtils.join(FIELDS, ",") + " FROM snapshots s " +
+    "INNER JOIN projects p ON p.id=s.project_id " +
+    "LEFT OUTER JOIN project_measures pm ON pm.snapshot_id=s.id AND pm.rule_id IS NULL AND pm.rule_priority IS NULL " +
+    "AND pm.characteristic_id IS NULL AND pm.person_id IS NULL " +
+    "WHERE s.islast=? AND s.status='P' AND s.scope=? AND s.qualifier=? AND p.copy_resource_id IS NULL ";
+
+  private static final String SQL_AFTER_DATE = SQL_ALL + " AND s.created_at>?";
+
+  private static final String SQL_PROJECT = SQL_ALL + " AND p.uuid=?";
+
+  private static final String ORDER_BY = " ORDER BY s.id, pm.metric_id";
+
+  static ProjectMeasuresResultSetIterator create(DbClient dbClient, Connection connection, long afterDate, @Nullable String projectUuid) {
+    try {
+      String sql;
+      if (projectUuid != null) {
+        sql = SQL_PROJECT;
+      } else if (afterDate > 0L) {
+        sql = SQL_AFTER_DATE;
+      } else {
+        sql = SQL_ALL;
+      }
+      PreparedStatement stmt = dbClient.newScrollingSelectStatement(connection, sql + ORDER_BY);
+      stmt.setBoolean(1, true);
+      stmt.setString(2, Scopes.PROJECT);
+      stmt.setString(3, Qualifiers.PROJECT);
+      if (projectUuid != null) {
+        stmt.setString(4, projectUuid);
+      } else if (afterDate > 0L) {
+        stmt.setLong(4, afterDate);
+      }
+      return new ProjectMeasuresResultSetIterator(stmt);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Fail to prepare SQL request to select measures of projects", e);
+    }
+  }
+
+  private ProjectMeasuresResultSetIterator(PreparedStatement stmt) throws SQLException {
+    super(stmt);
+  }
+
+  @Override
+  protected ProjectMeasuresDoc read(ResultSet rs) throws SQLException {
+    ProjectMeasuresDoc doc = new ProjectMeasuresDoc();
+
+    // all the keys must be present, even if value is null
+    doc.setSnapshotId(rs.getLong(1));
+    doc.setProjectId(rs.getLong(2));
+    doc.setUuid(rs.getString(3));
+    doc.setKey(rs.getString(4));
+    doc.setName(rs.getString(5));
+    doc.setShortName(rs.getString(6));
+    doc.setDescription(rs.getString(7));
+    doc.setVersion(rs.getString(8));
+    doc.setQualifier(rs.getString(9));
+    doc.setScope(rs.getString(10));
+    doc.setAnalysedAt(rs.getLong(11));
+    Timestamp createdAt = rs.getTimestamp(12);
+    doc.setCreatedAt(createdAt != null ? createdAt.getTime() : null);
+
+    Integer metricId = getInt(rs, 13);
+    if (metricId != null) {
+      Map<String, Object> measure = Maps.newHashMapWithExpectedSize(3 + NB_OF_PERIODS);
+      measure.put(FIELD_MEASURE_METRIC_ID, metricId);
+      measure.put(FIELD_MEASURE_VALUE, getDouble(rs, 14));
+      measure.put(FIELD_MEASURE_TEXT_VALUE, rs.getString(15));
+      for (int period = 1; period <= NB_OF_PERIODS; period++) {
+        measure.put(variationField(period), getDouble(rs, 15 + period));
+      }
+      doc.addMeasures(Collections.singletonList(measure));
+    }
+    return doc;
+  }
+}
@@ -23,6 +23,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.SetMultimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.picocontainer.Startable;
 import org.sonar.api.Properties;
 import org.sonar.api.Property;
@@ -41,9 +42,16 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @since 2.10
@@ -60,6 +68,20 @@ import java.util.concurrent.TimeUnit;
     defaultValue = "600",
     name = "Delay before reporting notification status, in seconds",
     project = false,
+    global = false),
+  @Property(
+    key = NotificationService.PROPERTY_BATCH_SIZE,
+    defaultValue = "50",
+    name = "Number of notifications removed from the queue at once",
+    project = false,
+    global = false),
+  @Property(
+    key = NotificationService.PROPERTY_THREADS,
+    defaultValue = "1",
+    name = "Number of threads delivering notifications",
+    description = "With more than one thread, notification dispatchers and channels provided by plugins are called concurrently, " +
+      "so they all must be thread-safe.",
+    project = false,
     global = false)
 })
 public class NotificationService implements ServerComponent, Startable {
@@ -68,15 +90,30 @@ public class NotificationService implements ServerComponent, Startable {
 
   public static final String PROPERTY_DELAY = "sonar.notifications.delay";
   public static final String PROPERTY_DELAY_BEFORE_REPORTING_STATUS = "sonar.notifications.runningDelayBeforeReportingStatus";
+  public static final String PROPERTY_BATCH_SIZE = "sonar.notifications.batchSize";
+  public static final String PROPERTY_THREADS = "sonar.notifications.threads";
+
+  static final int DEFAULT_BATCH_SIZE = 50;
+  /**
+   * Dispatchers and channels of plugins are not required to be thread-safe, so notifications are delivered
+   * sequentially unless {@link #PROPERTY_THREADS} is set.
+   */
+  static final int DEFAULT_THREADS = 1;
 
   private final long delayInSeconds;
   private final long delayBeforeReportingStatusInSeconds;
+  private final int batchSize;
+  private final int threads;
   private final DefaultNotificationManager manager;
   private final List<NotificationDispatcher> dispatchers;
   private final DbClient dbClient;
 
+  private final AtomicLong processedNotifications = new AtomicLong();
+  private final ConcurrentMap<String, ChannelStats> statsByChannel = new ConcurrentHashMap<>();
+
   private ScheduledExecutorService executorService;
-  private boolean stopping = false;
+  private ExecutorService deliveryService;
+  private volatile boolean stopping = false;
 
   /**
    * Constructor for {@link NotificationService}
@@ -84,6 +121,8 @@ public class NotificationService implements ServerComponent, Startable {
   public NotificationService(Settings settings, DefaultNotificationManager manager, DbClient dbClient, NotificationDispatcher[] dispatchers) {
     this.delayInSeconds = settings.getLong(PROPERTY_DELAY);
     this.delayBeforeReportingStatusInSeconds = settings.getLong(PROPERTY_DELAY_BEFORE_REPORTING_STATUS);
+    this.batchSize = Math.max(1, settings.hasKey(PROPERTY_BATCH_SIZE) ? settings.getInt(PROPERTY_BATCH_SIZE) : DEFAULT_BATCH_SIZE);
+    this.threads = Math.max(1, settings.hasKey(PROPERTY_THREADS) ? settings.getInt(PROPERTY_THREADS) : DEFAULT_THREADS);
     this.manager = manager;
     this.dbClient = dbClient;
     this.dispatchers = ImmutableList.copyOf(dispatchers);
@@ -98,6 +137,7 @@ public class NotificationService implements ServerComponent, Startable {
 
   @Override
   public void start() {
+    deliveryService = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("Notification-delivery-%d").build());
     executorService = Executors.newSingleThreadScheduledExecutor();
     executorService.scheduleWithFixedDelay(new Runnable() {
       @Override
@@ -109,7 +149,7 @@ public class NotificationService implements ServerComponent, Startable {
         }
       }
     }, 0, delayInSeconds, TimeUnit.SECONDS);
-    LOG.info("Notification service started (delay {} sec.)", delayInSeconds);
+    LOG.info("Notification service started (delay {} sec., {} delivery threads)", delayInSeconds, threads);
   }
 
   @Override
@@ -118,6 +158,8 @@ public class NotificationService implements ServerComponent, Startable {
       stopping = true;
       executorService.shutdown();
       executorService.awaitTermination(5, TimeUnit.SECONDS);
+      deliveryService.shutdown();
+      deliveryService.awaitTermination(5, TimeUnit.SECONDS);
     } catch (InterruptedException e) {
       LOG.error("Error during stop of notification service", e);
     }
@@ -130,10 +172,10 @@ public class NotificationService implements ServerComponent, Startable {
     long lastLog = start;
     long notifSentCount = 0;
 
-    Notification notifToSend = manager.getFromQueue();
-    while (notifToSend != null) {
-      deliver(notifToSend);
-      notifSentCount++;
+    List<Notification> notifsToSend = manager.getFromQueue(batchSize);
+    while (!notifsToSend.isEmpty()) {
+      deliver(notifsToSend);
+      notifSentCount += notifsToSend.size();
       if (stopping) {
         break;
       }
@@ -144,7 +186,43 @@ public class NotificationService implements ServerComponent, Startable {
         long spentTimeInMinutes = (now - start) / (60 * 1000);
         log(notifSentCount, remainingNotifCount, spentTimeInMinutes);
       }
-      notifToSend = manager.getFromQueue();
+      notifsToSend = manager.getFromQueue(batchSize);
+    }
+  }
+
+  /**
+   * Notifications are delivered in parallel, but the next batch is not dequeued before the current one is
+   * completely delivered. As a consequence the number of notifications in memory is bounded by the batch size.
+   * Notifications are removed from the queue when the batch is dequeued, so the ones that are not delivered
+   * yet when the service stops are put back into the queue, to be delivered after restart.
+   */
+  private void deliver(List<Notification> notifications) {
+    List<Future<?>> futures = new ArrayList<>(notifications.size());
+    for (final Notification notification : notifications) {
+      futures.add(deliveryService.submit(new Runnable() {
+        @Override
+        public void run() {
+          if (stopping) {
+            manager.scheduleForSending(notification);
+          } else {
+            deliver(notification);
+          }
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      waitFor(future);
+    }
+  }
+
+  private static void waitFor(Future<?> future) {
+    try {
+      future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while delivering notifications", e);
+    } catch (ExecutionException e) {
+      LOG.error("Fail to deliver notification", e.getCause());
     }
   }
 
@@ -182,24 +260,114 @@ public class NotificationService implements ServerComponent, Startable {
       }
     }
     dispatch(notification, recipients);
+    processedNotifications.incrementAndGet();
   }
 
   private void dispatch(Notification notification, SetMultimap<String, NotificationChannel> recipients) {
+    for (NotificationChannel channel : recipients.values()) {
+      stats(channel).pendingDeliveries.incrementAndGet();
+    }
     for (Map.Entry<String, Collection<NotificationChannel>> entry : recipients.asMap().entrySet()) {
       String username = entry.getKey();
       Collection<NotificationChannel> userChannels = entry.getValue();
       LOG.debug("For user {} via {}", username, userChannels);
       for (NotificationChannel channel : userChannels) {
+        ChannelStats stats = stats(channel);
+        long start = System.currentTimeMillis();
         try {
           channel.deliver(notification, username);
+          stats.deliveries.incrementAndGet();
         } catch (Exception e) {
           // catch all exceptions in order to deliver via other channels
+          stats.failedDeliveries.incrementAndGet();
           LOG.warn("Unable to deliver notification " + notification + " for user " + username + " via " + channel, e);
+        } finally {
+          stats.deliveryTimeInMs.addAndGet(System.currentTimeMillis() - start);
+          stats.pendingDeliveries.decrementAndGet();
         }
       }
     }
   }
 
+  private ChannelStats stats(NotificationChannel channel) {
+    String key = channel.getKey();
+    ChannelStats stats = statsByChannel.get(key);
+    if (stats == null) {
+      ChannelStats newStats = new ChannelStats();
+      stats = statsByChannel.putIfAbsent(key, newStats);
+      if (stats == null) {
+        stats = newStats;
+      }
+    }
+    return stats;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public int getDeliveryThreads() {
+    return threads;
+  }
+
+  /**
+   * Number of notifications dispatched and delivered since startup
+   */
+  public long getProcessedNotifications() {
+    return processedNotifications.get();
+  }
+
+  /**
+   * Number of notifications waiting in the queue
+   */
+  public long getQueuedNotifications() {
+    return manager.count();
+  }
+
+  /**
+   * Successful deliveries since startup, by channel key
+   */
+  public Map<String, Long> getDeliveriesByChannel() {
+    Map<String, Long> result = new TreeMap<>();
+    for (Map.Entry<String, ChannelStats> entry : statsByChannel.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().deliveries.get());
+    }
+    return result;
+  }
+
+  /**
+   * Failed deliveries since startup, by channel key
+   */
+  public Map<String, Long> getFailedDeliveriesByChannel() {
+    Map<String, Long> result = new TreeMap<>();
+    for (Map.Entry<String, ChannelStats> entry : statsByChannel.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().failedDeliveries.get());
+    }
+    return result;
+  }
+
+  /**
+   * Deliveries of the notifications being processed that are not done yet, by channel key
+   */
+  public Map<String, Long> getPendingDeliveriesByChannel() {
+    Map<String, Long> result = new TreeMap<>();
+    for (Map.Entry<String, ChannelStats> entry : statsByChannel.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().pendingDeliveries.get());
+    }
+    return result;
+  }
+
+  /**
+   * Time spent in deliveries since startup, by channel key
+   */
+  public Map<String, Long> getDeliveryTimeInMsByChannel() {
+    Map<String, Long> result = new TreeMap<>();
+    for (Map.Entry<String, ChannelStats> entry : statsByChannel.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().deliveryTimeInMs.get());
+    }
+    return result;
+  }
+
   @VisibleForTesting
   protected List<NotificationDispatcher> getDispatchers() {
     return dispatchers;
@@ -219,4 +387,11 @@ public class NotificationService implements ServerComponent, Startable {
 
     return dbClient.propertiesDao().hasProjectNotificationSubscribersForDispatchers(projectUuid, dispatcherKeys);
   }
+
+  private static class ChannelStats {
+    private final AtomicLong deliveries = new AtomicLong();
+    private final AtomicLong failedDeliveries = new AtomicLong();
+    private final AtomicLong pendingDeliveries = new AtomicLong();
+    private final AtomicLong deliveryTimeInMs = new AtomicLong();
+  }
 }
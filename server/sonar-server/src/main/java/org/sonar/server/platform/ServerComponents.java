@@ -88,6 +88,7 @@ import org.sonar.server.batch.BatchWs;
 import org.sonar.server.batch.GlobalRepositoryAction;
 import org.sonar.server.batch.IssuesAction;
 import org.sonar.server.batch.ProjectRepositoryAction;
+import org.sonar.server.batch.ProjectRepositoryCache;
 import org.sonar.server.batch.ProjectRepositoryLoader;
 import org.sonar.server.charts.ChartFactory;
 import org.sonar.server.component.ComponentCleanerService;
@@ -178,6 +179,9 @@ import org.sonar.server.language.ws.ListAction;
 import org.sonar.server.measure.MeasureFilterEngine;
 import org.sonar.server.measure.MeasureFilterExecutor;
 import org.sonar.server.measure.MeasureFilterFactory;
+import org.sonar.server.measure.MeasureFilterIndexExecutor;
+import org.sonar.server.measure.index.ProjectMeasuresIndexDefinition;
+import org.sonar.server.measure.index.ProjectMeasuresIndexer;
 import org.sonar.server.measure.persistence.MeasureDao;
 import org.sonar.server.measure.persistence.MetricDao;
 import org.sonar.server.measure.ws.ManualMeasuresWs;
@@ -191,8 +195,11 @@ import org.sonar.server.permission.PermissionFinder;
 import org.sonar.server.permission.ws.PermissionsWs;
 import org.sonar.server.platform.monitoring.DatabaseMonitor;
 import org.sonar.server.platform.monitoring.EsMonitor;
+import org.sonar.server.platform.monitoring.IndexQueueMonitor;
+import org.sonar.server.platform.monitoring.NotificationMonitor;
 import org.sonar.server.platform.monitoring.JvmPropertiesMonitor;
 import org.sonar.server.platform.monitoring.PluginsMonitor;
+import org.sonar.server.platform.monitoring.ProjectRepositoryCacheMonitor;
 import org.sonar.server.platform.monitoring.SonarQubeMonitor;
 import org.sonar.server.platform.monitoring.SystemMonitor;
 import org.sonar.server.platform.ws.L10nWs;
@@ -284,6 +291,7 @@ import org.sonar.server.source.index.SourceLineIndex;
 import org.sonar.server.source.index.SourceLineIndexDefinition;
 import org.sonar.server.source.index.SourceLineIndexer;
 import org.sonar.server.source.ws.HashAction;
+import org.sonar.server.source.ws.HashesAction;
 import org.sonar.server.source.ws.IndexAction;
 import org.sonar.server.source.ws.LinesAction;
 import org.sonar.server.source.ws.RawAction;
@@ -499,6 +507,7 @@ class ServerComponents {
     pico.addSingleton(GlobalRepositoryAction.class);
     pico.addSingleton(ProjectRepositoryAction.class);
     pico.addSingleton(ProjectRepositoryLoader.class);
+    pico.addSingleton(ProjectRepositoryCache.class);
     pico.addSingleton(SubmitReportWsAction.class);
     pico.addSingleton(IssuesAction.class);
     pico.addSingleton(BatchWs.class);
@@ -573,6 +582,9 @@ class ServerComponents {
     pico.addComponent(MeasuresDao.class, false);
     pico.addSingleton(MeasureFilterFactory.class);
     pico.addSingleton(MeasureFilterExecutor.class);
+    pico.addSingleton(MeasureFilterIndexExecutor.class);
+    pico.addSingleton(ProjectMeasuresIndexDefinition.class);
+    pico.addSingleton(ProjectMeasuresIndexer.class);
     pico.addSingleton(MeasureFilterEngine.class);
     pico.addSingleton(DefaultMetricFinder.class);
     pico.addSingleton(ServerLifecycleNotifier.class);
@@ -732,6 +744,7 @@ class ServerComponents {
     pico.addSingleton(ShowAction.class);
     pico.addSingleton(LinesAction.class);
     pico.addSingleton(HashAction.class);
+    pico.addSingleton(HashesAction.class);
     pico.addSingleton(ScmWriter.class);
     pico.addSingleton(RawAction.class);
     pico.addSingleton(IndexAction.class);
@@ -795,7 +808,10 @@ class ServerComponents {
       EsMonitor.class,
       PluginsMonitor.class,
       JvmPropertiesMonitor.class,
-      DatabaseMonitor.class
+      DatabaseMonitor.class,
+      ProjectRepositoryCacheMonitor.class,
+      IndexQueueMonitor.class,
+      NotificationMonitor.class
       ));
 
     // Compute engine
@@ -0,0 +1,102 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform.monitoring;
+
+import org.sonar.server.notifications.NotificationService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Throughput and backlog of the notifications delivered by the server, globally and by channel
+ */
+public class NotificationMonitor extends BaseMonitorMBean implements NotificationMonitorMBean {
+
+  private final NotificationService notificationService;
+
+  public NotificationMonitor(NotificationService notificationService) {
+    this.notificationService = notificationService;
+  }
+
+  @Override
+  public String name() {
+    return "Notifications";
+  }
+
+  @Override
+  public int getBatchSize() {
+    return notificationService.getBatchSize();
+  }
+
+  @Override
+  public int getDeliveryThreads() {
+    return notificationService.getDeliveryThreads();
+  }
+
+  @Override
+  public long getProcessedNotifications() {
+    return notificationService.getProcessedNotifications();
+  }
+
+  @Override
+  public long getQueuedNotifications() {
+    return notificationService.getQueuedNotifications();
+  }
+
+  @Override
+  public Map<String, Long> getDeliveriesByChannel() {
+    return notificationService.getDeliveriesByChannel();
+  }
+
+  @Override
+  public Map<String, Long> getFailedDeliveriesByChannel() {
+    return notificationService.getFailedDeliveriesByChannel();
+  }
+
+  @Override
+  public Map<String, Long> getPendingDeliveriesByChannel() {
+    return notificationService.getPendingDeliveriesByChannel();
+  }
+
+  @Override
+  public Map<String, Long> getDeliveryTimeInMsByChannel() {
+    return notificationService.getDeliveryTimeInMsByChannel();
+  }
+
+  @Override
+  public LinkedHashMap<String, Object> attributes() {
+    LinkedHashMap<String, Object> attributes = new LinkedHashMap<>();
+    attributes.put("Batch Size", getBatchSize());
+    attributes.put("Delivery Threads", getDeliveryThreads());
+    attributes.put("Processed Notifications", getProcessedNotifications());
+    attributes.put("Queued Notifications", getQueuedNotifications());
+    Map<String, Long> failedDeliveries = getFailedDeliveriesByChannel();
+    Map<String, Long> pendingDeliveries = getPendingDeliveriesByChannel();
+    Map<String, Long> deliveryTimes = getDeliveryTimeInMsByChannel();
+    for (Map.Entry<String, Long> entry : getDeliveriesByChannel().entrySet()) {
+      String channel = entry.getKey();
+      attributes.put(channel + " Deliveries", entry.getValue());
+      attributes.put(channel + " Failed Deliveries", failedDeliveries.get(channel));
+      attributes.put(channel + " Pending Deliveries", pendingDeliveries.get(channel));
+      attributes.put(channel + " Delivery Time (ms)", deliveryTimes.get(channel));
+    }
+    return attributes;
+  }
+}
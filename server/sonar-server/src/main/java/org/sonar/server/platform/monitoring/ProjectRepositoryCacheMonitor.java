@@ -0,0 +1,71 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform.monitoring;
+
+import org.sonar.server.batch.ProjectRepositoryCache;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Usage of the cache of project repositories requested by analyses
+ */
+public class ProjectRepositoryCacheMonitor extends BaseMonitorMBean implements ProjectRepositoryCacheMonitorMBean {
+
+  private final ProjectRepositoryCache cache;
+
+  public ProjectRepositoryCacheMonitor(ProjectRepositoryCache cache) {
+    this.cache = cache;
+  }
+
+  @Override
+  public String name() {
+    return "ProjectRepositoryCache";
+  }
+
+  @Override
+  public long getHits() {
+    return cache.hits();
+  }
+
+  @Override
+  public long getMisses() {
+    return cache.misses();
+  }
+
+  @Override
+  public int getEntries() {
+    return cache.size();
+  }
+
+  @Override
+  public long getSizeInBytes() {
+    return cache.sizeInBytes();
+  }
+
+  @Override
+  public LinkedHashMap<String, Object> attributes() {
+    LinkedHashMap<String, Object> attributes = new LinkedHashMap<>();
+    attributes.put("Hits", getHits());
+    attributes.put("Misses", getMisses());
+    attributes.put("Entries", getEntries());
+    attributes.put("Size (bytes)", getSizeInBytes());
+    return attributes;
+  }
+}
@@ -31,6 +31,7 @@ import org.sonar.core.qualityprofile.db.QualityProfileDto;
 import org.sonar.core.rule.RuleDto;
 import org.sonar.core.rule.RuleParamDto;
 import org.sonar.server.activity.ActivityService;
+import org.sonar.server.batch.ProjectRepositoryCache;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.exceptions.BadRequestException;
 import org.sonar.server.qualityprofile.db.ActiveRuleDao;
@@ -63,15 +64,17 @@ public class RuleActivator implements ServerComponent {
   private final RuleActivatorContextFactory contextFactory;
   private final IndexClient index;
   private final ActivityService activityService;
+  private final ProjectRepositoryCache projectRepositoryCache;
 
   public RuleActivator(DbClient db, IndexClient index,
     RuleActivatorContextFactory contextFactory, TypeValidations typeValidations,
-    ActivityService activityService) {
+    ActivityService activityService, ProjectRepositoryCache projectRepositoryCache) {
     this.db = db;
     this.index = index;
     this.contextFactory = contextFactory;
     this.typeValidations = typeValidations;
     this.activityService = activityService;
+    this.projectRepositoryCache = projectRepositoryCache;
   }
 
   public List<ActiveRuleChange> activate(DbSession dbSession, RuleActivation activation, String profileKey) {
@@ -240,6 +243,8 @@ public class RuleActivator implements ServerComponent {
       activeRule = doUpdate(change, context, dbSession);
     }
     activityService.save(change.toActivity());
+    // profiles can be shared by many projects
+    projectRepositoryCache.invalidateAll();
     return activeRule;
   }
 
@@ -409,7 +414,8 @@ public class RuleActivator implements ServerComponent {
           result.getErrors().add(e.errors());
         }
       }
-      dbSession.commit();
+      // do not block the web request until search engine is updated
+      dbSession.commitAndEnqueueAsync();
     } finally {
       dbSession.close();
     }
@@ -439,7 +445,7 @@ public class RuleActivator implements ServerComponent {
           result.getErrors().add(e.errors());
         }
       }
-      dbSession.commit();
+      dbSession.commitAndEnqueueAsync();
       return result;
     } finally {
       dbSession.close();
@@ -31,6 +31,7 @@ import org.sonar.core.persistence.DbSession;
 import org.sonar.core.rule.RuleDto;
 import org.sonar.core.rule.RuleDto.Format;
 import org.sonar.core.rule.RuleParamDto;
+import org.sonar.server.batch.ProjectRepositoryCache;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.exceptions.BadRequestException;
 import org.sonar.server.exceptions.Errors;
@@ -51,9 +52,12 @@ public class RuleCreator implements ServerComponent {
 
   private final TypeValidations typeValidations;
 
-  public RuleCreator(DbClient dbClient, TypeValidations typeValidations) {
+  private final ProjectRepositoryCache projectRepositoryCache;
+
+  public RuleCreator(DbClient dbClient, TypeValidations typeValidations, ProjectRepositoryCache projectRepositoryCache) {
     this.dbClient = dbClient;
     this.typeValidations = typeValidations;
+    this.projectRepositoryCache = projectRepositoryCache;
   }
 
   public RuleKey create(NewRule newRule) {
@@ -110,6 +114,8 @@ public class RuleCreator implements ServerComponent {
     }
 
     dbSession.commit();
+    // manual rules are part of the project repositories
+    projectRepositoryCache.invalidateAll();
     return customRuleKey;
   }
 
@@ -25,6 +25,7 @@ import org.sonar.api.rule.RuleKey;
 import org.sonar.api.rule.RuleStatus;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.rule.RuleDto;
+import org.sonar.server.batch.ProjectRepositoryCache;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.qualityprofile.RuleActivator;
 import org.sonar.server.rule.index.RuleDoc;
@@ -33,10 +34,12 @@ public class RuleDeleter implements ServerComponent {
 
   private final DbClient dbClient;
   private final RuleActivator ruleActivator;
+  private final ProjectRepositoryCache projectRepositoryCache;
 
-  public RuleDeleter(DbClient dbClient, RuleActivator ruleActivator) {
+  public RuleDeleter(DbClient dbClient, RuleActivator ruleActivator, ProjectRepositoryCache projectRepositoryCache) {
     this.dbClient = dbClient;
     this.ruleActivator = ruleActivator;
+    this.projectRepositoryCache = projectRepositoryCache;
   }
 
   public void delete(RuleKey ruleKey) {
@@ -56,6 +59,8 @@ public class RuleDeleter implements ServerComponent {
       dbClient.ruleDao().update(dbSession, rule);
 
       dbSession.commit();
+      // manual rules are part of the project repositories
+      projectRepositoryCache.invalidateAll();
     } finally {
       dbSession.close();
     }
@@ -36,6 +36,7 @@ import org.sonar.core.qualityprofile.db.ActiveRuleParamDto;
 import org.sonar.core.rule.RuleDto;
 import org.sonar.core.rule.RuleParamDto;
 import org.sonar.core.technicaldebt.db.CharacteristicDto;
+import org.sonar.server.batch.ProjectRepositoryCache;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.user.UserSession;
 
@@ -50,10 +51,12 @@ public class RuleUpdater implements ServerComponent {
 
   private final DbClient dbClient;
   private final System2 system;
+  private final ProjectRepositoryCache projectRepositoryCache;
 
-  public RuleUpdater(DbClient dbClient, System2 system) {
+  public RuleUpdater(DbClient dbClient, System2 system, ProjectRepositoryCache projectRepositoryCache) {
     this.dbClient = dbClient;
     this.system = system;
+    this.projectRepositoryCache = projectRepositoryCache;
   }
 
   /**
@@ -72,6 +75,8 @@ public class RuleUpdater implements ServerComponent {
       dbClient.ruleDao().update(dbSession, context.rule);
       updateParameters(dbSession, update, context);
       dbSession.commit();
+      // names and parameters of rules are part of the project repositories
+      projectRepositoryCache.invalidateAll();
       return true;
 
     } finally {
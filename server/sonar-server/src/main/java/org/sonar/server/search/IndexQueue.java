@@ -19,6 +19,7 @@
  */
 package org.sonar.server.search;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.elasticsearch.action.ActionRequest;
 import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
 import org.elasticsearch.action.admin.indices.refresh.RefreshRequestBuilder;
@@ -28,13 +29,16 @@ import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
+import org.picocontainer.Startable;
 import org.sonar.api.ServerComponent;
+import org.sonar.api.config.Settings;
 import org.sonar.api.platform.ComponentContainer;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.core.cluster.WorkQueue;
 import org.sonar.server.search.action.IndexAction;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -44,19 +48,102 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class IndexQueue implements ServerComponent, WorkQueue<IndexAction<?>> {
+public class IndexQueue implements ServerComponent, Startable, WorkQueue<IndexAction<?>> {
+
+  /**
+   * Number of threads used to convert DB changes into search requests. Default is the number of processors, up to 4.
+   */
+  public static final String NORMALIZATION_THREADS_PROPERTY = "sonar.search.normalizationThreads";
+
+  /**
+   * When true, bulk requests enqueued with {@link #enqueueAsync(List)} are sent to search engine in background.
+   * Default is false, so that changes are searchable as soon as the web request is done.
+   */
+  public static final String ASYNC_BULK_PROPERTY = "sonar.search.asyncBulk";
+
+  private static final int MAX_DEFAULT_NORMALIZATION_THREADS = 4;
 
   private final SearchClient searchClient;
   private final ComponentContainer container;
+  private final int normalizationThreads;
+  private final boolean asyncBulk;
+  private ExecutorService normalizationExecutor;
+  private ExecutorService bulkExecutor;
 
-  private static final Logger LOGGER = Loggers.get(IndexQueue.class);
+  private final AtomicLong normalizedActions = new AtomicLong();
+  private final AtomicLong normalizationTimeInMs = new AtomicLong();
+  private final AtomicLong bulkRequests = new AtomicLong();
+  private final AtomicLong pendingAsyncBulkRequests = new AtomicLong();
+  private final AtomicLong failedAsyncBulkRequests = new AtomicLong();
 
-  private static final Integer CONCURRENT_NORMALIZATION_FACTOR = 1;
+  private static final Logger LOGGER = Loggers.get(IndexQueue.class);
 
-  public IndexQueue(SearchClient searchClient, ComponentContainer container) {
+  public IndexQueue(SearchClient searchClient, ComponentContainer container, Settings settings) {
     this.searchClient = searchClient;
     this.container = container;
+    int defaultThreads = Math.min(Runtime.getRuntime().availableProcessors(), MAX_DEFAULT_NORMALIZATION_THREADS);
+    this.normalizationThreads = Math.max(1, settings.hasKey(NORMALIZATION_THREADS_PROPERTY) ? settings.getInt(NORMALIZATION_THREADS_PROPERTY) : defaultThreads);
+    this.asyncBulk = settings.getBoolean(ASYNC_BULK_PROPERTY);
+  }
+
+  @Override
+  public void start() {
+    normalizationExecutor = Executors.newFixedThreadPool(normalizationThreads, new ThreadFactoryBuilder()
+      .setNameFormat("index-normalization-%d")
+      .setDaemon(true)
+      .build());
+    // a single thread keeps the order of asynchronous bulk requests
+    bulkExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+      .setNameFormat("index-bulk-%d")
+      .setDaemon(true)
+      .build());
+  }
+
+  @Override
+  public void stop() {
+    if (bulkExecutor != null) {
+      bulkExecutor.shutdown();
+      try {
+        bulkExecutor.awaitTermination(1, TimeUnit.MINUTES);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    if (normalizationExecutor != null) {
+      normalizationExecutor.shutdownNow();
+    }
+  }
+
+  /**
+   * Same as {@link #enqueue(List)}, but does not wait for the bulk request to be executed if
+   * the property {@link #ASYNC_BULK_PROPERTY} is enabled. Failures are then logged.
+   */
+  @Override
+  public void enqueueAsync(List<IndexAction<?>> actions) {
+    if (!asyncBulk) {
+      enqueue(actions);
+      return;
+    }
+    if (actions.isEmpty()) {
+      return;
+    }
+    final List<IndexAction<?>> copy = new ArrayList<IndexAction<?>>(actions);
+    pendingAsyncBulkRequests.incrementAndGet();
+    bulkExecutor.submit(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          enqueue(copy);
+        } catch (Exception e) {
+          failedAsyncBulkRequests.incrementAndGet();
+          LOGGER.error("Fail to execute asynchronous bulk request", e);
+        } finally {
+          pendingAsyncBulkRequests.decrementAndGet();
+        }
+      }
+    });
   }
 
   @Override
@@ -83,6 +170,7 @@ public class IndexQueue implements ServerComponent, WorkQueue<IndexAction<?>> {
 
     if (bulkRequestBuilder.numberOfActions() > 0) {
       // execute the request
+      bulkRequests.incrementAndGet();
       BulkResponse response = bulkRequestBuilder.setRefresh(false).get();
 
       if (refreshRequired) {
@@ -109,11 +197,11 @@ public class IndexQueue implements ServerComponent, WorkQueue<IndexAction<?>> {
   }
 
   private void processActionsIntoQueries(BulkRequestBuilder bulkRequestBuilder, List<IndexAction<?>> actions) {
+    long startedAt = System.currentTimeMillis();
     try {
       boolean hasInlineRefreshRequest = false;
-      ExecutorService executorService = Executors.newFixedThreadPool(CONCURRENT_NORMALIZATION_FACTOR);
       // invokeAll() blocks until ALL tasks submitted to executor complete
-      List<Future<List<? extends ActionRequest>>> requests = (List) executorService.invokeAll(actions, 20, TimeUnit.MINUTES);
+      List<Future<List<? extends ActionRequest>>> requests = (List) normalizationExecutor.invokeAll(actions, 20, TimeUnit.MINUTES);
       for (Future<List<? extends ActionRequest>> updates : requests) {
         for (ActionRequest update : updates.get()) {
 
@@ -130,10 +218,12 @@ public class IndexQueue implements ServerComponent, WorkQueue<IndexAction<?>> {
           }
         }
       }
-      executorService.shutdown();
       bulkRequestBuilder.setRefresh(hasInlineRefreshRequest);
     } catch (Exception e) {
       throw new IllegalStateException("Could not execute normalization for stack", e);
+    } finally {
+      normalizedActions.addAndGet(actions.size());
+      normalizationTimeInMs.addAndGet(System.currentTimeMillis() - startedAt);
     }
   }
 
@@ -144,4 +234,28 @@ public class IndexQueue implements ServerComponent, WorkQueue<IndexAction<?>> {
     }
     return indexes;
   }
+
+  public int getNormalizationThreads() {
+    return normalizationThreads;
+  }
+
+  public long getNormalizedActions() {
+    return normalizedActions.get();
+  }
+
+  public long getNormalizationTimeInMs() {
+    return normalizationTimeInMs.get();
+  }
+
+  public long getBulkRequests() {
+    return bulkRequests.get();
+  }
+
+  public long getPendingAsyncBulkRequests() {
+    return pendingAsyncBulkRequests.get();
+  }
+
+  public long getFailedAsyncBulkRequests() {
+    return failedAsyncBulkRequests.get();
+  }
 }
@@ -28,6 +28,7 @@ import org.sonar.server.db.Dao;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.issue.index.IssueAuthorizationIndexer;
 import org.sonar.server.issue.index.IssueIndexer;
+import org.sonar.server.measure.index.ProjectMeasuresIndexer;
 import org.sonar.server.qualityprofile.index.ActiveRuleIndex;
 import org.sonar.server.rule.index.RuleIndex;
 import org.sonar.server.source.index.SourceLineIndexer;
@@ -48,6 +49,7 @@ public class IndexSynchronizer {
   private final UserIndexer userIndexer;
   private final ViewIndexer viewIndexer;
   private final ActivityIndexer activityIndexer;
+  private final ProjectMeasuresIndexer projectMeasuresIndexer;
 
   /**
    * Limitation - {@link org.sonar.server.es.BaseIndexer} are not injected through an array or a collection
@@ -56,7 +58,8 @@ public class IndexSynchronizer {
    */
   public IndexSynchronizer(DbClient db, IndexClient index, SourceLineIndexer sourceLineIndexer,
                            IssueAuthorizationIndexer issueAuthorizationIndexer, IssueIndexer issueIndexer,
-                           UserIndexer userIndexer, ViewIndexer viewIndexer, ActivityIndexer activityIndexer) {
+                           UserIndexer userIndexer, ViewIndexer viewIndexer, ActivityIndexer activityIndexer,
+                           ProjectMeasuresIndexer projectMeasuresIndexer) {
     this.db = db;
     this.index = index;
     this.sourceLineIndexer = sourceLineIndexer;
@@ -65,6 +68,7 @@ public class IndexSynchronizer {
     this.userIndexer = userIndexer;
     this.viewIndexer = viewIndexer;
     this.activityIndexer = activityIndexer;
+    this.projectMeasuresIndexer = projectMeasuresIndexer;
   }
 
   public void executeDeprecated() {
@@ -94,6 +98,9 @@ public class IndexSynchronizer {
 
     LOG.info("Index views");
     viewIndexer.setEnabled(true).index();
+
+    LOG.info("Index measures of projects");
+    projectMeasuresIndexer.setEnabled(true).index();
   }
 
   void synchronize(DbSession session, Dao dao, Index index) {
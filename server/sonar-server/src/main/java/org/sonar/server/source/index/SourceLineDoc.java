@@ -126,7 +126,11 @@ public class SourceLineDoc extends BaseDoc {
   }
 
   public String key() {
-    return String.format("%s_%d", fileUuid(), line());
+    return key(fileUuid(), line());
+  }
+
+  public static String key(String fileUuid, int line) {
+    return String.format("%s_%d", fileUuid, line);
   }
 
   @CheckForNull
@@ -19,9 +19,16 @@
  */
 package org.sonar.server.source.index;
 
+import com.google.common.collect.Maps;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchType;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.index.query.FilterBuilders;
 import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.aggregations.metrics.max.Max;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.es.BaseIndexer;
@@ -30,9 +37,12 @@ import org.sonar.server.es.EsClient;
 
 import java.sql.Connection;
 import java.util.Iterator;
+import java.util.Map;
 
 import static org.sonar.server.source.index.SourceLineIndexDefinition.FIELD_FILE_UUID;
+import static org.sonar.server.source.index.SourceLineIndexDefinition.FIELD_LINE;
 import static org.sonar.server.source.index.SourceLineIndexDefinition.FIELD_PROJECT_UUID;
+import static org.sonar.server.source.index.SourceLineIndexDefinition.FIELD_UPDATED_AT;
 
 /**
  * Add to Elasticsearch index {@link SourceLineIndexDefinition} the rows of
@@ -51,20 +61,106 @@ public class SourceLineIndexer extends BaseIndexer {
   protected long doIndex(long lastUpdatedAt) {
     final BulkIndexer bulk = new BulkIndexer(esClient, SourceLineIndexDefinition.INDEX);
     bulk.setLarge(lastUpdatedAt == 0L);
+    if (lastUpdatedAt == 0L) {
+      // rows are read from db while the previous bulk requests are processed
+      bulk.setConcurrentRequests(2);
+    }
 
     DbSession dbSession = dbClient.openSession(false);
     Connection dbConnection = dbSession.getConnection();
     try {
       SourceLineResultSetIterator rowIt = SourceLineResultSetIterator.create(dbClient, dbConnection, lastUpdatedAt);
-      long maxUpdatedAt = doIndex(bulk, rowIt);
-      rowIt.close();
-      return maxUpdatedAt;
+      try {
+        return doIndex(bulk, rowIt);
+      } finally {
+        rowIt.close();
+      }
+
+    } finally {
+      dbSession.close();
+    }
+  }
+
+  /**
+   * Index the rows of db table FILE_SOURCES of a single project that have been updated since the
+   * last indexing of this project. Used by the compute engine, so that rows of the other projects
+   * are not scanned. Lines that do not exist anymore are deleted in the same bulk requests.
+   */
+  public void index(final String projectUuid) {
+    indexSubset(new Runnable() {
+      @Override
+      public void run() {
+        doIndexProject(projectUuid);
+      }
+    });
+  }
+
+  private void doIndexProject(String projectUuid) {
+    IndexedProject indexedProject = loadIndexedProject(projectUuid);
+    BulkIndexer bulk = new BulkIndexer(esClient, SourceLineIndexDefinition.INDEX);
+
+    DbSession dbSession = dbClient.openSession(false);
+    Connection dbConnection = dbSession.getConnection();
+    try {
+      SourceLineResultSetIterator rowIt = SourceLineResultSetIterator.create(dbClient, dbConnection, indexedProject.maxUpdatedAt, projectUuid);
+      try {
+        bulk.start();
+        while (rowIt.hasNext()) {
+          SourceLineResultSetIterator.SourceFile file = rowIt.next();
+          for (SourceLineDoc line : file.getLines()) {
+            bulk.add(newUpsertRequest(line));
+          }
+          Integer previousLines = indexedProject.linesByFile.get(file.getFileUuid());
+          if (previousLines != null) {
+            for (int line = file.getLines().size() + 1; line <= previousLines; line++) {
+              bulk.add(newDeleteRequest(projectUuid, file.getFileUuid(), line));
+            }
+          }
+        }
+        bulk.stop();
+      } finally {
+        rowIt.close();
+      }
 
     } finally {
       dbSession.close();
     }
   }
 
+  /**
+   * Number of lines of each file of the project and the date of the most recent line, as
+   * currently indexed. Loaded in a single request.
+   */
+  private IndexedProject loadIndexedProject(String projectUuid) {
+    SearchResponse response = esClient.prepareSearch(SourceLineIndexDefinition.INDEX)
+      .setTypes(SourceLineIndexDefinition.TYPE)
+      .setRouting(projectUuid)
+      .setSearchType(SearchType.COUNT)
+      .setQuery(QueryBuilders.filteredQuery(QueryBuilders.matchAllQuery(),
+        FilterBuilders.termFilter(FIELD_PROJECT_UUID, projectUuid)))
+      .addAggregation(AggregationBuilders.terms(FIELD_FILE_UUID).field(FIELD_FILE_UUID).size(0)
+        .subAggregation(AggregationBuilders.max(FIELD_LINE).field(FIELD_LINE)))
+      .addAggregation(AggregationBuilders.max(FIELD_UPDATED_AT).field(FIELD_UPDATED_AT))
+      .get();
+
+    IndexedProject result = new IndexedProject();
+    Terms files = response.getAggregations().get(FIELD_FILE_UUID);
+    for (Terms.Bucket file : files.getBuckets()) {
+      Max lines = file.getAggregations().get(FIELD_LINE);
+      result.linesByFile.put(file.getKey(), (int) lines.getValue());
+    }
+    Max updatedAt = response.getAggregations().get(FIELD_UPDATED_AT);
+    if (!Double.isInfinite(updatedAt.getValue())) {
+      result.maxUpdatedAt = (long) updatedAt.getValue();
+    }
+    return result;
+  }
+
+  private static class IndexedProject {
+    private final Map<String, Integer> linesByFile = Maps.newHashMap();
+    private long maxUpdatedAt = 0L;
+  }
+
   public long index(Iterator<SourceLineResultSetIterator.SourceFile> sourceFiles) {
     final BulkIndexer bulk = new BulkIndexer(esClient, SourceLineIndexDefinition.INDEX);
     return doIndex(bulk, sourceFiles);
@@ -93,6 +189,11 @@ public class SourceLineIndexer extends BaseIndexer {
       .upsert(lineDoc.getFields());
   }
 
+  private DeleteRequest newDeleteRequest(String projectUuid, String fileUuid, int line) {
+    return new DeleteRequest(SourceLineIndexDefinition.INDEX, SourceLineIndexDefinition.TYPE, SourceLineDoc.key(fileUuid, line))
+      .routing(projectUuid);
+  }
+
   /**
    * Unindex all lines in file with UUID <code>fileUuid</code> above line <code>lastLine</code>
    */
@@ -26,6 +26,8 @@ import org.sonar.server.db.DbClient;
 import org.sonar.server.db.ResultSetIterator;
 import org.sonar.server.source.db.FileSourceDb;
 
+import javax.annotation.Nullable;
+
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -78,12 +80,29 @@ public class SourceLineResultSetIterator extends ResultSetIterator<SourceLineRes
 
   private static final String SQL_AFTER_DATE = SQL_ALL + " where updated_at>?";
 
+  private static final String SQL_PROJECT_AFTER_DATE = SQL_ALL + " where project_uuid=? and updated_at>?";
+
   public static SourceLineResultSetIterator create(DbClient dbClient, Connection connection, long afterDate) {
+    return create(dbClient, connection, afterDate, null);
+  }
+
+  /**
+   * @param projectUuid if not null, then only the files of this project are selected
+   */
+  public static SourceLineResultSetIterator create(DbClient dbClient, Connection connection, long afterDate, @Nullable String projectUuid) {
     try {
-      String sql = afterDate > 0L ? SQL_AFTER_DATE : SQL_ALL;
+      String sql;
+      if (projectUuid != null) {
+        sql = SQL_PROJECT_AFTER_DATE;
+      } else {
+        sql = afterDate > 0L ? SQL_AFTER_DATE : SQL_ALL;
+      }
       // rows are big, so they are scrolled once at a time (one row in memory at a time)
       PreparedStatement stmt = dbClient.newScrollingSingleRowSelectStatement(connection, sql);
-      if (afterDate > 0L) {
+      if (projectUuid != null) {
+        stmt.setString(1, projectUuid);
+        stmt.setLong(2, afterDate);
+      } else if (afterDate > 0L) {
         stmt.setLong(1, afterDate);
       }
       return new SourceLineResultSetIterator(stmt);
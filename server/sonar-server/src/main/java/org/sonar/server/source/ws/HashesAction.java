@@ -0,0 +1,100 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.source.ws;
+
+import com.google.common.base.Function;
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.RequestHandler;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.WebService;
+import org.sonar.api.web.UserRole;
+import org.sonar.batch.protocol.input.BatchInput.FileLineHashes;
+import org.sonar.core.component.ComponentDto;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.plugins.MimeTypes;
+import org.sonar.server.user.UserSession;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Line hashes of all the files of a module, so that the batch does not request them file by file
+ */
+public class HashesAction implements RequestHandler {
+
+  private static final String PARAM_MODULE_KEY = "moduleKey";
+
+  private final DbClient dbClient;
+
+  public HashesAction(DbClient dbClient) {
+    this.dbClient = dbClient;
+  }
+
+  void define(WebService.NewController controller) {
+    WebService.NewAction action = controller.createAction("hashes")
+      .setDescription("Stream line hashes of the files of a module, excluding sub-modules, as length-delimited protocol buffers messages. " +
+        "Require See Source Code permission on module's project<br/>")
+      .setSince("5.1")
+      .setInternal(true)
+      .setHandler(this);
+
+    action
+      .createParam(PARAM_MODULE_KEY)
+      .setRequired(true)
+      .setDescription("Module key")
+      .setExampleValue("org.codehaus.sonar:sonar-server");
+  }
+
+  @Override
+  public void handle(Request request, Response response) throws Exception {
+    try (DbSession session = dbClient.openSession(false)) {
+      String moduleKey = request.mandatoryParam(PARAM_MODULE_KEY);
+      ComponentDto module = dbClient.componentDao().getByKey(session, moduleKey);
+      UserSession.get().checkProjectUuidPermission(UserRole.USER, module.projectUuid());
+
+      response.stream().setMediaType(MimeTypes.PROTOBUF);
+      OutputStream output = response.stream().output();
+      try {
+        dbClient.fileSourceDao().readLineHashesOfModule(session, module.uuid(), new WriteFunction(output));
+      } finally {
+        output.close();
+      }
+    }
+  }
+
+  private static class WriteFunction implements Function<FileLineHashes, Void> {
+    private final OutputStream output;
+
+    WriteFunction(OutputStream output) {
+      this.output = output;
+    }
+
+    @Override
+    public Void apply(FileLineHashes input) {
+      try {
+        input.writeDelimitedTo(output);
+      } catch (IOException e) {
+        throw new IllegalStateException(String.format("Can't write line hashes of file '%s'", input.getFileKey()), e);
+      }
+      return null;
+    }
+  }
+}
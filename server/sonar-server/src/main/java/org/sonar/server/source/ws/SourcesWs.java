@@ -29,14 +29,17 @@ public class SourcesWs implements WebService {
   private final RawAction rawAction;
   private final ScmAction scmAction;
   private final HashAction hashAction;
+  private final HashesAction hashesAction;
   private final IndexAction indexAction;
 
-  public SourcesWs(ShowAction showAction, RawAction rawAction, ScmAction scmAction, LinesAction linesAction, HashAction hashAction, IndexAction indexAction) {
+  public SourcesWs(ShowAction showAction, RawAction rawAction, ScmAction scmAction, LinesAction linesAction, HashAction hashAction, HashesAction hashesAction,
+    IndexAction indexAction) {
     this.showAction = showAction;
     this.linesAction = linesAction;
     this.rawAction = rawAction;
     this.scmAction = scmAction;
     this.hashAction = hashAction;
+    this.hashesAction = hashesAction;
     this.indexAction = indexAction;
   }
 
@@ -50,6 +53,7 @@ public class SourcesWs implements WebService {
     rawAction.define(controller);
     scmAction.define(controller);
     hashAction.define(controller);
+    hashesAction.define(controller);
     indexAction.define(controller);
     controller.done();
   }
@@ -38,6 +38,7 @@ import org.sonar.core.persistence.Database;
 import org.sonar.core.resource.ResourceIndexerDao;
 import org.sonar.core.timemachine.Periods;
 import org.sonar.process.ProcessConstants;
+import org.sonar.server.batch.ProjectRepositoryCache;
 import org.sonar.server.component.ComponentCleanerService;
 import org.sonar.server.db.migrations.DatabaseMigrator;
 import org.sonar.server.measure.MeasureFilterEngine;
@@ -242,6 +243,10 @@ public final class JRubyFacade {
     get(SettingsChangeNotifier.class).onGlobalPropertyChange(key, value);
   }
 
+  public void onProjectPropertyChange() {
+    get(ProjectRepositoryCache.class).invalidateAll();
+  }
+
   public Settings getSettings() {
     return get(Settings.class);
   }
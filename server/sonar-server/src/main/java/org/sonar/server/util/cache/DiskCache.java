@@ -19,36 +19,58 @@
  */
 package org.sonar.server.util.cache;
 
-import org.apache.commons.io.FileUtils;
+import net.jpountz.lz4.LZ4BlockInputStream;
+import net.jpountz.lz4.LZ4BlockOutputStream;
 import org.apache.commons.io.IOUtils;
 import org.sonar.api.utils.System2;
 import org.sonar.server.util.CloseableIterator;
-import org.sonar.server.util.ObjectInputStreamIterator;
 
+import javax.annotation.CheckForNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 
 /**
  * Serialize and deserialize objects on disk. No search capabilities, only traversal (full scan).
+ * <p/>
+ * Objects are stored as length-prefixed binary records, converted by a {@link Serializer}. When
+ * compression is enabled, the records written by each {@link DiskAppender} are grouped into
+ * a LZ4 block stream.
  */
 public class DiskCache<O extends Serializable> {
 
+  private static final int BUFFER_SIZE = 64 * 1024;
+
   private final File file;
   private final System2 system2;
+  private final Serializer<O> serializer;
+  private final boolean compressed;
 
   public DiskCache(File file, System2 system2) {
+    this(file, system2, new JavaSerializer<O>(), false);
+  }
+
+  public DiskCache(File file, System2 system2, Serializer<O> serializer, boolean compressed) {
     this.system2 = system2;
     this.file = file;
+    this.serializer = serializer;
+    this.compressed = compressed;
     OutputStream output = null;
     try {
-      // writes the serialization stream header required when calling "traverse()"
-      // on empty stream. Moreover it allows to call multiple times "newAppender()"
-      output = new ObjectOutputStream(new FileOutputStream(file));
-      output.flush();
+      // truncates the file, so that it's possible to call multiple times "newAppender()"
+      output = new FileOutputStream(file);
 
       // raise an exception if can't close
       system2.close(output);
@@ -65,23 +87,21 @@ public class DiskCache<O extends Serializable> {
 
   public CloseableIterator<O> traverse() {
     try {
-      return new ObjectInputStreamIterator<>(FileUtils.openInputStream(file));
+      return new RecordIterator(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
     } catch (IOException e) {
       throw new IllegalStateException("Fail to traverse file: " + file, e);
     }
   }
 
   public class DiskAppender implements AutoCloseable {
-    private final ObjectOutputStream output;
+    private final DataOutputStream output;
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream();
+    private final DataOutputStream recordOutput = new DataOutputStream(recordBuffer);
 
     private DiskAppender() {
       try {
-        this.output = new ObjectOutputStream(new FileOutputStream(file, true)) {
-          @Override
-          protected void writeStreamHeader() throws IOException {
-            // do not write stream headers as it's already done in constructor of DiskCache
-          }
-        };
+        OutputStream fileOutput = new BufferedOutputStream(new FileOutputStream(file, true), BUFFER_SIZE);
+        this.output = new DataOutputStream(compressed ? new LZ4BlockOutputStream(fileOutput) : fileOutput);
       } catch (IOException e) {
         throw new IllegalStateException("Fail to open file " + file, e);
       }
@@ -89,7 +109,11 @@ public class DiskCache<O extends Serializable> {
 
     public DiskAppender append(O object) {
       try {
-        output.writeObject(object);
+        recordBuffer.reset();
+        serializer.write(object, recordOutput);
+        recordOutput.flush();
+        output.writeInt(recordBuffer.size());
+        recordBuffer.writeTo(output);
         return this;
       } catch (IOException e) {
         throw new IllegalStateException("Fail to write into file " + file, e);
@@ -101,4 +125,61 @@ public class DiskCache<O extends Serializable> {
       system2.close(output);
     }
   }
+
+  private class RecordIterator extends CloseableIterator<O> {
+    private final InputStream fileInput;
+    private DataInputStream recordsInput = null;
+    private byte[] record = new byte[1024];
+
+    private RecordIterator(InputStream fileInput) {
+      this.fileInput = fileInput;
+    }
+
+    @Override
+    @CheckForNull
+    protected O doNext() {
+      try {
+        while (true) {
+          if (recordsInput == null) {
+            if (isEndOfFile()) {
+              return null;
+            }
+            recordsInput = new DataInputStream(compressed ? new LZ4BlockInputStream(fileInput) : fileInput);
+          }
+          int length;
+          try {
+            length = recordsInput.readInt();
+          } catch (EOFException e) {
+            // end of the records written by an appender. Compressed blocks
+            // of the next appender, if any, are read in next loop.
+            recordsInput = null;
+            continue;
+          }
+          return readRecord(length);
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException("Fail to read file " + file, e);
+      }
+    }
+
+    private boolean isEndOfFile() throws IOException {
+      fileInput.mark(1);
+      int b = fileInput.read();
+      fileInput.reset();
+      return b < 0;
+    }
+
+    private O readRecord(int length) throws IOException {
+      if (length > record.length) {
+        record = new byte[Math.max(length, record.length * 2)];
+      }
+      recordsInput.readFully(record, 0, length);
+      return serializer.read(new DataInputStream(new ByteArrayInputStream(record, 0, length)));
+    }
+
+    @Override
+    protected void doClose() {
+      IOUtils.closeQuietly(fileInput);
+    }
+  }
 }
@@ -20,6 +20,7 @@
 
 package org.sonar.core.computation.dbcleaner;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.sonar.api.CoreProperties;
@@ -32,6 +33,7 @@ import org.sonar.core.purge.PurgeConfiguration;
 import org.sonar.core.purge.PurgeDao;
 import org.sonar.core.purge.PurgeListener;
 import org.sonar.core.purge.PurgeProfiler;
+import org.sonar.server.db.DbClient;
 import org.sonar.server.issue.index.IssueIndex;
 import org.sonar.server.properties.ProjectSettingsFactory;
 
@@ -39,6 +41,7 @@ import java.util.Date;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
 public class ProjectCleanerTest {
@@ -51,13 +54,49 @@ public class ProjectCleanerTest {
   private ProjectSettingsFactory projectSettingsFactory;
   private IssueIndex issueIndex= mock(IssueIndex.class);
   private Settings settings = new Settings();
+  private DbClient dbClient = mock(DbClient.class);
+  private DbSession session = mock(DbSession.class);
 
   @Before
   public void before() throws Exception {
     this.projectSettingsFactory = mock(ProjectSettingsFactory.class);
     when(projectSettingsFactory.newProjectSettings(any(DbSession.class), any(Long.class))).thenReturn(settings);
 
-    this.sut = new ProjectCleaner(dao, periodCleaner, profiler, purgeListener, projectSettingsFactory, issueIndex);
+    when(dbClient.openSession(true)).thenReturn(session);
+
+    this.sut = new ProjectCleaner(dao, periodCleaner, profiler, purgeListener, projectSettingsFactory, issueIndex, dbClient);
+  }
+
+  @After
+  public void after() throws Exception {
+    sut.stop();
+  }
+
+  @Test
+  public void purge_in_background() throws Exception {
+    sut.purgeInBackground(new IdUuidPair(123L, "ABCD"));
+
+    verify(dao, timeout(5000)).purge(eq(session), any(PurgeConfiguration.class), any(PurgeListener.class));
+    verify(session, timeout(5000)).close();
+  }
+
+  @Test
+  public void purge_in_its_own_session() throws Exception {
+    sut.purge(new IdUuidPair(123L, "ABCD"));
+
+    verify(periodCleaner).clean(session, 123L, settings);
+    verify(dao).purge(eq(session), any(PurgeConfiguration.class), any(PurgeListener.class));
+    verify(session).commit();
+    verify(session).close();
+  }
+
+  @Test
+  public void failure_of_background_purge_is_logged() throws Exception {
+    when(projectSettingsFactory.newProjectSettings(any(DbSession.class), any(Long.class))).thenThrow(new IllegalStateException("Unexpected"));
+
+    sut.purge(new IdUuidPair(123L, "ABCD"));
+
+    verify(session).close();
   }
 
   @Test
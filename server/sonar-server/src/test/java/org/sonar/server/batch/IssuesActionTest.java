@@ -52,6 +52,7 @@ import javax.annotation.Nullable;
 
 import java.io.ByteArrayInputStream;
 import java.util.Arrays;
+import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -81,19 +82,24 @@ public class IssuesActionTest {
 
   IssuesAction issuesAction;
 
+  DbClient dbClient;
+
   @Before
   public void before() throws Exception {
     db.truncateTables();
     es.truncateIndices();
     this.session = db.myBatis().openSession(false);
 
-    DbClient dbClient = new DbClient(db.database(), db.myBatis(), new IssueDao(db.myBatis()), new ComponentDao());
+    dbClient = new DbClient(db.database(), db.myBatis(), new IssueDao(db.myBatis()), new ComponentDao());
     issueIndex = new IssueIndex(es.client(), System2.INSTANCE);
     issueIndexer = new IssueIndexer(null, es.client());
     issueAuthorizationIndexer = new IssueAuthorizationIndexer(null, es.client());
-    issuesAction = new IssuesAction(dbClient, issueIndex);
     componentDao = new ComponentDao();
+    createTester(new Settings());
+  }
 
+  private void createTester(Settings settings) {
+    issuesAction = new IssuesAction(dbClient, issueIndex, settings);
     tester = new WsTester(new BatchWs(
       new BatchIndex(mock(Server.class)),
       new GlobalRepositoryAction(mock(DbClient.class), mock(PropertiesDao.class)),
@@ -298,6 +304,31 @@ public class IssuesActionTest {
     assertThat(previousIssue.getAssigneeLogin()).isEqualTo("john");
   }
 
+  @Test
+  public void issues_are_scrolled_by_configured_size() throws Exception {
+    createTester(new Settings().setProperty(IssuesAction.SCROLL_SIZE_PROPERTY, 1));
+
+    ComponentDto project = ComponentTesting.newProjectDto("ABCD").setKey(PROJECT_KEY);
+    ComponentDto module = ComponentTesting.newModuleDto("BCDE", project).setKey(MODULE_KEY);
+    ComponentDto file = ComponentTesting.newFileDto(module, "CDEF").setKey(FILE_KEY).setPath("src/org/struts/Action.java");
+    componentDao.insert(session, project, module, file);
+    session.commit();
+
+    indexIssues(IssueTesting.newDoc("EFGH", file), IssueTesting.newDoc("FGHI", file), IssueTesting.newDoc("GHIJ", module));
+
+    MockUserSession.set().setLogin("henry").setGlobalPermissions(GlobalPermissions.PREVIEW_EXECUTION);
+
+    WsTester.TestRequest request = tester.newGetRequest("batch", "issues").setParam("key", PROJECT_KEY);
+    ByteArrayInputStream input = new ByteArrayInputStream(request.execute().output());
+    List<String> keys = newArrayList();
+    ServerIssue serverIssue;
+    while ((serverIssue = ServerIssue.parseDelimitedFrom(input)) != null) {
+      keys.add(serverIssue.getKey());
+      assertThat(serverIssue.getModuleKey()).isEqualTo(MODULE_KEY);
+    }
+    assertThat(keys).containsOnly("EFGH", "FGHI", "GHIJ");
+  }
+
   @Test(expected = ForbiddenException.class)
   public void fail_without_preview_permission() throws Exception {
     MockUserSession.set().setLogin("henry").setGlobalPermissions(GlobalPermissions.PROVISIONING);
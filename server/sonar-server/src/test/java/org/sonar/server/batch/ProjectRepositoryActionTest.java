@@ -25,11 +25,25 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.sonar.batch.protocol.input.ActiveRule;
+import org.sonar.batch.protocol.input.BatchInput;
+import org.sonar.batch.protocol.input.FileData;
 import org.sonar.batch.protocol.input.ProjectRepositories;
+import org.sonar.batch.protocol.input.QProfile;
 import org.sonar.server.ws.WsTester;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Date;
+
+import static com.google.common.collect.ImmutableMap.of;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -68,4 +82,52 @@ public class ProjectRepositoryActionTest {
     assertThat(queryArgumentCaptor.getValue().isPreview()).isFalse();
   }
 
+  @Test
+  public void stream_project_referentials_as_protobuf() throws Exception {
+    final String projectKey = "org.codehaus.sonar:sonar";
+
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        ProjectRepositoryHandler handler = new ProjectRepositoryProtobufWriter((OutputStream) invocation.getArguments()[1]);
+        handler.addSettings(projectKey, of("sonar.jira.project.key", "SONAR"));
+        handler.setLastAnalysisDate(new Date(1500000000000L));
+        handler.addQProfile(new QProfile("abcd", "Java Way", "java", new Date(1400000000000L)));
+        handler.addActiveRule(new ActiveRule("squid", "AvoidCycle", null, "Avoid Cycle", "MINOR", null, "java").addParam("max", "2"));
+        handler.addFileData(projectKey, "src/Foo.java", new FileData("xyz", false, null, null, null));
+        return null;
+      }
+    }).when(projectRepositoryLoader).writeProtobuf(any(ProjectRepositoryQuery.class), any(OutputStream.class));
+
+    WsTester.TestRequest request = tester.newGetRequest("batch", "project")
+      .setParam("key", projectKey)
+      .setParam("format", "protobuf");
+    InputStream input = new ByteArrayInputStream(request.execute().output());
+
+    BatchInput.ProjectRepositoryItem item = BatchInput.ProjectRepositoryItem.parseDelimitedFrom(input);
+    assertThat(item.getModuleSettings().getModuleKey()).isEqualTo(projectKey);
+    assertThat(item.getModuleSettings().getProperty(0).getKey()).isEqualTo("sonar.jira.project.key");
+    assertThat(item.getModuleSettings().getProperty(0).getValue()).isEqualTo("SONAR");
+
+    item = BatchInput.ProjectRepositoryItem.parseDelimitedFrom(input);
+    assertThat(item.getLastAnalysisDate()).isEqualTo(1500000000000L);
+
+    item = BatchInput.ProjectRepositoryItem.parseDelimitedFrom(input);
+    assertThat(item.hasModuleSettings()).isFalse();
+    assertThat(item.getQprofile().getKey()).isEqualTo("abcd");
+    assertThat(item.getQprofile().getRulesUpdatedAt()).isEqualTo(1400000000000L);
+
+    item = BatchInput.ProjectRepositoryItem.parseDelimitedFrom(input);
+    assertThat(item.getActiveRule().getRuleKey()).isEqualTo("AvoidCycle");
+    assertThat(item.getActiveRule().hasTemplateRuleKey()).isFalse();
+    assertThat(item.getActiveRule().getSeverity()).isEqualTo("MINOR");
+    assertThat(item.getActiveRule().getParam(0).getValue()).isEqualTo("2");
+
+    item = BatchInput.ProjectRepositoryItem.parseDelimitedFrom(input);
+    assertThat(item.getFileData().getPath()).isEqualTo("src/Foo.java");
+    assertThat(item.getFileData().getHash()).isEqualTo("xyz");
+
+    assertThat(BatchInput.ProjectRepositoryItem.parseDelimitedFrom(input)).isNull();
+  }
+
 }
@@ -0,0 +1,129 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.batch;
+
+import org.junit.Test;
+import org.sonar.batch.protocol.input.QProfile;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProjectRepositoryCacheTest {
+
+  ProjectRepositoryCache cache = new ProjectRepositoryCache(10L);
+
+  @Test
+  public void count_hits_and_misses() throws Exception {
+    ProjectRepositoryCache.Key key = key("ABCD", "struts", new Date(1000L));
+    assertThat(cache.get(key)).isNull();
+
+    cache.put(key, new byte[] {1, 2}, cache.generation());
+    assertThat(cache.get(key)).isEqualTo(new byte[] {1, 2});
+    assertThat(cache.get(key("ABCD", "struts", new Date(1000L)))).isEqualTo(new byte[] {1, 2});
+
+    assertThat(cache.hits()).isEqualTo(2L);
+    assertThat(cache.misses()).isEqualTo(1L);
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.sizeInBytes()).isEqualTo(2L);
+  }
+
+  @Test
+  public void key_depends_on_versions_of_profiles() throws Exception {
+    cache.put(key("ABCD", "struts", new Date(1000L)), new byte[] {1}, cache.generation());
+
+    assertThat(cache.get(key("ABCD", "struts", new Date(2000L)))).isNull();
+    assertThat(cache.get(new ProjectRepositoryCache.Key("ABCD", "struts", null, false, Collections.<QProfile>emptyList()))).isNull();
+    assertThat(cache.get(new ProjectRepositoryCache.Key("ABCD", "struts", "Sonar way", true, profiles(new Date(1000L))))).isNull();
+  }
+
+  @Test
+  public void key_depends_on_project() throws Exception {
+    cache.put(key("ABCD", "struts", new Date(1000L)), new byte[] {1}, cache.generation());
+
+    // project has been deleted then re-created with the same key
+    assertThat(cache.get(key("EFGH", "struts", new Date(1000L)))).isNull();
+  }
+
+  @Test
+  public void invalidate_project() throws Exception {
+    cache.put(key("ABCD", "struts", new Date(1000L)), new byte[] {1}, cache.generation());
+    cache.put(key("ABCD", "struts-core", new Date(1000L)), new byte[] {2}, cache.generation());
+    cache.put(key("EFGH", "sonar", new Date(1000L)), new byte[] {3}, cache.generation());
+
+    cache.invalidateProject("ABCD");
+
+    assertThat(cache.get(key("ABCD", "struts", new Date(1000L)))).isNull();
+    assertThat(cache.get(key("ABCD", "struts-core", new Date(1000L)))).isNull();
+    assertThat(cache.get(key("EFGH", "sonar", new Date(1000L)))).isEqualTo(new byte[] {3});
+    assertThat(cache.sizeInBytes()).isEqualTo(1L);
+  }
+
+  @Test
+  public void invalidate_all() throws Exception {
+    cache.put(key("ABCD", "struts", new Date(1000L)), new byte[] {1}, cache.generation());
+    cache.put(key("EFGH", "sonar", new Date(1000L)), new byte[] {3}, cache.generation());
+
+    cache.invalidateAll();
+
+    assertThat(cache.size()).isEqualTo(0);
+    assertThat(cache.sizeInBytes()).isEqualTo(0L);
+  }
+
+  @Test
+  public void do_not_put_repository_loaded_before_invalidation() throws Exception {
+    long generation = cache.generation();
+    cache.invalidateProject("EFGH");
+
+    cache.put(key("ABCD", "struts", new Date(1000L)), new byte[] {1}, generation);
+
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void evict_least_recently_used_entries() throws Exception {
+    cache.put(key("ABCD", "struts", new Date(1000L)), new byte[4], cache.generation());
+    cache.put(key("EFGH", "sonar", new Date(1000L)), new byte[4], cache.generation());
+    cache.get(key("ABCD", "struts", new Date(1000L)));
+
+    cache.put(key("IJKL", "jenkins", new Date(1000L)), new byte[4], cache.generation());
+
+    assertThat(cache.get(key("EFGH", "sonar", new Date(1000L)))).isNull();
+    assertThat(cache.get(key("ABCD", "struts", new Date(1000L)))).isNotNull();
+    assertThat(cache.get(key("IJKL", "jenkins", new Date(1000L)))).isNotNull();
+    assertThat(cache.sizeInBytes()).isEqualTo(8L);
+
+    // too big to be cached
+    cache.put(key("MNOP", "big", new Date(1000L)), new byte[11], cache.generation());
+    assertThat(cache.get(key("MNOP", "big", new Date(1000L)))).isNull();
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  private static ProjectRepositoryCache.Key key(String projectUuid, String moduleKey, Date rulesUpdatedAt) {
+    return new ProjectRepositoryCache.Key(projectUuid, moduleKey, null, true, profiles(rulesUpdatedAt));
+  }
+
+  private static List<QProfile> profiles(Date rulesUpdatedAt) {
+    return Arrays.asList(new QProfile("java-way", "Sonar way", "java", rulesUpdatedAt));
+  }
+}
@@ -43,6 +43,7 @@ import org.sonar.core.rule.RuleDto;
 import org.sonar.core.rule.RuleParamDto;
 import org.sonar.core.source.db.FileSourceDao;
 import org.sonar.core.source.db.FileSourceDto;
+import org.sonar.server.component.ComponentCleanerService;
 import org.sonar.server.component.ComponentTesting;
 import org.sonar.server.db.DbClient;
 import org.sonar.server.exceptions.ForbiddenException;
@@ -51,9 +52,13 @@ import org.sonar.server.qualityprofile.QProfileTesting;
 import org.sonar.server.qualityprofile.RuleActivation;
 import org.sonar.server.qualityprofile.RuleActivator;
 import org.sonar.server.rule.RuleTesting;
+import org.sonar.server.rule.RuleUpdate;
+import org.sonar.server.rule.RuleUpdater;
 import org.sonar.server.tester.ServerTester;
 import org.sonar.server.user.MockUserSession;
+import org.sonar.server.user.UserSession;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -611,6 +616,97 @@ public class ProjectRepositoryLoaderMediumTest {
     assertThat(activeRules.get(0).params()).isEqualTo(ImmutableMap.of("max", "2"));
   }
 
+  @Test
+  public void serve_protobuf_repository_from_cache_until_profile_is_updated() throws Exception {
+    ComponentDto project = ComponentTesting.newProjectDto();
+    MockUserSession.set().setLogin("john").setGlobalPermissions(GlobalPermissions.SCAN_EXECUTION);
+    tester.get(DbClient.class).componentDao().insert(dbSession, project);
+
+    QualityProfileDto profileDto = QProfileTesting.newDto(QProfileName.createFor(ServerTester.Xoo.KEY, "SonarQube way"), "abcd");
+    tester.get(DbClient.class).qualityProfileDao().insert(dbSession, profileDto);
+    tester.get(DbClient.class).propertiesDao().setProperty(new PropertyDto().setKey("sonar.profile.xoo").setValue("SonarQube way"), dbSession);
+
+    RuleKey ruleKey1 = RuleKey.of("squid", "AvoidCycle");
+    RuleKey ruleKey2 = RuleKey.of("squid", "AvoidNPE");
+    tester.get(DbClient.class).ruleDao().insert(dbSession,
+      RuleTesting.newDto(ruleKey1).setName("Avoid Cycle").setLanguage(ServerTester.Xoo.KEY),
+      RuleTesting.newDto(ruleKey2).setName("Avoid NPE").setLanguage(ServerTester.Xoo.KEY)
+      );
+    tester.get(RuleActivator.class).activate(dbSession, new RuleActivation(ruleKey1).setSeverity(Severity.MINOR), profileDto.getKey());
+    dbSession.commit();
+
+    ProjectRepositoryCache cache = tester.get(ProjectRepositoryCache.class);
+    long hits = cache.hits();
+    ProjectRepositoryQuery query = ProjectRepositoryQuery.create().setModuleKey(project.key());
+
+    byte[] first = writeProtobuf(query);
+    byte[] second = writeProtobuf(query);
+    assertThat(second).isEqualTo(first);
+    assertThat(cache.hits()).isEqualTo(hits + 1);
+
+    tester.get(RuleActivator.class).activate(dbSession, new RuleActivation(ruleKey2).setSeverity(Severity.MAJOR), profileDto.getKey());
+    dbSession.commit();
+
+    byte[] third = writeProtobuf(query);
+    assertThat(cache.hits()).isEqualTo(hits + 1);
+    assertThat(third.length).isGreaterThan(first.length);
+  }
+
+  @Test
+  public void do_not_serve_protobuf_repository_from_cache_once_rule_is_updated() throws Exception {
+    ComponentDto project = ComponentTesting.newProjectDto();
+    MockUserSession.set().setLogin("john").setGlobalPermissions(GlobalPermissions.SCAN_EXECUTION);
+    tester.get(DbClient.class).componentDao().insert(dbSession, project);
+
+    QualityProfileDto profileDto = QProfileTesting.newDto(QProfileName.createFor(ServerTester.Xoo.KEY, "SonarQube way"), "abcd");
+    tester.get(DbClient.class).qualityProfileDao().insert(dbSession, profileDto);
+    tester.get(DbClient.class).propertiesDao().setProperty(new PropertyDto().setKey("sonar.profile.xoo").setValue("SonarQube way"), dbSession);
+
+    RuleKey ruleKey = RuleKey.of("squid", "AvoidCycle");
+    tester.get(DbClient.class).ruleDao().insert(dbSession, RuleTesting.newDto(ruleKey).setName("Avoid Cycle").setLanguage(ServerTester.Xoo.KEY));
+    tester.get(RuleActivator.class).activate(dbSession, new RuleActivation(ruleKey).setSeverity(Severity.MINOR), profileDto.getKey());
+    dbSession.commit();
+
+    ProjectRepositoryCache cache = tester.get(ProjectRepositoryCache.class);
+    ProjectRepositoryQuery query = ProjectRepositoryQuery.create().setModuleKey(project.key());
+    writeProtobuf(query);
+    long hits = cache.hits();
+
+    tester.get(RuleUpdater.class).update(RuleUpdate.createForPluginRule(ruleKey).setMarkdownNote("my note"), UserSession.get());
+
+    writeProtobuf(query);
+    assertThat(cache.hits()).isEqualTo(hits);
+  }
+
+  @Test
+  public void do_not_serve_protobuf_repository_of_deleted_project_from_cache() throws Exception {
+    ComponentDto project = ComponentTesting.newProjectDto();
+    MockUserSession.set().setLogin("john").setGlobalPermissions(GlobalPermissions.SCAN_EXECUTION, GlobalPermissions.SYSTEM_ADMIN);
+    tester.get(DbClient.class).componentDao().insert(dbSession, project);
+    QualityProfileDto profileDto = QProfileTesting.newDto(QProfileName.createFor(ServerTester.Xoo.KEY, "SonarQube way"), "abcd");
+    tester.get(DbClient.class).qualityProfileDao().insert(dbSession, profileDto);
+    tester.get(DbClient.class).propertiesDao().setProperty(new PropertyDto().setKey("sonar.profile.xoo").setValue("SonarQube way"), dbSession);
+    RuleKey ruleKey = RuleKey.of("squid", "AvoidCycle");
+    tester.get(DbClient.class).ruleDao().insert(dbSession, RuleTesting.newDto(ruleKey).setName("Avoid Cycle").setLanguage(ServerTester.Xoo.KEY));
+    tester.get(RuleActivator.class).activate(dbSession, new RuleActivation(ruleKey).setSeverity(Severity.MINOR), profileDto.getKey());
+    dbSession.commit();
+
+    ProjectRepositoryCache cache = tester.get(ProjectRepositoryCache.class);
+    int size = cache.size();
+    writeProtobuf(ProjectRepositoryQuery.create().setModuleKey(project.key()));
+    assertThat(cache.size()).isEqualTo(size + 1);
+
+    tester.get(ComponentCleanerService.class).delete(project.key());
+
+    assertThat(cache.size()).isEqualTo(size);
+  }
+
+  private byte[] writeProtobuf(ProjectRepositoryQuery query) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    loader.writeProtobuf(query, output);
+    return output.toByteArray();
+  }
+
   @Test
   public void return_only_active_rules_from_project_profile() throws Exception {
     ComponentDto project = ComponentTesting.newProjectDto();
@@ -21,6 +21,8 @@
 package org.sonar.server.component.db;
 
 import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -397,6 +399,22 @@ public class ComponentDaoTest extends AbstractDaoTestCase {
     assertThat(dao.selectModuleFilesTree(session, "unknown")).isEmpty();
   }
 
+  @Test
+  public void select_module_files_tree_with_handler() throws Exception {
+    setupData("select_module_files_tree");
+
+    final List<FilePathWithHashDto> files = newArrayList();
+    dao.selectModuleFilesTree(session, "EFGH", new ResultHandler() {
+      @Override
+      public void handleResult(ResultContext context) {
+        files.add((FilePathWithHashDto) context.getResultObject());
+      }
+    });
+    assertThat(files).extracting("uuid").containsOnly("EFGHI", "HIJK");
+    assertThat(files).extracting("moduleUuid").containsOnly("EFGH", "FGHI");
+    assertThat(files).extracting("path").containsOnly("src/org/struts/pom.xml", "src/org/struts/RequestContext.java");
+  }
+
   @Test
   public void insert() {
     when(system2.now()).thenReturn(DateUtils.parseDate("2014-06-18").getTime());
@@ -44,6 +44,9 @@ import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.sonar.api.resources.Qualifiers;
 import org.sonar.api.utils.System2;
 import org.sonar.api.utils.ZipUtils;
@@ -56,6 +59,7 @@ import org.sonar.core.computation.db.AnalysisReportDto;
 import org.sonar.core.persistence.DbTester;
 import org.sonar.server.activity.Activity;
 import org.sonar.server.activity.ActivityService;
+import org.sonar.server.batch.ProjectRepositoryCache;
 import org.sonar.server.component.db.ComponentDao;
 import org.sonar.server.computation.step.ComputationStep;
 import org.sonar.server.computation.step.ComputationSteps;
@@ -64,6 +68,8 @@ import org.sonar.server.db.DbClient;
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
@@ -87,12 +93,13 @@ public class ComputationServiceTest {
   ComputationSteps steps = mock(ComputationSteps.class);
   ActivityService activityService = mock(ActivityService.class);
   System2 system = mock(System2.class);
+  ProjectRepositoryCache projectRepositoryCache = mock(ProjectRepositoryCache.class);
   ComputationService sut;
 
   @Before
   public void setUp() throws Exception {
     DbClient dbClient = new DbClient(dbTester.database(), dbTester.myBatis(), new ComponentDao());
-    sut = new ComputationService(dbClient, steps, activityService, tempFolder, system);
+    sut = new ComputationService(dbClient, steps, activityService, tempFolder, system, projectRepositoryCache);
 
     // db contains project with key "P1"
     dbTester.prepareDbUnit(getClass(), "shared.xml");
@@ -103,7 +110,7 @@ public class ComputationServiceTest {
     logTester.setLevel(LoggerLevel.INFO);
 
     // view step is not supposed to be executed
-    when(steps.orderedSteps()).thenReturn(Arrays.asList(projectStep1, projectStep2, viewStep));
+    when(steps.stages()).thenReturn(Arrays.asList(Arrays.asList(projectStep1), Arrays.asList(projectStep2, viewStep)));
     AnalysisReportDto dto = AnalysisReportDto.newForTests(1L).setProjectKey("P1").setUuid("U1");
     File zip = generateZip();
 
@@ -121,7 +128,41 @@ public class ComputationServiceTest {
     verify(projectStep1).execute(any(ComputationContext.class));
     verify(projectStep2).execute(any(ComputationContext.class));
     verify(viewStep, never()).execute(any(ComputationContext.class));
-    verify(activityService).save(any(Activity.class));
+
+    // durations of executed steps are logged in history
+    ArgumentCaptor<Activity> activity = ArgumentCaptor.forClass(Activity.class);
+    verify(activityService).save(activity.capture());
+    String durations = (String) activity.getValue().getData().get("stepDurations");
+    assertThat(durations).contains(projectStep1.getDescription()).contains(projectStep2.getDescription());
+    assertThat(durations).doesNotContain(viewStep.getDescription());
+
+    // project repository sent to next analyses is reloaded
+    verify(projectRepositoryCache).invalidateProject("ABCD");
+  }
+
+  @Test
+  public void execute_independent_steps_concurrently() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(2);
+    Answer waitForOtherSteps = new Answer() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        latch.countDown();
+        if (!latch.await(10, TimeUnit.SECONDS)) {
+          throw new IllegalStateException("Steps are not executed concurrently");
+        }
+        return null;
+      }
+    };
+    doAnswer(waitForOtherSteps).when(projectStep1).execute(any(ComputationContext.class));
+    doAnswer(waitForOtherSteps).when(projectStep2).execute(any(ComputationContext.class));
+    when(steps.stages()).thenReturn(Arrays.asList(Arrays.asList(projectStep1, projectStep2)));
+    AnalysisReportDto dto = AnalysisReportDto.newForTests(1L).setProjectKey("P1").setUuid("U1");
+
+    sut.process(new ReportQueue.Item(dto, generateZip()));
+
+    assertThat(dto.getStatus()).isEqualTo(AnalysisReportDto.Status.SUCCESS);
+    verify(projectStep1).execute(any(ComputationContext.class));
+    verify(projectStep2).execute(any(ComputationContext.class));
   }
 
   @Test
@@ -153,7 +194,7 @@ public class ComputationServiceTest {
 
   @Test
   public void step_error() throws Exception {
-    when(steps.orderedSteps()).thenReturn(Arrays.asList(projectStep1));
+    when(steps.stages()).thenReturn(Arrays.asList(Arrays.asList(projectStep1)));
     doThrow(new IllegalStateException("pb")).when(projectStep1).execute(any(ComputationContext.class));
 
     AnalysisReportDto dto = AnalysisReportDto.newForTests(1L).setProjectKey("P1").setUuid("U1");
@@ -169,6 +210,24 @@ public class ComputationServiceTest {
     }
   }
 
+  @Test
+  public void concurrent_step_error() throws Exception {
+    when(steps.stages()).thenReturn(Arrays.asList(Arrays.asList(projectStep1, projectStep2), Arrays.asList(viewStep)));
+    doThrow(new IllegalStateException("pb")).when(projectStep2).execute(any(ComputationContext.class));
+
+    AnalysisReportDto dto = AnalysisReportDto.newForTests(1L).setProjectKey("P1").setUuid("U1");
+    File zip = generateZip();
+
+    try {
+      sut.process(new ReportQueue.Item(dto, zip));
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage()).isEqualTo("pb");
+      assertThat(dto.getStatus()).isEqualTo(AnalysisReportDto.Status.FAILED);
+      verify(projectStep1).execute(any(ComputationContext.class));
+    }
+  }
+
   private ComputationStep mockStep(String... qualifiers) {
     ComputationStep step = mock(ComputationStep.class);
     when(step.supportedProjectQualifiers()).thenReturn(qualifiers);
@@ -27,10 +27,14 @@ import org.junit.Test;
 import org.junit.rules.DisableOnDebug;
 import org.junit.rules.TestRule;
 import org.junit.rules.Timeout;
+import org.sonar.api.config.Settings;
 import org.sonar.api.platform.Server;
+import org.sonar.core.computation.db.AnalysisReportDto;
 
+import java.io.File;
 import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 public class ComputationThreadLauncherTest {
@@ -74,6 +78,37 @@ public class ComputationThreadLauncherTest {
     verify(queue, atLeastOnce()).pop();
   }
 
+  @Test
+  public void create_workers() throws Exception {
+    sut = new ComputationThreadLauncher(queue, 1, 1, TimeUnit.HOURS, 3);
+
+    assertThat(sut.getWorkers()).hasSize(3);
+    assertThat(sut.getWorkers().get(2).getName()).isEqualTo("computation-2");
+    assertThat(sut.getWorkers().get(0).isIdle()).isTrue();
+  }
+
+  @Test
+  public void number_of_workers_is_configurable() throws Exception {
+    Settings settings = new Settings().setProperty(ComputationThreadLauncher.WORKERS_PROPERTY, 4);
+    sut = new ComputationThreadLauncher(queue, settings);
+
+    assertThat(sut.getWorkers()).hasSize(4);
+  }
+
+  @Test
+  public void drain_queue_without_waiting_for_next_check() throws Exception {
+    AnalysisReportDto report = AnalysisReportDto.newForTests(1L).setProjectKey("P1");
+    ReportQueue.Item item = new ReportQueue.Item(report, new File("report.zip"));
+    when(queue.pop()).thenReturn(item, item, null);
+    sut = new ComputationThreadLauncher(queue, 0, 1, TimeUnit.HOURS, 1);
+
+    sut.onServerStart(mock(Server.class));
+
+    sleep();
+
+    verify(queue, times(3)).pop();
+  }
+
   @Test
   public void test_real_constructor() throws Exception {
     sut = new ComputationThreadLauncher(queue);
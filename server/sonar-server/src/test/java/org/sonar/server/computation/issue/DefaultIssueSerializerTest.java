@@ -0,0 +1,160 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.computation.issue;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.issue.internal.DefaultIssueComment;
+import org.sonar.api.issue.internal.IssueChangeContext;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.utils.Duration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefaultIssueSerializerTest {
+
+  DefaultIssueSerializer serializer = new DefaultIssueSerializer();
+
+  @Test
+  public void serialize_all_fields() throws Exception {
+    Date date = new Date(1400000000000L);
+    DefaultIssue issue = new DefaultIssue()
+      .setKey("ISSUE1")
+      .setComponentUuid("FILE1")
+      .setComponentKey("PROJECT:File.java")
+      .setModuleUuid("MODULE1")
+      .setModuleUuidPath(".PROJECT1.MODULE1.")
+      .setProjectUuid("PROJECT1")
+      .setProjectKey("PROJECT")
+      .setRuleKey(RuleKey.of("squid", "AvoidCycle"))
+      .setLanguage("java")
+      .setSeverity("BLOCKER")
+      .setManualSeverity(true)
+      .setMessage("the message é")
+      .setLine(42)
+      .setEffortToFix(3.5)
+      .setDebt(Duration.create(10L))
+      .setStatus("RESOLVED")
+      .setResolution("FIXED")
+      .setReporter("simon")
+      .setAssignee("julien")
+      .setChecksum("c7b5db46591806455cf082bb348631e8")
+      .setAuthorLogin("henry")
+      .setActionPlanKey("PLAN1")
+      .setCreationDate(date)
+      .setUpdateDate(date)
+      .setCloseDate(date)
+      .setSelectedAt(1500000000000L)
+      .setNew(false)
+      .setEndOfLife(true)
+      .setOnDisabledRule(true)
+      .setChanged(true)
+      .setSendNotifications(true)
+      .setAttributes(ImmutableMap.of("JIRA", "FOO-123"))
+      .setTags(Arrays.asList("bug", "performance"));
+
+    DefaultIssue copy = copy(issue);
+
+    assertThat(copy.key()).isEqualTo("ISSUE1");
+    assertThat(copy.componentUuid()).isEqualTo("FILE1");
+    assertThat(copy.componentKey()).isEqualTo("PROJECT:File.java");
+    assertThat(copy.moduleUuid()).isEqualTo("MODULE1");
+    assertThat(copy.moduleUuidPath()).isEqualTo(".PROJECT1.MODULE1.");
+    assertThat(copy.projectUuid()).isEqualTo("PROJECT1");
+    assertThat(copy.projectKey()).isEqualTo("PROJECT");
+    assertThat(copy.ruleKey()).isEqualTo(RuleKey.of("squid", "AvoidCycle"));
+    assertThat(copy.language()).isEqualTo("java");
+    assertThat(copy.severity()).isEqualTo("BLOCKER");
+    assertThat(copy.manualSeverity()).isTrue();
+    assertThat(copy.message()).isEqualTo("the message é");
+    assertThat(copy.line()).isEqualTo(42);
+    assertThat(copy.effortToFix()).isEqualTo(3.5);
+    assertThat(copy.debt()).isEqualTo(Duration.create(10L));
+    assertThat(copy.status()).isEqualTo("RESOLVED");
+    assertThat(copy.resolution()).isEqualTo("FIXED");
+    assertThat(copy.reporter()).isEqualTo("simon");
+    assertThat(copy.assignee()).isEqualTo("julien");
+    assertThat(copy.checksum()).isEqualTo("c7b5db46591806455cf082bb348631e8");
+    assertThat(copy.authorLogin()).isEqualTo("henry");
+    assertThat(copy.actionPlanKey()).isEqualTo("PLAN1");
+    assertThat(copy.creationDate()).isEqualTo(date);
+    assertThat(copy.updateDate()).isEqualTo(date);
+    assertThat(copy.closeDate()).isEqualTo(date);
+    assertThat(copy.selectedAt()).isEqualTo(1500000000000L);
+    assertThat(copy.isNew()).isFalse();
+    assertThat(copy.isEndOfLife()).isTrue();
+    assertThat(copy.isOnDisabledRule()).isTrue();
+    assertThat(copy.isChanged()).isTrue();
+    assertThat(copy.mustSendNotifications()).isTrue();
+    assertThat(copy.attributes()).containsEntry("JIRA", "FOO-123").hasSize(1);
+    assertThat(copy.tags()).containsExactly("bug", "performance");
+    assertThat(copy.comments()).isEmpty();
+    assertThat(copy.changes()).isEmpty();
+    assertThat(copy.currentChange()).isNull();
+  }
+
+  @Test
+  public void serialize_minimal_issue() throws Exception {
+    DefaultIssue copy = copy(new DefaultIssue().setKey("ISSUE1"));
+
+    assertThat(copy.key()).isEqualTo("ISSUE1");
+    assertThat(copy.ruleKey()).isNull();
+    assertThat(copy.line()).isNull();
+    assertThat(copy.effortToFix()).isNull();
+    assertThat(copy.debt()).isNull();
+    assertThat(copy.status()).isNull();
+    assertThat(copy.creationDate()).isNull();
+    assertThat(copy.selectedAt()).isNull();
+    assertThat(copy.isNew()).isTrue();
+    assertThat(copy.attributes()).isEmpty();
+    assertThat(copy.tags()).isEmpty();
+  }
+
+  @Test
+  public void serialize_comments_and_changes() throws Exception {
+    DefaultIssue issue = new DefaultIssue().setKey("ISSUE1");
+    issue.addComment(DefaultIssueComment.create("ISSUE1", "simon", "the comment"));
+    issue.setFieldChange(IssueChangeContext.createUser(new Date(), "simon"), "severity", "MINOR", "BLOCKER");
+
+    DefaultIssue copy = copy(issue);
+
+    assertThat(copy.comments()).hasSize(1);
+    assertThat(copy.comments().get(0).markdownText()).isEqualTo("the comment");
+    assertThat(copy.changes()).hasSize(1);
+    assertThat(copy.currentChange()).isSameAs(copy.changes().get(0));
+    assertThat(copy.currentChange().get("severity").newValue()).isEqualTo("BLOCKER");
+  }
+
+  private DefaultIssue copy(DefaultIssue issue) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+    serializer.write(issue, output);
+    output.flush();
+    return serializer.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+  }
+}
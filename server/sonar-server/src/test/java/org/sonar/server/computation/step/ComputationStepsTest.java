@@ -22,6 +22,8 @@ package org.sonar.server.computation.step;
 
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
@@ -35,6 +37,7 @@ public class ComputationStepsTest {
       mock(ApplyPermissionsStep.class),
       mock(ParseReportStep.class),
       mock(IndexSourceLinesStep.class),
+      mock(IndexProjectMeasuresStep.class),
       mock(IndexViewsStep.class),
       mock(PurgeRemovedViewsStep.class),
       mock(PersistIssuesStep.class),
@@ -44,9 +47,40 @@ public class ComputationStepsTest {
       mock(SendIssueNotificationsStep.class),
       mock(IndexComponentsStep.class));
 
-    assertThat(registry.orderedSteps()).hasSize(11);
+    assertThat(registry.orderedSteps()).hasSize(12);
     assertThat(registry.orderedSteps().get(0)).isInstanceOf(ParseReportStep.class);
-    assertThat(registry.orderedSteps().get(10)).isInstanceOf(SendIssueNotificationsStep.class);
+    assertThat(registry.orderedSteps().get(11)).isInstanceOf(SendIssueNotificationsStep.class);
+  }
+
+  @Test
+  public void index_steps_are_executed_in_the_same_stage() throws Exception {
+    ComputationSteps registry = new ComputationSteps(
+      mock(ApplyPermissionsStep.class),
+      mock(ParseReportStep.class),
+      mock(IndexSourceLinesStep.class),
+      mock(IndexProjectMeasuresStep.class),
+      mock(IndexViewsStep.class),
+      mock(PurgeRemovedViewsStep.class),
+      mock(PersistIssuesStep.class),
+      mock(IndexIssuesStep.class),
+      mock(SwitchSnapshotStep.class),
+      mock(PurgeDatastoresStep.class),
+      mock(SendIssueNotificationsStep.class),
+      mock(IndexComponentsStep.class));
+
+    List<List<ComputationStep>> stages = registry.stages();
+    assertThat(stages).hasSize(9);
+    assertThat(stages.get(0)).hasSize(1);
+    assertThat(stages.get(0).get(0)).isInstanceOf(ParseReportStep.class);
+    assertThat(stages.get(5)).hasSize(1);
+    assertThat(stages.get(5).get(0)).isInstanceOf(ApplyPermissionsStep.class);
+    assertThat(stages.get(6)).hasSize(4);
+    assertThat(stages.get(6).get(0)).isInstanceOf(IndexIssuesStep.class);
+    assertThat(stages.get(6).get(1)).isInstanceOf(IndexSourceLinesStep.class);
+    assertThat(stages.get(6).get(2)).isInstanceOf(IndexProjectMeasuresStep.class);
+    assertThat(stages.get(6).get(3)).isInstanceOf(IndexViewsStep.class);
+    assertThat(stages.get(7).get(0)).isInstanceOf(PurgeRemovedViewsStep.class);
+    assertThat(stages.get(8).get(0)).isInstanceOf(SendIssueNotificationsStep.class);
   }
 
   @Test
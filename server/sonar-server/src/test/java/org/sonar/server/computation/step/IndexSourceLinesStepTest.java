@@ -20,21 +20,37 @@
 package org.sonar.server.computation.step;
 
 import org.junit.Test;
+import org.sonar.server.component.ComponentTesting;
+import org.sonar.server.computation.ComputationContext;
 import org.sonar.server.source.index.SourceLineIndexer;
 
 import java.io.IOException;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class IndexSourceLinesStepTest extends BaseStepTest {
 
+  ComputationContext context = mock(ComputationContext.class);
+  SourceLineIndexer indexer = mock(SourceLineIndexer.class);
+
   @Test
   public void supportedProjectQualifiers() throws Exception {
 
   }
 
+  @Test
+  public void index_source_lines_of_project() throws Exception {
+    when(context.getProject()).thenReturn(ComponentTesting.newProjectDto("ABCD"));
+
+    step().execute(context);
+
+    verify(indexer).index("ABCD");
+  }
+
   @Override
   protected ComputationStep step() throws IOException {
-    return new IndexSourceLinesStep(mock(SourceLineIndexer.class));
+    return new IndexSourceLinesStep(indexer);
   }
 }
@@ -35,10 +35,12 @@ import org.sonar.server.computation.issue.IssueComputation;
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -68,9 +70,9 @@ public class ParseReportStepTest extends BaseStepTest {
     assertThat(context.getReportMetadata().getDeletedComponentsCount()).isEqualTo(1);
 
     // verify that all components are processed (currently only for issues)
-    verify(issueComputation).processComponentIssues(context, "PROJECT_UUID", Collections.<BatchReport.Issue>emptyList());
-    verify(issueComputation).processComponentIssues(context, "FILE1_UUID", Collections.<BatchReport.Issue>emptyList());
-    verify(issueComputation).processComponentIssues(context, "FILE2_UUID", Collections.<BatchReport.Issue>emptyList());
+    verify(issueComputation).processComponentIssues(eq(context), eq("PROJECT_UUID"), any(Iterator.class));
+    verify(issueComputation).processComponentIssues(eq(context), eq("FILE1_UUID"), any(Iterator.class));
+    verify(issueComputation).processComponentIssues(eq(context), eq("FILE2_UUID"), any(Iterator.class));
     verify(issueComputation).processComponentIssues(context, "DELETED_UUID", ISSUES_ON_DELETED_COMPONENT);
     verify(issueComputation).afterReportProcessing();
   }
@@ -23,14 +23,11 @@ package org.sonar.server.computation.step;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
-import org.mockito.Mockito;
 import org.sonar.batch.protocol.output.BatchReportReader;
 import org.sonar.core.component.ComponentDto;
 import org.sonar.core.computation.dbcleaner.ProjectCleaner;
-import org.sonar.core.persistence.DbSession;
 import org.sonar.core.purge.IdUuidPair;
 import org.sonar.server.computation.ComputationContext;
-import org.sonar.server.db.DbClient;
 
 import java.io.IOException;
 
@@ -40,7 +37,7 @@ import static org.mockito.Mockito.*;
 public class PurgeDatastoresStepTest extends BaseStepTest {
 
   ProjectCleaner projectCleaner = mock(ProjectCleaner.class);;
-  PurgeDatastoresStep sut = new PurgeDatastoresStep(mock(DbClient.class, Mockito.RETURNS_DEEP_STUBS), projectCleaner);
+  PurgeDatastoresStep sut = new PurgeDatastoresStep(projectCleaner);
 
   @Rule
   public TemporaryFolder temp = new TemporaryFolder();
@@ -54,7 +51,7 @@ public class PurgeDatastoresStepTest extends BaseStepTest {
 
     sut.execute(context);
 
-    verify(projectCleaner).purge(any(DbSession.class), any(IdUuidPair.class));
+    verify(projectCleaner).purgeInBackground(any(IdUuidPair.class));
   }
 
   @Override
@@ -25,25 +25,34 @@ import org.junit.Before;
 import org.junit.Test;
 import org.sonar.api.utils.DateUtils;
 import org.sonar.core.computation.db.AnalysisReportDto;
+import org.sonar.server.computation.ComputationThread;
+import org.sonar.server.computation.ComputationThreadLauncher;
 import org.sonar.server.computation.ReportQueue;
 import org.sonar.server.ws.WsTester;
 
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.sonar.core.computation.db.AnalysisReportDto.Status.PENDING;
+import static org.sonar.core.computation.db.AnalysisReportDto.Status.WORKING;
 
 public class QueueWsActionTest {
 
   WsTester tester;
   private ReportQueue queue;
+  private ComputationThreadLauncher launcher;
 
   @Before
   public void setup() throws Exception {
     queue = mock(ReportQueue.class);
-    tester = new WsTester(new ComputationWebService(new QueueWsAction(queue)));
+    launcher = mock(ComputationThreadLauncher.class);
+    when(launcher.getWorkers()).thenReturn(Collections.<ComputationThread>emptyList());
+    tester = new WsTester(new ComputationWebService(new QueueWsAction(queue, launcher)));
   }
 
   @Test
@@ -63,6 +72,28 @@ public class QueueWsActionTest {
     request.execute().assertJson(getClass(), "list_queue_reports.json", false);
   }
 
+  @Test
+  public void list_workers() throws Exception {
+    AnalysisReportDto report = AnalysisReportDto
+      .newForTests(2L)
+      .setProjectKey("project-key")
+      .setStatus(WORKING)
+      .setUuid("PROJECT_UUID")
+      .setCreatedAt(DateUtils.parseDateTime("2014-10-13T00:00:00+0200").getTime())
+      .setStartedAt(DateUtils.parseDateTime("2014-10-13T00:00:00+0200").getTime());
+    when(queue.all()).thenReturn(Lists.newArrayList(report));
+
+    ComputationThread idleWorker = mock(ComputationThread.class);
+    when(idleWorker.getName()).thenReturn("computation-0");
+    ComputationThread busyWorker = mock(ComputationThread.class);
+    when(busyWorker.getName()).thenReturn("computation-1");
+    when(busyWorker.getCurrentItem()).thenReturn(new ReportQueue.Item(report, new File("report.zip")));
+    when(launcher.getWorkers()).thenReturn(Arrays.asList(idleWorker, busyWorker));
+
+    WsTester.TestRequest request = tester.newGetRequest(ComputationWebService.API_ENDPOINT, "queue");
+    request.execute().assertJson(getClass(), "list_workers.json", false);
+  }
+
   @Test
   public void define() throws Exception {
     assertThat(tester.controller(ComputationWebService.API_ENDPOINT).action("queue")).isNotNull();
@@ -22,6 +22,7 @@ package org.sonar.server.es;
 import com.google.common.collect.ImmutableMap;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
 import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.cluster.metadata.IndexMetaData;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
@@ -29,6 +30,7 @@ import org.junit.ClassRule;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 
 public class BulkIndexerTest {
 
@@ -85,6 +87,71 @@ public class BulkIndexerTest {
     assertThat(replicas()).isEqualTo(1);
   }
 
+  @Test
+  public void index_documents_asynchronously() throws Exception {
+    esTester.truncateIndices();
+
+    BulkIndexer indexer = new BulkIndexer(esTester.client(), FakeIndexDefinition.INDEX)
+      .setConcurrentRequests(2)
+      .setFlushByteSize(new ByteSizeValue(1, ByteSizeUnit.BYTES).bytes());
+    indexer.start();
+    for (int i = 0; i < 100; i++) {
+      indexer.add(newIndexRequest(i));
+    }
+
+    // wait for all the requests
+    indexer.stop();
+    assertThat(count()).isEqualTo(100);
+  }
+
+  @Test
+  public void fail_if_asynchronous_request_fails() throws Exception {
+    esTester.truncateIndices();
+
+    BulkIndexer indexer = new BulkIndexer(esTester.client(), FakeIndexDefinition.INDEX)
+      .setConcurrentRequests(2)
+      .setFlushByteSize(new ByteSizeValue(1, ByteSizeUnit.BYTES).bytes());
+    indexer.start();
+    indexer.add(newIndexRequest(42));
+    indexer.add(newInvalidRequest());
+    try {
+      indexer.stop();
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessage("Fail to execute bulk request on index fakes");
+    }
+  }
+
+  @Test
+  public void revert_settings_if_large_indexing_fails() throws Exception {
+    assertThat(replicas()).isEqualTo(1);
+
+    BulkIndexer indexer = new BulkIndexer(esTester.client(), FakeIndexDefinition.INDEX)
+      .setLarge(true)
+      .setConcurrentRequests(2)
+      .setFlushByteSize(new ByteSizeValue(1, ByteSizeUnit.BYTES).bytes());
+    indexer.start();
+    assertThat(replicas()).isEqualTo(0);
+    indexer.add(newInvalidRequest());
+    try {
+      indexer.stop();
+      fail();
+    } catch (IllegalStateException e) {
+      // replicas are re-enabled
+      assertThat(replicas()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void fail_if_negative_number_of_concurrent_requests() throws Exception {
+    try {
+      new BulkIndexer(esTester.client(), FakeIndexDefinition.INDEX).setConcurrentRequests(-1);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessage("Number of concurrent requests must be positive or zero (got -1)");
+    }
+  }
+
   private long count() {
     return esTester.countDocuments("fakes", "fake");
   }
@@ -95,6 +162,13 @@ public class BulkIndexerTest {
     return Integer.parseInt(settingsResp.getSetting(FakeIndexDefinition.INDEX, IndexMetaData.SETTING_NUMBER_OF_REPLICAS));
   }
 
+  /**
+   * Update without doc nor script, rejected by validation of the whole bulk request
+   */
+  private UpdateRequest newInvalidRequest() {
+    return new UpdateRequest(FakeIndexDefinition.INDEX, FakeIndexDefinition.TYPE, "invalid");
+  }
+
   private IndexRequest newIndexRequest(int intField) {
     return new IndexRequest(FakeIndexDefinition.INDEX, FakeIndexDefinition.TYPE)
       .source(ImmutableMap.of(FakeIndexDefinition.INT_FIELD, intField));
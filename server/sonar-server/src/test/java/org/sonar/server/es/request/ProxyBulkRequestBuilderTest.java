@@ -21,11 +21,13 @@
 package org.sonar.server.es.request;
 
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.support.PlainActionFuture;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.util.concurrent.UncategorizedExecutionException;
 import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
@@ -35,6 +37,7 @@ import org.sonar.server.es.EsTester;
 import org.sonar.server.es.FakeIndexDefinition;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 
 public class ProxyBulkRequestBuilderTest {
 
@@ -73,6 +76,38 @@ public class ProxyBulkRequestBuilderTest {
     assertThat(response.getItems()).hasSize(3);
   }
 
+  @Test
+  public void trace_logs_of_asynchronous_execution() {
+    logTester.setLevel(LoggerLevel.TRACE);
+    BulkRequestBuilder req = esTester.client().prepareBulk();
+    req.add(new IndexRequest(FakeIndexDefinition.INDEX, FakeIndexDefinition.TYPE, "key1")
+      .source(FakeIndexDefinition.newDoc(1)));
+
+    PlainActionFuture<BulkResponse> future = PlainActionFuture.newFuture();
+    req.execute(future);
+
+    assertThat(future.actionGet().getItems()).hasSize(1);
+    assertThat(logTester.logs()).hasSize(1);
+  }
+
+  @Test
+  public void asynchronous_failure_is_given_to_listener() {
+    BulkRequestBuilder req = esTester.client().prepareBulk();
+    req.add(new UpdateRequest(FakeIndexDefinition.INDEX, FakeIndexDefinition.TYPE, "key1"));
+
+    PlainActionFuture<BulkResponse> future = PlainActionFuture.newFuture();
+    req.execute(future);
+
+    try {
+      future.actionGet();
+      fail();
+    } catch (UncategorizedExecutionException e) {
+      Throwable failure = e.getCause().getCause();
+      assertThat(failure).isInstanceOf(IllegalStateException.class);
+      assertThat(failure.getMessage()).isEqualTo("Fail to execute Bulk[1 update request(s) on index fakes and type fake]");
+    }
+  }
+
   @Test(expected = UnsupportedOperationException.class)
   public void get_with_string_timeout_is_not_yet_implemented() throws Exception {
     esTester.client().prepareBulk().get("1");
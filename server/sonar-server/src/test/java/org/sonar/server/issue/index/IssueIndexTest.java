@@ -1264,6 +1264,26 @@ public class IssueIndexTest {
     assertThat(Lists.newArrayList(index.selectIssuesForBatch(ComponentTesting.newProjectDto()))).isEmpty();
   }
 
+  @Test
+  public void search_issues_for_batch_with_small_scroll_size() throws Exception {
+    ComponentDto project = ComponentTesting.newProjectDto();
+    ComponentDto file = ComponentTesting.newFileDto(project);
+
+    indexIssues(
+      IssueTesting.newDoc("ISSUE1", file),
+      IssueTesting.newDoc("ISSUE2", file),
+      IssueTesting.newDoc("ISSUE3", file));
+
+    Iterator<IssueDoc> issues = index.selectIssuesForBatch(project, 1);
+    List<String> keys = Lists.newArrayList();
+    while (issues.hasNext()) {
+      keys.add(issues.next().key());
+    }
+    assertThat(keys).containsOnly("ISSUE1", "ISSUE2", "ISSUE3");
+    // scroll is over
+    assertThat(issues.hasNext()).isFalse();
+  }
+
   @Test
   public void fail_to_search_issues_for_batch_on_not_allowed_scope() throws Exception {
     try {
@@ -39,6 +39,9 @@ import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @Category(DbTests.class)
 public class MeasureFilterExecutorTest {
@@ -58,11 +61,12 @@ public class MeasureFilterExecutorTest {
   private static final Metric METRIC_UNKNOWN = new Metric.Builder("unknown", "Unknown", Metric.ValueType.FLOAT).create().setId(4);
   @ClassRule
   public static DbTester db = new DbTester();
+  private MeasureFilterIndexExecutor indexExecutor = mock(MeasureFilterIndexExecutor.class);
   private MeasureFilterExecutor executor;
 
   @Before
   public void before() {
-    executor = new MeasureFilterExecutor(db.myBatis(), db.database(), new ResourceDao(db.myBatis(), System2.INSTANCE));
+    executor = new MeasureFilterExecutor(db.myBatis(), db.database(), new ResourceDao(db.myBatis(), System2.INSTANCE), indexExecutor);
   }
 
   @Test
@@ -74,6 +78,18 @@ public class MeasureFilterExecutorTest {
     assertThat(executor.execute(filter, new MeasureFilterContext())).isEmpty();
   }
 
+  @Test
+  public void delegate_to_index_if_filter_is_supported() throws SQLException {
+    db.prepareDbUnit(getClass(), "shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK"));
+    List<MeasureFilterRow> indexedRows = Arrays.asList(new MeasureFilterRow(JAVA_PROJECT_SNAPSHOT_ID, JAVA_PROJECT_ID, JAVA_PROJECT_ID));
+    when(indexExecutor.accept(filter)).thenReturn(true);
+    when(indexExecutor.execute(filter)).thenReturn(indexedRows);
+
+    assertThat(executor.execute(filter, new MeasureFilterContext())).isSameAs(indexedRows);
+    verify(indexExecutor).execute(filter);
+  }
+
   @Test
   public void invalid_filter_should_not_return_results() throws SQLException {
     db.prepareDbUnit(getClass(), "shared.xml");
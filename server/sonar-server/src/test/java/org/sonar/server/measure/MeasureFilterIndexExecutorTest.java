@@ -0,0 +1,122 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.sonar.api.config.Settings;
+import org.sonar.api.measures.Metric;
+import org.sonar.server.es.EsTester;
+import org.sonar.server.measure.index.ProjectMeasuresDoc;
+import org.sonar.server.measure.index.ProjectMeasuresIndexDefinition;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MeasureFilterIndexExecutorTest {
+
+  private static final Metric METRIC_LINES = new Metric.Builder("lines", "Lines", Metric.ValueType.INT).create().setId(1);
+  private static final Metric METRIC_PROFILE = new Metric.Builder("profile", "Profile", Metric.ValueType.STRING).create().setId(2);
+
+  @ClassRule
+  public static EsTester esTester = new EsTester().addDefinitions(new ProjectMeasuresIndexDefinition(new Settings()));
+
+  MeasureFilterIndexExecutor executor;
+
+  @Before
+  public void setUp() throws Exception {
+    esTester.truncateIndices();
+    executor = new MeasureFilterIndexExecutor(esTester.client());
+  }
+
+  @Test
+  public void accept_filters_on_numeric_measures_of_projects() throws Exception {
+    assertThat(executor.accept(projectFilter())).isTrue();
+    assertThat(executor.accept(projectFilter().addCondition(new MeasureFilterCondition(METRIC_LINES, MeasureFilterCondition.Operator.GREATER, 100.0)))).isTrue();
+    assertThat(executor.accept(projectFilter().setSortOnMetric(METRIC_LINES))).isTrue();
+  }
+
+  @Test
+  public void do_not_accept_filters_that_are_executed_in_sql() throws Exception {
+    assertThat(executor.accept(new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK", "FIL")))).isFalse();
+    assertThat(executor.accept(projectFilter().setBaseResourceKey("struts"))).isFalse();
+    assertThat(executor.accept(projectFilter().setUserFavourites(true))).isFalse();
+    assertThat(executor.accept(projectFilter().setResourceName("Struts"))).isFalse();
+    assertThat(executor.accept(projectFilter().addCondition(new MeasureFilterCondition(METRIC_PROFILE, MeasureFilterCondition.Operator.EQUALS, "Sonar way")))).isFalse();
+    assertThat(executor.accept(projectFilter().setSortOnMetric(METRIC_PROFILE))).isFalse();
+  }
+
+  @Test
+  public void filter_and_sort_on_measures() throws Exception {
+    esTester.putDocuments(ProjectMeasuresIndexDefinition.INDEX, ProjectMeasuresIndexDefinition.TYPE_PROJECT,
+      newDoc("P1", 1L, 101L, "Struts", 500.0, 10.0),
+      newDoc("P2", 2L, 102L, "Sonar", 100.0, 50.0),
+      newDoc("P3", 3L, 103L, "Guava", 300.0, null));
+
+    List<MeasureFilterRow> rows = executor.execute(projectFilter()
+      .addCondition(new MeasureFilterCondition(METRIC_LINES, MeasureFilterCondition.Operator.GREATER_OR_EQUALS, 200.0))
+      .setSortOnMetric(METRIC_LINES)
+      .setSortAsc(false));
+    assertThat(rows).hasSize(2);
+    assertThat(rows.get(0).getSnapshotId()).isEqualTo(101L);
+    assertThat(rows.get(0).getResourceId()).isEqualTo(1L);
+    assertThat(rows.get(1).getSnapshotId()).isEqualTo(103L);
+
+    rows = executor.execute(projectFilter()
+      .addCondition(new MeasureFilterCondition(METRIC_LINES, MeasureFilterCondition.Operator.GREATER, 20.0).setPeriod(1)));
+    assertThat(rows).hasSize(1);
+    assertThat(rows.get(0).getSnapshotId()).isEqualTo(102L);
+
+    rows = executor.execute(projectFilter().setSortOn(MeasureFilterSort.Field.NAME));
+    assertThat(rows).hasSize(3);
+    assertThat(rows.get(0).getSnapshotId()).isEqualTo(103L);
+    assertThat(rows.get(1).getSnapshotId()).isEqualTo(102L);
+    assertThat(rows.get(2).getSnapshotId()).isEqualTo(101L);
+  }
+
+  private static MeasureFilter projectFilter() {
+    return new MeasureFilter().setResourceQualifiers(Arrays.asList("TRK"));
+  }
+
+  private static ProjectMeasuresDoc newDoc(String uuid, long projectId, long snapshotId, String name, double lines, Double linesVariation) {
+    Map<String, Object> measure = ImmutableMap.<String, Object>of(
+      ProjectMeasuresIndexDefinition.FIELD_MEASURE_METRIC_ID, METRIC_LINES.getId(),
+      ProjectMeasuresIndexDefinition.FIELD_MEASURE_VALUE, lines);
+    if (linesVariation != null) {
+      measure = ImmutableMap.<String, Object>builder().putAll(measure).put(ProjectMeasuresIndexDefinition.variationField(1), linesVariation).build();
+    }
+    return new ProjectMeasuresDoc()
+      .setUuid(uuid)
+      .setProjectId(projectId)
+      .setSnapshotId(snapshotId)
+      .setKey(name.toLowerCase())
+      .setName(name)
+      .setQualifier("TRK")
+      .setScope("PRJ")
+      .setAnalysedAt(1500000000000L)
+      .addMeasures(Collections.singletonList(measure));
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.measure.index;
+
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.sonar.api.config.Settings;
+import org.sonar.core.persistence.DbTester;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.es.EsTester;
+import org.sonar.test.DbTests;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Category(DbTests.class)
+public class ProjectMeasuresIndexerTest {
+
+  @ClassRule
+  public static DbTester dbTester = new DbTester();
+
+  @ClassRule
+  public static EsTester esTester = new EsTester().addDefinitions(new ProjectMeasuresIndexDefinition(new Settings()));
+
+  @Before
+  public void setUp() throws Exception {
+    dbTester.truncateTables();
+    esTester.truncateIndices();
+  }
+
+  @Test
+  public void index_nothing() throws Exception {
+    createIndexer().index();
+    assertThat(esTester.countDocuments(ProjectMeasuresIndexDefinition.INDEX, ProjectMeasuresIndexDefinition.TYPE_PROJECT)).isEqualTo(0L);
+  }
+
+  @Test
+  public void index_last_analysis_of_projects() throws Exception {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+
+    createIndexer().index();
+
+    List<ProjectMeasuresDoc> docs = esTester.getDocuments("measures", "project", ProjectMeasuresDoc.class);
+    assertThat(docs).hasSize(1);
+    ProjectMeasuresDoc doc = docs.get(0);
+    assertThat(doc.uuid()).isEqualTo("ABCD");
+    assertThat(doc.projectId()).isEqualTo(1L);
+    assertThat(doc.snapshotId()).isEqualTo(101L);
+    assertThat(doc.key()).isEqualTo("struts");
+    assertThat(doc.name()).isEqualTo("Apache Struts");
+    assertThat(doc.shortName()).isEqualTo("Struts");
+    assertThat(doc.description()).isEqualTo("the description");
+    assertThat(doc.version()).isEqualTo("1.0");
+    assertThat(doc.qualifier()).isEqualTo("TRK");
+    assertThat(doc.analysedAt()).isEqualTo(1500000000000L);
+
+    List<Map<String, Object>> measures = doc.measures();
+    assertThat(measures).hasSize(2);
+    assertThat(measures.get(0).get(ProjectMeasuresIndexDefinition.FIELD_MEASURE_METRIC_ID)).isEqualTo(1);
+    assertThat(measures.get(0).get(ProjectMeasuresIndexDefinition.FIELD_MEASURE_VALUE)).isEqualTo(510.0);
+    assertThat(measures.get(0).get(ProjectMeasuresIndexDefinition.variationField(1))).isEqualTo(110.0);
+    assertThat(measures.get(1).get(ProjectMeasuresIndexDefinition.FIELD_MEASURE_METRIC_ID)).isEqualTo(2);
+    assertThat(measures.get(1).get(ProjectMeasuresIndexDefinition.FIELD_MEASURE_TEXT_VALUE)).isEqualTo("Sonar way");
+  }
+
+  @Test
+  public void index_single_project() throws Exception {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+
+    createIndexer().index("UNKNOWN");
+    assertThat(esTester.countDocuments("measures", "project")).isEqualTo(0L);
+
+    createIndexer().index("ABCD");
+    assertThat(esTester.countDocuments("measures", "project")).isEqualTo(1L);
+  }
+
+  @Test
+  public void delete_project() throws Exception {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+    ProjectMeasuresIndexer indexer = createIndexer();
+    indexer.index();
+
+    indexer.deleteProject("ABCD");
+
+    assertThat(esTester.countDocuments("measures", "project")).isEqualTo(0L);
+  }
+
+  @Test
+  public void do_nothing_if_disabled() throws Exception {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+
+    createIndexer().setEnabled(false).index();
+    assertThat(esTester.countDocuments("measures", "project")).isEqualTo(0L);
+  }
+
+  @Test
+  public void do_not_index_project_if_disabled() throws Exception {
+    dbTester.prepareDbUnit(getClass(), "index.xml");
+
+    ((ProjectMeasuresIndexer) createIndexer().setEnabled(false)).index("ABCD");
+    assertThat(esTester.countDocuments("measures", "project")).isEqualTo(0L);
+  }
+
+  private ProjectMeasuresIndexer createIndexer() {
+    ProjectMeasuresIndexer indexer = new ProjectMeasuresIndexer(new DbClient(dbTester.database(), dbTester.myBatis()), esTester.client());
+    indexer.setEnabled(true);
+    return indexer;
+  }
+}
@@ -32,9 +32,14 @@ import org.sonar.core.properties.PropertiesDao;
 import org.sonar.server.db.DbClient;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
 
+import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalMatchers.or;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.*;
@@ -64,7 +69,7 @@ public class NotificationServiceTest {
     when(commentOnIssueCreatedByMe.getType()).thenReturn("issue-changes");
     when(qualityGateChange.getKey()).thenReturn("QGateChange");
     when(qualityGateChange.getType()).thenReturn("qgate-changes");
-    when(manager.getFromQueue()).thenReturn(notification).thenReturn(null);
+    when(manager.getFromQueue(anyInt())).thenReturn(asList(notification)).thenReturn(Collections.<Notification>emptyList());
 
     Settings settings = new Settings().setProperty("sonar.notifications.delay", 1L);
 
@@ -171,7 +176,8 @@ public class NotificationServiceTest {
   @Test
   public void shouldNotStopWhenException() {
     setUpMocks();
-    when(manager.getFromQueue()).thenThrow(new RuntimeException("Unexpected exception")).thenReturn(notification).thenReturn(null);
+    when(manager.getFromQueue(anyInt())).thenThrow(new RuntimeException("Unexpected exception")).thenReturn(asList(notification))
+      .thenReturn(Collections.<Notification>emptyList());
     doAnswer(addUser(ASSIGNEE_SIMON, emailChannel)).when(commentOnIssueAssignedToMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
     doAnswer(addUser(CREATOR_SIMON, emailChannel)).when(commentOnIssueCreatedByMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
 
@@ -194,6 +200,22 @@ public class NotificationServiceTest {
     verify(gtalkChannel, never()).deliver(any(Notification.class), anyString());
   }
 
+  @Test
+  public void shouldCountDeliveriesByChannel() {
+    setUpMocks();
+    doAnswer(addUser(ASSIGNEE_SIMON, new NotificationChannel[] {emailChannel, gtalkChannel}))
+      .when(commentOnIssueAssignedToMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
+    doAnswer(addUser(CREATOR_EVGENY, emailChannel)).when(commentOnIssueCreatedByMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
+    doThrow(new IllegalStateException("Unavailable")).when(gtalkChannel).deliver(notification, ASSIGNEE_SIMON);
+
+    service.deliver(notification);
+
+    assertThat(service.getProcessedNotifications()).isEqualTo(1L);
+    assertThat(service.getDeliveriesByChannel()).containsEntry("email", 2L).containsEntry("gtalk", 0L);
+    assertThat(service.getFailedDeliveriesByChannel()).containsEntry("email", 0L).containsEntry("gtalk", 1L);
+    assertThat(service.getPendingDeliveriesByChannel()).containsEntry("email", 0L).containsEntry("gtalk", 0L);
+  }
+
   @Test
   public void getDispatchers() {
     setUpMocks();
@@ -209,11 +231,18 @@ public class NotificationServiceTest {
     assertThat(service.getDispatchers()).hasSize(0);
   }
 
+  @Test
+  public void deliver_notifications_in_a_single_thread_by_default() {
+    service = new NotificationService(new Settings(), manager, dbClient);
+
+    assertThat(service.getDeliveryThreads()).isEqualTo(1);
+  }
+
   @Test
   public void shouldLogEvery10Minutes() throws InterruptedException {
     setUpMocks();
     // Emulate 2 notifications in DB
-    when(manager.getFromQueue()).thenReturn(notification).thenReturn(notification).thenReturn(null);
+    when(manager.getFromQueue(anyInt())).thenReturn(asList(notification)).thenReturn(asList(notification)).thenReturn(Collections.<Notification>emptyList());
     when(manager.count()).thenReturn(1L).thenReturn(0L);
     service = spy(service);
     // Emulate processing of each notification take 10 min to have a log each time
@@ -224,6 +253,106 @@ public class NotificationServiceTest {
     service.stop();
   }
 
+  @Test
+  public void shouldPutBackUndeliveredNotificationsIntoQueueWhenStopping() throws Exception {
+    setUpMocks();
+    final Notification pending1 = mock(Notification.class);
+    final Notification pending2 = mock(Notification.class);
+    when(manager.getFromQueue(anyInt())).thenReturn(asList(notification, pending1, pending2)).thenReturn(Collections.<Notification>emptyList());
+    final CountDownLatch deliveryStarted = new CountDownLatch(1);
+    final CountDownLatch stopRequested = new CountDownLatch(1);
+    doAnswer(new Answer<Object>() {
+      public Object answer(InvocationOnMock invocation) throws InterruptedException {
+        deliveryStarted.countDown();
+        stopRequested.await();
+        ((NotificationDispatcher.Context) invocation.getArguments()[1]).addUser(ASSIGNEE_SIMON, emailChannel);
+        return null;
+      }
+    }).when(commentOnIssueAssignedToMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
+    Settings settings = new Settings().setProperty("sonar.notifications.delay", 1L).setProperty(NotificationService.PROPERTY_THREADS, 1);
+    service = new NotificationService(settings, manager, dbClient, new NotificationDispatcher[] {commentOnIssueAssignedToMe});
+
+    service.start();
+    deliveryStarted.await();
+    Thread stopper = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        service.stop();
+      }
+    });
+    stopper.start();
+    // stop() is waiting for termination of the queue processing
+    while (stopper.getState() != Thread.State.TIMED_WAITING) {
+      Thread.sleep(10L);
+    }
+    stopRequested.countDown();
+    stopper.join();
+
+    // notification being delivered is completed, the other ones are delivered after restart
+    verify(emailChannel).deliver(notification, ASSIGNEE_SIMON);
+    verify(manager).scheduleForSending(pending1);
+    verify(manager).scheduleForSending(pending2);
+    verify(manager, never()).scheduleForSending(notification);
+    verify(manager, times(1)).getFromQueue(anyInt());
+  }
+
+  @Test
+  public void shouldPutBackOnlyUndeliveredNotificationsOfPartiallyDeliveredBatchWhenStopping() throws Exception {
+    setUpMocks();
+    final Notification delivered1 = mock(Notification.class);
+    final Notification delivered2 = mock(Notification.class);
+    final Notification inProgress1 = mock(Notification.class);
+    final Notification inProgress2 = mock(Notification.class);
+    final Notification pending1 = mock(Notification.class);
+    final Notification pending2 = mock(Notification.class);
+    when(manager.getFromQueue(anyInt())).thenReturn(asList(delivered1, delivered2, inProgress1, inProgress2, pending1, pending2))
+      .thenReturn(Collections.<Notification>emptyList());
+    final CountDownLatch deliveriesStarted = new CountDownLatch(2);
+    final CountDownLatch stopRequested = new CountDownLatch(1);
+    doAnswer(new Answer<Object>() {
+      public Object answer(InvocationOnMock invocation) {
+        ((NotificationDispatcher.Context) invocation.getArguments()[1]).addUser(ASSIGNEE_SIMON, emailChannel);
+        return null;
+      }
+    }).when(commentOnIssueAssignedToMe).dispatch(any(Notification.class), any(NotificationDispatcher.Context.class));
+    doAnswer(new Answer<Object>() {
+      public Object answer(InvocationOnMock invocation) throws InterruptedException {
+        deliveriesStarted.countDown();
+        stopRequested.await();
+        return null;
+      }
+    }).when(emailChannel).deliver(or(same(inProgress1), same(inProgress2)), anyString());
+    Settings settings = new Settings().setProperty("sonar.notifications.delay", 1L).setProperty(NotificationService.PROPERTY_THREADS, 2);
+    service = new NotificationService(settings, manager, dbClient, new NotificationDispatcher[] {commentOnIssueAssignedToMe});
+
+    service.start();
+    // the two delivery threads are blocked on the third and fourth notifications
+    deliveriesStarted.await();
+    Thread stopper = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        service.stop();
+      }
+    });
+    stopper.start();
+    while (stopper.getState() != Thread.State.TIMED_WAITING) {
+      Thread.sleep(10L);
+    }
+    stopRequested.countDown();
+    stopper.join();
+
+    for (Notification delivered : asList(delivered1, delivered2, inProgress1, inProgress2)) {
+      verify(emailChannel).deliver(delivered, ASSIGNEE_SIMON);
+      verify(manager, never()).scheduleForSending(delivered);
+    }
+    for (Notification pending : asList(pending1, pending2)) {
+      verify(emailChannel, never()).deliver(same(pending), anyString());
+      verify(manager).scheduleForSending(pending);
+    }
+    verify(manager, times(1)).getFromQueue(anyInt());
+    assertThat(service.getProcessedNotifications()).isEqualTo(4);
+  }
+
   @Test
   public void hasProjectSubscribersForType() {
     setUpMocks();
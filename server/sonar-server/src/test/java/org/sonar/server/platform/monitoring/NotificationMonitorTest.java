@@ -0,0 +1,63 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform.monitoring;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.sonar.server.notifications.NotificationService;
+
+import java.util.LinkedHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NotificationMonitorTest {
+
+  NotificationService service = mock(NotificationService.class);
+  NotificationMonitor sut = new NotificationMonitor(service);
+
+  @Test
+  public void name() throws Exception {
+    assertThat(sut.name()).isEqualTo("Notifications");
+  }
+
+  @Test
+  public void attributes() throws Exception {
+    when(service.getBatchSize()).thenReturn(50);
+    when(service.getDeliveryThreads()).thenReturn(4);
+    when(service.getProcessedNotifications()).thenReturn(120L);
+    when(service.getQueuedNotifications()).thenReturn(30L);
+    when(service.getDeliveriesByChannel()).thenReturn(ImmutableMap.of("email", 200L));
+    when(service.getFailedDeliveriesByChannel()).thenReturn(ImmutableMap.of("email", 2L));
+    when(service.getPendingDeliveriesByChannel()).thenReturn(ImmutableMap.of("email", 7L));
+    when(service.getDeliveryTimeInMsByChannel()).thenReturn(ImmutableMap.of("email", 3000L));
+
+    LinkedHashMap<String, Object> attributes = sut.attributes();
+    assertThat(attributes).containsEntry("Batch Size", 50);
+    assertThat(attributes).containsEntry("Delivery Threads", 4);
+    assertThat(attributes).containsEntry("Processed Notifications", 120L);
+    assertThat(attributes).containsEntry("Queued Notifications", 30L);
+    assertThat(attributes).containsEntry("email Deliveries", 200L);
+    assertThat(attributes).containsEntry("email Failed Deliveries", 2L);
+    assertThat(attributes).containsEntry("email Pending Deliveries", 7L);
+    assertThat(attributes).containsEntry("email Delivery Time (ms)", 3000L);
+  }
+}
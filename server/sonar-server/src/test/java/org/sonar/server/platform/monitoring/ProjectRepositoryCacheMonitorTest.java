@@ -0,0 +1,54 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform.monitoring;
+
+import org.junit.Test;
+import org.sonar.server.batch.ProjectRepositoryCache;
+
+import java.util.LinkedHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProjectRepositoryCacheMonitorTest {
+
+  ProjectRepositoryCache cache = mock(ProjectRepositoryCache.class);
+  ProjectRepositoryCacheMonitor sut = new ProjectRepositoryCacheMonitor(cache);
+
+  @Test
+  public void name() throws Exception {
+    assertThat(sut.name()).isEqualTo("ProjectRepositoryCache");
+  }
+
+  @Test
+  public void attributes() throws Exception {
+    when(cache.hits()).thenReturn(12L);
+    when(cache.misses()).thenReturn(3L);
+    when(cache.size()).thenReturn(2);
+    when(cache.sizeInBytes()).thenReturn(1024L);
+
+    LinkedHashMap<String, Object> attributes = sut.attributes();
+    assertThat(attributes).containsEntry("Hits", 12L);
+    assertThat(attributes).containsEntry("Misses", 3L);
+    assertThat(attributes).containsEntry("Entries", 2);
+    assertThat(attributes).containsEntry("Size (bytes)", 1024L);
+  }
+}
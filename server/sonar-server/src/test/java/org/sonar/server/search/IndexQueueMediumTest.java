@@ -0,0 +1,81 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.search;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.rule.RuleTesting;
+import org.sonar.server.rule.index.RuleIndex;
+import org.sonar.server.tester.ServerTester;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IndexQueueMediumTest {
+
+  @ClassRule
+  public static ServerTester tester = new ServerTester().setProperty(IndexQueue.ASYNC_BULK_PROPERTY, "true");
+
+  DbSession dbSession;
+  IndexQueue queue;
+
+  @Before
+  public void before() {
+    tester.clearDbAndIndexes();
+    dbSession = tester.get(DbClient.class).openSession(false);
+    queue = tester.get(IndexQueue.class);
+  }
+
+  @After
+  public void after() {
+    dbSession.close();
+  }
+
+  @Test
+  public void index_synchronously_on_commit() throws Exception {
+    long bulkRequests = queue.getBulkRequests();
+    RuleKey key = RuleKey.of("java", "S001");
+    tester.get(DbClient.class).ruleDao().insert(dbSession, RuleTesting.newDto(key));
+    dbSession.commit();
+
+    assertThat(tester.get(RuleIndex.class).getNullableByKey(key)).isNotNull();
+    assertThat(queue.getBulkRequests()).isGreaterThan(bulkRequests);
+    assertThat(queue.getNormalizedActions()).isGreaterThan(0L);
+    assertThat(queue.getNormalizationThreads()).isGreaterThan(0);
+  }
+
+  @Test
+  public void index_asynchronously() throws Exception {
+    RuleKey key = RuleKey.of("java", "S002");
+    tester.get(DbClient.class).ruleDao().insert(dbSession, RuleTesting.newDto(key));
+    dbSession.commitAndEnqueueAsync();
+
+    for (int i = 0; i < 100 && queue.getPendingAsyncBulkRequests() > 0; i++) {
+      Thread.sleep(100L);
+    }
+    assertThat(queue.getPendingAsyncBulkRequests()).isEqualTo(0L);
+    assertThat(queue.getFailedAsyncBulkRequests()).isEqualTo(0L);
+    assertThat(tester.get(RuleIndex.class).getNullableByKey(key)).isNotNull();
+  }
+}
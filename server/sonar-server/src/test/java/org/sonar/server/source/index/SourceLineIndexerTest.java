@@ -43,6 +43,7 @@ import org.sonar.test.TestUtils;
 
 import java.io.FileInputStream;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -82,6 +83,62 @@ public class SourceLineIndexerTest {
     assertThat(countDocuments()).isEqualTo(3);
   }
 
+  @Test
+  public void index_source_lines_of_project() throws Exception {
+    db.prepareDbUnit(getClass(), "two_projects.xml");
+
+    Connection connection = db.openConnection();
+    FileSourceTesting.updateDataColumn(connection, "FILE_UUID", FileSourceTesting.newRandomData(3).build());
+    FileSourceTesting.updateDataColumn(connection, "OTHER_FILE_UUID", FileSourceTesting.newRandomData(2).build());
+    connection.close();
+
+    indexer.index("PROJECT_UUID");
+
+    List<SearchHit> hits = getDocuments();
+    assertThat(hits).hasSize(3);
+    for (SearchHit hit : hits) {
+      assertThat(hit.getSource().get(FIELD_PROJECT_UUID)).isEqualTo("PROJECT_UUID");
+    }
+  }
+
+  @Test
+  public void do_not_index_source_lines_of_project_if_indexer_is_disabled() throws Exception {
+    db.prepareDbUnit(getClass(), "db.xml");
+    Connection connection = db.openConnection();
+    FileSourceTesting.updateDataColumn(connection, "FILE_UUID", FileSourceTesting.newRandomData(3).build());
+    connection.close();
+
+    indexer.setEnabled(false);
+    indexer.index("PROJECT_UUID");
+
+    assertThat(countDocuments()).isEqualTo(0);
+  }
+
+  @Test
+  public void delete_lines_removed_since_last_indexing_of_project() throws Exception {
+    db.prepareDbUnit(getClass(), "db.xml");
+    Connection connection = db.openConnection();
+    FileSourceTesting.updateDataColumn(connection, "FILE_UUID", FileSourceTesting.newRandomData(5).build());
+    indexer.index("PROJECT_UUID");
+    assertThat(countDocuments()).isEqualTo(5);
+
+    // file has now 2 lines
+    FileSourceTesting.updateDataColumn(connection, "FILE_UUID", FileSourceTesting.newRandomData(2).build());
+    PreparedStatement stmt = connection.prepareStatement("UPDATE file_sources SET updated_at=? WHERE file_uuid=?");
+    stmt.setLong(1, 1500000000000L);
+    stmt.setString(2, "FILE_UUID");
+    stmt.executeUpdate();
+    stmt.close();
+    connection.close();
+    indexer.index("PROJECT_UUID");
+
+    List<SearchHit> hits = getDocuments();
+    assertThat(hits).hasSize(2);
+    for (SearchHit hit : hits) {
+      assertThat((Integer) hit.getSource().get(FIELD_LINE)).isLessThanOrEqualTo(2);
+    }
+  }
+
   @Test
   public void update_already_indexed_lines() throws Exception {
     prepareIndex()
@@ -70,6 +70,7 @@ public class HashActionTest {
         mock(ScmAction.class),
         mock(LinesAction.class),
         new HashAction(dbClient),
+        mock(HashesAction.class),
         mock(IndexAction.class)
       )
       );
@@ -0,0 +1,101 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.source.ws;
+
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.sonar.api.web.UserRole;
+import org.sonar.batch.protocol.input.BatchInput.FileLineHashes;
+import org.sonar.core.persistence.DbTester;
+import org.sonar.core.source.db.FileSourceDao;
+import org.sonar.server.component.db.ComponentDao;
+import org.sonar.server.db.DbClient;
+import org.sonar.server.exceptions.ForbiddenException;
+import org.sonar.server.user.MockUserSession;
+import org.sonar.server.ws.WsTester;
+import org.sonar.test.DbTests;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@Category(DbTests.class)
+public class HashesActionTest {
+
+  final static String MODULE_KEY = "struts";
+  final static String PROJECT_UUID = "ABCD";
+
+  @ClassRule
+  public static DbTester db = new DbTester();
+
+  WsTester tester;
+
+  @Before
+  public void before() throws Exception {
+    db.truncateTables();
+    DbClient dbClient = new DbClient(db.database(), db.myBatis(), new FileSourceDao(db.myBatis()), new ComponentDao());
+
+    tester = new WsTester(
+      new SourcesWs(
+        mock(ShowAction.class),
+        mock(RawAction.class),
+        mock(ScmAction.class),
+        mock(LinesAction.class),
+        mock(HashAction.class),
+        new HashesAction(dbClient),
+        mock(IndexAction.class)
+      )
+      );
+  }
+
+  @Test
+  public void stream_hashes_of_module_files() throws Exception {
+    db.prepareDbUnit(getClass(), "shared.xml");
+    MockUserSession.set().setLogin("polop").addProjectUuidPermissions(UserRole.USER, PROJECT_UUID);
+
+    WsTester.TestRequest request = tester.newGetRequest("api/sources", "hashes").setParam("moduleKey", MODULE_KEY);
+    InputStream input = new ByteArrayInputStream(request.execute().output());
+
+    Map<String, List<String>> hashesByFile = new HashMap<>();
+    FileLineHashes fileLineHashes = FileLineHashes.parseDelimitedFrom(input);
+    while (fileLineHashes != null) {
+      hashesByFile.put(fileLineHashes.getFileKey(), fileLineHashes.getLineHashList());
+      fileLineHashes = FileLineHashes.parseDelimitedFrom(input);
+    }
+    assertThat(hashesByFile).hasSize(2);
+    assertThat(hashesByFile.get("struts:src/main/java/Action.java")).containsExactly("987654", "", "123456");
+    assertThat(hashesByFile.get("struts:src/main/java/Form.java")).containsExactly("abcdef");
+  }
+
+  @Test(expected = ForbiddenException.class)
+  public void fail_on_missing_permission() throws Exception {
+    db.prepareDbUnit(getClass(), "shared.xml");
+
+    MockUserSession.set().setLogin("polop");
+    tester.newGetRequest("api/sources", "hashes").setParam("moduleKey", MODULE_KEY).execute();
+  }
+}
@@ -67,7 +67,7 @@ public class IndexActionTest {
     when(dbClient.componentDao()).thenReturn(componentDao);
     when(dbClient.openSession(false)).thenReturn(session);
     tester = new WsTester(new SourcesWs(mock(ShowAction.class), mock(RawAction.class), mock(ScmAction.class), mock(LinesAction.class),
-      mock(HashAction.class), new IndexAction(dbClient, sourceService)));
+      mock(HashAction.class), mock(HashesAction.class), new IndexAction(dbClient, sourceService)));
   }
 
   @Test
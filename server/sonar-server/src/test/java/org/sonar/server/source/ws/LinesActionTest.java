@@ -75,6 +75,7 @@ public class LinesActionTest {
         mock(ScmAction.class),
         new LinesAction(sourceLineIndex, htmlSourceDecorator, componentService),
         mock(HashAction.class),
+        mock(HashesAction.class),
         mock(IndexAction.class)
       )
     );
@@ -66,7 +66,7 @@ public class RawActionTest {
     when(dbClient.componentDao()).thenReturn(componentDao);
     when(dbClient.openSession(false)).thenReturn(session);
     tester = new WsTester(new SourcesWs(mock(ShowAction.class), new RawAction(dbClient, sourceService), mock(ScmAction.class), mock(LinesAction.class),
-      mock(HashAction.class), mock(IndexAction.class)));
+      mock(HashAction.class), mock(HashesAction.class), mock(IndexAction.class)));
   }
 
   @Test
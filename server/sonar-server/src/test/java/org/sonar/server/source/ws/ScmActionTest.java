@@ -35,7 +35,7 @@ public class ScmActionTest {
   SourceService sourceService = mock(SourceService.class);
   ScmWriter scmWriter = mock(ScmWriter.class);
   WsTester tester = new WsTester(new SourcesWs(mock(ShowAction.class), mock(RawAction.class), new ScmAction(sourceService, scmWriter), mock(LinesAction.class),
-    mock(HashAction.class), mock(IndexAction.class)));
+    mock(HashAction.class), mock(HashesAction.class), mock(IndexAction.class)));
 
   @Test
   public void get_scm() throws Exception {
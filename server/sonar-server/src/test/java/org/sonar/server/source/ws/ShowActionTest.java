@@ -68,6 +68,7 @@ public class ShowActionTest {
     tester = new WsTester(new SourcesWs(new ShowAction(sourceService, dbClient), mock(RawAction.class), new ScmAction(sourceService, mock(ScmWriter.class)),
       mock(LinesAction.class),
       mock(HashAction.class),
+      mock(HashesAction.class),
       mock(IndexAction.class)));
   }
 
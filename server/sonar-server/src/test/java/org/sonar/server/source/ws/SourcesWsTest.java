@@ -39,8 +39,9 @@ public class SourcesWsTest {
   ScmAction scmAction = new ScmAction(mock(SourceService.class), new ScmWriter());
   LinesAction linesAction = new LinesAction(mock(SourceLineIndex.class), mock(HtmlSourceDecorator.class), mock(ComponentService.class));
   HashAction hashAction = new HashAction(mock(DbClient.class));
+  HashesAction hashesAction = new HashesAction(mock(DbClient.class));
   IndexAction indexAction = new IndexAction(mock(DbClient.class), mock(SourceService.class));
-  WsTester tester = new WsTester(new SourcesWs(showAction, rawAction, scmAction, linesAction, hashAction, indexAction));
+  WsTester tester = new WsTester(new SourcesWs(showAction, rawAction, scmAction, linesAction, hashAction, hashesAction, indexAction));
 
   @Test
   public void define_ws() throws Exception {
@@ -48,7 +49,7 @@ public class SourcesWsTest {
     assertThat(controller).isNotNull();
     assertThat(controller.since()).isEqualTo("4.2");
     assertThat(controller.description()).isNotEmpty();
-    assertThat(controller.actions()).hasSize(6);
+    assertThat(controller.actions()).hasSize(7);
 
     WebService.Action show = controller.action("show");
     assertThat(show).isNotNull();
@@ -90,6 +91,13 @@ public class SourcesWsTest {
     assertThat(hash.responseExampleAsString()).isNotEmpty();
     assertThat(hash.params()).hasSize(1);
 
+    WebService.Action hashes = controller.action("hashes");
+    assertThat(hashes).isNotNull();
+    assertThat(hashes.handler()).isSameAs(hashesAction);
+    assertThat(hashes.since()).isEqualTo("5.1");
+    assertThat(hashes.isInternal()).isTrue();
+    assertThat(hashes.params()).hasSize(1);
+
     WebService.Action index = controller.action("index");
     assertThat(index).isNotNull();
     assertThat(index.handler()).isSameAs(indexAction);
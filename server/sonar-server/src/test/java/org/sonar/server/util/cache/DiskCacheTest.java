@@ -19,12 +19,16 @@
  */
 package org.sonar.server.util.cache;
 
+import com.google.common.base.Charsets;
+import org.apache.commons.io.IOUtils;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.sonar.api.utils.System2;
 import org.sonar.server.util.CloseableIterator;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
@@ -53,6 +57,39 @@ public class DiskCacheTest {
     }
   }
 
+  @Test
+  public void write_and_read_compressed_records() throws Exception {
+    DiskCache<String> cache = new DiskCache<>(temp.newFile(), System2.INSTANCE, new JavaSerializer<String>(), true);
+    try (CloseableIterator<String> traverse = cache.traverse()) {
+      assertThat(traverse).isEmpty();
+    }
+
+    // each appender writes its own compressed stream
+    cache.newAppender().append("foo").append("bar").close();
+    cache.newAppender().close();
+    cache.newAppender().append("baz").close();
+    try (CloseableIterator<String> traverse = cache.traverse()) {
+      assertThat(traverse).containsExactly("foo", "bar", "baz");
+    }
+  }
+
+  @Test
+  public void write_and_read_with_custom_serializer() throws Exception {
+    DiskCache<String> cache = new DiskCache<>(temp.newFile(), System2.INSTANCE, new UtfSerializer(), false);
+    StringBuilder large = new StringBuilder();
+    for (int i = 0; i < 10000; i++) {
+      large.append(i);
+    }
+    cache.newAppender()
+      .append("foo")
+      .append("")
+      .append(large.toString())
+      .close();
+    try (CloseableIterator<String> traverse = cache.traverse()) {
+      assertThat(traverse).containsExactly("foo", "", large.toString());
+    }
+  }
+
   @Test
   public void fail_if_file_is_not_writable() throws Exception {
     try {
@@ -78,4 +115,16 @@ public class DiskCacheTest {
       assertThat(e).hasMessage("expected error");
     }
   }
+
+  private static class UtfSerializer implements Serializer<String> {
+    @Override
+    public void write(String s, DataOutputStream output) throws IOException {
+      output.write(s.getBytes(Charsets.UTF_8));
+    }
+
+    @Override
+    public String read(DataInputStream input) throws IOException {
+      return IOUtils.toString(input, Charsets.UTF_8.name());
+    }
+  }
 }
@@ -60,6 +60,7 @@ class Property < ActiveRecord::Base
       scope = scope.with_value(value)
     end
     scope.delete_all
+    Api::Utils.java_facade.onProjectPropertyChange()
   end
 
   def self.clear_for_users(key)
@@ -172,6 +173,7 @@ class Property < ActiveRecord::Base
 
   def self.setGlobalProperty(key, value, resource_id, user_id)
     Api::Utils.java_facade.setGlobalProperty(key, value) unless (resource_id || user_id)
+    Api::Utils.java_facade.onProjectPropertyChange() if resource_id
   end
 
   private
@@ -19,19 +19,32 @@
  */
 package org.sonar.batch.protocol.output;
 
+import org.apache.commons.io.IOUtils;
 import org.sonar.batch.protocol.ProtobufUtil;
 import org.sonar.batch.protocol.output.BatchReport.Issues;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * Reads the reports written by {@link BatchReportWriter}, whether packed or not.
+ */
 public class BatchReportReader {
 
   private final FileStructure fileStructure;
+  private final ReportContainer componentContainer;
+  private final ReportContainer issuesContainer;
+  private final ReportContainer deletedIssuesContainer;
 
   public BatchReportReader(File dir) {
     this.fileStructure = new FileStructure(dir);
+    this.componentContainer = new ReportContainer(fileStructure, FileStructure.Domain.COMPONENT);
+    this.issuesContainer = new ReportContainer(fileStructure, FileStructure.Domain.ISSUES);
+    this.deletedIssuesContainer = new ReportContainer(fileStructure, FileStructure.Domain.ISSUES_ON_DELETED);
   }
 
   public BatchReport.Metadata readMetadata() {
@@ -43,6 +56,11 @@ public class BatchReportReader {
   }
 
   public BatchReport.Component readComponent(int componentRef) {
+    if (componentContainer.exists()) {
+      try (ReportIterator<BatchReport.Component> it = new ReportIterator<>(componentContainer.open(componentRef), BatchReport.Component.PARSER)) {
+        return it.next();
+      }
+    }
     File file = fileStructure.fileFor(FileStructure.Domain.COMPONENT, componentRef);
     if (!file.exists() || !file.isFile()) {
       throw new IllegalStateException("Unable to find report for component #" + componentRef + ". File does not exist: " + file);
@@ -51,6 +69,15 @@ public class BatchReportReader {
   }
 
   public List<BatchReport.Issue> readComponentIssues(int componentRef) {
+    if (issuesContainer.exists()) {
+      List<BatchReport.Issue> result = new ArrayList<>();
+      try (ReportIterator<BatchReport.Issue> it = readComponentIssuesIterator(componentRef)) {
+        while (it.hasNext()) {
+          result.add(it.next());
+        }
+      }
+      return result;
+    }
     File file = fileStructure.fileFor(FileStructure.Domain.ISSUES, componentRef);
     if (file.exists() && file.isFile()) {
       // all the issues are loaded in memory
@@ -60,7 +87,37 @@ public class BatchReportReader {
     return Collections.emptyList();
   }
 
+  /**
+   * Issues are parsed one at a time when the report is packed, so they are not all
+   * loaded in memory. The iterator must be closed if it is not fully consumed.
+   */
+  public ReportIterator<BatchReport.Issue> readComponentIssuesIterator(int componentRef) {
+    if (issuesContainer.exists()) {
+      if (issuesContainer.contains(componentRef)) {
+        return new ReportIterator<>(issuesContainer.open(componentRef), BatchReport.Issue.PARSER);
+      }
+      return ReportIterator.empty();
+    }
+    return new ReportIterator<>(readComponentIssues(componentRef));
+  }
+
   public Issues readDeletedComponentIssues(int deletedComponentRef) {
+    if (deletedIssuesContainer.exists()) {
+      InputStream input = deletedIssuesContainer.open(deletedComponentRef);
+      try {
+        Issues.Builder issues = Issues.PARSER.parseDelimitedFrom(input).toBuilder();
+        try (ReportIterator<BatchReport.Issue> it = new ReportIterator<>(input, BatchReport.Issue.PARSER)) {
+          while (it.hasNext()) {
+            issues.addList(it.next());
+          }
+        }
+        return issues.build();
+      } catch (IOException e) {
+        throw new IllegalStateException("Unable to read issues of deleted component #" + deletedComponentRef, e);
+      } finally {
+        IOUtils.closeQuietly(input);
+      }
+    }
     File file = fileStructure.fileFor(FileStructure.Domain.ISSUES_ON_DELETED, deletedComponentRef);
     if (!file.exists() || !file.isFile()) {
       throw new IllegalStateException("Unable to find report for deleted component #" + deletedComponentRef);
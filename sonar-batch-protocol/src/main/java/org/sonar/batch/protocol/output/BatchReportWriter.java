@@ -19,19 +19,42 @@
  */
 package org.sonar.batch.protocol.output;
 
+import com.google.protobuf.Message;
 import org.sonar.batch.protocol.ProtobufUtil;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 public class BatchReportWriter {
 
   private final FileStructure fileStructure;
+  private final Map<FileStructure.Domain, ReportContainer> containers;
 
   public BatchReportWriter(File dir) {
+    this(dir, false);
+  }
+
+  /**
+   * @param packed if true, then the data of each domain is packed into a single container file instead
+   *               of one file per component. See {@link FileStructure#containerFileFor(FileStructure.Domain)}
+   */
+  public BatchReportWriter(File dir, boolean packed) {
     if (!dir.exists() && !dir.mkdirs()) {
       throw new IllegalStateException("Unable to create directory: " + dir);
     }
     this.fileStructure = new FileStructure(dir);
+    if (packed) {
+      this.containers = new EnumMap<>(FileStructure.Domain.class);
+      for (FileStructure.Domain domain : FileStructure.Domain.values()) {
+        containers.put(domain, new ReportContainer(fileStructure, domain));
+      }
+    } else {
+      this.containers = Collections.emptyMap();
+    }
   }
 
   FileStructure getFileStructure() {
@@ -39,6 +62,10 @@ public class BatchReportWriter {
   }
 
   public boolean hasComponentData(FileStructure.Domain domain, int componentRef) {
+    ReportContainer container = containers.get(domain);
+    if (container != null) {
+      return container.contains(componentRef);
+    }
     File file = fileStructure.fileFor(domain, componentRef);
     return file.exists() && file.isFile();
   }
@@ -51,11 +78,22 @@ public class BatchReportWriter {
   }
 
   public void writeComponent(BatchReport.Component component) {
-    File file = fileStructure.fileFor(FileStructure.Domain.COMPONENT, component.getRef());
-    ProtobufUtil.writeToFile(component, file);
+    ReportContainer container = containers.get(FileStructure.Domain.COMPONENT);
+    if (container != null) {
+      container.append(component.getRef(), Collections.singletonList(component));
+    } else {
+      File file = fileStructure.fileFor(FileStructure.Domain.COMPONENT, component.getRef());
+      ProtobufUtil.writeToFile(component, file);
+    }
   }
 
   public void writeComponentIssues(int componentRef, Iterable<BatchReport.Issue> issues) {
+    ReportContainer container = containers.get(FileStructure.Domain.ISSUES);
+    if (container != null) {
+      // issues are streamed, they are not all loaded in memory
+      container.append(componentRef, issues);
+      return;
+    }
     BatchReport.Issues.Builder issuesBuilder = BatchReport.Issues.newBuilder();
     issuesBuilder.setComponentRef(componentRef);
     issuesBuilder.addAllList(issues);
@@ -71,6 +109,17 @@ public class BatchReportWriter {
     BatchReport.Issues.Builder issuesBuilder = BatchReport.Issues.newBuilder();
     issuesBuilder.setComponentRef(componentRef);
     issuesBuilder.setComponentUuid(componentUuid);
+    ReportContainer container = containers.get(FileStructure.Domain.ISSUES_ON_DELETED);
+    if (container != null) {
+      // header without issues, followed by the issues
+      List<Message> messages = new ArrayList<>();
+      messages.add(issuesBuilder.build());
+      for (BatchReport.Issue issue : issues) {
+        messages.add(issue);
+      }
+      container.append(componentRef, messages);
+      return;
+    }
     issuesBuilder.addAllList(issues);
     File file = fileStructure.fileFor(FileStructure.Domain.ISSUES_ON_DELETED, componentRef);
     ProtobufUtil.writeToFile(issuesBuilder.build(), file);
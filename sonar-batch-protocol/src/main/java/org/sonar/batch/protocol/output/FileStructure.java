@@ -53,4 +53,19 @@ public class FileStructure {
     return new File(dir, domain.filePrefix + componentRef + ".pb");
   }
 
+  /**
+   * Data of all the components of a domain, when the report is packed.
+   * See {@link #containerIndexFileFor(Domain)}.
+   */
+  public File containerFileFor(Domain domain) {
+    return new File(dir, domain.filePrefix + "container.pb");
+  }
+
+  /**
+   * Offset table of {@link #containerFileFor(Domain)}
+   */
+  public File containerIndexFileFor(Domain domain) {
+    return new File(dir, domain.filePrefix + "container.idx");
+  }
+
 }
@@ -0,0 +1,133 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.protocol.output;
+
+import com.google.protobuf.Message;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Packs the data of all the components of a {@link FileStructure.Domain} into a single container file.
+ * The data of a component is a sequence of length-delimited messages. Its position in the container
+ * is appended to an offset table (component ref, offset, length), stored in a small separate file,
+ * so that the report can be written incrementally.
+ */
+class ReportContainer {
+
+  private final File file;
+  private final File indexFile;
+  private Map<Integer, long[]> offsets = null;
+
+  ReportContainer(FileStructure fileStructure, FileStructure.Domain domain) {
+    this.file = fileStructure.containerFileFor(domain);
+    this.indexFile = fileStructure.containerIndexFileFor(domain);
+  }
+
+  boolean exists() {
+    return indexFile.exists() && indexFile.isFile();
+  }
+
+  boolean contains(int componentRef) {
+    return offsets().containsKey(componentRef);
+  }
+
+  void append(int componentRef, Iterable<? extends Message> messages) {
+    long offset = file.length();
+    long length;
+    try (CountingOutputStream output = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+      for (Message message : messages) {
+        message.writeDelimitedTo(output);
+      }
+      length = output.getByteCount();
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to write protocol buffer data to file " + file, e);
+    }
+
+    try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile, true)))) {
+      output.writeInt(componentRef);
+      output.writeLong(offset);
+      output.writeLong(length);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to write offset table " + indexFile, e);
+    }
+    if (offsets != null) {
+      offsets.put(componentRef, new long[] {offset, length});
+    }
+  }
+
+  /**
+   * Opens the stream of the messages of a component. It must be closed by caller.
+   */
+  InputStream open(int componentRef) {
+    long[] position = offsets().get(componentRef);
+    if (position == null) {
+      throw new IllegalStateException("Unable to find component #" + componentRef + " in " + file);
+    }
+    FileInputStream input = null;
+    try {
+      input = new FileInputStream(file);
+      input.getChannel().position(position[0]);
+      return new BoundedInputStream(new BufferedInputStream(input), position[1]);
+    } catch (IOException e) {
+      IOUtils.closeQuietly(input);
+      throw new IllegalStateException("Failed to read file: " + file, e);
+    }
+  }
+
+  private Map<Integer, long[]> offsets() {
+    if (offsets == null) {
+      offsets = new HashMap<>();
+      if (exists()) {
+        loadOffsets();
+      }
+    }
+    return offsets;
+  }
+
+  private void loadOffsets() {
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+      while (true) {
+        int componentRef;
+        try {
+          componentRef = input.readInt();
+        } catch (EOFException e) {
+          break;
+        }
+        offsets.put(componentRef, new long[] {input.readLong(), input.readLong()});
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read offset table: " + indexFile, e);
+    }
+  }
+}
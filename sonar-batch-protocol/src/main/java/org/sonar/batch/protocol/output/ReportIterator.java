@@ -0,0 +1,111 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.protocol.output;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+import org.apache.commons.io.IOUtils;
+
+import javax.annotation.CheckForNull;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Parses the length-delimited messages of a stream one at a time, so that they are
+ * not all loaded in memory. The stream is closed when all the messages are read, or
+ * when calling {@link #close()}.
+ */
+public class ReportIterator<T extends Message> implements Iterator<T>, Closeable {
+
+  private final InputStream input;
+  private final Parser<T> parser;
+  private final Iterator<T> loadedMessages;
+  private T nextMessage = null;
+
+  ReportIterator(InputStream input, Parser<T> parser) {
+    this.input = input;
+    this.parser = parser;
+    this.loadedMessages = null;
+  }
+
+  /**
+   * Messages that are already loaded in memory, for example from legacy reports
+   */
+  ReportIterator(Iterable<T> messages) {
+    this.input = null;
+    this.parser = null;
+    this.loadedMessages = messages.iterator();
+  }
+
+  static <T extends Message> ReportIterator<T> empty() {
+    return new ReportIterator<>(Collections.<T>emptyList());
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (nextMessage == null) {
+      nextMessage = parseNext();
+    }
+    boolean hasNext = nextMessage != null;
+    if (!hasNext) {
+      close();
+    }
+    return hasNext;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    T result = nextMessage;
+    nextMessage = null;
+    return result;
+  }
+
+  @CheckForNull
+  private T parseNext() {
+    if (loadedMessages != null) {
+      return loadedMessages.hasNext() ? loadedMessages.next() : null;
+    }
+    try {
+      // returns null at the end of stream
+      return parser.parseDelimitedFrom(input);
+    } catch (InvalidProtocolBufferException e) {
+      close();
+      throw new IllegalStateException("Failed to parse protocol buffer data", e);
+    }
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("Messages can't be removed");
+  }
+
+  @Override
+  public void close() {
+    IOUtils.closeQuietly(input);
+  }
+}
@@ -53,6 +53,65 @@ public class BatchReportReaderTest {
     assertThat(deletedComponentIssues.getListList()).hasSize(1);
   }
 
+  @Test
+  public void read_packed_report() throws Exception {
+    File dir = temp.newFolder();
+    BatchReportWriter writer = new BatchReportWriter(dir, true);
+    initFiles(writer);
+    BatchReport.Component.Builder component = BatchReport.Component.newBuilder()
+      .setRef(2)
+      .setUuid("UUID_B");
+    writer.writeComponent(component.build());
+    writer.writeComponentIssues(2, Arrays.asList(
+      BatchReport.Issue.newBuilder().setUuid("ISSUE_B").build(),
+      BatchReport.Issue.newBuilder().setUuid("ISSUE_C").build()));
+
+    // one container per domain instead of one file per component
+    assertThat(writer.getFileStructure().fileFor(FileStructure.Domain.COMPONENT, 1)).doesNotExist();
+    assertThat(writer.getFileStructure().containerFileFor(FileStructure.Domain.COMPONENT)).isFile();
+
+    BatchReportReader reader = new BatchReportReader(dir);
+    assertThat(reader.readMetadata().getRootComponentRef()).isEqualTo(1);
+    assertThat(reader.readComponent(1).getUuid()).isEqualTo("UUID_A");
+    assertThat(reader.readComponent(2).getUuid()).isEqualTo("UUID_B");
+    assertThat(reader.readComponentIssues(1)).hasSize(1);
+    assertThat(reader.readComponentIssues(2)).extracting("uuid").containsExactly("ISSUE_B", "ISSUE_C");
+    assertThat(reader.readComponentIssues(200)).isEmpty();
+    Issues deletedComponentIssues = reader.readDeletedComponentIssues(1);
+    assertThat(deletedComponentIssues.getComponentRef()).isEqualTo(1);
+    assertThat(deletedComponentIssues.getComponentUuid()).isEqualTo("compUuid");
+    assertThat(deletedComponentIssues.getListList()).extracting("uuid").containsExactly("ISSUE_A");
+  }
+
+  @Test
+  public void iterate_component_issues() throws Exception {
+    File packedDir = temp.newFolder();
+    initFiles(new BatchReportWriter(packedDir, true));
+    File legacyDir = temp.newFolder();
+    initFiles(new BatchReportWriter(legacyDir));
+
+    for (File dir : Arrays.asList(packedDir, legacyDir)) {
+      BatchReportReader reader = new BatchReportReader(dir);
+      try (ReportIterator<BatchReport.Issue> issues = reader.readComponentIssuesIterator(1)) {
+        assertThat(issues.hasNext()).isTrue();
+        assertThat(issues.next().getUuid()).isEqualTo("ISSUE_A");
+        assertThat(issues.hasNext()).isFalse();
+      }
+      try (ReportIterator<BatchReport.Issue> issues = reader.readComponentIssuesIterator(200)) {
+        assertThat(issues.hasNext()).isFalse();
+      }
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void fail_if_missing_component_in_packed_report() throws Exception {
+    File dir = temp.newFolder();
+    initFiles(new BatchReportWriter(dir, true));
+
+    BatchReportReader reader = new BatchReportReader(dir);
+    reader.readComponent(666);
+  }
+
   @Test(expected = IllegalStateException.class)
   public void fail_if_missing_metadata_file() throws Exception {
     File dir = temp.newFolder();
@@ -89,7 +148,10 @@ public class BatchReportReaderTest {
   }
 
   private void initFiles(File dir) {
-    BatchReportWriter writer = new BatchReportWriter(dir);
+    initFiles(new BatchReportWriter(dir));
+  }
+
+  private void initFiles(BatchReportWriter writer) {
 
     BatchReport.Metadata.Builder metadata = BatchReport.Metadata.newBuilder()
       .setAnalysisDate(15000000L)
@@ -144,4 +144,27 @@ public class BatchReportWriterTest {
     assertThat(read.getComponentUuid()).isEqualTo("componentUuid");
     assertThat(read.getListCount()).isEqualTo(1);
   }
+
+  @Test
+  public void write_packed_issues() throws Exception {
+    File dir = temp.newFolder();
+    BatchReportWriter writer = new BatchReportWriter(dir, true);
+
+    // no data yet
+    assertThat(writer.hasComponentData(FileStructure.Domain.ISSUES, 1)).isFalse();
+
+    BatchReport.Issue issue = BatchReport.Issue.newBuilder()
+      .setUuid("ISSUE_A")
+      .setLine(50)
+      .build();
+    writer.writeComponentIssues(1, Arrays.asList(issue));
+    writer.writeComponentIssues(3, Arrays.asList(issue, issue));
+
+    assertThat(writer.hasComponentData(FileStructure.Domain.ISSUES, 1)).isTrue();
+    assertThat(writer.hasComponentData(FileStructure.Domain.ISSUES, 2)).isFalse();
+    assertThat(writer.hasComponentData(FileStructure.Domain.ISSUES, 3)).isTrue();
+    assertThat(writer.getFileStructure().fileFor(FileStructure.Domain.ISSUES, 1)).doesNotExist();
+    assertThat(writer.getFileStructure().containerFileFor(FileStructure.Domain.ISSUES)).exists().isFile();
+    assertThat(writer.getFileStructure().containerIndexFileFor(FileStructure.Domain.ISSUES)).exists().isFile();
+  }
 }
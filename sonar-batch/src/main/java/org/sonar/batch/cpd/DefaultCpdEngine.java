@@ -107,6 +107,7 @@ public class DefaultCpdEngine extends CpdEngine {
     // Create index
     SonarDuplicationsIndex index = indexFactory.create(project, languageKey);
     populateIndex(languageKey, sourceFiles, mapping, index);
+    index.freeze();
 
     // Detect
     runCpdAnalysis(languageKey, context, sourceFiles, index);
@@ -20,6 +20,7 @@
 
 package org.sonar.batch.cpd;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import org.apache.commons.io.IOUtils;
@@ -41,6 +42,7 @@ import org.sonar.api.utils.KeyValueFormat;
 import org.sonar.api.utils.SonarException;
 import org.sonar.batch.cpd.index.IndexFactory;
 import org.sonar.batch.cpd.index.SonarDuplicationsIndex;
+import org.sonar.batch.util.OrderedExecutor;
 import org.sonar.duplications.block.Block;
 import org.sonar.duplications.block.BlockChunker;
 import org.sonar.duplications.detector.suffixtree.SuffixTreeCloneDetectionAlgorithm;
@@ -53,12 +55,15 @@ import org.sonar.duplications.statement.Statement;
 import org.sonar.duplications.statement.StatementChunker;
 import org.sonar.duplications.token.TokenChunker;
 
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -69,6 +74,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -79,7 +85,14 @@ public class JavaCpdEngine extends CpdEngine {
   private static final int BLOCK_SIZE = 10;
 
   /**
-   * Limit of time to analyse one file (in seconds).
+   * Number of threads used to tokenize files and to detect duplications. Default is the number of processors,
+   * like other tasks executed concurrently by the batch. Detection is always sequential when cross-project
+   * analysis is enabled.
+   */
+  static final String THREADS_PROPERTY = "sonar.cpd.java.threads";
+
+  /**
+   * Limit of time to analyse one file (in seconds), from the start of its detection.
    */
   private static final int TIMEOUT = 5 * 60;
 
@@ -124,65 +137,216 @@ public class JavaCpdEngine extends CpdEngine {
     detect(index, context, sourceFiles);
   }
 
-  private SonarDuplicationsIndex createIndex(@Nullable Project project, String language, Iterable<InputFile> sourceFiles) {
+  @VisibleForTesting
+  int threads() {
+    return OrderedExecutor.threads(settings, THREADS_PROPERTY);
+  }
+
+  private SonarDuplicationsIndex createIndex(@Nullable Project project, String language, List<InputFile> sourceFiles) {
     final SonarDuplicationsIndex index = indexFactory.create(project, language);
 
-    TokenChunker tokenChunker = JavaTokenProducer.build();
-    StatementChunker statementChunker = JavaStatementBuilder.build();
-    BlockChunker blockChunker = new BlockChunker(BLOCK_SIZE);
+    ExecutorService executorService = Executors.newFixedThreadPool(threads());
+    try {
+      List<Future<List<Block>>> tasks = new ArrayList<>(sourceFiles.size());
+      for (InputFile inputFile : sourceFiles) {
+        tasks.add(executorService.submit(new ChunkTask(inputFile, fs.encoding())));
+      }
+      // Blocks are inserted in the order of files, so that content of index does not depend on scheduling of threads
+      for (int i = 0; i < sourceFiles.size(); i++) {
+        InputFile inputFile = sourceFiles.get(i);
+        List<Block> blocks;
+        try {
+          blocks = tasks.get(i).get();
+        } catch (InterruptedException e) {
+          throw new SonarException("Fail during indexation of " + inputFile, e);
+        } catch (ExecutionException e) {
+          // Unwrap ExecutionException
+          throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new SonarException("Fail during indexation of " + inputFile, e.getCause());
+        }
+        index.insert(inputFile, blocks);
+      }
+    } finally {
+      executorService.shutdown();
+    }
+    index.freeze();
+
+    return index;
+  }
 
-    for (InputFile inputFile : sourceFiles) {
+  private void detect(SonarDuplicationsIndex index, org.sonar.api.batch.sensor.SensorContext context, List<InputFile> sourceFiles) {
+    int threads = threads();
+    if (threads > 1 && index.isCrossProject()) {
+      LOG.info("Detection of duplications is done on a single thread when cross-project analysis is enabled");
+      threads = 1;
+    }
+    if (threads == 1) {
+      detectSequentially(index, context, sourceFiles);
+    } else {
+      detectConcurrently(index, context, sourceFiles, threads);
+    }
+  }
+
+  private static void detectSequentially(SonarDuplicationsIndex index, org.sonar.api.batch.sensor.SensorContext context, List<InputFile> sourceFiles) {
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+    try {
+      for (InputFile inputFile : sourceFiles) {
+        LOG.debug("Detection of duplications for {}", inputFile);
+        String resourceEffectiveKey = ((DeprecatedDefaultInputFile) inputFile).key();
+
+        Collection<Block> fileBlocks = index.getByInputFile(inputFile, resourceEffectiveKey);
+
+        Task task = new Task(index, fileBlocks);
+        List<CloneGroup> clones = waitForClones(executorService.submit(task), task, inputFile, TimeUnit.SECONDS.toNanos(TIMEOUT));
+
+        save(context, inputFile, clones);
+      }
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  /**
+   * Detection of all files is submitted to a pool of threads, as index is frozen. Results are saved
+   * in the order of files, so that measures and duplications are stored exactly as in sequential mode.
+   */
+  private static void detectConcurrently(SonarDuplicationsIndex index, org.sonar.api.batch.sensor.SensorContext context, List<InputFile> sourceFiles, int threads) {
+    LOG.debug("Detection of duplications on {} threads", threads);
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    try {
+      List<FileTask> tasks = new ArrayList<>(sourceFiles.size());
+      List<Future<List<CloneGroup>>> futures = new ArrayList<>(sourceFiles.size());
+      for (InputFile inputFile : sourceFiles) {
+        FileTask task = new FileTask(index, inputFile);
+        tasks.add(task);
+        futures.add(executorService.submit(task));
+      }
+      for (int i = 0; i < sourceFiles.size(); i++) {
+        InputFile inputFile = sourceFiles.get(i);
+        save(context, inputFile, waitForClones(futures.get(i), tasks.get(i), inputFile, TimeUnit.SECONDS.toNanos(TIMEOUT)));
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  /**
+   * Waits for the detection of a file, which is cancelled if it lasts more than the given timeout since it started.
+   * Time spent by the task in the queue of the executor does not count.
+   *
+   * @return null if detection has been cancelled
+   */
+  @CheckForNull
+  @VisibleForTesting
+  static List<CloneGroup> waitForClones(Future<List<CloneGroup>> future, DetectionTask task, InputFile inputFile, long timeoutNanos) {
+    try {
+      while (true) {
+        long remainingNanos = task.isStarted() ? (task.startNanos + timeoutNanos - System.nanoTime()) : timeoutNanos;
+        try {
+          return future.get(Math.max(remainingNanos, 0L), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+          if (task.isStarted() && System.nanoTime() - task.startNanos >= timeoutNanos) {
+            // detection checks the interruption of its thread
+            future.cancel(true);
+            LOG.warn("Timeout during detection of duplications for " + inputFile, e);
+            return null;
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      throw new SonarException("Fail during detection of duplication for " + inputFile, e);
+    } catch (ExecutionException e) {
+      throw new SonarException("Fail during detection of duplication for " + inputFile, e);
+    }
+  }
+
+  /**
+   * Tokenizes a file and chunks its statements into blocks. Chunkers are not thread-safe, so each thread
+   * uses its own instances.
+   */
+  private static class ChunkTask implements Callable<List<Block>> {
+    private static final ThreadLocal<Chunkers> CHUNKERS = new ThreadLocal<Chunkers>() {
+      @Override
+      protected Chunkers initialValue() {
+        return new Chunkers();
+      }
+    };
+
+    private final InputFile inputFile;
+    private final Charset encoding;
+
+    ChunkTask(InputFile inputFile, Charset encoding) {
+      this.inputFile = inputFile;
+      this.encoding = encoding;
+    }
+
+    @Override
+    public List<Block> call() {
       LOG.debug("Populating index from {}", inputFile);
       String resourceEffectiveKey = ((DeprecatedDefaultInputFile) inputFile).key();
+      Chunkers chunkers = CHUNKERS.get();
 
       List<Statement> statements;
 
       Reader reader = null;
       try {
-        reader = new InputStreamReader(new FileInputStream(inputFile.file()), fs.encoding());
-        statements = statementChunker.chunk(tokenChunker.chunk(reader));
+        reader = new InputStreamReader(new FileInputStream(inputFile.file()), encoding);
+        statements = chunkers.statementChunker.chunk(chunkers.tokenChunker.chunk(reader));
       } catch (FileNotFoundException e) {
         throw new SonarException("Cannot find file " + inputFile.file(), e);
       } finally {
         IOUtils.closeQuietly(reader);
       }
 
-      List<Block> blocks = blockChunker.chunk(resourceEffectiveKey, statements);
-      index.insert(inputFile, blocks);
+      return chunkers.blockChunker.chunk(resourceEffectiveKey, statements);
     }
+  }
 
-    return index;
+  private static class Chunkers {
+    private final TokenChunker tokenChunker = JavaTokenProducer.build();
+    private final StatementChunker statementChunker = JavaStatementBuilder.build();
+    private final BlockChunker blockChunker = new BlockChunker(BLOCK_SIZE);
   }
 
-  private void detect(SonarDuplicationsIndex index, org.sonar.api.batch.sensor.SensorContext context, List<InputFile> sourceFiles) {
-    ExecutorService executorService = Executors.newSingleThreadExecutor();
-    try {
-      for (InputFile inputFile : sourceFiles) {
-        LOG.debug("Detection of duplications for {}", inputFile);
-        String resourceEffectiveKey = ((DeprecatedDefaultInputFile) inputFile).key();
+  /**
+   * Detection of the duplications of a file, which records when it's started by a thread
+   */
+  abstract static class DetectionTask implements Callable<List<CloneGroup>> {
+    private long startNanos;
+    private volatile boolean started = false;
 
-        Collection<Block> fileBlocks = index.getByInputFile(inputFile, resourceEffectiveKey);
+    @Override
+    public final List<CloneGroup> call() {
+      startNanos = System.nanoTime();
+      started = true;
+      return detect();
+    }
 
-        List<CloneGroup> clones;
-        try {
-          clones = executorService.submit(new Task(index, fileBlocks)).get(TIMEOUT, TimeUnit.SECONDS);
-        } catch (TimeoutException e) {
-          clones = null;
-          LOG.warn("Timeout during detection of duplications for " + inputFile, e);
-        } catch (InterruptedException e) {
-          throw new SonarException("Fail during detection of duplication for " + inputFile, e);
-        } catch (ExecutionException e) {
-          throw new SonarException("Fail during detection of duplication for " + inputFile, e);
-        }
+    boolean isStarted() {
+      return started;
+    }
 
-        save(context, inputFile, clones);
-      }
-    } finally {
-      executorService.shutdown();
+    abstract List<CloneGroup> detect();
+  }
+
+  private static class FileTask extends DetectionTask {
+    private final SonarDuplicationsIndex index;
+    private final InputFile inputFile;
+
+    FileTask(SonarDuplicationsIndex index, InputFile inputFile) {
+      this.index = index;
+      this.inputFile = inputFile;
+    }
+
+    @Override
+    List<CloneGroup> detect() {
+      LOG.debug("Detection of duplications for {}", inputFile);
+      String resourceEffectiveKey = ((DeprecatedDefaultInputFile) inputFile).key();
+      Collection<Block> fileBlocks = index.getByInputFile(inputFile, resourceEffectiveKey);
+      return SuffixTreeCloneDetectionAlgorithm.detect(index, fileBlocks);
     }
   }
 
-  static class Task implements Callable<List<CloneGroup>> {
+  static class Task extends DetectionTask {
     private final CloneIndex index;
     private final Collection<Block> fileBlocks;
 
@@ -192,7 +356,7 @@ public class JavaCpdEngine extends CpdEngine {
     }
 
     @Override
-    public List<CloneGroup> call() {
+    List<CloneGroup> detect() {
       return SuffixTreeCloneDetectionAlgorithm.detect(index, fileBlocks);
     }
   }
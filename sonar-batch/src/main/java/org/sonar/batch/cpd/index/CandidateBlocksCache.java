@@ -0,0 +1,130 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.cpd.index;
+
+import com.google.common.collect.Lists;
+import org.sonar.core.duplication.DuplicationUnitDto;
+import org.sonar.duplications.block.Block;
+import org.sonar.duplications.block.ByteArray;
+
+import javax.annotation.CheckForNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Least recently used blocks of other projects, grouped by hash. Like in {@link org.sonar.duplications.index.PackedMemoryCloneIndex},
+ * blocks are packed into flat arrays of ints, and resources are referenced by an int id instead of their key.
+ * An empty array means that there are no candidates for the hash, so that it's not loaded again.
+ */
+class CandidateBlocksCache {
+
+  static final int[] NO_BLOCKS = new int[0];
+
+  /**
+   * Resource id, index in file, start line and end line
+   */
+  private static final int BLOCK_INTS = 4;
+
+  private final List<String> resourceKeys = new ArrayList<>();
+  private final Map<String, Integer> resourceIds = new HashMap<>();
+  private final Map<ByteArray, int[]> blocksByHash;
+
+  CandidateBlocksCache(final int maxHashes) {
+    this.blocksByHash = new LinkedHashMap<ByteArray, int[]>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<ByteArray, int[]> eldest) {
+        return size() > maxHashes;
+      }
+    };
+  }
+
+  boolean containsAll(ByteArray[] hashes) {
+    for (ByteArray hash : hashes) {
+      if (!blocksByHash.containsKey(hash)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @CheckForNull
+  int[] get(ByteArray hash) {
+    return blocksByHash.get(hash);
+  }
+
+  void put(ByteArray hash, int[] blocks) {
+    blocksByHash.put(hash, blocks);
+  }
+
+  int size() {
+    return blocksByHash.size();
+  }
+
+  private int resourceId(String resourceKey) {
+    Integer id = resourceIds.get(resourceKey);
+    if (id == null) {
+      id = resourceKeys.size();
+      resourceKeys.add(resourceKey);
+      resourceIds.put(resourceKey, id);
+    }
+    return id;
+  }
+
+  /**
+   * Blocks are created on demand, they are not kept in memory.
+   */
+  Collection<Block> toBlocks(ByteArray hash, int[] blocks) {
+    if (blocks.length == 0) {
+      return Collections.emptyList();
+    }
+    List<Block> result = Lists.newArrayListWithCapacity(blocks.length / BLOCK_INTS);
+    for (int offset = 0; offset < blocks.length; offset += BLOCK_INTS) {
+      result.add(Block.builder()
+        .setResourceId(resourceKeys.get(blocks[offset]))
+        .setBlockHash(hash)
+        .setIndexInFile(blocks[offset + 1])
+        .setLines(blocks[offset + 2], blocks[offset + 3])
+        .build());
+    }
+    return result;
+  }
+
+  /**
+   * Packs units of the same hash
+   */
+  int[] pack(List<DuplicationUnitDto> units) {
+    int[] result = new int[units.size() * BLOCK_INTS];
+    int offset = 0;
+    for (DuplicationUnitDto unit : units) {
+      result[offset] = resourceId(unit.getResourceKey());
+      result[offset + 1] = unit.getIndexInFile();
+      result[offset + 2] = unit.getStartLine();
+      result[offset + 3] = unit.getEndLine();
+      offset += BLOCK_INTS;
+    }
+    return result;
+  }
+}
@@ -21,6 +21,7 @@ package org.sonar.batch.cpd.index;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.internal.DefaultInputFile;
 import org.sonar.api.database.DatabaseSession;
@@ -36,15 +37,33 @@ import javax.persistence.Query;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class DbDuplicationsIndex {
 
   private static final String RESOURCE_ID = "resourceId";
   private static final String LAST = "last";
 
-  private final Map<ByteArray, Collection<Block>> cache = Maps.newHashMap();
+  /**
+   * Number of files whose candidates are loaded by the same SQL request
+   */
+  private static final int BATCH_SIZE = 50;
+
+  /**
+   * Max number of hashes which candidates are kept in memory
+   */
+  private static final int MAX_CACHED_HASHES = 100000;
+
+  /**
+   * Hashes of the files which duplications are not detected yet, in the order of insertion, which
+   * is also the order of detection
+   */
+  private final Map<Integer, ByteArray[]> hashesByFile = Maps.newLinkedHashMap();
+  private final CandidateBlocksCache cache = new CandidateBlocksCache(MAX_CACHED_HASHES);
+  private final Map<ByteArray, int[]> current = Maps.newHashMap();
 
   private final int currentProjectSnapshotId;
   private final Integer lastSnapshotId;
@@ -76,40 +95,78 @@ public class DbDuplicationsIndex {
     return resourceCache.get(((DefaultInputFile) inputFile).key()).snapshotId();
   }
 
+  /**
+   * Loads the candidates of the file, if they are not already in cache. Candidates of the next files
+   * are loaded in the same SQL request.
+   */
   public void prepareCache(InputFile inputFile) {
     int resourceSnapshotId = getSnapshotIdFor(inputFile);
-    List<DuplicationUnitDto> units = dao.selectCandidates(resourceSnapshotId, lastSnapshotId, languageKey);
-    cache.clear();
-    // TODO Godin: maybe remove conversion of units to blocks?
-    for (DuplicationUnitDto unit : units) {
-      String hash = unit.getHash();
-      String resourceKey = unit.getResourceKey();
-      int indexInFile = unit.getIndexInFile();
-      int startLine = unit.getStartLine();
-      int endLine = unit.getEndLine();
-
-      // TODO Godin: in fact we could work directly with id instead of key - this will allow to decrease memory consumption
-      Block block = Block.builder()
-        .setResourceId(resourceKey)
-        .setBlockHash(new ByteArray(hash))
-        .setIndexInFile(indexInFile)
-        .setLines(startLine, endLine)
-        .build();
-
-      // Group blocks by hash
-      Collection<Block> sameHash = cache.get(block.getBlockHash());
-      if (sameHash == null) {
-        sameHash = Lists.newArrayList();
-        cache.put(block.getBlockHash(), sameHash);
+    ByteArray[] hashes = hashesByFile.remove(resourceSnapshotId);
+    if (hashes == null) {
+      hashes = new ByteArray[0];
+    }
+    // Candidates of the file are copied, so that they are not evicted from cache while detecting its duplications
+    current.clear();
+    for (ByteArray hash : hashes) {
+      int[] blocks = cache.get(hash);
+      if (blocks != null) {
+        current.put(hash, blocks);
+      }
+    }
+    if (current.size() < hashes.length) {
+      current.putAll(loadCandidates(resourceSnapshotId, hashes));
+    }
+  }
+
+  private Map<ByteArray, int[]> loadCandidates(int resourceSnapshotId, ByteArray[] hashes) {
+    List<Integer> snapshotIds = Lists.newArrayList(resourceSnapshotId);
+    Map<String, ByteArray> missingHashes = Maps.newHashMap();
+    addMissingHashes(hashes, missingHashes);
+    Iterator<Map.Entry<Integer, ByteArray[]>> nextFiles = hashesByFile.entrySet().iterator();
+    while (snapshotIds.size() < BATCH_SIZE && nextFiles.hasNext()) {
+      Map.Entry<Integer, ByteArray[]> nextFile = nextFiles.next();
+      if (!cache.containsAll(nextFile.getValue())) {
+        snapshotIds.add(nextFile.getKey());
+        addMissingHashes(nextFile.getValue(), missingHashes);
+      }
+    }
+
+    Map<ByteArray, List<DuplicationUnitDto>> unitsByHash = Maps.newHashMap();
+    for (DuplicationUnitDto unit : dao.selectCandidates(snapshotIds, lastSnapshotId, languageKey)) {
+      ByteArray hash = missingHashes.get(unit.getHash());
+      // null if hash is already in cache
+      if (hash != null) {
+        List<DuplicationUnitDto> sameHash = unitsByHash.get(hash);
+        if (sameHash == null) {
+          sameHash = Lists.newArrayList();
+          unitsByHash.put(hash, sameHash);
+        }
+        sameHash.add(unit);
+      }
+    }
+
+    Map<ByteArray, int[]> loaded = Maps.newHashMap();
+    for (ByteArray hash : missingHashes.values()) {
+      List<DuplicationUnitDto> units = unitsByHash.get(hash);
+      int[] blocks = units == null ? CandidateBlocksCache.NO_BLOCKS : cache.pack(units);
+      loaded.put(hash, blocks);
+      cache.put(hash, blocks);
+    }
+    return loaded;
+  }
+
+  private void addMissingHashes(ByteArray[] hashes, Map<String, ByteArray> missingHashes) {
+    for (ByteArray hash : hashes) {
+      if (cache.get(hash) == null) {
+        missingHashes.put(hash.toString(), hash);
       }
-      sameHash.add(block);
     }
   }
 
   public Collection<Block> getByHash(ByteArray hash) {
-    Collection<Block> result = cache.get(hash);
-    if (result != null) {
-      return result;
+    int[] blocks = current.get(hash);
+    if (blocks != null) {
+      return cache.toBlocks(hash, blocks);
     } else {
       return Collections.emptyList();
     }
@@ -117,6 +174,11 @@ public class DbDuplicationsIndex {
 
   public void insert(InputFile inputFile, Collection<Block> blocks) {
     int resourceSnapshotId = getSnapshotIdFor(inputFile);
+    Set<ByteArray> hashes = Sets.newLinkedHashSet();
+    for (Block block : blocks) {
+      hashes.add(block.getBlockHash());
+    }
+    hashesByFile.put(resourceSnapshotId, hashes.toArray(new ByteArray[hashes.size()]));
 
     // TODO Godin: maybe remove conversion of blocks to units?
     List<DuplicationUnitDto> units = Lists.newArrayList();
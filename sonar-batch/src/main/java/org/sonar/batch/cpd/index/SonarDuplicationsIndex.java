@@ -19,20 +19,24 @@
  */
 package org.sonar.batch.cpd.index;
 
-import com.google.common.collect.Lists;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.duplications.block.Block;
 import org.sonar.duplications.block.ByteArray;
 import org.sonar.duplications.index.AbstractCloneIndex;
-import org.sonar.duplications.index.CloneIndex;
-import org.sonar.duplications.index.PackedMemoryCloneIndex;
+import org.sonar.duplications.index.OffHeapCloneIndex;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+/**
+ * Blocks of analysed files are kept in an {@link OffHeapCloneIndex}, which is frozen by {@link #freeze()} once all the
+ * files are inserted. Queries of a frozen index do not need any lock, so duplications of several files can be
+ * detected concurrently.
+ */
 public class SonarDuplicationsIndex extends AbstractCloneIndex {
 
-  private final CloneIndex mem = new PackedMemoryCloneIndex();
+  private final OffHeapCloneIndex mem = new OffHeapCloneIndex();
   private final DbDuplicationsIndex db;
 
   public SonarDuplicationsIndex() {
@@ -43,6 +47,10 @@ public class SonarDuplicationsIndex extends AbstractCloneIndex {
     this.db = db;
   }
 
+  public boolean isCrossProject() {
+    return db != null;
+  }
+
   public void insert(InputFile inputFile, Collection<Block> blocks) {
     for (Block block : blocks) {
       mem.insert(block);
@@ -52,22 +60,36 @@ public class SonarDuplicationsIndex extends AbstractCloneIndex {
     }
   }
 
+  /**
+   * Must be called when all the files are inserted, before detection of duplications.
+   */
+  public void freeze() {
+    mem.freeze();
+  }
+
   public Collection<Block> getByInputFile(InputFile inputFile, String resourceKey) {
     if (db != null) {
       db.prepareCache(inputFile);
     }
-    return mem.getByResourceId(resourceKey);
+    final List<Block> result = new ArrayList<Block>();
+    mem.visitByResourceId(resourceKey, new OffHeapCloneIndex.Visitor() {
+      @Override
+      public void visit(OffHeapCloneIndex.BlockView block) {
+        result.add(block.toBlock());
+      }
+    });
+    return result;
   }
 
   @Override
   public Collection<Block> getBySequenceHash(ByteArray hash) {
+    Collection<Block> blocks = mem.getBySequenceHash(hash);
     if (db == null) {
-      return mem.getBySequenceHash(hash);
-    } else {
-      List<Block> result = Lists.newArrayList(mem.getBySequenceHash(hash));
-      result.addAll(db.getByHash(hash));
-      return result;
+      return blocks;
     }
+    List<Block> result = new ArrayList<Block>(blocks);
+    result.addAll(db.getByHash(hash));
+    return result;
   }
 
   @Override
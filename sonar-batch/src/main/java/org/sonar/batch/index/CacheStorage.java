@@ -0,0 +1,70 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.index;
+
+import javax.annotation.CheckForNull;
+
+import java.util.Set;
+
+/**
+ * Storage of the values of a {@link Cache}. Keys are hierarchical: an entry stored with key [a, b, c]
+ * is a descendant of the keys [a] and [a, b].
+ *
+ * @since 5.1
+ */
+interface CacheStorage {
+
+  void put(Object[] key, Object value);
+
+  @CheckForNull
+  Object get(Object[] key);
+
+  boolean containsKey(Object[] key);
+
+  /**
+   * Removes the value associated with the exact key. Descendants are kept.
+   */
+  boolean remove(Object[] key);
+
+  /**
+   * Removes the value associated with the key and all its descendants.
+   */
+  void clear(Object[] key);
+
+  void clear();
+
+  /**
+   * Keys of the direct children of the given key, sorted.
+   */
+  Set<Object> keySet(Object[] key);
+
+  /**
+   * Lazy-loading values of all the descendants of the given key, sorted by key. Value of the key
+   * itself is excluded.
+   */
+  <V> Iterable<V> values(Object[] key);
+
+  /**
+   * Lazy-loading entries of all the descendants of the given key, sorted by key. Entry of the key
+   * itself is excluded.
+   */
+  <V> Iterable<Cache.Entry<V>> entries(Object[] key);
+
+}
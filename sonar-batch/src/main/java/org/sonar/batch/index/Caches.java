@@ -20,6 +20,7 @@
 package org.sonar.batch.index;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.persistit.Exchange;
 import com.persistit.Persistit;
@@ -34,8 +35,11 @@ import org.picocontainer.Startable;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.BatchComponent;
 import org.sonar.api.utils.TempFolder;
+import org.sonar.batch.bootstrap.BootstrapProperties;
 
 import java.io.File;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 
@@ -46,17 +50,59 @@ import java.util.Set;
  */
 public class Caches implements BatchComponent, Startable {
 
+  /**
+   * Storage of caches: "persistit" (default) stores values on disk, "memory" keeps them on heap
+   * until {@link #MAX_ENTRIES_IN_MEMORY_PROPERTY} values are stored in a cache, "auto" keeps them on heap
+   * until {@link #MAX_ENTRIES_IN_MEMORY_PROPERTY} values are stored in a cache or until the heap usage
+   * exceeds {@link #AUTO_MAX_HEAP_USAGE} of the max heap.
+   * @since 5.1
+   */
+  public static final String STORAGE_PROPERTY = "sonar.batch.cache.storage";
+  public static final String PERSISTIT_STORAGE = "persistit";
+  public static final String MEMORY_STORAGE = "memory";
+  public static final String AUTO_STORAGE = "auto";
+
+  /**
+   * Ratio of the max heap above which values of caches are moved to Persistit when storage is {@link #AUTO_STORAGE}
+   */
+  static final double AUTO_MAX_HEAP_USAGE = 0.7;
+
+  /**
+   * Maximum number of values kept on heap by a cache when storage is {@link #MEMORY_STORAGE}. Values
+   * are moved to Persistit above this threshold.
+   * @since 5.1
+   */
+  public static final String MAX_ENTRIES_IN_MEMORY_PROPERTY = "sonar.batch.cache.maxEntriesInMemory";
+  static final int DEFAULT_MAX_ENTRIES_IN_MEMORY = 100000;
+
   private final Set<String> cacheNames = Sets.newHashSet();
+  private final List<ConcurrentPersistitCacheStorage> concurrentStorages = Lists.newArrayList();
   private File tempDir;
   private Persistit persistit;
   private Volume volume;
   private final TempFolder tempFolder;
+  private final boolean inMemory;
+  private final double maxHeapUsage;
+  private final int maxEntriesInMemory;
 
-  public Caches(TempFolder tempFolder) {
+  /**
+   * Storage is configured by bootstrap properties, like the temp folder, because project settings are loaded
+   * from the project repositories which are themselves streamed into caches.
+   */
+  public Caches(TempFolder tempFolder, BootstrapProperties bootstrapProps) {
     this.tempFolder = tempFolder;
+    String storage = bootstrapProps.property(STORAGE_PROPERTY);
+    this.inMemory = MEMORY_STORAGE.equals(storage) || AUTO_STORAGE.equals(storage);
+    this.maxHeapUsage = AUTO_STORAGE.equals(storage) ? AUTO_MAX_HEAP_USAGE : 1.0;
+    String maxEntries = bootstrapProps.property(MAX_ENTRIES_IN_MEMORY_PROPERTY);
+    this.maxEntriesInMemory = maxEntries != null ? Integer.parseInt(maxEntries) : DEFAULT_MAX_ENTRIES_IN_MEMORY;
     initPersistit();
   }
 
+  public Caches(TempFolder tempFolder) {
+    this(tempFolder, new BootstrapProperties(Collections.<String, String>emptyMap()));
+  }
+
   private void initPersistit() {
     try {
       tempDir = tempFolder.newDir("caches");
@@ -66,7 +112,8 @@ public class Caches implements BatchComponent, Startable {
       props.setProperty("datapath", tempDir.getAbsolutePath());
       props.setProperty("logpath", "${datapath}/log");
       props.setProperty("logfile", "${logpath}/persistit_${timestamp}.log");
-      props.setProperty("buffer.count.8192", "10");
+      // each thread accessing a concurrent cache pins some buffers while traversing the tree
+      props.setProperty("buffer.count.8192", "64");
       props.setProperty("journalpath", "${datapath}/journal");
       props.setProperty("tmpvoldir", "${datapath}");
       props.setProperty("volume.1", "${datapath}/persistit,create,pageSize:8192,initialPages:10,extensionPages:100,maximumPages:25000");
@@ -85,19 +132,46 @@ public class Caches implements BatchComponent, Startable {
   }
 
   public <V> Cache<V> createCache(String cacheName) {
+    checkCanCreate(cacheName);
+    CacheStorage storage = inMemory ? new SpillableCacheStorage(cacheName, this, maxEntriesInMemory, maxHeapUsage) : createPersistitStorage(cacheName);
+    Cache<V> cache = new Cache<V>(storage);
+    cacheNames.add(cacheName);
+    return cache;
+  }
+
+  /**
+   * Creates a cache that can be read and written by several threads at the same time. Values
+   * are always stored by Persistit, whatever the value of {@link #STORAGE_PROPERTY}.
+   * @since 5.1
+   */
+  public <V> Cache<V> createConcurrentCache(String cacheName) {
+    checkCanCreate(cacheName);
+    ConcurrentPersistitCacheStorage storage = new ConcurrentPersistitCacheStorage(cacheName, this);
+    Cache<V> cache = new Cache<V>(storage);
+    cacheNames.add(cacheName);
+    concurrentStorages.add(storage);
+    return cache;
+  }
+
+  private void checkCanCreate(String cacheName) {
     Preconditions.checkState(volume != null && volume.isOpened(), "Caches are not initialized");
     Preconditions.checkState(!cacheNames.contains(cacheName), "Cache is already created: " + cacheName);
+  }
+
+  PersistitCacheStorage createPersistitStorage(String cacheName) {
     try {
       Exchange exchange = persistit.getExchange(volume, cacheName, true);
       exchange.setMaximumValueSize(Value.MAXIMUM_SIZE);
-      Cache<V> cache = new Cache<V>(cacheName, exchange);
-      cacheNames.add(cacheName);
-      return cache;
+      return new PersistitCacheStorage(cacheName, exchange);
     } catch (Exception e) {
       throw new IllegalStateException("Fail to create cache: " + cacheName, e);
     }
   }
 
+  void releasePersistitStorage(PersistitCacheStorage storage) {
+    persistit.releaseExchange(storage.exchange());
+  }
+
   @Override
   public void start() {
     // already started in constructor
@@ -105,6 +179,10 @@ public class Caches implements BatchComponent, Startable {
 
   @Override
   public void stop() {
+    for (ConcurrentPersistitCacheStorage storage : concurrentStorages) {
+      storage.close();
+    }
+    concurrentStorages.clear();
     if (persistit != null) {
       try {
         persistit.close(false);
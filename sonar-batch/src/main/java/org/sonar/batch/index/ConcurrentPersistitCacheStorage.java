@@ -0,0 +1,156 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.index;
+
+import javax.annotation.CheckForNull;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe Persistit storage. As {@link com.persistit.Exchange} can't be shared between threads,
+ * each thread works on its own exchange of the same tree.
+ * <p/>
+ * Exchanges are kept until the thread calls {@link #releaseCurrentThread()}, the thread dies or
+ * the storage is closed.
+ *
+ * @since 5.1
+ */
+class ConcurrentPersistitCacheStorage implements CacheStorage {
+
+  private final String name;
+  private final Caches caches;
+  private final Map<Thread, PersistitCacheStorage> storagesByThread = new ConcurrentHashMap<>();
+
+  ConcurrentPersistitCacheStorage(String name, Caches caches) {
+    this.name = name;
+    this.caches = caches;
+  }
+
+  private CacheStorage storage() {
+    Thread thread = Thread.currentThread();
+    PersistitCacheStorage storage = storagesByThread.get(thread);
+    if (storage == null) {
+      // only the current thread adds its own entry, so there's no race on the key
+      discardDeadThreads();
+      storage = caches.createPersistitStorage(name);
+      storagesByThread.put(thread, storage);
+    }
+    return storage;
+  }
+
+  /**
+   * Exchanges of dead threads are just discarded, as Persistit only accepts to release an
+   * exchange from the thread that got it.
+   */
+  private void discardDeadThreads() {
+    Iterator<Thread> threads = storagesByThread.keySet().iterator();
+    while (threads.hasNext()) {
+      if (!threads.next().isAlive()) {
+        threads.remove();
+      }
+    }
+  }
+
+  /**
+   * Gives back the exchange of the current thread to Persistit. The thread gets a new one
+   * if it accesses the storage again.
+   */
+  void releaseCurrentThread() {
+    PersistitCacheStorage storage = storagesByThread.remove(Thread.currentThread());
+    if (storage != null) {
+      caches.releasePersistitStorage(storage);
+    }
+  }
+
+  /**
+   * Releases the exchange of the current thread and forgets the ones of the other threads,
+   * which are then freed when Persistit is closed.
+   */
+  void close() {
+    releaseCurrentThread();
+    storagesByThread.clear();
+  }
+
+  int countThreadStorages() {
+    return storagesByThread.size();
+  }
+
+  @Override
+  public void put(Object[] key, Object value) {
+    storage().put(key, value);
+  }
+
+  @Override
+  @CheckForNull
+  public Object get(Object[] key) {
+    return storage().get(key);
+  }
+
+  @Override
+  public boolean containsKey(Object[] key) {
+    return storage().containsKey(key);
+  }
+
+  @Override
+  public boolean remove(Object[] key) {
+    return storage().remove(key);
+  }
+
+  @Override
+  public void clear(Object[] key) {
+    storage().clear(key);
+  }
+
+  @Override
+  public void clear() {
+    storage().clear();
+  }
+
+  @Override
+  public Set<Object> keySet(Object[] key) {
+    return storage().keySet(key);
+  }
+
+  /**
+   * The exchange of the thread that iterates is used, not the one of the thread that created the iterable
+   */
+  @Override
+  public <V> Iterable<V> values(final Object[] key) {
+    return new Iterable<V>() {
+      @Override
+      public Iterator<V> iterator() {
+        return storage().<V>values(key).iterator();
+      }
+    };
+  }
+
+  @Override
+  public <V> Iterable<Cache.Entry<V>> entries(final Object[] key) {
+    return new Iterable<Cache.Entry<V>>() {
+      @Override
+      public Iterator<Cache.Entry<V>> iterator() {
+        return storage().<V>entries(key).iterator();
+      }
+    };
+  }
+}
@@ -0,0 +1,358 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.index;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.persistit.Persistit;
+import com.persistit.Value;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Heap storage of cache values, as a tree of sorted maps. Keys and immutable values (strings, primitive wrappers
+ * and enums) are stored by reference. Byte arrays are cloned. Other values are encoded with the value coders of
+ * Persistit, like in {@link PersistitCacheStorage}, so that a mutable value is copied on put and on get whether
+ * the cache has been moved to disk or not.
+ * <p>
+ * Iterators are weakly consistent: they never fail if the storage is modified during iteration.
+ * </p>
+ *
+ * @since 5.1
+ */
+class MemoryCacheStorage implements CacheStorage {
+
+  /**
+   * Replaces null keys, which are not supported by {@link ConcurrentSkipListMap}
+   */
+  private static final Object NULL_KEY = new Object();
+
+  /**
+   * Keys of different types are sorted by type, then keys of the same type by natural order
+   */
+  static final Comparator<Object> KEY_COMPARATOR = new Comparator<Object>() {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public int compare(Object o1, Object o2) {
+      if (o1 == o2) {
+        return 0;
+      }
+      if (o1 == NULL_KEY) {
+        return -1;
+      }
+      if (o2 == NULL_KEY) {
+        return 1;
+      }
+      if (o1.getClass() == o2.getClass()) {
+        if (!(o1 instanceof Comparable)) {
+          throw new IllegalArgumentException("Cache key must be comparable: " + o1.getClass());
+        }
+        return ((Comparable) o1).compareTo(o2);
+      }
+      return o1.getClass().getName().compareTo(o2.getClass().getName());
+    }
+  };
+
+  private static final Set<Class<?>> IMMUTABLE_TYPES = ImmutableSet.<Class<?>>of(String.class, Boolean.class, Character.class, Byte.class,
+    Short.class, Integer.class, Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class);
+
+  private final Persistit persistit;
+  private final Node root = new Node();
+  private final AtomicInteger size = new AtomicInteger();
+
+  MemoryCacheStorage(Persistit persistit) {
+    this.persistit = persistit;
+  }
+
+  /**
+   * Number of values stored
+   */
+  int size() {
+    return size.get();
+  }
+
+  @Override
+  public void put(Object[] key, Object value) {
+    Node node = root;
+    for (Object o : key) {
+      node = node.getOrCreateChild(o);
+    }
+    Object stored = store(value);
+    if (node.value == null) {
+      size.incrementAndGet();
+    }
+    node.value = stored;
+  }
+
+  @Override
+  @CheckForNull
+  public Object get(Object[] key) {
+    Node node = find(key);
+    if (node == null) {
+      return null;
+    }
+    Object stored = node.value;
+    return stored == null ? null : load(stored);
+  }
+
+  @Override
+  public boolean containsKey(Object[] key) {
+    Node node = find(key);
+    return node != null && node.value != null;
+  }
+
+  @Override
+  public boolean remove(Object[] key) {
+    Node node = find(key);
+    if (node == null || node.value == null) {
+      return false;
+    }
+    node.value = null;
+    size.decrementAndGet();
+    prune(key);
+    return true;
+  }
+
+  @Override
+  public void clear(Object[] key) {
+    if (key.length == 0) {
+      clear();
+      return;
+    }
+    Node parent = find(key, key.length - 1);
+    if (parent != null) {
+      Node node = parent.children.remove(wrap(key[key.length - 1]));
+      if (node != null) {
+        size.addAndGet(-node.count());
+        prune(key);
+      }
+    }
+  }
+
+  @Override
+  public void clear() {
+    root.children.clear();
+    size.set(0);
+  }
+
+  @Override
+  public Set<Object> keySet(Object[] key) {
+    Set<Object> keys = Sets.newLinkedHashSet();
+    Node node = find(key);
+    if (node != null) {
+      for (Object child : node.children.keySet()) {
+        keys.add(unwrap(child));
+      }
+    }
+    return keys;
+  }
+
+  @Override
+  public <V> Iterable<V> values(final Object[] key) {
+    return new Iterable<V>() {
+      @Override
+      public Iterator<V> iterator() {
+        final Iterator<Cache.Entry<V>> entries = new EntryIterator<V>(MemoryCacheStorage.this, find(key), key);
+        return new AbstractIterator<V>() {
+          @Override
+          protected V computeNext() {
+            return entries.hasNext() ? entries.next().value() : endOfData();
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public <V> Iterable<Cache.Entry<V>> entries(final Object[] key) {
+    return new Iterable<Cache.Entry<V>>() {
+      @Override
+      public Iterator<Cache.Entry<V>> iterator() {
+        return new EntryIterator<V>(MemoryCacheStorage.this, find(key), key);
+      }
+    };
+  }
+
+  @CheckForNull
+  private Node find(Object[] key) {
+    return find(key, key.length);
+  }
+
+  @CheckForNull
+  private Node find(Object[] key, int depth) {
+    Node node = root;
+    for (int i = 0; i < depth && node != null; i++) {
+      node = node.children.get(wrap(key[i]));
+    }
+    return node;
+  }
+
+  /**
+   * Removes the nodes of the given path that do not have any value nor children anymore
+   */
+  private void prune(Object[] key) {
+    for (int depth = key.length; depth > 0; depth--) {
+      Node parent = find(key, depth - 1);
+      if (parent == null) {
+        return;
+      }
+      Object childKey = wrap(key[depth - 1]);
+      Node child = parent.children.get(childKey);
+      if (child == null || child.value != null || !child.children.isEmpty()) {
+        return;
+      }
+      parent.children.remove(childKey, child);
+    }
+  }
+
+  private Object store(Object value) {
+    if (isImmutable(value)) {
+      return value;
+    }
+    if (value instanceof byte[]) {
+      return ((byte[]) value).clone();
+    }
+    Value encoder = new Value(persistit);
+    encoder.setMaximumSize(Value.MAXIMUM_SIZE);
+    encoder.put(value);
+    return new Encoded(Arrays.copyOf(encoder.getEncodedBytes(), encoder.getEncodedSize()));
+  }
+
+  private Object load(Object stored) {
+    if (stored instanceof byte[]) {
+      return ((byte[]) stored).clone();
+    }
+    if (stored instanceof Encoded) {
+      byte[] bytes = ((Encoded) stored).bytes;
+      Value decoder = new Value(persistit, bytes.length, Value.MAXIMUM_SIZE);
+      decoder.putEncodedBytes(bytes, 0, bytes.length);
+      return decoder.get();
+    }
+    return stored;
+  }
+
+  private static boolean isImmutable(Object value) {
+    return IMMUTABLE_TYPES.contains(value.getClass()) || value instanceof Enum;
+  }
+
+  /**
+   * Value encoded by Persistit, to be decoded on each read
+   */
+  private static class Encoded {
+    private final byte[] bytes;
+
+    private Encoded(byte[] bytes) {
+      this.bytes = bytes;
+    }
+  }
+
+  private static Object wrap(@Nullable Object key) {
+    return key == null ? NULL_KEY : key;
+  }
+
+  @CheckForNull
+  private static Object unwrap(Object key) {
+    return key == NULL_KEY ? null : key;
+  }
+
+  private static class Node {
+    private final ConcurrentNavigableMap<Object, Node> children = new ConcurrentSkipListMap<Object, Node>(KEY_COMPARATOR);
+    private volatile Object value;
+
+    Node getOrCreateChild(@Nullable Object key) {
+      Object wrapped = wrap(key);
+      Node child = children.get(wrapped);
+      if (child == null) {
+        Node newChild = new Node();
+        child = children.putIfAbsent(wrapped, newChild);
+        if (child == null) {
+          child = newChild;
+        }
+      }
+      return child;
+    }
+
+    int count() {
+      int count = value == null ? 0 : 1;
+      for (Node child : children.values()) {
+        count += child.count();
+      }
+      return count;
+    }
+  }
+
+  /**
+   * Depth-first traversal of the descendants of a node, parents first
+   */
+  private static class EntryIterator<T> extends AbstractIterator<Cache.Entry<T>> {
+    private final MemoryCacheStorage storage;
+    private final Deque<Object[]> paths = new ArrayDeque<Object[]>();
+    private final Deque<Iterator<Map.Entry<Object, Node>>> stack = new ArrayDeque<Iterator<Map.Entry<Object, Node>>>();
+
+    EntryIterator(MemoryCacheStorage storage, @Nullable Node start, Object[] startKey) {
+      this.storage = storage;
+      if (start != null) {
+        paths.push(startKey);
+        stack.push(start.children.entrySet().iterator());
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected Cache.Entry<T> computeNext() {
+      while (!stack.isEmpty()) {
+        Iterator<Map.Entry<Object, Node>> it = stack.peek();
+        if (!it.hasNext()) {
+          stack.pop();
+          paths.pop();
+          continue;
+        }
+        Map.Entry<Object, Node> child = it.next();
+        Object[] parentKey = paths.peek();
+        Object[] key = new Object[parentKey.length + 1];
+        System.arraycopy(parentKey, 0, key, 0, parentKey.length);
+        key[parentKey.length] = unwrap(child.getKey());
+        Node node = child.getValue();
+        paths.push(key);
+        stack.push(node.children.entrySet().iterator());
+        Object value = node.value;
+        if (value != null) {
+          return new Cache.Entry<T>(key, (T) storage.load(value));
+        }
+      }
+      return endOfData();
+    }
+  }
+}
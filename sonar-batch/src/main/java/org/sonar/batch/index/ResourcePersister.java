@@ -20,6 +20,10 @@
 package org.sonar.batch.index;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Function;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.apache.commons.lang.ObjectUtils;
 import org.apache.commons.lang.StringUtils;
 import org.sonar.api.database.DatabaseSession;
@@ -37,16 +41,29 @@ import org.sonar.api.utils.SonarException;
 import org.sonar.api.utils.internal.Uuids;
 import org.sonar.batch.ProjectTree;
 import org.sonar.core.component.ScanGraph;
+import org.sonar.core.persistence.DaoUtils;
+import org.sonar.core.persistence.DbSession;
+import org.sonar.core.persistence.MyBatis;
+import org.sonar.core.resource.ResourceModelMapper;
+import org.sonar.core.resource.SnapshotModelMapper;
 
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import javax.persistence.NonUniqueResultException;
 import javax.persistence.Query;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import static org.sonar.api.utils.DateUtils.dateToLong;
 
+/**
+ * Projects, modules and libraries are persisted one by one with Hibernate. Directories and files, which are
+ * much more numerous, are persisted level by level with MyBatis batch sessions.
+ */
 public class ResourcePersister implements ScanPersister {
 
   @VisibleForTesting
@@ -58,14 +75,17 @@ public class ResourcePersister implements ScanPersister {
   private static final String QUALIFIER = "qualifier";
 
   private final DatabaseSession session;
+  private final MyBatis mybatis;
   private final ResourcePermissions permissions;
   private final ResourceCache resourceCache;
   private final ScanGraph graph;
   private final ProjectTree projectTree;
 
-  public ResourcePersister(ProjectTree projectTree, DatabaseSession session, ResourcePermissions permissions, ResourceCache resourceCache, ScanGraph graph) {
+  public ResourcePersister(ProjectTree projectTree, DatabaseSession session, MyBatis mybatis, ResourcePermissions permissions, ResourceCache resourceCache,
+    ScanGraph graph) {
     this.projectTree = projectTree;
     this.session = session;
+    this.mybatis = mybatis;
     this.permissions = permissions;
     this.resourceCache = resourceCache;
     this.graph = graph;
@@ -73,9 +93,16 @@ public class ResourcePersister implements ScanPersister {
 
   @Override
   public void persist() {
+    List<Component> components = Lists.newArrayList();
     for (BatchResource resource : resourceCache.all()) {
-      persist(resource);
+      if (resource.resource() instanceof Project) {
+        persist(resource);
+      } else if (resource.snapshot() == null) {
+        BatchResource parent = resource.parent();
+        components.add(new Component(resource.resource(), parent.resource(), findModule(parent), resource));
+      }
     }
+    persistComponents(components);
 
     for (BatchResource lib : resourceCache.allLibraries()) {
       if (lib.snapshot() != null) {
@@ -91,23 +118,23 @@ public class ResourcePersister implements ScanPersister {
     lib.setSnapshot(s);
   }
 
-  private void persist(BatchResource batchResource) {
-    if (batchResource.snapshot() != null) {
+  private void persist(BatchResource projectResource) {
+    if (projectResource.snapshot() != null) {
       // already persisted
       return;
     }
-    BatchResource parentBatchResource = batchResource.parent();
+    BatchResource parentBatchResource = projectResource.parent();
     Snapshot s;
     if (parentBatchResource != null) {
       persist(parentBatchResource);
-      s = persist(findModule(parentBatchResource), batchResource.resource(), parentBatchResource.resource());
+      s = persistProject((Project) projectResource.resource(), (Project) parentBatchResource.resource());
     } else {
       // Root project
-      s = persistProject((Project) batchResource.resource(), null);
+      s = persistProject((Project) projectResource.resource(), null);
     }
-    batchResource.setSnapshot(s);
-    if (ResourceUtils.isPersistable(batchResource.resource())) {
-      graph.addComponent(batchResource.resource(), batchResource.snapshotId());
+    projectResource.setSnapshot(s);
+    if (ResourceUtils.isPersistable(projectResource.resource())) {
+      graph.addComponent(projectResource.resource(), projectResource.snapshotId());
     }
   }
 
@@ -120,7 +147,7 @@ public class ResourcePersister implements ScanPersister {
   }
 
   private Snapshot persistProject(Project project, @Nullable Project parent) {
-    ResourceModel model = findOrCreateModel(project, parent);
+    ResourceModel model = findOrCreateModel(project, parent, parent != null ? session.getSingleResult(ResourceModel.class, "id", parent.getId()) : null);
     // Used by ResourceKeyMigration in order to know that a project has already being migrated
     model.setDeprecatedKey(project.getKey());
     // language is null for project since multi-language support
@@ -163,14 +190,16 @@ public class ResourcePersister implements ScanPersister {
       // should not occur, please use the method saveProject()
       snapshot = persistProject((Project) resource, (Project) parent);
     } else {
-      snapshot = persistFileOrDirectory(project, resource, parent);
+      Component component = new Component(resource, parent != null ? parent : project, project, null);
+      persistComponents(Lists.newArrayList(component));
+      snapshot = component.snapshot;
     }
 
     return snapshot;
   }
 
   Snapshot persistLibrary(Date analysisDate, Library library) {
-    ResourceModel model = findOrCreateModel(library, null);
+    ResourceModel model = findOrCreateModel(library, null, null);
     model = session.save(model);
     // TODO to be removed
     library.setId(model.getId());
@@ -210,32 +239,168 @@ public class ResourcePersister implements ScanPersister {
   }
 
   /**
-   * Everything except project and library
+   * Everything except project and library. Components are persisted level by level, as the snapshot
+   * of a component references the snapshot of its parent.
    */
-  private Snapshot persistFileOrDirectory(Project project, Resource resource, @Nullable Resource parentReference) {
-    BatchResource moduleResource = resourceCache.get(project.getEffectiveKey());
-    Integer moduleId = moduleResource.resource().getId();
-    ResourceModel model = findOrCreateModel(resource, parentReference != null ? parentReference : project);
-    model.setRootId(moduleId);
-    model = session.save(model);
-    resource.setId(model.getId());
-    resource.setUuid(model.getUuid());
+  private void persistComponents(List<Component> components) {
+    if (components.isEmpty()) {
+      return;
+    }
+    try (DbSession dbSession = mybatis.openSession(true)) {
+      Map<String, ResourceModel> modelsByKey = loadModels(dbSession, components);
+      List<Component> pending = components;
+      while (!pending.isEmpty()) {
+        List<Component> level = Lists.newArrayList();
+        List<Component> next = Lists.newArrayList();
+        for (Component component : pending) {
+          if (parentSnapshot(component) != null) {
+            level.add(component);
+          } else {
+            next.add(component);
+          }
+        }
+        if (level.isEmpty()) {
+          throw new IllegalStateException("Unable to persist resource " + next.get(0).resource + ". Parent resource is not persisted.");
+        }
+        persistModels(dbSession, level, modelsByKey);
+        persistSnapshots(dbSession, level);
+        pending = next;
+      }
+    }
+  }
 
-    Snapshot parentSnapshot;
-    if (parentReference != null) {
-      parentSnapshot = resourceCache.get(parentReference.getEffectiveKey()).snapshot();
-    } else {
-      parentSnapshot = moduleResource.snapshot();
+  /**
+   * Loads in a few queries the existing models of the components and of their parents
+   */
+  private static Map<String, ResourceModel> loadModels(DbSession dbSession, List<Component> components) {
+    final ResourceModelMapper mapper = dbSession.getMapper(ResourceModelMapper.class);
+    Collection<String> keys = Sets.newHashSet();
+    for (Component component : components) {
+      keys.add(component.resource.getEffectiveKey());
+      keys.add(component.parent.getEffectiveKey());
+    }
+    List<ResourceModel> models = DaoUtils.executeLargeInputs(keys, new Function<List<String>, List<ResourceModel>>() {
+      @Override
+      public List<ResourceModel> apply(List<String> partition) {
+        return mapper.selectByKeys(partition);
+      }
+    });
+    Map<String, ResourceModel> modelsByKey = Maps.newHashMap();
+    for (ResourceModel model : models) {
+      if (modelsByKey.put(model.getKey(), model) != null) {
+        throw new SonarException("The resource '" + model.getKey() + "' is duplicated in database.");
+      }
     }
+    return modelsByKey;
+  }
 
-    Snapshot snapshot = new Snapshot(model, parentSnapshot);
-    snapshot.setBuildDateMs(System.currentTimeMillis());
-    snapshot = session.save(snapshot);
-    session.commit();
-    return snapshot;
+  private void persistModels(DbSession dbSession, List<Component> level, Map<String, ResourceModel> modelsByKey) {
+    ResourceModelMapper mapper = dbSession.getMapper(ResourceModelMapper.class);
+    Map<String, ResourceModel> newModelsByUuid = Maps.newHashMap();
+    for (Component component : level) {
+      Resource resource = component.resource;
+      ResourceModel model = modelsByKey.get(resource.getEffectiveKey());
+      List<Object> loadedFields = null;
+      if (model == null) {
+        if (StringUtils.isBlank(resource.getEffectiveKey())) {
+          throw new SonarException("Unable to persist resource " + resource.toString() + ". Resource effective key is blank. This may be caused by an outdated plugin.");
+        }
+        model = createModel(resource, component.parent);
+      } else {
+        loadedFields = updatedFields(model);
+        mergeModel(model, resource);
+      }
+      updateUuids(resource, component.parent, modelsByKey.get(component.parent.getEffectiveKey()), model);
+      model.setRootId(resourceCache.get(component.module.getEffectiveKey()).resource().getId());
+      if (model.getId() == null) {
+        mapper.insert(model);
+        newModelsByUuid.put(model.getUuid(), model);
+      } else if (!loadedFields.equals(updatedFields(model))) {
+        // Most components are unchanged between two analyses, so rows are updated only when needed
+        mapper.update(model);
+      }
+      modelsByKey.put(model.getKey(), model);
+      component.model = model;
+    }
+    dbSession.commit();
+    loadModelIds(mapper, newModelsByUuid);
+
+    for (Component component : level) {
+      component.resource.setId(component.model.getId());
+      component.resource.setUuid(component.model.getUuid());
+    }
+  }
+
+  /**
+   * Values of the columns written by ResourceModelMapper#update
+   */
+  private static List<Object> updatedFields(ResourceModel model) {
+    return Arrays.<Object>asList(model.getProjectUuid(), model.getModuleUuid(), model.getModuleUuidPath(), model.getName(), model.getLongName(),
+      model.getDescription(), model.getScope(), model.getQualifier(), model.getKey(), model.getDeprecatedKey(), model.getPath(), model.getLanguageKey(),
+      model.getRootId(), model.getCopyResourceId(), model.getPersonId(), model.getEnabled());
   }
 
-  private ResourceModel findOrCreateModel(Resource resource, @Nullable Resource parentResource) {
+  private static void loadModelIds(final ResourceModelMapper mapper, Map<String, ResourceModel> newModelsByUuid) {
+    List<ResourceModel> ids = DaoUtils.executeLargeInputs(newModelsByUuid.keySet(), new Function<List<String>, List<ResourceModel>>() {
+      @Override
+      public List<ResourceModel> apply(List<String> partition) {
+        return mapper.selectIdsByUuids(partition);
+      }
+    });
+    for (ResourceModel id : ids) {
+      newModelsByUuid.get(id.getUuid()).setId(id.getId());
+    }
+  }
+
+  private void persistSnapshots(DbSession dbSession, List<Component> level) {
+    final SnapshotModelMapper mapper = dbSession.getMapper(SnapshotModelMapper.class);
+    Map<Integer, Map<Integer, Snapshot>> snapshotsByRootId = Maps.newHashMap();
+    for (Component component : level) {
+      Snapshot snapshot = new Snapshot(component.model, parentSnapshot(component));
+      snapshot.setBuildDateMs(System.currentTimeMillis());
+      mapper.insert(snapshot);
+      component.snapshot = snapshot;
+
+      Map<Integer, Snapshot> snapshotsByResourceId = snapshotsByRootId.get(snapshot.getRootId());
+      if (snapshotsByResourceId == null) {
+        snapshotsByResourceId = Maps.newHashMap();
+        snapshotsByRootId.put(snapshot.getRootId(), snapshotsByResourceId);
+      }
+      snapshotsByResourceId.put(snapshot.getResourceId(), snapshot);
+    }
+    dbSession.commit();
+
+    for (Map.Entry<Integer, Map<Integer, Snapshot>> entry : snapshotsByRootId.entrySet()) {
+      final Integer rootId = entry.getKey();
+      Map<Integer, Snapshot> snapshotsByResourceId = entry.getValue();
+      List<Snapshot> ids = DaoUtils.executeLargeInputs(snapshotsByResourceId.keySet(), new Function<List<Integer>, List<Snapshot>>() {
+        @Override
+        public List<Snapshot> apply(List<Integer> partition) {
+          return mapper.selectIds(rootId, partition);
+        }
+      });
+      for (Snapshot id : ids) {
+        snapshotsByResourceId.get(id.getResourceId()).setId(id.getId());
+      }
+    }
+
+    for (Component component : level) {
+      if (component.batchResource != null) {
+        component.batchResource.setSnapshot(component.snapshot);
+        if (ResourceUtils.isPersistable(component.resource)) {
+          graph.addComponent(component.resource, component.snapshot.getId());
+        }
+      }
+    }
+  }
+
+  @CheckForNull
+  private Snapshot parentSnapshot(Component component) {
+    BatchResource parent = resourceCache.get(component.parent.getEffectiveKey());
+    return parent != null ? parent.snapshot() : null;
+  }
+
+  private ResourceModel findOrCreateModel(Resource resource, @Nullable Resource parentResource, @Nullable ResourceModel parentModel) {
     ResourceModel model;
     try {
       model = session.getSingleResult(ResourceModel.class, "key", resource.getEffectiveKey());
@@ -248,7 +413,7 @@ public class ResourcePersister implements ScanPersister {
       } else {
         mergeModel(model, resource);
       }
-      updateUuids(resource, parentResource, model);
+      updateUuids(resource, parentResource, parentModel, model);
       return model;
 
     } catch (NonUniqueResultException e) {
@@ -278,7 +443,7 @@ public class ResourcePersister implements ScanPersister {
     return model;
   }
 
-  private void updateUuids(Resource resource, Resource parentResource, ResourceModel model) {
+  private static void updateUuids(Resource resource, @Nullable Resource parentResource, @Nullable ResourceModel parentModel, ResourceModel model) {
     // Don't override uuids when persisting a library and a project already exists
     if (ResourceUtils.isLibrary(resource) && !Qualifiers.LIBRARY.equals(model.getQualifier())) {
       return;
@@ -288,7 +453,6 @@ public class ResourcePersister implements ScanPersister {
       model.setProjectUuid(model.getUuid());
       model.setModuleUuidPath(MODULE_UUID_PATH_SEPARATOR + model.getUuid() + MODULE_UUID_PATH_SEPARATOR);
     } else {
-      ResourceModel parentModel = session.getSingleResult(ResourceModel.class, "id", parentResource.getId());
       model.setProjectUuid(parentModel.getProjectUuid());
       if (Scopes.isProject(resource)) {
         // Sub module
@@ -333,4 +497,20 @@ public class ResourcePersister implements ScanPersister {
       model.setLanguageKey(language.getKey());
     }
   }
+
+  private static class Component {
+    private final Resource resource;
+    private final Resource parent;
+    private final Project module;
+    private final BatchResource batchResource;
+    private ResourceModel model;
+    private Snapshot snapshot;
+
+    Component(Resource resource, Resource parent, Project module, @Nullable BatchResource batchResource) {
+      this.resource = resource;
+      this.parent = parent;
+      this.module = module;
+      this.batchResource = batchResource;
+    }
+  }
 }
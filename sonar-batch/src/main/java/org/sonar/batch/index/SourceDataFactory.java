@@ -20,6 +20,8 @@
 package org.sonar.batch.index;
 
 import com.google.common.base.CharMatcher;
+import com.google.common.collect.Lists;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.StringUtils;
 import org.sonar.api.BatchComponent;
@@ -28,24 +30,27 @@ import org.sonar.api.batch.sensor.duplication.Duplication;
 import org.sonar.api.batch.sensor.duplication.internal.DefaultDuplication;
 import org.sonar.api.batch.sensor.highlighting.internal.SyntaxHighlightingRule;
 import org.sonar.api.measures.CoreMetrics;
-import org.sonar.api.measures.Measure;
 import org.sonar.api.source.Symbol;
-import org.sonar.api.utils.DateUtils;
-import org.sonar.api.utils.KeyValueFormat;
 import org.sonar.batch.duplication.DuplicationCache;
 import org.sonar.batch.highlighting.SyntaxHighlightingData;
 import org.sonar.batch.scan.filesystem.InputFileMetadata;
-import org.sonar.batch.scan.measure.MeasureCache;
+import org.sonar.batch.scan.measure.LineMeasureCache;
+import org.sonar.batch.scan.measure.LineMeasures;
 import org.sonar.batch.source.CodeColorizers;
 import org.sonar.batch.symbol.SymbolData;
 import org.sonar.core.source.SnapshotDataTypes;
 import org.sonar.core.source.db.FileSourceDto;
 import org.sonar.server.source.db.FileSourceDb;
 
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -58,28 +63,89 @@ public class SourceDataFactory implements BatchComponent {
 
   private static final String BOM = "\uFEFF";
 
-  private final MeasureCache measureCache;
+  /**
+   * Version of the format of the line-level data stored in db. It's part of the hash of inputs, so it must be
+   * incremented each time the way data are built or serialized changes, otherwise the data stored by previous
+   * versions would not be rebuilt.
+   */
+  static final int FORMAT_VERSION = 1;
+
+  private static final List<String> LINE_METRIC_KEYS = Arrays.asList(
+    CoreMetrics.SCM_AUTHORS_BY_LINE_KEY,
+    CoreMetrics.SCM_REVISIONS_BY_LINE_KEY,
+    CoreMetrics.SCM_LAST_COMMIT_DATETIMES_BY_LINE_KEY,
+    CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY,
+    CoreMetrics.CONDITIONS_BY_LINE_KEY,
+    CoreMetrics.COVERED_CONDITIONS_BY_LINE_KEY,
+    CoreMetrics.IT_COVERAGE_LINE_HITS_DATA_KEY,
+    CoreMetrics.IT_CONDITIONS_BY_LINE_KEY,
+    CoreMetrics.IT_COVERED_CONDITIONS_BY_LINE_KEY,
+    CoreMetrics.OVERALL_COVERAGE_LINE_HITS_DATA_KEY,
+    CoreMetrics.OVERALL_CONDITIONS_BY_LINE_KEY,
+    CoreMetrics.OVERALL_COVERED_CONDITIONS_BY_LINE_KEY);
+
+  private final LineMeasureCache lineMeasureCache;
   private final ComponentDataCache componentDataCache;
   private final DuplicationCache duplicationCache;
   private final CodeColorizers codeColorizers;
 
-  public SourceDataFactory(MeasureCache measureCache, ComponentDataCache componentDataCache,
+  public SourceDataFactory(LineMeasureCache lineMeasureCache, ComponentDataCache componentDataCache,
     DuplicationCache duplicationCache, CodeColorizers codeColorizers) {
-    this.measureCache = measureCache;
+    this.lineMeasureCache = lineMeasureCache;
     this.componentDataCache = componentDataCache;
     this.duplicationCache = duplicationCache;
     this.codeColorizers = codeColorizers;
   }
 
   public byte[] consolidateData(DefaultInputFile inputFile, InputFileMetadata metadata) throws IOException {
+    Inputs inputs = readInputs(inputFile);
+    highlightIfMissing(inputFile, inputs);
+    return consolidateData(inputFile, metadata, inputs);
+  }
+
+  /**
+   * Builds data from inputs previously loaded by {@link #readInputs(DefaultInputFile)}. Contrary to
+   * other methods, it does not access caches, so it can be called concurrently for different files.
+   */
+  byte[] consolidateData(DefaultInputFile inputFile, InputFileMetadata metadata, Inputs inputs) throws IOException {
     FileSourceDb.Data.Builder dataBuilder = createForSource(inputFile);
-    applyLineMeasures(inputFile, dataBuilder);
-    applyDuplications(inputFile.key(), dataBuilder);
-    applyHighlighting(inputFile, metadata, dataBuilder);
-    applySymbolReferences(inputFile, metadata, dataBuilder);
+    applyLineMeasures(inputs.lineMeasures, dataBuilder);
+    applyDuplications(inputFile.key(), inputs.duplications, dataBuilder);
+    applyHighlighting(inputFile, metadata, inputs.highlighting, dataBuilder);
+    applySymbolReferences(inputFile, metadata, inputs.symbols, dataBuilder);
     return FileSourceDto.encodeData(dataBuilder.build());
   }
 
+  /**
+   * Loads from caches the line-level data of a file. Caches are not thread-safe, so this method must not be
+   * called concurrently.
+   */
+  Inputs readInputs(DefaultInputFile inputFile) {
+    Map<String, LineMeasures> lineMeasures = readLineMeasures(inputFile.key());
+    List<DefaultDuplication> duplications = Lists.newArrayList(duplicationCache.byComponent(inputFile.key()));
+    SyntaxHighlightingData highlighting = componentDataCache.getData(inputFile.key(), SnapshotDataTypes.SYNTAX_HIGHLIGHTING);
+    SymbolData symbols = componentDataCache.getData(inputFile.key(), SnapshotDataTypes.SYMBOL_HIGHLIGHTING);
+    String colorizer = highlighting == null && inputFile.language() != null ? codeColorizers.fingerprint(inputFile.language()) : null;
+    return new Inputs(inputFile, lineMeasures, duplications, highlighting, symbols, colorizer);
+  }
+
+  /**
+   * Colorizes source when no highlighting has been provided by sensors. Code colorizers are not thread-safe,
+   * so this method must not be called concurrently.
+   */
+  void highlightIfMissing(DefaultInputFile inputFile, Inputs inputs) {
+    inputs.highlighting = colorizeIfMissing(inputFile, inputs.highlighting);
+  }
+
+  @CheckForNull
+  private SyntaxHighlightingData colorizeIfMissing(DefaultInputFile inputFile, @Nullable SyntaxHighlightingData highlighting) {
+    String language = inputFile.language();
+    if (highlighting == null && language != null) {
+      return codeColorizers.toSyntaxHighlighting(inputFile.file(), inputFile.charset(), language);
+    }
+    return highlighting;
+  }
+
   FileSourceDb.Data.Builder createForSource(DefaultInputFile inputFile) throws IOException {
     FileSourceDb.Data.Builder result = FileSourceDb.Data.newBuilder();
     List<String> lines = FileUtils.readLines(inputFile.file(), inputFile.charset());
@@ -96,109 +162,137 @@ public class SourceDataFactory implements BatchComponent {
   }
 
   void applyLineMeasures(DefaultInputFile file, FileSourceDb.Data.Builder dataBuilder) {
-    applyLineMeasure(file.key(), CoreMetrics.SCM_AUTHORS_BY_LINE_KEY, dataBuilder, new MeasureOperation() {
+    applyLineMeasures(readLineMeasures(file.key()), dataBuilder);
+  }
+
+  private Map<String, LineMeasures> readLineMeasures(String inputFileKey) {
+    Map<String, LineMeasures> result = new HashMap<>();
+    for (String metricKey : LINE_METRIC_KEYS) {
+      LineMeasures measures = lineMeasureCache.get(inputFileKey, metricKey);
+      if (measures != null) {
+        result.put(metricKey, measures);
+      }
+    }
+    return result;
+  }
+
+  private static void applyLineMeasures(Map<String, LineMeasures> lineMeasures, FileSourceDb.Data.Builder dataBuilder) {
+    applyLineMeasure(lineMeasures.get(CoreMetrics.SCM_AUTHORS_BY_LINE_KEY), dataBuilder, new MeasureOperation() {
       @Override
-      public void apply(String value, FileSourceDb.Line.Builder lineBuilder) {
-        lineBuilder.setScmAuthor(value);
+      public void apply(LineMeasures measures, int lineIdx, FileSourceDb.Line.Builder lineBuilder) {
+        String value = measures.strings()[lineIdx];
+        if (StringUtils.isNotEmpty(value)) {
+          lineBuilder.setScmAuthor(value);
+        }
       }
     });
-    applyLineMeasure(file.key(), CoreMetrics.SCM_REVISIONS_BY_LINE_KEY, dataBuilder, new MeasureOperation() {
+    applyLineMeasure(lineMeasures.get(CoreMetrics.SCM_REVISIONS_BY_LINE_KEY), dataBuilder, new MeasureOperation() {
       @Override
-      public void apply(String value, FileSourceDb.Line.Builder lineBuilder) {
-        lineBuilder.setScmRevision(value);
+      public void apply(LineMeasures measures, int lineIdx, FileSourceDb.Line.Builder lineBuilder) {
+        String value = measures.strings()[lineIdx];
+        if (StringUtils.isNotEmpty(value)) {
+          lineBuilder.setScmRevision(value);
+        }
       }
     });
-    applyLineMeasure(file.key(), CoreMetrics.SCM_LAST_COMMIT_DATETIMES_BY_LINE_KEY, dataBuilder, new MeasureOperation() {
+    applyLineMeasure(lineMeasures.get(CoreMetrics.SCM_LAST_COMMIT_DATETIMES_BY_LINE_KEY), dataBuilder, new MeasureOperation() {
       @Override
-      public void apply(String value, FileSourceDb.Line.Builder lineBuilder) {
-        lineBuilder.setScmDate(DateUtils.parseDateTimeQuietly(value).getTime());
+      public void apply(LineMeasures measures, int lineIdx, FileSourceDb.Line.Builder lineBuilder) {
+        long value = measures.longs()[lineIdx];
+        if (value != LineMeasures.NO_VALUE) {
+          lineBuilder.setScmDate(value);
+        }
       }
     });
-    applyLineMeasure(file.key(), CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY, dataBuilder, new MeasureOperation() {
+    applyLineMeasure(lineMeasures.get(CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY), dataBuilder, new IntMeasureOperation() {
       @Override
-      public void apply(String value, FileSourceDb.Line.Builder lineBuilder) {
-        lineBuilder.setUtLineHits(Integer.parseInt(value));
+      public void apply(int value, FileSourceDb.Line.Builder lineBuilder) {
+        lineBuilder.setUtLineHits(value);
       }
     });
-    applyLineMeasure(file.key(), CoreMetrics.CONDITIONS_BY_LINE_KEY, dataBuilder, new MeasureOperation() {
+    applyLineMeasure(lineMeasures.get(CoreMetrics.CONDITIONS_BY_LINE_KEY), dataBuilder, new IntMeasureOperation() {
       @Override
-      public void apply(String value, FileSourceDb.Line.Builder lineBuilder) {
-        lineBuilder.setUtConditions(Integer.parseInt(value));
+      public void apply(int value, FileSourceDb.Line.Builder lineBuilder) {
+        lineBuilder.setUtConditions(value);
       }
     });
-    applyLineMeasure(file.key(), CoreMetrics.COVERED_CONDITIONS_BY_LINE_KEY, dataBuilder, new MeasureOperation() {
+    applyLineMeasure(lineMeasures.get(CoreMetrics.COVERED_CONDITIONS_BY_LINE_KEY), dataBuilder, new IntMeasureOperation() {
       @Override
-      public void apply(String value, FileSourceDb.Line.Builder lineBuilder) {
-        lineBuilder.setUtCoveredConditions(Integer.parseInt(value));
+      public void apply(int value, FileSourceDb.Line.Builder lineBuilder) {
+        lineBuilder.setUtCoveredConditions(value);
       }
     });
-    applyLineMeasure(file.key(), CoreMetrics.IT_COVERAGE_LINE_HITS_DATA_KEY, dataBuilder, new MeasureOperation() {
+    applyLineMeasure(lineMeasures.get(CoreMetrics.IT_COVERAGE_LINE_HITS_DATA_KEY), dataBuilder, new IntMeasureOperation() {
       @Override
-      public void apply(String value, FileSourceDb.Line.Builder lineBuilder) {
-        lineBuilder.setItLineHits(Integer.parseInt(value));
+      public void apply(int value, FileSourceDb.Line.Builder lineBuilder) {
+        lineBuilder.setItLineHits(value);
       }
     });
-    applyLineMeasure(file.key(), CoreMetrics.IT_CONDITIONS_BY_LINE_KEY, dataBuilder, new MeasureOperation() {
+    applyLineMeasure(lineMeasures.get(CoreMetrics.IT_CONDITIONS_BY_LINE_KEY), dataBuilder, new IntMeasureOperation() {
       @Override
-      public void apply(String value, FileSourceDb.Line.Builder lineBuilder) {
-        lineBuilder.setItConditions(Integer.parseInt(value));
+      public void apply(int value, FileSourceDb.Line.Builder lineBuilder) {
+        lineBuilder.setItConditions(value);
       }
     });
-    applyLineMeasure(file.key(), CoreMetrics.IT_COVERED_CONDITIONS_BY_LINE_KEY, dataBuilder, new MeasureOperation() {
+    applyLineMeasure(lineMeasures.get(CoreMetrics.IT_COVERED_CONDITIONS_BY_LINE_KEY), dataBuilder, new IntMeasureOperation() {
       @Override
-      public void apply(String value, FileSourceDb.Line.Builder lineBuilder) {
-        lineBuilder.setItCoveredConditions(Integer.parseInt(value));
+      public void apply(int value, FileSourceDb.Line.Builder lineBuilder) {
+        lineBuilder.setItCoveredConditions(value);
       }
     });
-    applyLineMeasure(file.key(), CoreMetrics.OVERALL_COVERAGE_LINE_HITS_DATA_KEY, dataBuilder, new MeasureOperation() {
+    applyLineMeasure(lineMeasures.get(CoreMetrics.OVERALL_COVERAGE_LINE_HITS_DATA_KEY), dataBuilder, new IntMeasureOperation() {
       @Override
-      public void apply(String value, FileSourceDb.Line.Builder lineBuilder) {
-        lineBuilder.setOverallLineHits(Integer.parseInt(value));
+      public void apply(int value, FileSourceDb.Line.Builder lineBuilder) {
+        lineBuilder.setOverallLineHits(value);
       }
     });
-    applyLineMeasure(file.key(), CoreMetrics.OVERALL_CONDITIONS_BY_LINE_KEY, dataBuilder, new MeasureOperation() {
+    applyLineMeasure(lineMeasures.get(CoreMetrics.OVERALL_CONDITIONS_BY_LINE_KEY), dataBuilder, new IntMeasureOperation() {
       @Override
-      public void apply(String value, FileSourceDb.Line.Builder lineBuilder) {
-        lineBuilder.setOverallConditions(Integer.parseInt(value));
+      public void apply(int value, FileSourceDb.Line.Builder lineBuilder) {
+        lineBuilder.setOverallConditions(value);
       }
     });
-    applyLineMeasure(file.key(), CoreMetrics.OVERALL_COVERED_CONDITIONS_BY_LINE_KEY, dataBuilder, new MeasureOperation() {
+    applyLineMeasure(lineMeasures.get(CoreMetrics.OVERALL_COVERED_CONDITIONS_BY_LINE_KEY), dataBuilder, new IntMeasureOperation() {
       @Override
-      public void apply(String value, FileSourceDb.Line.Builder lineBuilder) {
-        lineBuilder.setOverallCoveredConditions(Integer.parseInt(value));
+      public void apply(int value, FileSourceDb.Line.Builder lineBuilder) {
+        lineBuilder.setOverallCoveredConditions(value);
       }
     });
   }
 
-  void applyLineMeasure(String inputFileKey, String metricKey, FileSourceDb.Data.Builder to, MeasureOperation op) {
-    Iterable<Measure> measures = measureCache.byMetric(inputFileKey, metricKey);
+  private static void applyLineMeasure(@Nullable LineMeasures measures, FileSourceDb.Data.Builder to, MeasureOperation op) {
     if (measures != null) {
-      for (Measure measure : measures) {
-        Map<Integer, String> lineMeasures = KeyValueFormat.parseIntString((String) measure.value());
-        for (Map.Entry<Integer, String> lineMeasure : lineMeasures.entrySet()) {
-          int lineIdx = lineMeasure.getKey();
-          if (lineIdx <= to.getLinesCount()) {
-            String value = lineMeasure.getValue();
-            if (StringUtils.isNotEmpty(value)) {
-              FileSourceDb.Line.Builder lineBuilder = to.getLinesBuilder(lineIdx - 1);
-              op.apply(value, lineBuilder);
-            }
-          }
-        }
+      // lines that are not in file are ignored
+      int lines = Math.min(measures.size(), to.getLinesCount());
+      for (int lineIdx = 0; lineIdx < lines; lineIdx++) {
+        op.apply(measures, lineIdx, to.getLinesBuilder(lineIdx));
       }
     }
   }
 
   static interface MeasureOperation {
-    void apply(String value, FileSourceDb.Line.Builder lineBuilder);
+    void apply(LineMeasures measures, int lineIdx, FileSourceDb.Line.Builder lineBuilder);
+  }
+
+  abstract static class IntMeasureOperation implements MeasureOperation {
+    @Override
+    public void apply(LineMeasures measures, int lineIdx, FileSourceDb.Line.Builder lineBuilder) {
+      int value = measures.ints()[lineIdx];
+      if (value != LineMeasures.NO_VALUE) {
+        apply(value, lineBuilder);
+      }
+    }
+
+    abstract void apply(int value, FileSourceDb.Line.Builder lineBuilder);
   }
 
   void applyHighlighting(DefaultInputFile inputFile, InputFileMetadata metadata, FileSourceDb.Data.Builder to) {
     SyntaxHighlightingData highlighting = componentDataCache.getData(inputFile.key(), SnapshotDataTypes.SYNTAX_HIGHLIGHTING);
-    String language = inputFile.language();
-    if (highlighting == null && language != null) {
-      highlighting = codeColorizers.toSyntaxHighlighting(inputFile.file(), inputFile.charset(), language);
-    }
+    applyHighlighting(inputFile, metadata, colorizeIfMissing(inputFile, highlighting), to);
+  }
+
+  private static void applyHighlighting(DefaultInputFile inputFile, InputFileMetadata metadata, @Nullable SyntaxHighlightingData highlighting,
+    FileSourceDb.Data.Builder to) {
     if (highlighting == null) {
       return;
     }
@@ -223,17 +317,14 @@ public class SourceDataFactory implements BatchComponent {
 
   void applySymbolReferences(DefaultInputFile file, InputFileMetadata metadata, FileSourceDb.Data.Builder to) {
     SymbolData symbolRefs = componentDataCache.getData(file.key(), SnapshotDataTypes.SYMBOL_HIGHLIGHTING);
+    applySymbolReferences(file, metadata, symbolRefs, to);
+  }
+
+  private static void applySymbolReferences(DefaultInputFile file, InputFileMetadata metadata, @Nullable SymbolData symbolRefs, FileSourceDb.Data.Builder to) {
     if (symbolRefs != null) {
       StringBuilder[] refsPerLine = new StringBuilder[file.lines()];
       int symbolId = 1;
-      List<Symbol> symbols = new ArrayList<Symbol>(symbolRefs.referencesBySymbol().keySet());
-      // Sort symbols to avoid false variation that would lead to an unnecessary update
-      Collections.sort(symbols, new Comparator<Symbol>() {
-        @Override
-        public int compare(Symbol o1, Symbol o2) {
-          return o1.getDeclarationStartOffset() - o2.getDeclarationStartOffset();
-        }
-      });
+      List<Symbol> symbols = sortedSymbols(symbolRefs);
       for (Symbol symbol : symbols) {
         int declarationStartOffset = symbol.getDeclarationStartOffset();
         int declarationEndOffset = symbol.getDeclarationEndOffset();
@@ -257,12 +348,24 @@ public class SourceDataFactory implements BatchComponent {
     }
   }
 
-  private void addSymbol(int symbolId, int startOffset, int endOffset, int[] originalLineOffsets, StringBuilder[] result) {
+  private static List<Symbol> sortedSymbols(SymbolData symbolRefs) {
+    List<Symbol> symbols = new ArrayList<Symbol>(symbolRefs.referencesBySymbol().keySet());
+    // Sort symbols to avoid false variation that would lead to an unnecessary update
+    Collections.sort(symbols, new Comparator<Symbol>() {
+      @Override
+      public int compare(Symbol o1, Symbol o2) {
+        return o1.getDeclarationStartOffset() - o2.getDeclarationStartOffset();
+      }
+    });
+    return symbols;
+  }
+
+  private static void addSymbol(int symbolId, int startOffset, int endOffset, int[] originalLineOffsets, StringBuilder[] result) {
     int startLine = binarySearchLine(startOffset, originalLineOffsets);
     writeDataPerLine(originalLineOffsets, symbolId, startOffset, endOffset, result, startLine, new SymbolItemWriter());
   }
 
-  private int binarySearchLine(int declarationStartOffset, int[] originalLineOffsets) {
+  private static int binarySearchLine(int declarationStartOffset, int[] originalLineOffsets) {
     int begin = 0;
     int end = originalLineOffsets.length - 1;
     while (begin < end) {
@@ -276,7 +379,7 @@ public class SourceDataFactory implements BatchComponent {
     return begin + 1;
   }
 
-  private <G> void writeDataPerLine(int[] originalLineOffsets, G item, int globalStartOffset, int globalEndOffset, StringBuilder[] dataPerLine, int startLine,
+  private static <G> void writeDataPerLine(int[] originalLineOffsets, G item, int globalStartOffset, int globalEndOffset, StringBuilder[] dataPerLine, int startLine,
     RangeItemWriter<G> writer) {
     int currentLineIdx = startLine;
     // We know current item starts on current line
@@ -293,7 +396,7 @@ public class SourceDataFactory implements BatchComponent {
       - originalLineOffsets[currentLineIdx - 1], writer);
   }
 
-  private <G> void writeItem(G item, StringBuilder[] dataPerLine, int currentLineIdx, long startLineOffset, long endLineOffset, RangeItemWriter<G> writer) {
+  private static <G> void writeItem(G item, StringBuilder[] dataPerLine, int currentLineIdx, long startLineOffset, long endLineOffset, RangeItemWriter<G> writer) {
     if (startLineOffset == endLineOffset || currentLineIdx > dataPerLine.length) {
       // empty items or bad line index
       return;
@@ -342,7 +445,10 @@ public class SourceDataFactory implements BatchComponent {
   }
 
   void applyDuplications(String inputFileKey, FileSourceDb.Data.Builder to) {
-    Iterable<DefaultDuplication> groups = duplicationCache.byComponent(inputFileKey);
+    applyDuplications(inputFileKey, duplicationCache.byComponent(inputFileKey), to);
+  }
+
+  private static void applyDuplications(String inputFileKey, Iterable<DefaultDuplication> groups, FileSourceDb.Data.Builder to) {
     int blockId = 1;
     for (Iterator<DefaultDuplication> it = groups.iterator(); it.hasNext();) {
       Duplication group = it.next();
@@ -358,7 +464,7 @@ public class SourceDataFactory implements BatchComponent {
     }
   }
 
-  private void addBlock(int blockId, Duplication.Block block, FileSourceDb.Data.Builder to) {
+  private static void addBlock(int blockId, Duplication.Block block, FileSourceDb.Data.Builder to) {
     int currentLine = block.startLine();
     for (int i = 0; i < block.length(); i++) {
       if (currentLine <= to.getLinesCount()) {
@@ -367,4 +473,71 @@ public class SourceDataFactory implements BatchComponent {
       }
     }
   }
+
+  /**
+   * Line-level data of a file, as loaded from caches. The hash identifies the data stored in db, so that
+   * it's not built again if neither file content nor inputs have changed since previous analysis.
+   */
+  static class Inputs {
+    private final Map<String, LineMeasures> lineMeasures;
+    private final List<DefaultDuplication> duplications;
+    private final SymbolData symbols;
+    private SyntaxHighlightingData highlighting;
+    private final String hash;
+
+    Inputs(DefaultInputFile inputFile, Map<String, LineMeasures> lineMeasures, List<DefaultDuplication> duplications,
+      @Nullable SyntaxHighlightingData highlighting, @Nullable SymbolData symbols, @Nullable String colorizer) {
+      this.lineMeasures = lineMeasures;
+      this.duplications = duplications;
+      this.highlighting = highlighting;
+      this.symbols = symbols;
+      this.hash = computeHash(inputFile, colorizer);
+    }
+
+    /**
+     * Hash of everything but file content, which is identified by {@link InputFileMetadata#hash()}. Highlighting
+     * computed later by code colorizers is not known yet, so it's identified by the fingerprint of the colorizer.
+     */
+    String hash() {
+      return hash;
+    }
+
+    private String computeHash(DefaultInputFile inputFile, @Nullable String colorizer) {
+      StringBuilder sb = new StringBuilder();
+      sb.append("v").append(FORMAT_VERSION).append('|');
+      sb.append(inputFile.language());
+      for (String metricKey : LINE_METRIC_KEYS) {
+        LineMeasures values = lineMeasures.get(metricKey);
+        if (values != null) {
+          sb.append('|').append(metricKey).append('=').append(values);
+        }
+      }
+      sb.append("|dup");
+      for (DefaultDuplication duplication : duplications) {
+        appendBlock(sb, duplication.originBlock());
+        for (Duplication.Block block : duplication.duplicates()) {
+          appendBlock(sb, block);
+        }
+        sb.append(';');
+      }
+      if (highlighting != null) {
+        sb.append("|hl=").append(highlighting.writeString());
+      } else if (colorizer != null) {
+        sb.append("|colorizer=").append(colorizer);
+      }
+      if (symbols != null) {
+        sb.append("|sym");
+        for (Symbol symbol : sortedSymbols(symbols)) {
+          List<Integer> references = new ArrayList<>(symbols.referencesBySymbol().get(symbol));
+          Collections.sort(references);
+          sb.append(symbol.getDeclarationStartOffset()).append(',').append(symbol.getDeclarationEndOffset()).append(references).append(';');
+        }
+      }
+      return DigestUtils.md5Hex(sb.toString());
+    }
+
+    private static void appendBlock(StringBuilder sb, Duplication.Block block) {
+      sb.append(block.resourceKey()).append(',').append(block.startLine()).append(',').append(block.length()).append(' ');
+    }
+  }
 }
@@ -25,12 +25,14 @@ import org.apache.ibatis.session.ResultContext;
 import org.apache.ibatis.session.ResultHandler;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.config.Settings;
 import org.sonar.api.utils.System2;
 import org.sonar.batch.ProjectTree;
 import org.sonar.batch.scan.filesystem.FileMetadata;
 import org.sonar.batch.scan.filesystem.FileMetadata.LineHashConsumer;
 import org.sonar.batch.scan.filesystem.InputFileMetadata;
 import org.sonar.batch.scan.filesystem.InputPathCache;
+import org.sonar.batch.util.OrderedExecutor;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.MyBatis;
 import org.sonar.core.source.db.FileSourceDto;
@@ -42,24 +44,34 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 public class SourcePersister implements ScanPersister {
 
+  static final String THREADS_PROPERTY = "sonar.sourcePersister.threads";
+
+  /**
+   * Number of inserted or updated rows between two commits
+   */
+  private static final int COMMIT_SIZE = 100;
+
   private final MyBatis mybatis;
   private final System2 system2;
   private final ProjectTree projectTree;
   private final ResourceCache resourceCache;
   private final InputPathCache inputPathCache;
   private final SourceDataFactory dataFactory;
+  private final Settings settings;
 
   public SourcePersister(InputPathCache inputPathCache, MyBatis mybatis, System2 system2,
-    ProjectTree projectTree, ResourceCache resourceCache, SourceDataFactory dataFactory) {
+    ProjectTree projectTree, ResourceCache resourceCache, SourceDataFactory dataFactory, Settings settings) {
     this.inputPathCache = inputPathCache;
     this.mybatis = mybatis;
     this.system2 = system2;
     this.projectTree = projectTree;
     this.resourceCache = resourceCache;
     this.dataFactory = dataFactory;
+    this.settings = settings;
   }
 
   @Override
@@ -76,52 +88,124 @@ public class SourcePersister implements ScanPersister {
         }
       });
 
-      FileSourceMapper mapper = session.getMapper(FileSourceMapper.class);
-      for (InputFile inputFile : inputPathCache.allFiles()) {
-        persist(session, mapper, (DefaultInputFile) inputFile, previousDtosByUuid);
+      // Data of files is built concurrently, but rows are written by the main thread, in the order of files
+      try (OrderedExecutor<FileSourceDto> executor = new OrderedExecutor<>(OrderedExecutor.threads(settings, THREADS_PROPERTY), new Writer(session))) {
+        for (InputFile inputFile : inputPathCache.allFiles()) {
+          DataBuilder builder = prepare((DefaultInputFile) inputFile, previousDtosByUuid);
+          if (builder != null) {
+            executor.submit(builder);
+          }
+        }
+        executor.finish();
       }
+      session.commit();
     } catch (Exception e) {
       throw new IllegalStateException("Unable to save file sources", e);
     }
-
   }
 
-  private void persist(DbSession session, FileSourceMapper mapper, DefaultInputFile inputFile, Map<String, FileSourceDto> previousDtosByUuid) {
+  /**
+   * Loads inputs of the file, and highlights it with the colorizer if no sensor did.
+   * @return null if neither file content nor inputs have changed since previous analysis
+   */
+  @CheckForNull
+  private DataBuilder prepare(DefaultInputFile inputFile, Map<String, FileSourceDto> previousDtosByUuid) {
     String fileUuid = resourceCache.get(inputFile.key()).resource().getUuid();
-
     InputFileMetadata metadata = inputPathCache.getFileMetadata(inputFile.moduleKey(), inputFile.relativePath());
-    byte[] data = computeData(inputFile, metadata);
-    String dataHash = DigestUtils.md5Hex(data);
+    SourceDataFactory.Inputs inputs = dataFactory.readInputs(inputFile);
     FileSourceDto previousDto = previousDtosByUuid.get(fileUuid);
-    if (previousDto == null) {
-      FileSourceDto dto = new FileSourceDto()
-        .setProjectUuid(projectTree.getRootProject().getUuid())
-        .setFileUuid(fileUuid)
-        .setBinaryData(data)
-        .setDataHash(dataHash)
-        .setSrcHash(metadata.hash())
-        .setLineHashes(lineHashesAsMd5Hex(inputFile))
-        .setCreatedAt(system2.now())
-        .setUpdatedAt(system2.now());
-      mapper.insert(dto);
-      session.commit();
-    } else {
-      // Update only if data_hash has changed or if src_hash is missing (progressive migration)
-      if (!dataHash.equals(previousDto.getDataHash()) || !metadata.hash().equals(previousDto.getSrcHash())) {
-        previousDto
+    if (previousDto != null && metadata.hash().equals(previousDto.getSrcHash()) && inputs.hash().equals(previousDto.getInputHash())) {
+      return null;
+    }
+    dataFactory.highlightIfMissing(inputFile, inputs);
+    return new DataBuilder(inputFile, fileUuid, metadata, inputs, previousDto);
+  }
+
+  /**
+   * Builds the row of a single file from the inputs loaded by {@link #prepare(DefaultInputFile, Map)}.
+   */
+  private class DataBuilder implements Callable<FileSourceDto> {
+    private final DefaultInputFile inputFile;
+    private final String fileUuid;
+    private final InputFileMetadata metadata;
+    private final SourceDataFactory.Inputs inputs;
+    private final FileSourceDto previousDto;
+
+    DataBuilder(DefaultInputFile inputFile, String fileUuid, InputFileMetadata metadata, SourceDataFactory.Inputs inputs, @Nullable FileSourceDto previousDto) {
+      this.inputFile = inputFile;
+      this.fileUuid = fileUuid;
+      this.metadata = metadata;
+      this.inputs = inputs;
+      this.previousDto = previousDto;
+    }
+
+    /**
+     * @return the row to be inserted (without id) or updated (with id). Returns null if data has not changed.
+     */
+    @Override
+    @CheckForNull
+    public FileSourceDto call() {
+      byte[] data = computeData(inputFile, metadata, inputs);
+      String dataHash = DigestUtils.md5Hex(data);
+      if (previousDto == null) {
+        return new FileSourceDto()
+          .setProjectUuid(projectTree.getRootProject().getUuid())
+          .setFileUuid(fileUuid)
           .setBinaryData(data)
           .setDataHash(dataHash)
           .setSrcHash(metadata.hash())
+          .setInputHash(inputs.hash())
           .setLineHashes(lineHashesAsMd5Hex(inputFile))
+          .setCreatedAt(system2.now())
           .setUpdatedAt(system2.now());
-        mapper.update(previousDto);
+      }
+      // Update only if data_hash has changed or if src_hash or input_hash is missing (progressive migration)
+      if (!dataHash.equals(previousDto.getDataHash()) || !metadata.hash().equals(previousDto.getSrcHash()) || !inputs.hash().equals(previousDto.getInputHash())) {
+        return previousDto
+          .setBinaryData(data)
+          .setDataHash(dataHash)
+          .setSrcHash(metadata.hash())
+          .setInputHash(inputs.hash())
+          .setLineHashes(lineHashesAsMd5Hex(inputFile))
+          .setUpdatedAt(system2.now());
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Writes rows in a single session and commits every {@link #COMMIT_SIZE} rows.
+   */
+  private static class Writer implements OrderedExecutor.Consumer<FileSourceDto> {
+    private final DbSession session;
+    private final FileSourceMapper mapper;
+    private int uncommitted = 0;
+
+    Writer(DbSession session) {
+      this.session = session;
+      this.mapper = session.getMapper(FileSourceMapper.class);
+    }
+
+    @Override
+    public void consume(@Nullable FileSourceDto dto) {
+      if (dto == null) {
+        return;
+      }
+      if (dto.getId() == null) {
+        mapper.insert(dto);
+      } else {
+        mapper.update(dto);
+      }
+      uncommitted++;
+      if (uncommitted >= COMMIT_SIZE) {
         session.commit();
+        uncommitted = 0;
       }
     }
   }
 
   @CheckForNull
-  private String lineHashesAsMd5Hex(DefaultInputFile f) {
+  private static String lineHashesAsMd5Hex(DefaultInputFile f) {
     if (f.lines() == 0) {
       return null;
     }
@@ -142,9 +226,9 @@ public class SourcePersister implements ScanPersister {
     return result.toString();
   }
 
-  private byte[] computeData(DefaultInputFile inputFile, InputFileMetadata metadata) {
+  private byte[] computeData(DefaultInputFile inputFile, InputFileMetadata metadata, SourceDataFactory.Inputs inputs) {
     try {
-      return dataFactory.consolidateData(inputFile, metadata);
+      return dataFactory.consolidateData(inputFile, metadata, inputs);
     } catch (IOException e) {
       throw new IllegalStateException("Fail to read file " + inputFile, e);
     }
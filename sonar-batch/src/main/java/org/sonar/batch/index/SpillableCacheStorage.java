@@ -0,0 +1,158 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.CheckForNull;
+
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Keeps values in memory until the number of values exceeds a threshold, or until the heap usage exceeds a ratio
+ * of the max heap. All values are then moved to Persistit, which is used for all subsequent operations.
+ *
+ * @since 5.1
+ */
+class SpillableCacheStorage implements CacheStorage {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SpillableCacheStorage.class);
+  private static final Object[] ROOT = new Object[0];
+
+  /**
+   * Heap usage is checked every given number of puts, as it requires native calls
+   */
+  private static final int HEAP_USAGE_CHECK_INTERVAL = 1000;
+
+  private final String name;
+  private final Caches caches;
+  private final int maxEntriesInMemory;
+  private final double maxHeapUsage;
+  private int putsSinceHeapUsageCheck = 0;
+
+  private MemoryCacheStorage memory;
+  private CacheStorage delegate;
+
+  /**
+   * @param maxHeapUsage ratio of the max heap above which values are moved to Persistit. Heap usage is not checked
+   *                     if it's 1 or more.
+   */
+  SpillableCacheStorage(String name, Caches caches, int maxEntriesInMemory, double maxHeapUsage) {
+    this.name = name;
+    this.caches = caches;
+    this.maxEntriesInMemory = maxEntriesInMemory;
+    this.maxHeapUsage = maxHeapUsage;
+    this.memory = new MemoryCacheStorage(caches.persistit());
+    this.delegate = memory;
+  }
+
+  boolean isSpilled() {
+    return memory == null;
+  }
+
+  @Override
+  public void put(Object[] key, Object value) {
+    delegate.put(key, value);
+    if (memory != null) {
+      if (memory.size() > maxEntriesInMemory) {
+        LOG.debug("Cache {} exceeds {} entries in memory, moving them to disk", name, maxEntriesInMemory);
+        spill();
+      } else if (isHeapUsageExceeded()) {
+        LOG.debug("Heap usage exceeds {}% of max heap, moving the {} entries of cache {} to disk", (int) (maxHeapUsage * 100), memory.size(), name);
+        spill();
+      }
+    }
+  }
+
+  private boolean isHeapUsageExceeded() {
+    if (maxHeapUsage >= 1.0 || ++putsSinceHeapUsageCheck < HEAP_USAGE_CHECK_INTERVAL) {
+      return false;
+    }
+    putsSinceHeapUsageCheck = 0;
+    Runtime runtime = Runtime.getRuntime();
+    long usedHeap = runtime.totalMemory() - runtime.freeMemory();
+    return usedHeap > runtime.maxMemory() * maxHeapUsage;
+  }
+
+  private void spill() {
+    CacheStorage persistit = caches.createPersistitStorage(name);
+    for (Cache.Entry<Object> entry : memory.entries(ROOT)) {
+      persistit.put(entry.key(), entry.value());
+    }
+    delegate = persistit;
+    memory = null;
+  }
+
+  @Override
+  @CheckForNull
+  public Object get(Object[] key) {
+    return delegate.get(key);
+  }
+
+  @Override
+  public boolean containsKey(Object[] key) {
+    return delegate.containsKey(key);
+  }
+
+  @Override
+  public boolean remove(Object[] key) {
+    return delegate.remove(key);
+  }
+
+  @Override
+  public void clear(Object[] key) {
+    delegate.clear(key);
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+  }
+
+  @Override
+  public Set<Object> keySet(Object[] key) {
+    return delegate.keySet(key);
+  }
+
+  /**
+   * Storage is resolved when iterating, so that iterables created before spilling remain valid
+   */
+  @Override
+  public <V> Iterable<V> values(final Object[] key) {
+    return new Iterable<V>() {
+      @Override
+      public Iterator<V> iterator() {
+        return delegate.<V>values(key).iterator();
+      }
+    };
+  }
+
+  @Override
+  public <V> Iterable<Cache.Entry<V>> entries(final Object[] key) {
+    return new Iterable<Cache.Entry<V>>() {
+      @Override
+      public Iterator<Cache.Entry<V>> iterator() {
+        return delegate.<V>entries(key).iterator();
+      }
+    };
+  }
+}
@@ -19,11 +19,18 @@
  */
 package org.sonar.batch.issue.tracking;
 
+import com.google.common.base.Function;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Iterators;
+import com.google.common.io.InputSupplier;
+import org.sonar.api.utils.HttpDownloader;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.api.utils.log.Profiler;
 import org.sonar.batch.bootstrap.ServerClient;
+import org.sonar.batch.protocol.input.BatchInput.FileLineHashes;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 public class DefaultServerLineHashesLoader implements ServerLineHashesLoader {
 
@@ -49,4 +56,25 @@ public class DefaultServerLineHashesLoader implements ServerLineHashesLoader {
       profiler.stopDebug();
     }
   }
+
+  @Override
+  public void loadLineHashesOfModule(String moduleKey, Function<FileLineHashes, Void> consumer) {
+    Profiler profiler = Profiler.createIfDebug(Loggers.get(getClass()))
+      .addContext("module", moduleKey)
+      .startDebug("Load line hashes of module");
+    InputSupplier<InputStream> request = server.doRequest("/api/sources/hashes?moduleKey=" + ServerClient.encodeForUrl(moduleKey), "GET", null);
+    try (InputStream is = request.getInput()) {
+      FileLineHashes fileLineHashes = FileLineHashes.parseDelimitedFrom(is);
+      while (fileLineHashes != null) {
+        consumer.apply(fileLineHashes);
+        fileLineHashes = FileLineHashes.parseDelimitedFrom(is);
+      }
+    } catch (HttpDownloader.HttpException e) {
+      throw server.handleHttpException(e);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to get line hashes of module " + moduleKey, e);
+    } finally {
+      profiler.stopDebug();
+    }
+  }
 }
@@ -50,12 +50,21 @@ public class InitialOpenIssuesStack implements BatchExtension {
   }
 
   public List<ServerIssue> selectAndRemoveIssues(String componentKey) {
+    List<ServerIssue> result = selectIssues(componentKey);
+    issuesCache.clear(componentKey);
+    return result;
+  }
+
+  /**
+   * Same as {@link #selectAndRemoveIssues(String)}, but issues are kept in stack
+   * @since 5.1
+   */
+  public List<ServerIssue> selectIssues(String componentKey) {
     Iterable<IssueDto> issues = issuesCache.values(componentKey);
     List<ServerIssue> result = newArrayList();
     for (IssueDto issue : issues) {
       result.add(new ServerIssueFromDb(issue));
     }
-    issuesCache.clear(componentKey);
     return result;
   }
 
@@ -29,6 +29,8 @@ import com.google.common.collect.Multimap;
 import org.sonar.api.BatchComponent;
 import org.sonar.api.batch.InstantiationStrategy;
 import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
 
 import javax.annotation.Nullable;
 
@@ -41,6 +43,17 @@ import java.util.Map;
 @InstantiationStrategy(InstantiationStrategy.PER_BATCH)
 public class IssueTracking implements BatchComponent {
 
+  private static final Logger LOG = Loggers.get(IssueTracking.class);
+
+  /**
+   * Lines repeated many times give a quadratic number of pairs of moved lines. Each old line is compared to its
+   * nearest new lines with the same hash only, and the total number of compared pairs is bounded.
+   */
+  @VisibleForTesting
+  static final int MAX_MOVED_LINE_CANDIDATES = 50;
+  @VisibleForTesting
+  static final int MAX_MOVED_LINE_PAIRS = 250000;
+
   /**
    * @param sourceHashHolder Null when working on resource that is not a file (directory/project)
    */
@@ -154,23 +167,78 @@ public class IssueTracking implements BatchComponent {
       }
     }
 
-    // Check if remaining number of lines exceeds threshold
-    if (lastIssuesByLines.keySet().size() * newIssuesByLines.keySet().size() < 250000) {
-      List<LinePair> possibleLinePairs = Lists.newArrayList();
-      for (Integer oldLine : lastIssuesByLines.keySet()) {
-        for (Integer newLine : newIssuesByLines.keySet()) {
-          int weight = rec.computeLengthOfMaximalBlock(oldLine, newLine);
-          possibleLinePairs.add(new LinePair(oldLine, newLine, weight));
-        }
+    if (lastIssuesByLines.isEmpty() || newIssuesByLines.isEmpty()) {
+      return;
+    }
+
+    // Lines which are unchanged between the two versions
+    LinesDiff diff = LinesDiff.compute(hashedReference, hashedSource);
+    for (Integer oldLine : lastIssuesByLines.keySet()) {
+      int newLine = diff.matchingLine(oldLine);
+      if (newLine > 0 && newIssuesByLines.containsKey(newLine)) {
+        map(newIssuesByLines.get(newLine), lastIssuesByLines.get(oldLine), result);
       }
-      Collections.sort(possibleLinePairs, LINE_PAIR_COMPARATOR);
-      for (LinePair linePair : possibleLinePairs) {
-        // High probability that lineA has been moved to lineB, so we can map all Issues on lineA to all Issues on lineB
-        map(newIssuesByLines.get(linePair.lineB), lastIssuesByLines.get(linePair.lineA), result);
+    }
+
+    // Lines of blocks that have been moved. Only the lines with the same hash are compared.
+    List<LinePair> possibleLinePairs = movedLinePairs(hashedReference, hashedSource, diff, newIssuesByLines, lastIssuesByLines);
+    for (LinePair linePair : possibleLinePairs) {
+      linePair.weight = rec.computeLengthOfMaximalBlock(linePair.lineA, linePair.lineB);
+    }
+    Collections.sort(possibleLinePairs, LINE_PAIR_COMPARATOR);
+    for (LinePair linePair : possibleLinePairs) {
+      // High probability that lineA has been moved to lineB, so we can map all Issues on lineA to all Issues on lineB
+      map(newIssuesByLines.get(linePair.lineB), lastIssuesByLines.get(linePair.lineA), result);
+    }
+
+    // Lines which have been modified in place
+    for (Integer oldLine : lastIssuesByLines.keySet()) {
+      int newLine = diff.replacingLine(oldLine);
+      if (newLine > 0 && newIssuesByLines.containsKey(newLine)) {
+        map(newIssuesByLines.get(newLine), lastIssuesByLines.get(oldLine), result);
       }
     }
   }
 
+  /**
+   * Pairs of lines with the same hash, for the old lines that are not matched by the diff. Each old line is paired
+   * with at most {@link #MAX_MOVED_LINE_CANDIDATES} new lines, the nearest ones. Collect stops as soon as
+   * {@link #MAX_MOVED_LINE_PAIRS} pairs are found, so the remaining old lines are only matched in place.
+   */
+  @VisibleForTesting
+  static List<LinePair> movedLinePairs(FileHashes hashedReference, FileHashes hashedSource, LinesDiff diff,
+    Multimap<Integer, DefaultIssue> newIssuesByLines, Multimap<Integer, ServerIssue> lastIssuesByLines) {
+    List<LinePair> pairs = Lists.newArrayList();
+    boolean candidatesBounded = false;
+    for (Integer oldLine : lastIssuesByLines.keySet()) {
+      if (diff.matchingLine(oldLine) == 0) {
+        List<Integer> newLines = Lists.newArrayList();
+        for (Integer newLine : hashedSource.getLinesForHash(hashedReference.getHash(oldLine))) {
+          if (newIssuesByLines.containsKey(newLine)) {
+            newLines.add(newLine);
+          }
+        }
+        if (newLines.size() > MAX_MOVED_LINE_CANDIDATES) {
+          candidatesBounded = true;
+          Collections.sort(newLines, new NearestLineComparator(oldLine));
+          newLines = newLines.subList(0, MAX_MOVED_LINE_CANDIDATES);
+        }
+        for (Integer newLine : newLines) {
+          pairs.add(new LinePair(oldLine, newLine, 0));
+          if (pairs.size() >= MAX_MOVED_LINE_PAIRS) {
+            LOG.warn("Too many lines with the same content to track moved issues, only the first {} pairs of lines are compared",
+              MAX_MOVED_LINE_PAIRS);
+            return pairs;
+          }
+        }
+      }
+    }
+    if (candidatesBounded) {
+      LOG.debug("Lines repeated more than {} times, only the nearest ones are compared to track moved issues", MAX_MOVED_LINE_CANDIDATES);
+    }
+    return pairs;
+  }
+
   private void mapIssuesOnSameRule(Collection<DefaultIssue> newIssues, IssueTrackingResult result) {
     // Try then to match issues on same rule with same message and with same checksum
     for (DefaultIssue newIssue : newIssues) {
@@ -303,7 +371,7 @@ public class IssueTracking implements BatchComponent {
     return getClass().getSimpleName();
   }
 
-  private static class LinePair {
+  static class LinePair {
     int lineA;
     int lineB;
     int weight;
@@ -315,6 +383,19 @@ public class IssueTracking implements BatchComponent {
     }
   }
 
+  private static class NearestLineComparator implements Comparator<Integer> {
+    private final int line;
+
+    NearestLineComparator(int line) {
+      this.line = line;
+    }
+
+    @Override
+    public int compare(Integer o1, Integer o2) {
+      return Math.abs(o1 - line) - Math.abs(o2 - line);
+    }
+  }
+
   private static class HashOccurrence {
     int lineA;
     int lineB;
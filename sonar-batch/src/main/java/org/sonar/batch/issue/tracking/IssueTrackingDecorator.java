@@ -77,6 +77,7 @@ public class IssueTrackingDecorator implements Decorator {
   private final RuleFinder ruleFinder;
   private final InputPathCache inputPathCache;
   private final Project project;
+  private final ModuleIssueTracking moduleIssueTracking;
 
   public IssueTrackingDecorator(IssueCache issueCache, InitialOpenIssuesStack initialOpenIssues, IssueTracking tracking,
     ServerLineHashesLoader lastLineHashes,
@@ -85,10 +86,11 @@ public class IssueTrackingDecorator implements Decorator {
     Project project,
     ResourcePerspectives perspectives,
     RulesProfile rulesProfile,
-    RuleFinder ruleFinder, InputPathCache inputPathCache) {
+    RuleFinder ruleFinder, InputPathCache inputPathCache, ModuleIssueTracking moduleIssueTracking) {
     this.issueCache = issueCache;
     this.initialOpenIssues = initialOpenIssues;
     this.tracking = tracking;
+    this.moduleIssueTracking = moduleIssueTracking;
     this.lastLineHashes = lastLineHashes;
     this.handlers = handlers;
     this.workflow = workflow;
@@ -127,17 +129,25 @@ public class IssueTrackingDecorator implements Decorator {
     Collection<ServerIssue> dbOpenIssues = initialOpenIssues.selectAndRemoveIssues(resource.getEffectiveKey());
 
     SourceHashHolder sourceHashHolder = null;
-    if (ResourceUtils.isFile(resource)) {
-      File sonarFile = (File) resource;
-      InputFile file = inputPathCache.getFile(project.getEffectiveKey(), sonarFile.getPath());
-      if (file == null) {
-        throw new IllegalStateException("File " + resource + " was not found in InputPath cache");
+    IssueTrackingResult trackingResult;
+    ModuleIssueTracking.FileTracking fileTracking = moduleIssueTracking.take(resource.getEffectiveKey(), issues);
+    if (fileTracking != null) {
+      // issues of the file have already been tracked by ModuleIssueTracking
+      issues = fileTracking.issues();
+      sourceHashHolder = fileTracking.sourceHashHolder();
+      trackingResult = fileTracking.result();
+    } else {
+      if (ResourceUtils.isFile(resource)) {
+        File sonarFile = (File) resource;
+        InputFile file = inputPathCache.getFile(project.getEffectiveKey(), sonarFile.getPath());
+        if (file == null) {
+          throw new IllegalStateException("File " + resource + " was not found in InputPath cache");
+        }
+        sourceHashHolder = new SourceHashHolder((DefaultInputFile) file, lastLineHashes);
       }
-      sourceHashHolder = new SourceHashHolder((DefaultInputFile) file, lastLineHashes);
+      trackingResult = tracking.track(sourceHashHolder, dbOpenIssues, issues);
     }
 
-    IssueTrackingResult trackingResult = tracking.track(sourceHashHolder, dbOpenIssues, issues);
-
     // unmatched = issues that have been resolved + issues on disabled/removed rules + manual issues
     addUnmatched(trackingResult.unmatched(), sourceHashHolder, issues);
 
@@ -146,6 +156,7 @@ public class IssueTrackingDecorator implements Decorator {
     if (ResourceUtils.isProject(resource)) {
       // issues that relate to deleted components
       addIssuesOnDeletedComponents(issues);
+      moduleIssueTracking.clear();
     }
 
     for (DefaultIssue issue : issues) {
@@ -211,7 +222,7 @@ public class IssueTrackingDecorator implements Decorator {
     for (ServerIssue unmatchedIssue : unmatchedIssues) {
       IssueDto unmatchedDto = ((ServerIssueFromDb) unmatchedIssue).getDto();
       DefaultIssue unmatched = unmatchedDto.toDefaultIssue();
-      if (StringUtils.isNotBlank(unmatchedDto.getReporter()) && !Issue.STATUS_CLOSED.equals(unmatchedDto.getStatus())) {
+      if (isManualIssueToRelocate(unmatchedDto)) {
         relocateManualIssue(unmatched, unmatchedDto, sourceHashHolder);
       }
       updateUnmatchedIssue(unmatched, false /* manual issues can be kept open */);
@@ -219,6 +230,10 @@ public class IssueTrackingDecorator implements Decorator {
     }
   }
 
+  static boolean isManualIssueToRelocate(IssueDto unmatchedDto) {
+    return StringUtils.isNotBlank(unmatchedDto.getReporter()) && !Issue.STATUS_CLOSED.equals(unmatchedDto.getStatus());
+  }
+
   private void addIssuesOnDeletedComponents(Collection<DefaultIssue> issues) {
     for (IssueDto deadDto : initialOpenIssues.selectAllIssues()) {
       DefaultIssue dead = deadDto.toDefaultIssue();
@@ -0,0 +1,289 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.issue.tracking;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Matches the lines of two versions of a file, based on their hashes.
+ * <p/>
+ * As in patience diff, the lines which are unique in both versions are matched first, so that blocks of common
+ * lines like closing braces are not aligned with the wrong method. Then the common lines between these anchors
+ * are matched with the linear space variant of the Myers algorithm (see "An O(ND) Difference Algorithm and Its Variations",
+ * E. Myers, 1986), so time is O((N+M)D) where D is the number of inserted and deleted lines.
+ */
+public final class LinesDiff {
+
+  private final int[] a;
+  private final int[] b;
+
+  /**
+   * Index of the matching line in b for each line of a, or -1 if the line of a has been deleted
+   */
+  private final int[] matches;
+
+  /**
+   * Index of the line in b at the same position in the block of modified lines, for each removed or modified line of a
+   */
+  private final int[] replacements;
+
+  private final int[] forward;
+  private final int[] backward;
+
+  private LinesDiff(int[] a, int[] b) {
+    this.a = a;
+    this.b = b;
+    this.matches = new int[a.length];
+    Arrays.fill(matches, -1);
+    this.replacements = new int[a.length];
+    int size = 2 * ((a.length + b.length + 1) / 2) + 3;
+    this.forward = new int[size];
+    this.backward = new int[size];
+  }
+
+  /**
+   * @param reference the previous version of lines
+   * @param source the current version of lines
+   */
+  public static LinesDiff compute(FileHashes reference, FileHashes source) {
+    Map<String, Integer> ids = new HashMap<>();
+    LinesDiff diff = new LinesDiff(toIds(reference, ids), toIds(source, ids));
+    diff.diffBetweenUniqueLines(ids.size());
+    diff.computeReplacements();
+    return diff;
+  }
+
+  private static int[] toIds(FileHashes hashes, Map<String, Integer> ids) {
+    int[] result = new int[hashes.length()];
+    for (int i = 0; i < result.length; i++) {
+      String hash = hashes.getHash(i + 1);
+      Integer id = ids.get(hash);
+      if (id == null) {
+        id = ids.size();
+        ids.put(hash, id);
+      }
+      result[i] = id;
+    }
+    return result;
+  }
+
+  /**
+   * @param referenceLine number of line in reference (numbering starts from 1)
+   * @return the number of the same line in source, or 0 if the line has been removed or modified
+   */
+  public int matchingLine(int referenceLine) {
+    return matches[referenceLine - 1] + 1;
+  }
+
+  /**
+   * Gives the line of source which is at the same position than the given removed or modified line of reference,
+   * within the block of lines which differ between the two versions.
+   *
+   * @param referenceLine number of line in reference (numbering starts from 1)
+   * @return the number of the line in source, or 0 if the line is not modified or if the block of source is shorter
+   */
+  public int replacingLine(int referenceLine) {
+    return replacements[referenceLine - 1] + 1;
+  }
+
+  private void computeReplacements() {
+    int[] nextB = new int[a.length];
+    int next = b.length;
+    for (int i = a.length - 1; i >= 0; i--) {
+      nextB[i] = next;
+      if (matches[i] >= 0) {
+        next = matches[i];
+      }
+    }
+    int previousA = -1;
+    int previousB = -1;
+    for (int i = 0; i < a.length; i++) {
+      if (matches[i] >= 0) {
+        previousA = i;
+        previousB = matches[i];
+        replacements[i] = -1;
+      } else {
+        int candidate = previousB + i - previousA;
+        replacements[i] = candidate < nextB[i] ? candidate : -1;
+      }
+    }
+  }
+
+  /**
+   * Anchors the longest increasing sequence of lines which occur once in each version, then
+   * diffs the blocks between anchors.
+   */
+  private void diffBetweenUniqueLines(int nbOfIds) {
+    int[] countA = new int[nbOfIds];
+    int[] countB = new int[nbOfIds];
+    int[] positionB = new int[nbOfIds];
+    for (int id : a) {
+      countA[id]++;
+    }
+    for (int i = 0; i < b.length; i++) {
+      countB[b[i]]++;
+      positionB[b[i]] = i;
+    }
+
+    // patience sorting of the positions in b of the unique lines, taken in the order of a
+    int[] uniqueA = new int[a.length];
+    int[] tails = new int[a.length];
+    int[] previous = new int[a.length];
+    int nbOfUniques = 0;
+    int length = 0;
+    for (int i = 0; i < a.length; i++) {
+      if (countA[a[i]] == 1 && countB[a[i]] == 1) {
+        int position = positionB[a[i]];
+        int low = 0;
+        int high = length;
+        while (low < high) {
+          int middle = (low + high) >>> 1;
+          if (positionB[a[uniqueA[tails[middle]]]] < position) {
+            low = middle + 1;
+          } else {
+            high = middle;
+          }
+        }
+        uniqueA[nbOfUniques] = i;
+        previous[nbOfUniques] = low > 0 ? tails[low - 1] : -1;
+        tails[low] = nbOfUniques;
+        nbOfUniques++;
+        if (low == length) {
+          length++;
+        }
+      }
+    }
+
+    int[] anchors = new int[length];
+    for (int index = length > 0 ? tails[length - 1] : -1, j = length - 1; index >= 0; index = previous[index], j--) {
+      anchors[j] = uniqueA[index];
+    }
+
+    int aStart = 0;
+    int bStart = 0;
+    for (int anchor : anchors) {
+      int anchorB = positionB[a[anchor]];
+      diff(aStart, anchor, bStart, anchorB);
+      matches[anchor] = anchorB;
+      aStart = anchor + 1;
+      bStart = anchorB + 1;
+    }
+    diff(aStart, a.length, bStart, b.length);
+  }
+
+  /**
+   * Matches the lines of a[aStart, aEnd) with the lines of b[bStart, bEnd)
+   */
+  private void diff(int aStart, int aEnd, int bStart, int bEnd) {
+    int aLow = aStart;
+    int bLow = bStart;
+    int aHigh = aEnd;
+    int bHigh = bEnd;
+    // common prefix and suffix
+    while (aLow < aHigh && bLow < bHigh && a[aLow] == b[bLow]) {
+      matches[aLow] = bLow;
+      aLow++;
+      bLow++;
+    }
+    while (aLow < aHigh && bLow < bHigh && a[aHigh - 1] == b[bHigh - 1]) {
+      aHigh--;
+      bHigh--;
+      matches[aHigh] = bHigh;
+    }
+    if (aLow == aHigh || bLow == bHigh) {
+      // only insertions or only deletions
+      return;
+    }
+
+    int[] snake = middleSnake(aLow, aHigh, bLow, bHigh);
+    for (int x = snake[0], y = snake[1]; x < snake[2]; x++, y++) {
+      matches[x] = y;
+    }
+    diff(aLow, snake[0], bLow, snake[1]);
+    diff(snake[2], aHigh, snake[3], bHigh);
+  }
+
+  /**
+   * Finds the middle snake of an optimal edit script, by running the greedy algorithm simultaneously forward
+   * from the start and backward from the end, until the two paths overlap.
+   *
+   * @return start and end points of the snake, as {startA, startB, endA, endB}
+   */
+  private int[] middleSnake(int aStart, int aEnd, int bStart, int bEnd) {
+    int n = aEnd - aStart;
+    int m = bEnd - bStart;
+    int delta = n - m;
+    boolean odd = (delta & 1) != 0;
+    int maxD = (n + m + 1) / 2;
+    // diagonal k is stored at index k + offset
+    int offset = maxD + 1;
+    forward[offset + 1] = 0;
+    backward[offset + 1] = 0;
+
+    for (int d = 0; d <= maxD; d++) {
+      // forward paths, in coordinates relative to (aStart, bStart)
+      for (int k = -d; k <= d; k += 2) {
+        int x;
+        if (k == -d || (k != d && forward[offset + k - 1] < forward[offset + k + 1])) {
+          x = forward[offset + k + 1];
+        } else {
+          x = forward[offset + k - 1] + 1;
+        }
+        int y = x - k;
+        int startX = x;
+        int startY = y;
+        while (x < n && y < m && a[aStart + x] == b[bStart + y]) {
+          x++;
+          y++;
+        }
+        forward[offset + k] = x;
+        int reverseK = delta - k;
+        if (odd && reverseK >= -(d - 1) && reverseK <= d - 1 && x + backward[offset + reverseK] >= n) {
+          return new int[] {aStart + startX, bStart + startY, aStart + x, bStart + y};
+        }
+      }
+
+      // backward paths, in coordinates relative to (aEnd, bEnd) and going towards (aStart, bStart)
+      for (int k = -d; k <= d; k += 2) {
+        int x;
+        if (k == -d || (k != d && backward[offset + k - 1] < backward[offset + k + 1])) {
+          x = backward[offset + k + 1];
+        } else {
+          x = backward[offset + k - 1] + 1;
+        }
+        int y = x - k;
+        int startX = x;
+        int startY = y;
+        while (x < n && y < m && a[aEnd - 1 - x] == b[bEnd - 1 - y]) {
+          x++;
+          y++;
+        }
+        backward[offset + k] = x;
+        int forwardK = delta - k;
+        if (!odd && forwardK >= -d && forwardK <= d && x + forward[offset + forwardK] >= n) {
+          return new int[] {aEnd - x, bEnd - y, aEnd - startX, bEnd - startY};
+        }
+      }
+    }
+    throw new IllegalStateException("Middle snake not found");
+  }
+}
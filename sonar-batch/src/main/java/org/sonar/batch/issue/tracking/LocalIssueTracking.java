@@ -20,14 +20,20 @@
 package org.sonar.batch.issue.tracking;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.SetMultimap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.BatchComponent;
 import org.sonar.api.batch.AnalysisMode;
+import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.internal.DefaultInputFile;
 import org.sonar.api.batch.rule.ActiveRule;
 import org.sonar.api.batch.rule.ActiveRules;
+import org.sonar.api.config.Settings;
 import org.sonar.api.issue.Issue;
 import org.sonar.api.issue.internal.DefaultIssue;
 import org.sonar.api.issue.internal.IssueChangeContext;
@@ -35,26 +41,42 @@ import org.sonar.api.resources.Project;
 import org.sonar.api.resources.ResourceUtils;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.batch.index.BatchResource;
+import org.sonar.batch.index.Caches;
 import org.sonar.batch.index.ResourceCache;
 import org.sonar.batch.issue.IssueCache;
 import org.sonar.batch.protocol.input.ProjectRepositories;
 import org.sonar.batch.scan.filesystem.InputPathCache;
+import org.sonar.batch.util.OrderedExecutor;
 import org.sonar.core.component.ComponentKeys;
 import org.sonar.core.issue.IssueUpdater;
 import org.sonar.core.issue.workflow.IssueWorkflow;
 
 import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
 
 public class LocalIssueTracking implements BatchComponent {
 
   private static final Logger LOG = LoggerFactory.getLogger(LocalIssueTracking.class);
 
+  static final String THREADS_PROPERTY = "sonar.issuesTracking.threads";
+
+  /**
+   * Line hashes of a module are prefetched only if at least this number of its files changed, and at least this
+   * ratio of its files. Otherwise requesting the line hashes of the changed files one by one is cheaper than
+   * downloading the line hashes of all the files of the module.
+   */
+  static final int PREFETCH_MIN_CHANGED_FILES = 20;
+  static final double PREFETCH_MIN_CHANGED_RATIO = 0.05;
+
   private final IssueCache issueCache;
   private final IssueTracking tracking;
+  private final Caches caches;
   private final ServerLineHashesLoader lastLineHashes;
   private final IssueWorkflow workflow;
   private final IssueUpdater updater;
@@ -65,11 +87,12 @@ public class LocalIssueTracking implements BatchComponent {
   private final ServerIssueRepository serverIssueRepository;
   private final ProjectRepositories projectRepositories;
   private final AnalysisMode analysisMode;
+  private final Settings settings;
 
   public LocalIssueTracking(ResourceCache resourceCache, IssueCache issueCache, IssueTracking tracking,
     ServerLineHashesLoader lastLineHashes, IssueWorkflow workflow, IssueUpdater updater,
     ActiveRules activeRules, InputPathCache inputPathCache, ServerIssueRepository serverIssueRepository,
-    ProjectRepositories projectRepositories, AnalysisMode analysisMode) {
+    ProjectRepositories projectRepositories, AnalysisMode analysisMode, Caches caches, Settings settings) {
     this.resourceCache = resourceCache;
     this.issueCache = issueCache;
     this.tracking = tracking;
@@ -80,6 +103,8 @@ public class LocalIssueTracking implements BatchComponent {
     this.serverIssueRepository = serverIssueRepository;
     this.projectRepositories = projectRepositories;
     this.analysisMode = analysisMode;
+    this.caches = caches;
+    this.settings = settings;
     this.changeContext = IssueChangeContext.createScan(((Project) resourceCache.getRoot().resource()).getAnalysisDate());
     this.activeRules = activeRules;
   }
@@ -91,14 +116,61 @@ public class LocalIssueTracking implements BatchComponent {
     }
 
     serverIssueRepository.load();
+    ServerLineHashesLoader lineHashesLoader = prefetchLineHashes();
+
+    // Components are tracked concurrently, but their issues are saved in the order of components, so that
+    // content of issue cache does not depend on scheduling of threads
+    try (OrderedExecutor<ComponentTracking> executor = new OrderedExecutor<>(OrderedExecutor.threads(settings, THREADS_PROPERTY), new Saver())) {
+      for (BatchResource component : resourceCache.all()) {
+        ComponentTracking componentTracking = prepare(component, lineHashesLoader);
+        if (componentTracking != null) {
+          executor.submit(componentTracking);
+        }
+      }
+      executor.finish();
+    }
+  }
 
-    for (BatchResource component : resourceCache.all()) {
-      trackIssues(component);
+  /**
+   * Line hashes of changed files are loaded module by module, instead of file by file, in modules where
+   * enough files changed
+   */
+  private ServerLineHashesLoader prefetchLineHashes() {
+    Multiset<String> filesByModule = HashMultiset.create();
+    SetMultimap<String, String> changedFilesByModule = LinkedHashMultimap.create();
+    for (InputFile inputFile : inputPathCache.allFiles()) {
+      String moduleKey = ((DefaultInputFile) inputFile).moduleKey();
+      filesByModule.add(moduleKey);
+      if (inputFile.status() == InputFile.Status.CHANGED) {
+        changedFilesByModule.put(moduleKey, ((DefaultInputFile) inputFile).key());
+      }
     }
+    for (Iterator<String> it = changedFilesByModule.keySet().iterator(); it.hasNext();) {
+      String moduleKey = it.next();
+      int changedFiles = changedFilesByModule.get(moduleKey).size();
+      if (changedFiles < PREFETCH_MIN_CHANGED_FILES || changedFiles < filesByModule.count(moduleKey) * PREFETCH_MIN_CHANGED_RATIO) {
+        it.remove();
+      }
+    }
+    PrefetchedLineHashesLoader prefetchedLineHashes = new PrefetchedLineHashesLoader(lastLineHashes, caches);
+    prefetchedLineHashes.prefetch(changedFilesByModule);
+    return prefetchedLineHashes;
   }
 
   public void trackIssues(BatchResource component) {
+    ComponentTracking componentTracking = prepare(component, lastLineHashes);
+    if (componentTracking != null) {
+      save(componentTracking.call());
+    }
+  }
 
+  /**
+   * Loads issues of the component from caches, and line hashes of its previous analysis. Missing line hashes
+   * are requested to server, so that worker threads never have to.
+   * @return null if issues of the component must not be tracked
+   */
+  @CheckForNull
+  private ComponentTracking prepare(BatchResource component, ServerLineHashesLoader lineHashesLoader) {
     Collection<DefaultIssue> issues = Lists.newArrayList();
     for (Issue issue : issueCache.byComponent(component.resource().getEffectiveKey())) {
       issues.add((DefaultIssue) issue);
@@ -108,22 +180,27 @@ public class LocalIssueTracking implements BatchComponent {
 
     if (analysisMode.isIncremental() && !component.isFile()) {
       // No need to report issues on project or directories in preview mode since it is likely to be wrong anyway
-      return;
+      return null;
     }
 
     // all the issues that are not closed in db before starting this module scan, including manual issues
     Collection<ServerIssue> serverIssues = loadServerIssues(component);
 
-    SourceHashHolder sourceHashHolder = loadSourceHashes(component);
+    SourceHashHolder sourceHashHolder = loadSourceHashes(component, lineHashesLoader);
 
-    IssueTrackingResult trackingResult = tracking.track(sourceHashHolder, serverIssues, issues);
-
-    // unmatched = issues that have been resolved + issues on disabled/removed rules + manual issues
-    addUnmatched(trackingResult.unmatched(), sourceHashHolder, issues);
+    return new ComponentTracking(component, issues, serverIssues, sourceHashHolder);
+  }
 
-    mergeMatched(trackingResult);
+  private class Saver implements OrderedExecutor.Consumer<ComponentTracking> {
+    @Override
+    public void consume(ComponentTracking componentTracking) {
+      save(componentTracking);
+    }
+  }
 
-    if (ResourceUtils.isRootProject(component.resource())) {
+  private void save(ComponentTracking componentTracking) {
+    Collection<DefaultIssue> issues = componentTracking.issues;
+    if (ResourceUtils.isRootProject(componentTracking.component.resource())) {
       // issues that relate to deleted components
       addIssuesOnDeletedComponents(issues);
     }
@@ -134,15 +211,45 @@ public class LocalIssueTracking implements BatchComponent {
     }
   }
 
+  /**
+   * Matching of the issues of a single component. Reference line hashes are already loaded, so it only
+   * reads the source file of the component.
+   */
+  private class ComponentTracking implements Callable<ComponentTracking> {
+    private final BatchResource component;
+    private final Collection<DefaultIssue> issues;
+    private final Collection<ServerIssue> serverIssues;
+    private final SourceHashHolder sourceHashHolder;
+
+    ComponentTracking(BatchResource component, Collection<DefaultIssue> issues, Collection<ServerIssue> serverIssues,
+      @Nullable SourceHashHolder sourceHashHolder) {
+      this.component = component;
+      this.issues = issues;
+      this.serverIssues = serverIssues;
+      this.sourceHashHolder = sourceHashHolder;
+    }
+
+    @Override
+    public ComponentTracking call() {
+      IssueTrackingResult trackingResult = tracking.track(sourceHashHolder, serverIssues, issues);
+
+      // unmatched = issues that have been resolved + issues on disabled/removed rules + manual issues
+      addUnmatched(trackingResult.unmatched(), sourceHashHolder, issues);
+
+      mergeMatched(trackingResult);
+      return this;
+    }
+  }
+
   @CheckForNull
-  private SourceHashHolder loadSourceHashes(BatchResource component) {
+  private SourceHashHolder loadSourceHashes(BatchResource component, ServerLineHashesLoader lineHashesLoader) {
     SourceHashHolder sourceHashHolder = null;
     if (component.isFile()) {
       DefaultInputFile file = (DefaultInputFile) inputPathCache.getInputPath(component);
       if (file == null) {
         throw new IllegalStateException("Resource " + component.resource() + " was not found in InputPath cache");
       }
-      sourceHashHolder = new SourceHashHolder((DefaultInputFile) file, lastLineHashes);
+      sourceHashHolder = new SourceHashHolder((DefaultInputFile) file, lineHashesLoader).loadReference();
     }
     return sourceHashHolder;
   }
@@ -0,0 +1,210 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.issue.tracking;
+
+import com.google.common.collect.Lists;
+import org.sonar.api.BatchComponent;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.config.Settings;
+import org.sonar.api.issue.Issue;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.resources.Project;
+import org.sonar.batch.issue.IssueCache;
+import org.sonar.batch.scan.filesystem.InputPathCache;
+import org.sonar.batch.util.OrderedExecutor;
+
+import javax.annotation.CheckForNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Tracks the issues of the files of a module concurrently, after sensors and before decorators. Results are
+ * consumed by {@link IssueTrackingDecorator} when it decorates the files, so that the decorator tree walk
+ * does not load line hashes nor match issues file by file.
+ * <p/>
+ * Issues, issues of the previous analysis and line hashes of the previous analysis are read from caches and
+ * from server in the calling thread. Worker threads only read the source file and match issues.
+ *
+ * @since 5.1
+ */
+public class ModuleIssueTracking implements BatchComponent {
+
+  private final IssueCache issueCache;
+  private final InitialOpenIssuesStack initialOpenIssues;
+  private final IssueTracking tracking;
+  private final ServerLineHashesLoader lastLineHashes;
+  private final InputPathCache inputPathCache;
+  private final Project module;
+  private final Settings settings;
+  private final Map<String, FileTracking> trackingsByComponentKey = new HashMap<>();
+
+  public ModuleIssueTracking(IssueCache issueCache, InitialOpenIssuesStack initialOpenIssues, IssueTracking tracking,
+    ServerLineHashesLoader lastLineHashes, InputPathCache inputPathCache, Project module, Settings settings) {
+    this.issueCache = issueCache;
+    this.initialOpenIssues = initialOpenIssues;
+    this.tracking = tracking;
+    this.lastLineHashes = lastLineHashes;
+    this.inputPathCache = inputPathCache;
+    this.module = module;
+    this.settings = settings;
+  }
+
+  public void execute() {
+    trackingsByComponentKey.clear();
+    int threads = OrderedExecutor.threads(settings, LocalIssueTracking.THREADS_PROPERTY);
+    try (OrderedExecutor<FileTracking> executor = new OrderedExecutor<>(threads, new Collector())) {
+      for (InputFile inputFile : inputPathCache.filesByModule(module.getEffectiveKey())) {
+        FileTracking fileTracking = prepare((DefaultInputFile) inputFile);
+        if (fileTracking != null) {
+          executor.submit(fileTracking);
+        }
+      }
+      executor.finish();
+    }
+  }
+
+  /**
+   * @return null if the file has no issues to track
+   */
+  @CheckForNull
+  private FileTracking prepare(DefaultInputFile inputFile) {
+    List<DefaultIssue> issues = Lists.newArrayList();
+    for (Issue issue : issueCache.byComponent(inputFile.key())) {
+      issues.add((DefaultIssue) issue);
+    }
+    Collection<ServerIssue> serverIssues = initialOpenIssues.selectIssues(inputFile.key());
+    if (issues.isEmpty() && serverIssues.isEmpty()) {
+      return null;
+    }
+    SourceHashHolder sourceHashHolder = new SourceHashHolder(inputFile, lastLineHashes).loadReference();
+    return new FileTracking(inputFile.key(), issues, serverIssues, sourceHashHolder);
+  }
+
+  /**
+   * Removes the tracking of the given file. It is returned only if the issues of the file are still the ones
+   * that were tracked, as decorators executed on the file before {@link IssueTrackingDecorator} may have added
+   * or modified issues.
+   *
+   * @param issues issues of the file, as currently stored in {@link IssueCache}
+   * @return null if the file has not been tracked or if its issues changed
+   */
+  @CheckForNull
+  FileTracking take(String componentKey, Collection<DefaultIssue> issues) {
+    FileTracking fileTracking = trackingsByComponentKey.remove(componentKey);
+    if (fileTracking == null || !fileTracking.issueContents.equals(contents(issues))) {
+      return null;
+    }
+    return fileTracking;
+  }
+
+  /**
+   * Drops the trackings that have not been taken
+   */
+  void clear() {
+    trackingsByComponentKey.clear();
+  }
+
+  private static List<List<Object>> contents(Collection<DefaultIssue> issues) {
+    List<List<Object>> contents = Lists.newArrayListWithCapacity(issues.size());
+    for (DefaultIssue issue : issues) {
+      contents.add(content(issue));
+    }
+    return contents;
+  }
+
+  /**
+   * Fields of the issue that can be set by sensors and decorators
+   */
+  private static List<Object> content(DefaultIssue issue) {
+    return Arrays.asList(issue.key(), issue.componentKey(), issue.ruleKey(), issue.severity(), issue.manualSeverity(), issue.message(),
+      issue.line(), issue.effortToFix(), issue.debt(), issue.status(), issue.resolution(), issue.reporter(), issue.assignee(),
+      issue.checksum(), issue.authorLogin(), issue.actionPlanKey(), issue.isNew(), issue.isChanged(), issue.creationDate(),
+      issue.updateDate(), issue.closeDate(), issue.attributes(), issue.tags(),
+      issue.comments().size(), issue.changes().size());
+  }
+
+  private class Collector implements OrderedExecutor.Consumer<FileTracking> {
+    @Override
+    public void consume(FileTracking fileTracking) {
+      trackingsByComponentKey.put(fileTracking.componentKey, fileTracking);
+    }
+  }
+
+  /**
+   * Matching of the issues of a single file
+   */
+  class FileTracking implements Callable<FileTracking> {
+    private final String componentKey;
+    private final List<List<Object>> issueContents;
+    private final Collection<DefaultIssue> issues;
+    private final Collection<ServerIssue> serverIssues;
+    private SourceHashHolder sourceHashHolder;
+    private IssueTrackingResult result;
+
+    FileTracking(String componentKey, Collection<DefaultIssue> issues, Collection<ServerIssue> serverIssues, SourceHashHolder sourceHashHolder) {
+      this.componentKey = componentKey;
+      this.issueContents = contents(issues);
+      this.issues = issues;
+      this.serverIssues = serverIssues;
+      this.sourceHashHolder = sourceHashHolder;
+    }
+
+    @Override
+    public FileTracking call() {
+      result = tracking.track(sourceHashHolder, serverIssues, issues);
+      if (!hasManualIssueToRelocate(result)) {
+        // hashes are kept in memory until the file is decorated only if they are needed
+        sourceHashHolder = null;
+      }
+      return this;
+    }
+
+    /**
+     * Issues of the file, with checksums set by tracking
+     */
+    Collection<DefaultIssue> issues() {
+      return issues;
+    }
+
+    @CheckForNull
+    SourceHashHolder sourceHashHolder() {
+      return sourceHashHolder;
+    }
+
+    IssueTrackingResult result() {
+      return result;
+    }
+  }
+
+  private static boolean hasManualIssueToRelocate(IssueTrackingResult result) {
+    for (ServerIssue unmatched : result.unmatched()) {
+      if (IssueTrackingDecorator.isManualIssueToRelocate(((ServerIssueFromDb) unmatched).getDto())) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
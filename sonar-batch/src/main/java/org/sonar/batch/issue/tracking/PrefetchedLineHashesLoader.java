@@ -0,0 +1,133 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.issue.tracking;
+
+import com.google.common.base.Function;
+import com.google.common.base.Throwables;
+import com.google.common.collect.SetMultimap;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.api.utils.log.Profiler;
+import org.sonar.batch.index.Cache;
+import org.sonar.batch.index.Caches;
+import org.sonar.batch.protocol.input.BatchInput.FileLineHashes;
+
+import javax.annotation.CheckForNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads the line hashes of whole modules concurrently, one request per module, and keeps the ones of the
+ * given files in {@link Caches}. Line hashes of the files that are not prefetched are loaded by the underlying loader.
+ *
+ * @since 5.1
+ */
+class PrefetchedLineHashesLoader implements ServerLineHashesLoader {
+
+  private static final Logger LOG = Loggers.get(PrefetchedLineHashesLoader.class);
+
+  static final int MAX_THREADS = 4;
+
+  private final ServerLineHashesLoader loader;
+  private final Cache<String[]> cache;
+
+  PrefetchedLineHashesLoader(ServerLineHashesLoader loader, Caches caches) {
+    this.loader = loader;
+    this.cache = caches.createConcurrentCache("serverLineHashes");
+  }
+
+  /**
+   * @param fileKeysByModule keys of the files to keep, by key of module
+   */
+  void prefetch(SetMultimap<String, String> fileKeysByModule) {
+    Set<String> moduleKeys = fileKeysByModule.keySet();
+    if (moduleKeys.isEmpty()) {
+      return;
+    }
+    Profiler profiler = Profiler.create(LOG).startInfo("Load line hashes of " + moduleKeys.size() + " module(s)");
+    ExecutorService executorService = Executors.newFixedThreadPool(Math.min(MAX_THREADS, moduleKeys.size()));
+    try {
+      List<Future<?>> tasks = new ArrayList<>();
+      for (String moduleKey : moduleKeys) {
+        tasks.add(executorService.submit(new PrefetchTask(moduleKey, fileKeysByModule.get(moduleKey))));
+      }
+      for (Future<?> task : tasks) {
+        task.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while loading line hashes", e);
+    } catch (ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    } finally {
+      executorService.shutdownNow();
+    }
+    profiler.stopInfo();
+  }
+
+  @Override
+  @CheckForNull
+  public String[] getLineHashes(String fileKey) {
+    String[] lineHashes = cache.get(fileKey);
+    if (lineHashes != null) {
+      return lineHashes;
+    }
+    return loader.getLineHashes(fileKey);
+  }
+
+  @Override
+  public void loadLineHashesOfModule(String moduleKey, Function<FileLineHashes, Void> consumer) {
+    loader.loadLineHashesOfModule(moduleKey, consumer);
+  }
+
+  private class PrefetchTask implements Runnable, Function<FileLineHashes, Void> {
+    private final String moduleKey;
+    private final Set<String> fileKeys;
+
+    PrefetchTask(String moduleKey, Set<String> fileKeys) {
+      this.moduleKey = moduleKey;
+      this.fileKeys = fileKeys;
+    }
+
+    @Override
+    public void run() {
+      try {
+        loader.loadLineHashesOfModule(moduleKey, this);
+      } finally {
+        cache.releaseThreadResources();
+      }
+    }
+
+    @Override
+    public Void apply(FileLineHashes input) {
+      if (fileKeys.contains(input.getFileKey())) {
+        List<String> lineHashes = input.getLineHashList();
+        cache.put(input.getFileKey(), lineHashes.toArray(new String[lineHashes.size()]));
+      }
+      return null;
+    }
+  }
+}
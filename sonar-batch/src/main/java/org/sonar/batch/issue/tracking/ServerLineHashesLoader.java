@@ -19,9 +19,16 @@
  */
 package org.sonar.batch.issue.tracking;
 
+import com.google.common.base.Function;
 import org.sonar.api.BatchComponent;
+import org.sonar.batch.protocol.input.BatchInput.FileLineHashes;
 
 public interface ServerLineHashesLoader extends BatchComponent {
 
   String[] getLineHashes(String fileKey);
+
+  /**
+   * Line hashes of all the files of a module, excluding its sub-modules, loaded by a single request
+   */
+  void loadLineHashesOfModule(String moduleKey, Function<FileLineHashes, Void> consumer);
 }
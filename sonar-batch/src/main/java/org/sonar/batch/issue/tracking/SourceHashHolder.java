@@ -31,8 +31,11 @@ public class SourceHashHolder {
 
   private final ServerLineHashesLoader lastSnapshots;
 
+  private String[] referenceLineHashes;
   private FileHashes hashedReference;
   private FileHashes hashedSource;
+  private boolean referenceLoaded;
+  private Status status;
   private DefaultInputFile inputFile;
 
   public SourceHashHolder(DefaultInputFile inputFile, ServerLineHashesLoader lastSnapshots) {
@@ -40,17 +43,31 @@ public class SourceHashHolder {
     this.lastSnapshots = lastSnapshots;
   }
 
+  /**
+   * Loads the line hashes of the previous analysis, if file is changed. This is the only access to
+   * the loader and to the input file metadata, so once it is done in the thread of the module scan,
+   * hashes can be computed in another thread.
+   */
+  public SourceHashHolder loadReference() {
+    if (!referenceLoaded) {
+      status = inputFile.status();
+      if (status != Status.ADDED && status != Status.SAME) {
+        referenceLineHashes = lastSnapshots.getLineHashes(inputFile.key());
+      }
+      referenceLoaded = true;
+    }
+    return this;
+  }
+
   private void initHashes() {
     if (hashedSource == null) {
+      loadReference();
       hashedSource = FileHashes.create(inputFile);
-      Status status = inputFile.status();
-      if (status == Status.ADDED) {
-        hashedReference = null;
-      } else if (status == Status.SAME) {
+      if (status == Status.SAME) {
         hashedReference = hashedSource;
-      } else {
-        String[] lineHashes = lastSnapshots.getLineHashes(inputFile.key());
-        hashedReference = lineHashes != null ? FileHashes.create(lineHashes) : null;
+      } else if (referenceLineHashes != null) {
+        hashedReference = FileHashes.create(referenceLineHashes);
+        referenceLineHashes = null;
       }
     }
   }
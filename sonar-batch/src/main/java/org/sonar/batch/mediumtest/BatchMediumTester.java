@@ -35,7 +35,9 @@ import org.sonar.batch.bootstrapper.Batch;
 import org.sonar.batch.bootstrapper.EnvironmentInformation;
 import org.sonar.batch.issue.tracking.ServerLineHashesLoader;
 import org.sonar.batch.protocol.input.*;
+import org.sonar.batch.protocol.input.BatchInput.FileLineHashes;
 import org.sonar.batch.protocol.input.BatchInput.ServerIssue;
+import org.sonar.batch.repository.FileDataCache;
 import org.sonar.batch.repository.GlobalRepositoriesLoader;
 import org.sonar.batch.repository.ProjectRepositoriesLoader;
 import org.sonar.batch.repository.ServerIssuesLoader;
@@ -248,9 +250,15 @@ public class BatchMediumTester {
   private static class FakeProjectRepositoriesLoader implements ProjectRepositoriesLoader {
 
     private ProjectRepositories ref = new ProjectRepositories();
+    private Map<String, Map<String, FileData>> fileDataByModuleAndPath = new HashMap<String, Map<String, FileData>>();
 
     @Override
-    public ProjectRepositories load(ProjectReactor reactor, TaskProperties taskProperties) {
+    public ProjectRepositories load(ProjectReactor reactor, TaskProperties taskProperties, FileDataCache fileDataCache) {
+      for (Map.Entry<String, Map<String, FileData>> fileDataByPath : fileDataByModuleAndPath.entrySet()) {
+        for (Map.Entry<String, FileData> fileData : fileDataByPath.getValue().entrySet()) {
+          fileDataCache.put(fileDataByPath.getKey(), fileData.getKey(), fileData.getValue());
+        }
+      }
       return ref;
     }
 
@@ -265,7 +273,10 @@ public class BatchMediumTester {
     }
 
     public FakeProjectRepositoriesLoader addFileData(String moduleKey, String path, FileData fileData) {
-      ref.addFileData(moduleKey, path, fileData);
+      if (!fileDataByModuleAndPath.containsKey(moduleKey)) {
+        fileDataByModuleAndPath.put(moduleKey, new HashMap<String, FileData>());
+      }
+      fileDataByModuleAndPath.get(moduleKey).put(path, fileData);
       return this;
     }
 
@@ -337,6 +348,15 @@ public class BatchMediumTester {
         throw new IllegalStateException("You forgot to mock line hashes for " + fileKey);
       }
     }
+
+    @Override
+    public void loadLineHashesOfModule(String moduleKey, Function<FileLineHashes, Void> consumer) {
+      for (Map.Entry<String, String[]> entry : byKey.entrySet()) {
+        if (entry.getKey().startsWith(moduleKey + ":")) {
+          consumer.apply(FileLineHashes.newBuilder().setFileKey(entry.getKey()).addAllLineHash(Arrays.asList(entry.getValue())).build());
+        }
+      }
+    }
   }
 
 }
@@ -31,6 +31,7 @@ import org.sonar.batch.index.DefaultIndex;
 import org.sonar.batch.index.ResourcePersister;
 import org.sonar.batch.index.ScanPersister;
 import org.sonar.batch.issue.ignore.scanner.IssueExclusionsLoader;
+import org.sonar.batch.issue.tracking.ModuleIssueTracking;
 import org.sonar.batch.report.PublishReportJob;
 import org.sonar.batch.rule.QProfileVerifier;
 import org.sonar.batch.scan.filesystem.DefaultModuleFileSystem;
@@ -66,13 +67,15 @@ public final class DatabaseModePhaseExecutor implements PhaseExecutor {
   private final DefaultAnalysisMode analysisMode;
   private final DatabaseSession session;
   private final ResourcePersister resourcePersister;
+  private final ModuleIssueTracking moduleIssueTracking;
 
   public DatabaseModePhaseExecutor(Phases phases, DecoratorsExecutor decoratorsExecutor,
     InitializersExecutor initializersExecutor, PostJobsExecutor postJobsExecutor, SensorsExecutor sensorsExecutor,
     SensorContext sensorContext, DefaultIndex index,
     EventBus eventBus, PublishReportJob publishReportJob, ProjectInitializer pi,
     ScanPersister[] persisters, FileSystemLogger fsLogger, IssuesReports jsonReport, DefaultModuleFileSystem fs, QProfileVerifier profileVerifier,
-    IssueExclusionsLoader issueExclusionsLoader, DefaultAnalysisMode analysisMode, DatabaseSession session, ResourcePersister resourcePersister) {
+    IssueExclusionsLoader issueExclusionsLoader, DefaultAnalysisMode analysisMode, DatabaseSession session, ResourcePersister resourcePersister,
+    ModuleIssueTracking moduleIssueTracking) {
     this.phases = phases;
     this.decoratorsExecutor = decoratorsExecutor;
     this.postJobsExecutor = postJobsExecutor;
@@ -92,6 +95,7 @@ public final class DatabaseModePhaseExecutor implements PhaseExecutor {
     this.analysisMode = analysisMode;
     this.session = session;
     this.resourcePersister = resourcePersister;
+    this.moduleIssueTracking = moduleIssueTracking;
   }
 
   /**
@@ -124,6 +128,7 @@ public final class DatabaseModePhaseExecutor implements PhaseExecutor {
     resourcePersister.persist();
 
     if (phases.isEnabled(Phases.Phase.DECORATOR)) {
+      trackIssues();
       decoratorsExecutor.execute();
     }
 
@@ -147,6 +152,13 @@ public final class DatabaseModePhaseExecutor implements PhaseExecutor {
     eventBus.fireEvent(new BatchStepEvent(stepName, false));
   }
 
+  private void trackIssues() {
+    String stepName = "Issue tracking";
+    eventBus.fireEvent(new BatchStepEvent(stepName, true));
+    moduleIssueTracking.execute();
+    eventBus.fireEvent(new BatchStepEvent(stepName, false));
+  }
+
   private void indexFs() {
     String stepName = "Index filesystem and store sources";
     eventBus.fireEvent(new BatchStepEvent(stepName, true));
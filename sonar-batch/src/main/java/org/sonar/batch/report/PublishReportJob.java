@@ -84,7 +84,8 @@ public class PublishReportJob implements BatchComponent {
     try {
       long startTime = System.currentTimeMillis();
       File reportDir = temp.newDir("batch-report");
-      BatchReportWriter writer = new BatchReportWriter(reportDir);
+      // one container file per domain instead of one file per component
+      BatchReportWriter writer = new BatchReportWriter(reportDir, true);
       for (ReportPublisher publisher : publishers) {
         publisher.publish(writer);
       }
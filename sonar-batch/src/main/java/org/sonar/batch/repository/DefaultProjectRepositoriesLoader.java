@@ -19,15 +19,28 @@
  */
 package org.sonar.batch.repository;
 
+import com.google.common.io.InputSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.batch.bootstrap.ProjectReactor;
+import org.sonar.api.utils.HttpDownloader;
 import org.sonar.batch.bootstrap.DefaultAnalysisMode;
 import org.sonar.batch.bootstrap.ServerClient;
 import org.sonar.batch.bootstrap.TaskProperties;
+import org.sonar.batch.protocol.input.ActiveRule;
+import org.sonar.batch.protocol.input.BatchInput.ProjectRepositoryItem;
+import org.sonar.batch.protocol.input.FileData;
 import org.sonar.batch.protocol.input.ProjectRepositories;
+import org.sonar.batch.protocol.input.QProfile;
 import org.sonar.batch.rule.ModuleQProfiles;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Date;
+import java.util.Map;
+
+import static com.google.common.collect.Maps.newHashMap;
+
 public class DefaultProjectRepositoriesLoader implements ProjectRepositoriesLoader {
 
   private static final Logger LOG = LoggerFactory.getLogger(DefaultProjectRepositoriesLoader.class);
@@ -43,7 +56,7 @@ public class DefaultProjectRepositoriesLoader implements ProjectRepositoriesLoad
   }
 
   @Override
-  public ProjectRepositories load(ProjectReactor reactor, TaskProperties taskProperties) {
+  public ProjectRepositories load(ProjectReactor reactor, TaskProperties taskProperties, FileDataCache fileDataCache) {
     String projectKey = reactor.getRoot().getKeyWithBranch();
     String url = BATCH_PROJECT_URL + "?key=" + ServerClient.encodeForUrl(projectKey);
     if (taskProperties.properties().containsKey(ModuleQProfiles.SONAR_PROFILE_PROP)) {
@@ -52,7 +65,71 @@ public class DefaultProjectRepositoriesLoader implements ProjectRepositoriesLoad
       url += "&profile=" + ServerClient.encodeForUrl(taskProperties.properties().get(ModuleQProfiles.SONAR_PROFILE_PROP));
     }
     url += "&preview=" + analysisMode.isPreview();
-    return ProjectRepositories.fromJson(serverClient.request(url));
+    url += "&format=protobuf";
+    return read(serverClient.doRequest(url, "GET", null), fileDataCache);
+  }
+
+  /**
+   * Items are added to the project repositories, or to the file data cache, as soon as they are parsed, so that
+   * the whole response is never kept in memory.
+   */
+  private ProjectRepositories read(InputSupplier<InputStream> request, FileDataCache fileDataCache) {
+    ProjectRepositories ref = new ProjectRepositories();
+    try (InputStream is = request.getInput()) {
+      ProjectRepositoryItem item = ProjectRepositoryItem.parseDelimitedFrom(is);
+      while (item != null) {
+        addItem(ref, fileDataCache, item);
+        item = ProjectRepositoryItem.parseDelimitedFrom(is);
+      }
+    } catch (HttpDownloader.HttpException e) {
+      throw serverClient.handleHttpException(e);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to load project repositories", e);
+    }
+    return ref;
+  }
+
+  private static void addItem(ProjectRepositories ref, FileDataCache fileDataCache, ProjectRepositoryItem item) {
+    if (item.hasLastAnalysisDate()) {
+      ref.setLastAnalysisDate(new Date(item.getLastAnalysisDate()));
+    }
+    if (item.hasModuleSettings()) {
+      ProjectRepositoryItem.ModuleSettings moduleSettings = item.getModuleSettings();
+      ref.addSettings(moduleSettings.getModuleKey(), toMap(moduleSettings.getPropertyList()));
+    }
+    if (item.hasQprofile()) {
+      ProjectRepositoryItem.QProfile qProfile = item.getQprofile();
+      ref.addQProfile(new QProfile(qProfile.getKey(), qProfile.getName(), qProfile.getLanguage(),
+        qProfile.hasRulesUpdatedAt() ? new Date(qProfile.getRulesUpdatedAt()) : null));
+    }
+    if (item.hasActiveRule()) {
+      ProjectRepositoryItem.ActiveRule activeRule = item.getActiveRule();
+      ActiveRule inputActiveRule = new ActiveRule(
+        activeRule.getRepositoryKey(),
+        activeRule.getRuleKey(),
+        activeRule.hasTemplateRuleKey() ? activeRule.getTemplateRuleKey() : null,
+        activeRule.hasName() ? activeRule.getName() : null,
+        activeRule.hasSeverity() ? activeRule.getSeverity() : null,
+        activeRule.hasInternalKey() ? activeRule.getInternalKey() : null,
+        activeRule.hasLanguage() ? activeRule.getLanguage() : null);
+      for (ProjectRepositoryItem.Property param : activeRule.getParamList()) {
+        inputActiveRule.addParam(param.getKey(), param.hasValue() ? param.getValue() : null);
+      }
+      ref.addActiveRule(inputActiveRule);
+    }
+    if (item.hasFileData()) {
+      ProjectRepositoryItem.FileData fileData = item.getFileData();
+      fileDataCache.put(fileData.getModuleKey(), fileData.getPath(),
+        new FileData(fileData.hasHash() ? fileData.getHash() : null, false, null, null, null));
+    }
+  }
+
+  private static Map<String, String> toMap(Iterable<ProjectRepositoryItem.Property> properties) {
+    Map<String, String> map = newHashMap();
+    for (ProjectRepositoryItem.Property property : properties) {
+      map.put(property.getKey(), property.hasValue() ? property.getValue() : null);
+    }
+    return map;
   }
 
 }
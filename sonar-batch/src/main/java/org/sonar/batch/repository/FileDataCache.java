@@ -0,0 +1,67 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.repository;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Iterables;
+import org.sonar.api.BatchComponent;
+import org.sonar.batch.index.Cache;
+import org.sonar.batch.index.Caches;
+import org.sonar.batch.protocol.input.FileData;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Data of the files of the previous analysis, by module and relative path. It is filled while the project
+ * repositories are read from the server, so that file hashes are never all kept on heap.
+ */
+public class FileDataCache implements BatchComponent {
+
+  private final Cache<FileData> cache;
+
+  public FileDataCache(Caches caches) {
+    caches.registerValueCoder(FileData.class, new FileDataValueCoder());
+    // status of files is detected by the threads of the file indexer
+    cache = caches.createConcurrentCache("fileData");
+  }
+
+  public FileDataCache put(String moduleKey, String path, FileData fileData) {
+    cache.put(moduleKey, path, fileData);
+    return this;
+  }
+
+  @CheckForNull
+  public FileData get(String moduleKey, String path) {
+    return cache.get(moduleKey, path);
+  }
+
+  /**
+   * Relative paths of the files of the given module
+   */
+  public Iterable<String> paths(String moduleKey) {
+    return Iterables.transform(cache.keySet(moduleKey), new Function<Object, String>() {
+      @Override
+      public String apply(Object input) {
+        return input.toString();
+      }
+    });
+  }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.repository;
+
+import com.persistit.Value;
+import com.persistit.encoding.CoderContext;
+import com.persistit.encoding.ValueCoder;
+import org.sonar.batch.protocol.input.FileData;
+
+class FileDataValueCoder implements ValueCoder {
+
+  @Override
+  public void put(Value value, Object object, CoderContext context) {
+    FileData fileData = (FileData) object;
+    value.putString(fileData.hash());
+    value.put(fileData.needBlame());
+    value.putString(fileData.scmLastCommitDatetimesByLine());
+    value.putString(fileData.scmRevisionsByLine());
+    value.putString(fileData.scmAuthorsByLine());
+  }
+
+  @Override
+  public Object get(Value value, Class clazz, CoderContext context) {
+    String hash = value.getString();
+    boolean needBlame = value.getBoolean();
+    String scmLastCommitDatetimesByLine = value.getString();
+    String scmRevisionsByLine = value.getString();
+    String scmAuthorsByLine = value.getString();
+    return new FileData(hash, needBlame, scmLastCommitDatetimesByLine, scmRevisionsByLine, scmAuthorsByLine);
+  }
+}
@@ -25,6 +25,9 @@ import org.sonar.batch.protocol.input.ProjectRepositories;
 
 public interface ProjectRepositoriesLoader {
 
-  ProjectRepositories load(ProjectReactor reactor, TaskProperties taskProperties);
+  /**
+   * Loads the project repositories. Data of files are put in the given cache instead of the returned object.
+   */
+  ProjectRepositories load(ProjectReactor reactor, TaskProperties taskProperties, FileDataCache fileDataCache);
 
 }
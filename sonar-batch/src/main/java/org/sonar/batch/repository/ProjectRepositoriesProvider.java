@@ -34,10 +34,11 @@ public class ProjectRepositoriesProvider extends ProviderAdapter {
 
   private ProjectRepositories projectReferentials;
 
-  public ProjectRepositories provide(ProjectRepositoriesLoader loader, ProjectReactor reactor, TaskProperties taskProps, AnalysisMode analysisMode) {
+  public ProjectRepositories provide(ProjectRepositoriesLoader loader, ProjectReactor reactor, TaskProperties taskProps, AnalysisMode analysisMode,
+    FileDataCache fileDataCache) {
     if (projectReferentials == null) {
       Profiler profiler = Profiler.create(LOG).startInfo("Load project repositories");
-      projectReferentials = loader.load(reactor, taskProps);
+      projectReferentials = loader.load(reactor, taskProps, fileDataCache);
       profiler.stopInfo();
       if (analysisMode.isPreview() && projectReferentials.lastAnalysisDate() == null) {
         LOG.warn("No analysis has been found on the server for this project. All issues will be marked as 'new'.");
@@ -42,7 +42,6 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import static org.sonar.api.utils.DateUtils.longToDate;
 
@@ -55,19 +54,20 @@ public class ProjectScmRepositoryLoader implements BatchComponent {
   private final DatabaseSession session;
   private final ProjectReactor reactor;
   private final ProjectRepositories ref;
+  private final FileDataCache fileDataCache;
 
-  public ProjectScmRepositoryLoader(DatabaseSession session, ProjectReactor reactor, ProjectRepositories ref) {
+  public ProjectScmRepositoryLoader(DatabaseSession session, ProjectReactor reactor, ProjectRepositories ref, FileDataCache fileDataCache) {
     this.session = session;
     this.reactor = reactor;
     this.ref = ref;
+    this.fileDataCache = fileDataCache;
   }
 
   public void complete() {
     for (ProjectDefinition module : reactor.getProjects()) {
 
-      for (Entry<String, FileData> fileDataByPaths : ref.fileDataByPath(module.getKeyWithBranch()).entrySet()) {
-        String path = fileDataByPaths.getKey();
-        FileData fileData = fileDataByPaths.getValue();
+      for (String path : fileDataCache.paths(module.getKeyWithBranch())) {
+        FileData fileData = fileDataCache.get(module.getKeyWithBranch(), path);
         String lastCommits = null;
         String revisions = null;
         String authors = null;
@@ -82,7 +82,7 @@ public class ProjectScmRepositoryLoader implements BatchComponent {
             authors = ((MeasureModel) measureByKey[1]).getData(CoreMetrics.SCM_AUTHORS_BY_LINE);
           }
         }
-        ref.addFileData(module.getKeyWithBranch(), path, new FileData(fileData.hash(), authors == null, lastCommits, revisions, authors));
+        fileDataCache.put(module.getKeyWithBranch(), path, new FileData(fileData.hash(), authors == null, lastCommits, revisions, authors));
       }
     }
     ref.setLastAnalysisDate(lastSnapshotCreationDate(reactor.getRoot().getKeyWithBranch()));
@@ -59,6 +59,7 @@ import org.sonar.batch.issue.ignore.scanner.IssueExclusionsRegexpScanner;
 import org.sonar.batch.issue.tracking.InitialOpenIssuesSensor;
 import org.sonar.batch.issue.tracking.IssueHandlers;
 import org.sonar.batch.issue.tracking.IssueTrackingDecorator;
+import org.sonar.batch.issue.tracking.ModuleIssueTracking;
 import org.sonar.batch.language.LanguageDistributionDecorator;
 import org.sonar.batch.phases.DatabaseLessPhaseExecutor;
 import org.sonar.batch.phases.DatabaseModePhaseExecutor;
@@ -229,6 +230,7 @@ public class ModuleScanContainer extends ComponentContainer {
       SqaleRatingSettings.class,
 
       // Issue tracking
+      ModuleIssueTracking.class,
       IssueTrackingDecorator.class,
       IssueHandlers.class,
       InitialOpenIssuesSensor.class,
@@ -50,12 +50,14 @@ import org.sonar.batch.issue.tracking.ServerIssueRepository;
 import org.sonar.batch.mediumtest.ScanTaskObservers;
 import org.sonar.batch.phases.GraphPersister;
 import org.sonar.batch.profiling.PhasesSumUpTimeProfiler;
+import org.sonar.batch.repository.FileDataCache;
 import org.sonar.batch.repository.ProjectRepositoriesProvider;
 import org.sonar.batch.repository.ProjectScmRepositoryLoader;
 import org.sonar.batch.repository.language.DefaultLanguagesRepository;
 import org.sonar.batch.rule.ActiveRulesProvider;
 import org.sonar.batch.rule.RulesProvider;
 import org.sonar.batch.scan.filesystem.InputPathCache;
+import org.sonar.batch.scan.measure.LineMeasureCache;
 import org.sonar.batch.scan.measure.MeasureCache;
 import org.sonar.batch.source.CodeColorizers;
 import org.sonar.batch.source.HighlightableBuilder;
@@ -121,6 +123,7 @@ public class ProjectScanContainer extends ComponentContainer {
   private void addBatchComponents() {
     add(
       new ProjectRepositoriesProvider(),
+      FileDataCache.class,
       DefaultResourceCreationLock.class,
       CodeColorizers.class,
       DefaultNotificationManager.class,
@@ -169,6 +172,7 @@ public class ProjectScanContainer extends ComponentContainer {
 
       // Measures
       MeasureCache.class,
+      LineMeasureCache.class,
 
       // Duplications
       DuplicationCache.class,
@@ -22,18 +22,18 @@ package org.sonar.batch.scan.filesystem;
 import org.apache.commons.lang.StringUtils;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.batch.protocol.input.FileData;
-import org.sonar.batch.protocol.input.ProjectRepositories;
+import org.sonar.batch.repository.FileDataCache;
 
 class StatusDetection {
 
-  private final ProjectRepositories projectReferentials;
+  private final FileDataCache fileDataCache;
 
-  StatusDetection(ProjectRepositories projectReferentials) {
-    this.projectReferentials = projectReferentials;
+  StatusDetection(FileDataCache fileDataCache) {
+    this.fileDataCache = fileDataCache;
   }
 
   InputFile.Status status(String projectKey, String relativePath, String hash) {
-    FileData fileDataPerPath = projectReferentials.fileData(projectKey, relativePath);
+    FileData fileDataPerPath = fileDataCache.get(projectKey, relativePath);
     if (fileDataPerPath == null) {
       return InputFile.Status.ADDED;
     }
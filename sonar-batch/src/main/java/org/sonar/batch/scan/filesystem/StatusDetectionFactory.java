@@ -20,17 +20,17 @@
 package org.sonar.batch.scan.filesystem;
 
 import org.sonar.api.BatchComponent;
-import org.sonar.batch.protocol.input.ProjectRepositories;
+import org.sonar.batch.repository.FileDataCache;
 
 public class StatusDetectionFactory implements BatchComponent {
 
-  private final ProjectRepositories projectReferentials;
+  private final FileDataCache fileDataCache;
 
-  public StatusDetectionFactory(ProjectRepositories projectReferentials) {
-    this.projectReferentials = projectReferentials;
+  public StatusDetectionFactory(FileDataCache fileDataCache) {
+    this.fileDataCache = fileDataCache;
   }
 
   StatusDetection create() {
-    return new StatusDetection(projectReferentials);
+    return new StatusDetection(fileDataCache);
   }
 }
@@ -0,0 +1,145 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.scan.measure;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.commons.lang.StringUtils;
+import org.sonar.api.BatchComponent;
+import org.sonar.api.measures.CoreMetrics;
+import org.sonar.api.utils.DateUtils;
+import org.sonar.api.utils.KeyValueFormat;
+import org.sonar.batch.index.Cache;
+import org.sonar.batch.index.Caches;
+
+import javax.annotation.CheckForNull;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache of the line-level measures of files (coverage and SCM data), stored as typed columns
+ * so that they don't have to be parsed from {@link KeyValueFormat} each time they are read. Measures
+ * are still stored as strings in {@link MeasureCache}. This cache is shared amongst all project modules.
+ *
+ * @since 5.1
+ */
+public class LineMeasureCache implements BatchComponent {
+
+  private static final Set<String> INT_METRICS = ImmutableSet.of(
+    CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY,
+    CoreMetrics.CONDITIONS_BY_LINE_KEY,
+    CoreMetrics.COVERED_CONDITIONS_BY_LINE_KEY,
+    CoreMetrics.IT_COVERAGE_LINE_HITS_DATA_KEY,
+    CoreMetrics.IT_CONDITIONS_BY_LINE_KEY,
+    CoreMetrics.IT_COVERED_CONDITIONS_BY_LINE_KEY,
+    CoreMetrics.OVERALL_COVERAGE_LINE_HITS_DATA_KEY,
+    CoreMetrics.OVERALL_CONDITIONS_BY_LINE_KEY,
+    CoreMetrics.OVERALL_COVERED_CONDITIONS_BY_LINE_KEY);
+
+  private static final Set<String> DATE_METRICS = ImmutableSet.of(
+    CoreMetrics.SCM_LAST_COMMIT_DATETIMES_BY_LINE_KEY);
+
+  private static final Set<String> STRING_METRICS = ImmutableSet.of(
+    CoreMetrics.SCM_AUTHORS_BY_LINE_KEY,
+    CoreMetrics.SCM_REVISIONS_BY_LINE_KEY);
+
+  private final Cache<LineMeasures> cache;
+
+  public LineMeasureCache(Caches caches) {
+    caches.registerValueCoder(LineMeasures.class, new LineMeasuresValueCoder());
+    cache = caches.createCache("lineMeasures");
+  }
+
+  public static boolean isLineMetric(String metricKey) {
+    return INT_METRICS.contains(metricKey) || DATE_METRICS.contains(metricKey) || STRING_METRICS.contains(metricKey);
+  }
+
+  public LineMeasureCache put(String fileKey, String metricKey, LineMeasures measures) {
+    cache.put(fileKey, metricKey, measures);
+    return this;
+  }
+
+  /**
+   * Stores a measure formatted with {@link KeyValueFormat}, for example "1=3;2=0".
+   */
+  public LineMeasureCache putData(String fileKey, String metricKey, String data) {
+    return put(fileKey, metricKey, parse(metricKey, data));
+  }
+
+  /**
+   * Parses a measure formatted with {@link KeyValueFormat}. Dates are converted to milliseconds.
+   */
+  public static LineMeasures parse(String metricKey, String data) {
+    Map<Integer, String> valuesByLine = KeyValueFormat.parseIntString(data);
+    int size = 0;
+    for (Integer line : valuesByLine.keySet()) {
+      size = Math.max(size, line);
+    }
+    if (INT_METRICS.contains(metricKey)) {
+      int[] values = newIntColumn(size);
+      for (Map.Entry<Integer, String> entry : valuesByLine.entrySet()) {
+        if (entry.getKey() > 0 && StringUtils.isNotEmpty(entry.getValue())) {
+          values[entry.getKey() - 1] = Integer.parseInt(entry.getValue());
+        }
+      }
+      return LineMeasures.ofInts(values);
+    }
+    if (DATE_METRICS.contains(metricKey)) {
+      long[] values = newLongColumn(size);
+      for (Map.Entry<Integer, String> entry : valuesByLine.entrySet()) {
+        Date date = DateUtils.parseDateTimeQuietly(entry.getValue());
+        if (entry.getKey() > 0 && date != null) {
+          values[entry.getKey() - 1] = date.getTime();
+        }
+      }
+      return LineMeasures.ofLongs(values);
+    }
+    String[] values = new String[size];
+    for (Map.Entry<Integer, String> entry : valuesByLine.entrySet()) {
+      if (entry.getKey() > 0) {
+        values[entry.getKey() - 1] = entry.getValue();
+      }
+    }
+    return LineMeasures.ofStrings(values);
+  }
+
+  public boolean contains(String fileKey, String metricKey) {
+    return cache.containsKey(fileKey, metricKey);
+  }
+
+  @CheckForNull
+  public LineMeasures get(String fileKey, String metricKey) {
+    return cache.get(fileKey, metricKey);
+  }
+
+  public static int[] newIntColumn(int lines) {
+    int[] values = new int[lines];
+    Arrays.fill(values, LineMeasures.NO_VALUE);
+    return values;
+  }
+
+  public static long[] newLongColumn(int lines) {
+    long[] values = new long[lines];
+    Arrays.fill(values, LineMeasures.NO_VALUE);
+    return values;
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.scan.measure;
+
+import javax.annotation.CheckForNull;
+
+import java.util.Arrays;
+
+/**
+ * Values of a metric on each line of a file. Values are stored in a typed column: index 0
+ * is line 1. Lines without value are {@link #NO_VALUE} in numeric columns and null in string columns.
+ *
+ * @since 5.1
+ */
+public class LineMeasures {
+
+  public static final int NO_VALUE = -1;
+
+  private final int[] ints;
+  private final long[] longs;
+  private final String[] strings;
+
+  private LineMeasures(int[] ints, long[] longs, String[] strings) {
+    this.ints = ints;
+    this.longs = longs;
+    this.strings = strings;
+  }
+
+  public static LineMeasures ofInts(int[] values) {
+    return new LineMeasures(values, null, null);
+  }
+
+  public static LineMeasures ofLongs(long[] values) {
+    return new LineMeasures(null, values, null);
+  }
+
+  public static LineMeasures ofStrings(String[] values) {
+    return new LineMeasures(null, null, values);
+  }
+
+  /**
+   * Number of lines in the column. It can be lower than the number of lines of the file
+   * when last lines have no value.
+   */
+  public int size() {
+    if (ints != null) {
+      return ints.length;
+    }
+    return longs != null ? longs.length : strings.length;
+  }
+
+  @CheckForNull
+  public int[] ints() {
+    return ints;
+  }
+
+  @CheckForNull
+  public long[] longs() {
+    return longs;
+  }
+
+  @CheckForNull
+  public String[] strings() {
+    return strings;
+  }
+
+  @Override
+  public String toString() {
+    if (ints != null) {
+      return Arrays.toString(ints);
+    }
+    return longs != null ? Arrays.toString(longs) : Arrays.toString(strings);
+  }
+}
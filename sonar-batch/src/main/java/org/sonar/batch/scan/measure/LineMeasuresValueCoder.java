@@ -0,0 +1,87 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.scan.measure;
+
+import com.persistit.Value;
+import com.persistit.encoding.CoderContext;
+import com.persistit.encoding.ValueCoder;
+
+class LineMeasuresValueCoder implements ValueCoder {
+
+  private static final int INTS = 0;
+  private static final int LONGS = 1;
+  private static final int STRINGS = 2;
+
+  @Override
+  public void put(Value value, Object object, CoderContext context) {
+    LineMeasures measures = (LineMeasures) object;
+    int[] ints = measures.ints();
+    long[] longs = measures.longs();
+    if (ints != null) {
+      value.put(INTS);
+      value.put(ints.length);
+      for (int i : ints) {
+        value.put(i);
+      }
+    } else if (longs != null) {
+      value.put(LONGS);
+      value.put(longs.length);
+      for (long l : longs) {
+        value.put(l);
+      }
+    } else {
+      String[] strings = measures.strings();
+      value.put(STRINGS);
+      value.put(strings.length);
+      for (String s : strings) {
+        if (s != null) {
+          value.putUTF(s);
+        } else {
+          value.putNull();
+        }
+      }
+    }
+  }
+
+  @Override
+  public Object get(Value value, Class clazz, CoderContext context) {
+    int type = value.getInt();
+    int size = value.getInt();
+    if (type == INTS) {
+      int[] ints = new int[size];
+      for (int i = 0; i < size; i++) {
+        ints[i] = value.getInt();
+      }
+      return LineMeasures.ofInts(ints);
+    }
+    if (type == LONGS) {
+      long[] longs = new long[size];
+      for (int i = 0; i < size; i++) {
+        longs[i] = value.getLong();
+      }
+      return LineMeasures.ofLongs(longs);
+    }
+    String[] strings = new String[size];
+    for (int i = 0; i < size; i++) {
+      strings[i] = value.isNull(true) ? null : value.getString();
+    }
+    return LineMeasures.ofStrings(strings);
+  }
+}
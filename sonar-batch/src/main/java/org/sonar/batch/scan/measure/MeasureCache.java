@@ -24,6 +24,7 @@ import org.sonar.api.BatchComponent;
 import org.sonar.api.batch.measure.MetricFinder;
 import org.sonar.api.measures.Measure;
 import org.sonar.api.measures.RuleMeasure;
+import org.sonar.api.resources.File;
 import org.sonar.api.resources.Resource;
 import org.sonar.api.technicaldebt.batch.Characteristic;
 import org.sonar.api.technicaldebt.batch.TechnicalDebtModel;
@@ -31,21 +32,27 @@ import org.sonar.batch.index.Cache;
 import org.sonar.batch.index.Cache.Entry;
 import org.sonar.batch.index.Caches;
 
+import javax.annotation.Nullable;
+
 /**
  * Cache of all measures. This cache is shared amongst all project modules.
+ * Line-level measures of files are also parsed into the typed columns of {@link LineMeasureCache}.
  */
 public class MeasureCache implements BatchComponent {
 
   private final Cache<Measure> cache;
+  private final LineMeasureCache lineMeasureCache;
 
-  public MeasureCache(Caches caches, MetricFinder metricFinder, TechnicalDebtModel techDebtModel) {
+  public MeasureCache(Caches caches, MetricFinder metricFinder, TechnicalDebtModel techDebtModel, LineMeasureCache lineMeasureCache) {
     caches.registerValueCoder(Measure.class, new MeasureValueCoder(metricFinder, techDebtModel));
     cache = caches.createCache("measures");
+    this.lineMeasureCache = lineMeasureCache;
   }
 
-  public MeasureCache(Caches caches, MetricFinder metricFinder) {
+  public MeasureCache(Caches caches, MetricFinder metricFinder, LineMeasureCache lineMeasureCache) {
     caches.registerValueCoder(Measure.class, new MeasureValueCoder(metricFinder, null));
     cache = caches.createCache("measures");
+    this.lineMeasureCache = lineMeasureCache;
   }
 
   public Iterable<Entry<Measure>> entries() {
@@ -71,10 +78,32 @@ public class MeasureCache implements BatchComponent {
   public MeasureCache put(Resource resource, Measure measure) {
     Preconditions.checkNotNull(resource.getEffectiveKey());
     Preconditions.checkNotNull(measure.getMetricKey());
-    cache.put(resource.getEffectiveKey(), measure.getMetricKey(), computeMeasureKey(measure), measure);
+    String measureKey = computeMeasureKey(measure);
+    if (isLineMeasure(resource, measure)) {
+      Measure previous = cache.get(resource.getEffectiveKey(), measure.getMetricKey(), measureKey);
+      putLineMeasure(resource, measure, previous);
+    }
+    cache.put(resource.getEffectiveKey(), measure.getMetricKey(), measureKey, measure);
     return this;
   }
 
+  private static boolean isLineMeasure(Resource resource, Measure measure) {
+    return measure.getData() != null && resource instanceof File && LineMeasureCache.isLineMetric(measure.getMetricKey());
+  }
+
+  /**
+   * Columns already written with the same data, for example by SCM blame just before saving its measures or when
+   * a decorator context stores again the measures of its resource, are not parsed again.
+   */
+  private void putLineMeasure(Resource resource, Measure measure, @Nullable Measure previous) {
+    String metricKey = measure.getMetricKey();
+    String data = measure.getData();
+    boolean sameData = previous == null || data.equals(previous.getData());
+    if (!sameData || !lineMeasureCache.contains(resource.getEffectiveKey(), metricKey)) {
+      lineMeasureCache.putData(resource.getEffectiveKey(), metricKey, data);
+    }
+  }
+
   public boolean contains(Resource resource, Measure measure) {
     Preconditions.checkNotNull(resource.getEffectiveKey());
     Preconditions.checkNotNull(measure.getMetricKey());
@@ -23,6 +23,7 @@ import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
 import org.sonar.api.batch.scm.BlameCommand.BlameOutput;
 import org.sonar.api.batch.scm.BlameLine;
 import org.sonar.api.batch.sensor.SensorContext;
@@ -30,6 +31,8 @@ import org.sonar.api.measures.CoreMetrics;
 import org.sonar.api.measures.Metric;
 import org.sonar.api.measures.PropertiesBuilder;
 import org.sonar.api.utils.DateUtils;
+import org.sonar.batch.scan.measure.LineMeasureCache;
+import org.sonar.batch.scan.measure.LineMeasures;
 import org.sonar.batch.util.ProgressReport;
 
 import javax.annotation.Nullable;
@@ -50,13 +53,15 @@ class DefaultBlameOutput implements BlameOutput {
   private static final Pattern ACCENT_CODES = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
 
   private final SensorContext context;
+  private final LineMeasureCache lineMeasureCache;
   private final Set<InputFile> allFilesToBlame = new HashSet<InputFile>();
   private ProgressReport progressReport;
   private int count;
   private int total;
 
-  DefaultBlameOutput(SensorContext context, List<InputFile> filesToBlame) {
+  DefaultBlameOutput(SensorContext context, LineMeasureCache lineMeasureCache, List<InputFile> filesToBlame) {
     this.context = context;
+    this.lineMeasureCache = lineMeasureCache;
     this.allFilesToBlame.addAll(filesToBlame);
     count = 0;
     total = filesToBlame.size();
@@ -79,14 +84,29 @@ class DefaultBlameOutput implements BlameOutput {
     PropertiesBuilder<Integer, String> dates = propertiesBuilder(CoreMetrics.SCM_LAST_COMMIT_DATETIMES_BY_LINE);
     PropertiesBuilder<Integer, String> revisions = propertiesBuilder(CoreMetrics.SCM_REVISIONS_BY_LINE);
 
+    // Typed columns are stored before measures, so that measures don't have to be parsed again
+    String[] authorColumn = new String[lines.size()];
+    long[] dateColumn = LineMeasureCache.newLongColumn(lines.size());
+    String[] revisionColumn = new String[lines.size()];
+
     int lineNumber = 1;
     for (BlameLine line : lines) {
-      authors.add(lineNumber, normalizeString(line.author()));
+      String author = normalizeString(line.author());
+      authors.add(lineNumber, author);
+      authorColumn[lineNumber - 1] = author;
       Date date = line.date();
       dates.add(lineNumber, date != null ? DateUtils.formatDateTime(date) : "");
+      if (date != null) {
+        dateColumn[lineNumber - 1] = date.getTime();
+      }
       revisions.add(lineNumber, line.revision());
+      revisionColumn[lineNumber - 1] = line.revision();
       lineNumber++;
     }
+    String fileKey = ((DefaultInputFile) file).key();
+    lineMeasureCache.put(fileKey, CoreMetrics.SCM_AUTHORS_BY_LINE_KEY, LineMeasures.ofStrings(authorColumn));
+    lineMeasureCache.put(fileKey, CoreMetrics.SCM_LAST_COMMIT_DATETIMES_BY_LINE_KEY, LineMeasures.ofLongs(dateColumn));
+    lineMeasureCache.put(fileKey, CoreMetrics.SCM_REVISIONS_BY_LINE_KEY, LineMeasures.ofStrings(revisionColumn));
     ScmSensor.saveMeasures(context, file, authors.buildData(), dates.buildData(), revisions.buildData());
     allFilesToBlame.remove(file);
     count++;
@@ -33,9 +33,10 @@ import org.sonar.api.batch.sensor.SensorDescriptor;
 import org.sonar.api.batch.sensor.measure.internal.DefaultMeasure;
 import org.sonar.api.measures.CoreMetrics;
 import org.sonar.batch.protocol.input.FileData;
-import org.sonar.batch.protocol.input.ProjectRepositories;
+import org.sonar.batch.repository.FileDataCache;
 import org.sonar.batch.scan.filesystem.InputFileMetadata;
 import org.sonar.batch.scan.filesystem.InputPathCache;
+import org.sonar.batch.scan.measure.LineMeasureCache;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -47,16 +48,18 @@ public final class ScmSensor implements Sensor {
   private final ProjectDefinition projectDefinition;
   private final ScmConfiguration configuration;
   private final FileSystem fs;
-  private final ProjectRepositories projectReferentials;
+  private final FileDataCache fileDataCache;
   private final InputPathCache inputPathCache;
+  private final LineMeasureCache lineMeasureCache;
 
   public ScmSensor(ProjectDefinition projectDefinition, ScmConfiguration configuration,
-    ProjectRepositories projectReferentials, FileSystem fs, InputPathCache inputPathCache) {
+    FileDataCache fileDataCache, FileSystem fs, InputPathCache inputPathCache, LineMeasureCache lineMeasureCache) {
     this.projectDefinition = projectDefinition;
     this.configuration = configuration;
-    this.projectReferentials = projectReferentials;
+    this.fileDataCache = fileDataCache;
     this.fs = fs;
     this.inputPathCache = inputPathCache;
+    this.lineMeasureCache = lineMeasureCache;
   }
 
   @Override
@@ -80,7 +83,7 @@ public final class ScmSensor implements Sensor {
     if (!filesToBlame.isEmpty()) {
       String key = configuration.provider().key();
       LOG.info("SCM provider for this project is: " + key);
-      DefaultBlameOutput output = new DefaultBlameOutput(context, filesToBlame);
+      DefaultBlameOutput output = new DefaultBlameOutput(context, lineMeasureCache, filesToBlame);
       configuration.provider().blameCommand().blame(new DefaultBlameInput(fs, filesToBlame), output);
       output.finish();
     }
@@ -102,7 +105,7 @@ public final class ScmSensor implements Sensor {
   }
 
   private void copyPreviousMeasuresForUnmodifiedFiles(final SensorContext context, List<InputFile> filesToBlame, InputFile f) {
-    FileData fileData = projectReferentials.fileData(projectDefinition.getKeyWithBranch(), f.relativePath());
+    FileData fileData = fileDataCache.get(projectDefinition.getKeyWithBranch(), f.relativePath());
 
     if (f.status() == Status.SAME && fileData != null) {
       if (fileData.needBlame()) {
@@ -38,6 +38,7 @@ import java.io.FileInputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.Charset;
+import java.security.CodeSource;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -67,6 +68,29 @@ public class CodeColorizers implements BatchComponent {
     this(Lists.<CodeColorizerFormat>newArrayList());
   }
 
+  /**
+   * Identifies the colorizer of a language, including the location of its classes. Plugins are loaded from
+   * a cache directory named by the hash of their jar, so the location changes when a plugin is upgraded.
+   * @return null if the language has no colorizer
+   */
+  @CheckForNull
+  public String fingerprint(String language) {
+    Class<?> colorizerClass;
+    CodeColorizerFormat format = byLang.get(language);
+    if (format != null) {
+      colorizerClass = format.getClass();
+    } else if ("java".equals(language)) {
+      colorizerClass = CodeColorizer.class;
+    } else {
+      return null;
+    }
+    CodeSource codeSource = colorizerClass.getProtectionDomain().getCodeSource();
+    if (codeSource == null || codeSource.getLocation() == null) {
+      return colorizerClass.getName();
+    }
+    return colorizerClass.getName() + "@" + codeSource.getLocation();
+  }
+
   @CheckForNull
   public SyntaxHighlightingData toSyntaxHighlighting(File file, Charset charset, String language) {
     CodeColorizerFormat format = byLang.get(language);
@@ -0,0 +1,115 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.util;
+
+import org.sonar.api.config.Settings;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executes tasks in a pool of worker threads and gives back their results in the order of submission.
+ * Results are consumed in the thread calling {@link #submit(Callable)} and {@link #finish()}, which is
+ * usually the main thread of the analysis. So tasks must not access caches, which are not thread-safe,
+ * whereas the consumer can.
+ * <p/>
+ * The number of tasks waiting to be consumed is bounded, so that results do not pile up in memory
+ * when workers are faster than the consumer.
+ *
+ * @since 5.1
+ */
+public class OrderedExecutor<T> implements AutoCloseable {
+
+  /**
+   * Maximum number of tasks waiting to be consumed, per thread
+   */
+  static final int PENDING_TASKS_PER_THREAD = 4;
+
+  public interface Consumer<T> {
+    void consume(T result);
+  }
+
+  private final int threads;
+  private final Consumer<T> consumer;
+  private final ExecutorService executorService;
+  private final Deque<Future<T>> pending = new ArrayDeque<>();
+
+  public OrderedExecutor(int threads, Consumer<T> consumer) {
+    this.threads = threads;
+    this.consumer = consumer;
+    this.executorService = Executors.newFixedThreadPool(threads);
+  }
+
+  /**
+   * Number of threads defined by the given property, or number of processors if the property is not set.
+   */
+  public static int threads(Settings settings, String threadsProperty) {
+    int threads = settings.getInt(threadsProperty);
+    return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+  }
+
+  public int threads() {
+    return threads;
+  }
+
+  /**
+   * Schedules the task. Blocks while the oldest tasks are being consumed if too many of them are pending.
+   */
+  public void submit(Callable<T> task) {
+    pending.add(executorService.submit(task));
+    while (pending.size() >= threads * PENDING_TASKS_PER_THREAD) {
+      consumer.consume(waitFor(pending.poll()));
+    }
+  }
+
+  /**
+   * Waits for all the submitted tasks and consumes their results.
+   */
+  public void finish() {
+    while (!pending.isEmpty()) {
+      consumer.consume(waitFor(pending.poll()));
+    }
+  }
+
+  /**
+   * Stops worker threads. Tasks that are still pending are cancelled.
+   */
+  @Override
+  public void close() {
+    executorService.shutdownNow();
+  }
+
+  private static <T> T waitFor(Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for task", e);
+    } catch (ExecutionException e) {
+      // Unwrap ExecutionException
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException("Fail to execute task", e.getCause());
+    }
+  }
+}
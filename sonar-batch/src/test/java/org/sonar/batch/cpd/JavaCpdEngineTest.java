@@ -21,27 +21,46 @@ package org.sonar.batch.cpd;
 
 import org.sonar.api.batch.sensor.internal.SensorStorage;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
 import org.sonar.api.batch.fs.internal.DeprecatedDefaultInputFile;
 import org.sonar.api.batch.sensor.SensorContext;
+import org.sonar.api.batch.sensor.duplication.Duplication;
 import org.sonar.api.batch.sensor.duplication.NewDuplication;
 import org.sonar.api.batch.sensor.duplication.internal.DefaultDuplication;
 import org.sonar.api.batch.sensor.measure.Measure;
 import org.sonar.api.batch.sensor.measure.internal.DefaultMeasure;
+import org.sonar.api.config.Settings;
 import org.sonar.api.measures.CoreMetrics;
+import org.sonar.api.resources.Project;
+import org.sonar.batch.cpd.index.IndexFactory;
+import org.sonar.batch.cpd.index.SonarDuplicationsIndex;
 import org.sonar.duplications.index.CloneGroup;
 import org.sonar.duplications.index.ClonePart;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -74,6 +93,119 @@ public class JavaCpdEngineTest {
     inputFile.setModuleBaseDir(temp.newFolder().toPath());
   }
 
+  @Test
+  public void concurrent_detection_finds_same_duplications_as_sequential_detection() throws Exception {
+    File baseDir = temp.newFolder();
+    for (int i = 0; i < 8; i++) {
+      // one file of two contains the same method
+      FileUtils.write(new File(baseDir, "src/Foo" + i + ".java"), javaSource(i, i % 2 == 0));
+    }
+
+    List<Duplication> sequential = detectDuplications(baseDir, 1);
+    List<Duplication> concurrent = detectDuplications(baseDir, 4);
+
+    assertThat(sequential).hasSize(4);
+    assertThat(concurrent).isEqualTo(sequential);
+  }
+
+  @Test
+  public void use_as_many_threads_as_processors_by_default() {
+    JavaCpdEngine engine = new JavaCpdEngine(mock(IndexFactory.class), new DefaultFileSystem(temp.getRoot()), new Settings());
+    assertThat(engine.threads()).isEqualTo(Runtime.getRuntime().availableProcessors());
+  }
+
+  @Test
+  public void timeout_starts_when_detection_starts() throws Exception {
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+    try {
+      // the task waits in the queue of executor longer than the timeout
+      executorService.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          Thread.sleep(500L);
+          return null;
+        }
+      });
+      JavaCpdEngine.DetectionTask task = new FixedTask(0L);
+      Future<List<CloneGroup>> future = executorService.submit(task);
+
+      assertThat(JavaCpdEngine.waitForClones(future, task, inputFile, TimeUnit.MILLISECONDS.toNanos(200L))).isEmpty();
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  public void cancel_detection_after_timeout() throws Exception {
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+    try {
+      JavaCpdEngine.DetectionTask task = new FixedTask(60000L);
+      Future<List<CloneGroup>> future = executorService.submit(task);
+
+      assertThat(JavaCpdEngine.waitForClones(future, task, inputFile, TimeUnit.MILLISECONDS.toNanos(200L))).isNull();
+      assertThat(future.isCancelled()).isTrue();
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  private static class FixedTask extends JavaCpdEngine.DetectionTask {
+    private final long durationMillis;
+
+    FixedTask(long durationMillis) {
+      this.durationMillis = durationMillis;
+    }
+
+    @Override
+    List<CloneGroup> detect() {
+      try {
+        Thread.sleep(durationMillis);
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+      return Collections.emptyList();
+    }
+  }
+
+  private List<Duplication> detectDuplications(File baseDir, int threads) {
+    DefaultFileSystem fs = new DefaultFileSystem(baseDir);
+    for (int i = 0; i < 8; i++) {
+      fs.add(new DeprecatedDefaultInputFile("foo", "src/Foo" + i + ".java")
+        .setModuleBaseDir(baseDir.toPath())
+        .setLanguage("java")
+        .setType(InputFile.Type.MAIN)
+        .setLines(50));
+    }
+    IndexFactory indexFactory = mock(IndexFactory.class);
+    when(indexFactory.create(any(Project.class), anyString())).thenReturn(new SonarDuplicationsIndex());
+    Settings settings = new Settings();
+    settings.setProperty(JavaCpdEngine.THREADS_PROPERTY, threads);
+    storage = mock(SensorStorage.class);
+
+    new JavaCpdEngine(indexFactory, fs, settings).analyse("java", context);
+
+    ArgumentCaptor<Duplication> duplications = ArgumentCaptor.forClass(Duplication.class);
+    verify(storage, atLeastOnce()).store(duplications.capture());
+    return duplications.getAllValues();
+  }
+
+  private static String javaSource(int index, boolean withDuplicatedMethod) {
+    StringBuilder sb = new StringBuilder("public class Foo" + index + " {\n");
+    sb.append("  void unique" + index + "() {\n");
+    for (int i = 0; i < 15; i++) {
+      sb.append("    field" + index + "_" + i + " = compute" + index + "_" + i + "();\n");
+    }
+    sb.append("  }\n");
+    if (withDuplicatedMethod) {
+      sb.append("  void duplicated() {\n");
+      for (int i = 0; i < 15; i++) {
+        sb.append("    field" + i + " = compute" + i + "(field" + (i + 1) + ");\n");
+      }
+      sb.append("  }\n");
+    }
+    return sb.append("}\n").toString();
+  }
+
   @SuppressWarnings("unchecked")
   @Test
   public void testNothingToSave() {
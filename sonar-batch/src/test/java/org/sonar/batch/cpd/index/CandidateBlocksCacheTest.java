@@ -0,0 +1,73 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.cpd.index;
+
+import org.junit.Test;
+import org.sonar.core.duplication.DuplicationUnitDto;
+import org.sonar.duplications.block.Block;
+import org.sonar.duplications.block.ByteArray;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CandidateBlocksCacheTest {
+
+  CandidateBlocksCache cache = new CandidateBlocksCache(2);
+
+  @Test
+  public void pack_blocks() throws Exception {
+    ByteArray hash = new ByteArray("aa");
+    DuplicationUnitDto unit1 = new DuplicationUnitDto(1, 2, "aa", 0, 1, 3);
+    unit1.setResourceKey("foo");
+    DuplicationUnitDto unit2 = new DuplicationUnitDto(1, 3, "aa", 5, 10, 12);
+    unit2.setResourceKey("bar");
+    int[] packed = cache.pack(Arrays.asList(unit1, unit2));
+
+    Collection<Block> blocks = cache.toBlocks(hash, packed);
+    assertThat(blocks).extracting("resourceId").containsExactly("foo", "bar");
+    assertThat(blocks).extracting("indexInFile").containsExactly(0, 5);
+    assertThat(blocks).extracting("startLine").containsExactly(1, 10);
+    assertThat(blocks).extracting("endLine").containsExactly(3, 12);
+    assertThat(blocks).extracting("blockHash").containsOnly(hash);
+
+    assertThat(cache.toBlocks(hash, CandidateBlocksCache.NO_BLOCKS)).isEmpty();
+  }
+
+  @Test
+  public void evict_least_recently_used_hashes() throws Exception {
+    ByteArray hash1 = new ByteArray("aa");
+    ByteArray hash2 = new ByteArray("bb");
+    ByteArray hash3 = new ByteArray("cc");
+    cache.put(hash1, CandidateBlocksCache.NO_BLOCKS);
+    cache.put(hash2, CandidateBlocksCache.NO_BLOCKS);
+    assertThat(cache.containsAll(new ByteArray[] {hash1, hash2})).isTrue();
+
+    // hash1 is used, so hash2 is evicted
+    assertThat(cache.get(hash1)).isNotNull();
+    cache.put(hash3, CandidateBlocksCache.NO_BLOCKS);
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get(hash2)).isNull();
+    assertThat(cache.containsAll(new ByteArray[] {hash1, hash3})).isTrue();
+    assertThat(cache.containsAll(new ByteArray[] {hash1, hash2})).isFalse();
+  }
+}
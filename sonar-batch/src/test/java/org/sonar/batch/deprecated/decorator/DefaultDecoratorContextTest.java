@@ -0,0 +1,89 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.deprecated.decorator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.api.batch.DecoratorContext;
+import org.sonar.api.batch.SonarIndex;
+import org.sonar.api.measures.CoreMetrics;
+import org.sonar.api.measures.Measure;
+import org.sonar.api.measures.MetricFinder;
+import org.sonar.api.resources.File;
+import org.sonar.api.resources.Resource;
+import org.sonar.batch.duplication.DuplicationCache;
+import org.sonar.batch.index.Caches;
+import org.sonar.batch.index.CachesTest;
+import org.sonar.batch.scan.measure.LineMeasureCache;
+import org.sonar.batch.scan.measure.MeasureCache;
+import org.sonar.batch.sensor.coverage.CoverageExclusions;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DefaultDecoratorContextTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  Caches caches;
+  LineMeasureCache lineMeasureCache;
+  MeasureCache measureCache;
+  MetricFinder metricFinder = mock(MetricFinder.class);
+  CoverageExclusions coverageFilter = mock(CoverageExclusions.class);
+
+  @Before
+  public void start() throws Exception {
+    caches = CachesTest.createCacheOnTemp(temp);
+    caches.start();
+    lineMeasureCache = new LineMeasureCache(caches);
+    org.sonar.api.batch.measure.MetricFinder batchMetricFinder = mock(org.sonar.api.batch.measure.MetricFinder.class);
+    when(batchMetricFinder.findByKey(CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY)).thenReturn(CoreMetrics.COVERAGE_LINE_HITS_DATA);
+    measureCache = new MeasureCache(caches, batchMetricFinder, lineMeasureCache);
+    when(metricFinder.findByKey(CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY)).thenReturn(CoreMetrics.COVERAGE_LINE_HITS_DATA);
+    when(coverageFilter.accept(any(Resource.class), any(Measure.class))).thenReturn(true);
+  }
+
+  @After
+  public void stop() {
+    caches.stop();
+  }
+
+  @Test
+  public void line_measures_saved_by_decorators_are_stored_as_columns() {
+    Resource file = File.create("src/Foo.java").setEffectiveKey("struts:src/Foo.java");
+    DefaultDecoratorContext context = new DefaultDecoratorContext(file, mock(SonarIndex.class), Collections.<DecoratorContext>emptyList(),
+      measureCache, metricFinder, mock(DuplicationCache.class), coverageFilter);
+    context.init();
+
+    context.saveMeasure(new Measure(CoreMetrics.COVERAGE_LINE_HITS_DATA, "1=3;2=0"));
+    context.end();
+
+    assertThat(lineMeasureCache.get("struts:src/Foo.java", CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY).ints()).containsExactly(3, 0);
+    assertThat(measureCache.byMetric(file, CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY)).hasSize(1);
+  }
+}
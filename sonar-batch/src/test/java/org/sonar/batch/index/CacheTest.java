@@ -38,10 +38,14 @@ public class CacheTest {
 
   @Before
   public void start() throws Exception {
-    caches = CachesTest.createCacheOnTemp(temp);
+    caches = createCaches();
     caches.start();
   }
 
+  protected Caches createCaches() {
+    return CachesTest.createCacheOnTemp(temp);
+  }
+
   @After
   public void stop() {
     caches.stop();
@@ -19,7 +19,7 @@
  */
 package org.sonar.batch.index;
 
-import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.ClassRule;
@@ -32,6 +32,8 @@ import org.sonar.batch.bootstrap.TempFolderProvider;
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
@@ -42,9 +44,15 @@ public class CachesTest {
   public static TemporaryFolder temp = new TemporaryFolder();
 
   public static Caches createCacheOnTemp(TemporaryFolder temp) {
+    return createCacheOnTemp(temp, Collections.<String, String>emptyMap());
+  }
+
+  public static Caches createCacheOnTemp(TemporaryFolder temp, Map<String, String> properties) {
     try {
-      BootstrapProperties bootstrapProps = new BootstrapProperties(ImmutableMap.of(CoreProperties.WORKING_DIRECTORY, temp.newFolder().getAbsolutePath()));
-      return new Caches(new TempFolderProvider().provide(bootstrapProps));
+      Map<String, String> props = Maps.newHashMap(properties);
+      props.put(CoreProperties.WORKING_DIRECTORY, temp.newFolder().getAbsolutePath());
+      BootstrapProperties bootstrapProps = new BootstrapProperties(props);
+      return new Caches(new TempFolderProvider().provide(bootstrapProps), bootstrapProps);
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
@@ -95,6 +103,20 @@ public class CachesTest {
     }
   }
 
+  @Test
+  public void should_create_persistit_cache_by_default() throws Exception {
+    Cache<Element> cache = caches.createCache("foo");
+    assertThat(cache.storage()).isInstanceOf(PersistitCacheStorage.class);
+  }
+
+  @Test
+  public void should_create_memory_cache() throws Exception {
+    caches.stop();
+    caches = createCacheOnTemp(temp, Collections.singletonMap(Caches.STORAGE_PROPERTY, Caches.MEMORY_STORAGE));
+    Cache<Element> cache = caches.createCache("foo");
+    assertThat(cache.storage()).isInstanceOf(SpillableCacheStorage.class);
+  }
+
   static class Element implements Serializable {
 
   }
@@ -0,0 +1,166 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.index;
+
+import com.google.common.collect.Iterables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class ConcurrentCacheTest {
+
+  private static final int THREADS = 8;
+  private static final int VALUES_PER_THREAD = 2000;
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  Caches caches;
+
+  @Before
+  public void start() throws Exception {
+    caches = CachesTest.createCacheOnTemp(temp);
+    caches.start();
+  }
+
+  @After
+  public void stop() {
+    caches.stop();
+  }
+
+  @Test
+  public void should_create_concurrent_cache() throws Exception {
+    Cache<String> cache = caches.createConcurrentCache("foo");
+    assertThat(cache.storage()).isInstanceOf(ConcurrentPersistitCacheStorage.class);
+  }
+
+  @Test
+  public void should_not_create_cache_twice() throws Exception {
+    caches.createCache("foo");
+    try {
+      caches.createConcurrentCache("foo");
+      fail();
+    } catch (IllegalStateException e) {
+      // ok
+    }
+  }
+
+  @Test
+  public void should_release_exchange_of_current_thread() throws Exception {
+    Cache<String> cache = caches.createConcurrentCache("foo");
+    ConcurrentPersistitCacheStorage storage = (ConcurrentPersistitCacheStorage) cache.storage();
+    cache.put("foo", "bar");
+    assertThat(storage.countThreadStorages()).isEqualTo(1);
+
+    cache.releaseThreadResources();
+    assertThat(storage.countThreadStorages()).isEqualTo(0);
+
+    // a new exchange is used
+    assertThat(cache.get("foo")).isEqualTo("bar");
+    assertThat(storage.countThreadStorages()).isEqualTo(1);
+  }
+
+  @Test
+  public void should_discard_exchanges_of_dead_threads() throws Exception {
+    final Cache<String> cache = caches.createConcurrentCache("foo");
+    ConcurrentPersistitCacheStorage storage = (ConcurrentPersistitCacheStorage) cache.storage();
+    Thread thread = new Thread() {
+      @Override
+      public void run() {
+        cache.put("foo", "bar");
+      }
+    };
+    thread.start();
+    thread.join();
+    assertThat(storage.countThreadStorages()).isEqualTo(1);
+
+    assertThat(cache.get("foo")).isEqualTo("bar");
+    assertThat(storage.countThreadStorages()).isEqualTo(1);
+  }
+
+  @Test
+  public void should_close_storages_when_stopping() throws Exception {
+    Cache<String> cache = caches.createConcurrentCache("foo");
+    ConcurrentPersistitCacheStorage storage = (ConcurrentPersistitCacheStorage) cache.storage();
+    cache.put("foo", "bar");
+
+    caches.stop();
+    assertThat(storage.countThreadStorages()).isEqualTo(0);
+  }
+
+  @Test
+  public void threads_put_get_and_iterate_concurrently() throws Exception {
+    final Cache<String> cache = caches.createConcurrentCache("stress");
+    final CountDownLatch startSignal = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+    for (int t = 0; t < THREADS; t++) {
+      final String component = "component" + t;
+      futures.add(executor.submit(new Callable<Integer>() {
+        @Override
+        public Integer call() throws Exception {
+          startSignal.await();
+          int errors = 0;
+          for (int i = 0; i < VALUES_PER_THREAD; i++) {
+            cache.put(component, i, component + "-" + i);
+            if (!(component + "-" + i).equals(cache.get(component, i))) {
+              errors++;
+            }
+            if (i % 100 == 0) {
+              // iterate on own values while other threads are writing
+              if (Iterables.size(cache.values(component)) != i + 1) {
+                errors++;
+              }
+              // iterate on all values, must not fail
+              Iterables.size(cache.values());
+            }
+          }
+          return errors;
+        }
+      }));
+    }
+    startSignal.countDown();
+    for (Future<Integer> future : futures) {
+      assertThat(future.get()).isEqualTo(0);
+    }
+    executor.shutdown();
+    assertThat(((ConcurrentPersistitCacheStorage) cache.storage()).countThreadStorages()).isLessThanOrEqualTo(THREADS + 1);
+
+    assertThat(cache.keySet()).hasSize(THREADS);
+    assertThat(Iterables.size(cache.values())).isEqualTo(THREADS * VALUES_PER_THREAD);
+    for (int t = 0; t < THREADS; t++) {
+      assertThat(cache.keySet("component" + t)).hasSize(VALUES_PER_THREAD);
+      assertThat(cache.get("component" + t, VALUES_PER_THREAD - 1)).isEqualTo("component" + t + "-" + (VALUES_PER_THREAD - 1));
+    }
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.index;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the tests of {@link CacheTest} on memory storage. The threshold of entries is not reached, so
+ * values stay in memory. Tests of the move of values to Persistit use their own caches.
+ */
+public class MemoryCacheTest extends CacheTest {
+
+  @Override
+  protected Caches createCaches() {
+    return CachesTest.createCacheOnTemp(temp, ImmutableMap.of(Caches.STORAGE_PROPERTY, Caches.MEMORY_STORAGE));
+  }
+
+  private Caches createSpillingCaches() {
+    return CachesTest.createCacheOnTemp(temp, ImmutableMap.of(
+      Caches.STORAGE_PROPERTY, Caches.MEMORY_STORAGE,
+      Caches.MAX_ENTRIES_IN_MEMORY_PROPERTY, "3"));
+  }
+
+  @Test
+  public void keep_values_in_memory_below_threshold() throws Exception {
+    Cache<String> cache = caches.createCache("capitals");
+    SpillableCacheStorage storage = (SpillableCacheStorage) cache.storage();
+    for (int i = 0; i < 1000; i++) {
+      cache.put("country" + i, "city" + i);
+    }
+
+    assertThat(storage.isSpilled()).isFalse();
+    assertThat(cache.get("country42")).isEqualTo("city42");
+    assertThat(cache.keySet()).hasSize(1000);
+    assertThat(cache.values()).hasSize(1000);
+  }
+
+  @Test
+  public void values_are_copied_in_memory() throws Exception {
+    Cache<List<String>> cache = caches.createCache("cities");
+    List<String> cities = Lists.newArrayList("paris");
+    cache.put("france", cities);
+
+    cities.add("lyon");
+    assertThat(cache.get("france")).containsExactly("paris");
+
+    cache.get("france").add("nantes");
+    assertThat(cache.get("france")).containsExactly("paris");
+    assertThat(cache.values().iterator().next()).containsExactly("paris");
+    assertThat(((SpillableCacheStorage) cache.storage()).isSpilled()).isFalse();
+  }
+
+  @Test
+  public void immutable_values_are_stored_by_reference() throws Exception {
+    Cache<Object> cache = caches.createCache("capitals");
+    String paris = new String("paris");
+    cache.put("france", paris);
+    cache.put("population", 2240621L);
+
+    assertThat(cache.get("france")).isSameAs(paris);
+    assertThat(cache.get("population")).isEqualTo(2240621L);
+  }
+
+  @Test
+  public void byte_arrays_are_copied_in_memory() throws Exception {
+    Cache<byte[]> cache = caches.createCache("data");
+    byte[] data = {1, 2};
+    cache.put("foo", data);
+
+    data[0] = 3;
+    assertThat(cache.get("foo")).isEqualTo(new byte[] {1, 2});
+
+    cache.get("foo")[1] = 4;
+    assertThat(cache.get("foo")).isEqualTo(new byte[] {1, 2});
+  }
+
+  @Test
+  public void values_are_copied_after_move_to_persistit() throws Exception {
+    Caches spillingCaches = createSpillingCaches();
+    try {
+      Cache<List<String>> cache = spillingCaches.createCache("cities");
+      List<String> cities = Lists.newArrayList("paris");
+      cache.put("france", cities);
+      cities.add("lyon");
+      for (int i = 0; i < 3; i++) {
+        cache.put("country" + i, Lists.newArrayList("city" + i));
+      }
+
+      assertThat(((SpillableCacheStorage) cache.storage()).isSpilled()).isTrue();
+      assertThat(cache.get("france")).containsExactly("paris");
+    } finally {
+      spillingCaches.stop();
+    }
+  }
+
+  @Test
+  public void move_values_to_persistit_above_threshold() throws Exception {
+    Caches spillingCaches = createSpillingCaches();
+    try {
+      Cache<String> cache = spillingCaches.createCache("capitals");
+      SpillableCacheStorage storage = (SpillableCacheStorage) cache.storage();
+      Iterable<String> values = cache.values("europe");
+
+      cache.put("europe", "france", "paris");
+      cache.put("europe", "italy", "rome");
+      cache.put("asia", "china", "pekin");
+      assertThat(storage.isSpilled()).isFalse();
+
+      cache.put("europe", "spain", "madrid");
+      assertThat(storage.isSpilled()).isTrue();
+      assertThat(cache.get("europe", "france")).isEqualTo("paris");
+      assertThat(cache.keySet("europe")).containsExactly("france", "italy", "spain");
+      assertThat(values).containsExactly("paris", "rome", "madrid");
+    } finally {
+      spillingCaches.stop();
+    }
+  }
+
+  @Test
+  public void move_values_to_persistit_during_iteration() throws Exception {
+    Caches spillingCaches = createSpillingCaches();
+    try {
+      Cache<String> cache = spillingCaches.createCache("capitals");
+      SpillableCacheStorage storage = (SpillableCacheStorage) cache.storage();
+      cache.put("france", "paris");
+      cache.put("italy", "rome");
+      cache.put("spain", "madrid");
+
+      // iterator started in memory keeps on reading the values that were in memory
+      Iterator<Cache.Entry<String>> entries = cache.entries().iterator();
+      assertThat(entries.next().value()).isEqualTo("paris");
+      cache.put("belgium", "brussels");
+      assertThat(storage.isSpilled()).isTrue();
+      assertThat(entries.next().value()).isEqualTo("rome");
+      assertThat(entries.next().value()).isEqualTo("madrid");
+      assertThat(entries.hasNext()).isFalse();
+
+      // new iterations read from Persistit
+      assertThat(cache.values()).containsExactly("brussels", "paris", "rome", "madrid");
+    } finally {
+      spillingCaches.stop();
+    }
+  }
+
+  @Test
+  public void move_values_to_persistit_above_heap_usage() throws Exception {
+    SpillableCacheStorage storage = new SpillableCacheStorage("capitals", caches, 100000, 0.0);
+    for (int i = 0; i < 999; i++) {
+      storage.put(new Object[] {"country" + i}, "city" + i);
+    }
+    // heap usage is checked every 1000 puts
+    assertThat(storage.isSpilled()).isFalse();
+
+    storage.put(new Object[] {"country999"}, "city999");
+    assertThat(storage.isSpilled()).isTrue();
+    assertThat(storage.get(new Object[] {"country42"})).isEqualTo("city42");
+  }
+
+  @Test
+  public void select_storage_automatically() throws Exception {
+    Caches autoCaches = CachesTest.createCacheOnTemp(temp, ImmutableMap.of(Caches.STORAGE_PROPERTY, Caches.AUTO_STORAGE));
+    try {
+      Cache<String> cache = autoCaches.createCache("capitals");
+      cache.put("france", "paris");
+
+      assertThat(cache.storage()).isInstanceOf(SpillableCacheStorage.class);
+      assertThat(((SpillableCacheStorage) cache.storage()).isSpilled()).isFalse();
+    } finally {
+      autoCaches.stop();
+    }
+  }
+
+  @Test
+  public void remove_empty_parent_keys() throws Exception {
+    Cache<String> cache = caches.createCache("capitals");
+    cache.put("europe", "france", "paris");
+
+    cache.remove("europe", "france");
+    assertThat(cache.keySet()).isEmpty();
+  }
+}
@@ -19,6 +19,8 @@
  */
 package org.sonar.batch.index;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.apache.ibatis.session.SqlSession;
 import org.junit.Before;
 import org.junit.Rule;
@@ -29,6 +31,7 @@ import org.sonar.api.CoreProperties;
 import org.sonar.api.batch.bootstrap.ProjectDefinition;
 import org.sonar.api.batch.measure.MetricFinder;
 import org.sonar.api.config.Settings;
+import org.sonar.api.database.model.ResourceModel;
 import org.sonar.api.database.model.Snapshot;
 import org.sonar.api.resources.Directory;
 import org.sonar.api.resources.File;
@@ -41,6 +44,7 @@ import org.sonar.batch.scan.measure.MeasureCache;
 import org.sonar.core.component.ComponentDto;
 import org.sonar.core.component.ScanGraph;
 import org.sonar.core.component.db.ComponentMapper;
+import org.sonar.core.persistence.BatchSession;
 import org.sonar.jpa.test.AbstractDbUnitTestCase;
 
 import javax.persistence.Query;
@@ -49,6 +53,8 @@ import java.io.IOException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -108,7 +114,7 @@ public class ResourcePersisterTest extends AbstractDbUnitTestCase {
 
     projectTree = mock(ProjectTree.class);
     permissions = mock(ResourcePermissions.class);
-    persister = new ResourcePersister(projectTree, getSession(), permissions, resourceCache, mock(ScanGraph.class));
+    persister = new ResourcePersister(projectTree, getSession(), getMyBatis(), permissions, resourceCache, mock(ScanGraph.class));
   }
 
   @Test
@@ -315,6 +321,188 @@ public class ResourcePersisterTest extends AbstractDbUnitTestCase {
     }
   }
 
+  @Test
+  public void shouldSaveDirectoriesAndFilesLevelByLevel() {
+    setupData("shared");
+
+    resourceCache.add(singleProject, null).setSnapshot(persister.persist(null, singleProject, null));
+    Directory dir = Directory.create("src/org");
+    dir.setEffectiveKey("foo:src/org");
+    File foo = File.create("src/org/Foo.java");
+    foo.setEffectiveKey("foo:src/org/Foo.java");
+    File bar = File.create("src/org/Bar.java");
+    bar.setEffectiveKey("foo:src/org/Bar.java");
+    // files are registered before their directory is persisted
+    resourceCache.add(dir, singleProject);
+    resourceCache.add(foo, dir);
+    resourceCache.add(bar, dir);
+
+    persister.persist();
+
+    Snapshot dirSnapshot = resourceCache.get(dir).snapshot();
+    Snapshot fooSnapshot = resourceCache.get(foo).snapshot();
+    Snapshot barSnapshot = resourceCache.get(bar).snapshot();
+    assertThat(dir.getId()).isNotNull();
+    assertThat(foo.getId()).isNotNull().isNotEqualTo(bar.getId());
+    assertThat(dirSnapshot.getId()).isNotNull();
+    assertThat(dirSnapshot.getResourceId()).isEqualTo(dir.getId());
+    assertThat(fooSnapshot.getId()).isNotNull().isNotEqualTo(barSnapshot.getId());
+    assertThat(fooSnapshot.getResourceId()).isEqualTo(foo.getId());
+    assertThat(fooSnapshot.getParentId()).isEqualTo(dirSnapshot.getId());
+    assertThat(barSnapshot.getParentId()).isEqualTo(dirSnapshot.getId());
+    assertThat(fooSnapshot.getRootId()).isEqualTo(resourceCache.get(singleProject).snapshotId());
+
+    // Need to enable snapshot to make resource visible using ComponentMapper
+    enableSnapshot(dir.getId());
+    enableSnapshot(foo.getId());
+    try (SqlSession session = getMyBatis().openSession(false)) {
+      ComponentDto fooComp = session.getMapper(ComponentMapper.class).selectByKey("foo:src/org/Foo.java");
+      assertThat(fooComp.uuid()).isEqualTo(foo.getUuid());
+      assertThat(fooComp.moduleUuid()).isEqualTo(singleProject.getUuid());
+    }
+  }
+
+  @Test
+  public void shouldSaveMoreFilesThanBatchSize() {
+    setupData("shared");
+
+    List<File> files = analyse(singleProject, BatchSession.MAX_BATCH_SIZE + 50);
+
+    Set<Integer> ids = Sets.newHashSet();
+    Set<Integer> snapshotIds = Sets.newHashSet();
+    for (File file : files) {
+      Snapshot snapshot = resourceCache.get(file).snapshot();
+      ids.add(file.getId());
+      snapshotIds.add(snapshot.getId());
+      assertThat(snapshot.getResourceId()).isEqualTo(file.getId());
+      assertThat(snapshot.getParentId()).isEqualTo(resourceCache.get("foo:src").snapshotId());
+    }
+    assertThat(ids).hasSize(files.size()).doesNotContainNull();
+    assertThat(snapshotIds).hasSize(files.size()).doesNotContainNull();
+  }
+
+  @Test
+  public void shouldKeepIdsAndUuidsOfExistingResources() throws ParseException {
+    setupData("shared");
+    List<File> firstFiles = analyse(singleProject, 10);
+    Resource firstDir = resourceCache.get("foo:src").resource();
+    Set<Integer> firstSnapshotIds = Sets.newHashSet();
+    for (File file : firstFiles) {
+      firstSnapshotIds.add(resourceCache.get(file).snapshotId());
+    }
+
+    // second analysis, with new instances of resources
+    resourceCache = new ResourceCache();
+    persister = new ResourcePersister(projectTree, getSession(), getMyBatis(), permissions, resourceCache, mock(ScanGraph.class));
+    Project project = newProject("foo", "java");
+    project.setName("Foo").setAnalysisDate(new SimpleDateFormat("dd/MM/yyyy").parse("26/12/2010"));
+    List<File> secondFiles = analyse(project, 10);
+    Resource secondDir = resourceCache.get("foo:src").resource();
+
+    assertThat(project.getId()).isEqualTo(singleProject.getId());
+    assertThat(project.getUuid()).isEqualTo(singleProject.getUuid());
+    assertThat(secondDir.getId()).isEqualTo(firstDir.getId());
+    assertThat(secondDir.getUuid()).isEqualTo(firstDir.getUuid());
+    for (int i = 0; i < firstFiles.size(); i++) {
+      assertThat(secondFiles.get(i).getId()).isEqualTo(firstFiles.get(i).getId());
+      assertThat(secondFiles.get(i).getUuid()).isEqualTo(firstFiles.get(i).getUuid());
+      assertThat(firstSnapshotIds).doesNotContain(resourceCache.get(secondFiles.get(i)).snapshotId());
+    }
+    assertThat(getHQLCount(ResourceModel.class)).isEqualTo(1L /* project of shared dataset */ + 1 + 1 + 10);
+  }
+
+  @Test
+  public void shouldUpdateExistingResourceOnlyWhenChanged() throws ParseException {
+    setupData("shared");
+    File file = analyse(singleProject, 1).get(0);
+
+    resourceCache = new ResourceCache();
+    persister = new ResourcePersister(projectTree, getSession(), getMyBatis(), permissions, resourceCache, mock(ScanGraph.class));
+    Project project = newProject("foo", "java");
+    project.setName("Foo").setAnalysisDate(new SimpleDateFormat("dd/MM/yyyy").parse("26/12/2010"));
+    resourceCache.add(project, null).setSnapshot(persister.persist(null, project, null));
+    Directory dir = Directory.create("src");
+    dir.setEffectiveKey("foo:src");
+    File renamed = File.create("src/Renamed.java");
+    renamed.setEffectiveKey(file.getEffectiveKey());
+    resourceCache.add(dir, project);
+    resourceCache.add(renamed, dir);
+    persister.persist();
+
+    assertThat(renamed.getId()).isEqualTo(file.getId());
+    ResourceModel model = getSession().getSingleResult(ResourceModel.class, "key", file.getEffectiveKey());
+    assertThat(model.getPath()).isEqualTo("src/Renamed.java");
+  }
+
+  @Test
+  public void shouldReselectIdsWhenReanalysingUpdatedProject() throws ParseException {
+    setupData("shared");
+    List<File> firstFiles = analyse(singleProject, 3);
+    Set<Integer> firstIds = Sets.newHashSet();
+    Set<Integer> firstSnapshotIds = Sets.newHashSet();
+    for (File file : firstFiles) {
+      firstIds.add(file.getId());
+      firstSnapshotIds.add(resourceCache.get(file).snapshotId());
+    }
+
+    // second analysis: first file is updated, a file is added
+    resourceCache = new ResourceCache();
+    persister = new ResourcePersister(projectTree, getSession(), getMyBatis(), permissions, resourceCache, mock(ScanGraph.class));
+    Project project = newProject("foo", "java");
+    project.setName("Foo").setAnalysisDate(new SimpleDateFormat("dd/MM/yyyy").parse("26/12/2010"));
+    resourceCache.add(project, null).setSnapshot(persister.persist(null, project, null));
+    Directory dir = Directory.create("src");
+    dir.setEffectiveKey("foo:src");
+    resourceCache.add(dir, project);
+    List<File> secondFiles = Lists.newArrayList();
+    for (int i = 0; i < 4; i++) {
+      File file = File.create(i == 0 ? "src/Renamed.java" : "src/Foo" + i + ".java");
+      file.setEffectiveKey("foo:src/Foo" + i + ".java");
+      resourceCache.add(file, dir);
+      secondFiles.add(file);
+    }
+    persister.persist();
+
+    Set<Integer> secondSnapshotIds = Sets.newHashSet();
+    for (int i = 0; i < secondFiles.size(); i++) {
+      File file = secondFiles.get(i);
+      Snapshot snapshot = resourceCache.get(file).snapshot();
+      if (i < firstFiles.size()) {
+        assertThat(file.getId()).isEqualTo(firstFiles.get(i).getId());
+      } else {
+        assertThat(file.getId()).isNotNull().isNotIn(firstIds);
+      }
+      assertThat(snapshot.getId()).isNotNull().isNotIn(firstSnapshotIds);
+      assertThat(snapshot.getResourceId()).isEqualTo(file.getId());
+      assertThat(snapshot.getParentId()).isEqualTo(resourceCache.get(dir).snapshotId());
+      assertThat(snapshot.getRootId()).isEqualTo(resourceCache.get(project).snapshotId());
+      secondSnapshotIds.add(snapshot.getId());
+    }
+    assertThat(secondSnapshotIds).hasSize(4);
+    assertThat(getSession().getSingleResult(ResourceModel.class, "key", "foo:src/Foo0.java").getPath()).isEqualTo("src/Renamed.java");
+    assertThat(getSession().getSingleResult(Snapshot.class, "id", resourceCache.get(secondFiles.get(3)).snapshotId()).getResourceId())
+      .isEqualTo(secondFiles.get(3).getId());
+  }
+
+  /**
+   * Persists the project and its files, all in the directory "src"
+   */
+  private List<File> analyse(Project project, int nbFiles) {
+    resourceCache.add(project, null).setSnapshot(persister.persist(null, project, null));
+    Directory dir = Directory.create("src");
+    dir.setEffectiveKey(project.getKey() + ":src");
+    resourceCache.add(dir, project);
+    List<File> files = Lists.newArrayList();
+    for (int i = 0; i < nbFiles; i++) {
+      File file = File.create("src/Foo" + i + ".java");
+      file.setEffectiveKey(project.getKey() + ":src/Foo" + i + ".java");
+      resourceCache.add(file, dir);
+      files.add(file);
+    }
+    persister.persist();
+    return files;
+  }
+
   private void enableSnapshot(int resourceId) {
     String hql = "UPDATE " + Snapshot.class.getSimpleName() + " SET last=true";
     hql += " WHERE project_id=:resourceId";
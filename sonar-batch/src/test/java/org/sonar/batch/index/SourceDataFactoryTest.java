@@ -21,6 +21,7 @@ package org.sonar.batch.index;
 
 import com.google.common.base.Charsets;
 import com.google.common.collect.Lists;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.junit.Before;
 import org.junit.Rule;
@@ -32,14 +33,15 @@ import org.sonar.api.batch.sensor.duplication.Duplication;
 import org.sonar.api.batch.sensor.duplication.internal.DefaultDuplication;
 import org.sonar.api.batch.sensor.highlighting.TypeOfText;
 import org.sonar.api.measures.CoreMetrics;
-import org.sonar.api.measures.Measure;
 import org.sonar.api.measures.Metric;
 import org.sonar.api.source.Symbol;
+import org.sonar.api.utils.DateUtils;
 import org.sonar.batch.duplication.DuplicationCache;
 import org.sonar.batch.highlighting.SyntaxHighlightingData;
 import org.sonar.batch.highlighting.SyntaxHighlightingDataBuilder;
 import org.sonar.batch.scan.filesystem.InputFileMetadata;
-import org.sonar.batch.scan.measure.MeasureCache;
+import org.sonar.batch.scan.measure.LineMeasureCache;
+import org.sonar.batch.scan.measure.LineMeasures;
 import org.sonar.batch.source.CodeColorizers;
 import org.sonar.batch.symbol.DefaultSymbolTableBuilder;
 import org.sonar.core.source.SnapshotDataTypes;
@@ -59,13 +61,13 @@ public class SourceDataFactoryTest {
   @Rule
   public TemporaryFolder temp = new TemporaryFolder();
 
-  MeasureCache measureCache = mock(MeasureCache.class);
+  LineMeasureCache lineMeasureCache = mock(LineMeasureCache.class);
   ComponentDataCache componentDataCache = mock(ComponentDataCache.class);
   DuplicationCache duplicationCache = mock(DuplicationCache.class);
   CodeColorizers colorizers = mock(CodeColorizers.class);
   DefaultInputFile inputFile;
   InputFileMetadata metadata;
-  SourceDataFactory sut = new SourceDataFactory(measureCache, componentDataCache, duplicationCache, colorizers);
+  SourceDataFactory sut = new SourceDataFactory(lineMeasureCache, componentDataCache, duplicationCache, colorizers);
   FileSourceDb.Data.Builder output;
 
   @Before
@@ -99,41 +101,54 @@ public class SourceDataFactoryTest {
   }
 
   @Test
-  public void applyLineMeasure() throws Exception {
-    Metric metric = CoreMetrics.COVERAGE_LINE_HITS_DATA;
-    when(measureCache.byMetric("component_key", metric.key())).thenReturn(
-      // line 1 has 10 hits, ...
-      Arrays.asList(new Measure().setData("1=10;3=4").setMetric(metric)));
-
-    sut.applyLineMeasure("component_key", metric.key(), output, new SourceDataFactory.MeasureOperation() {
-      @Override
-      public void apply(String value, FileSourceDb.Line.Builder lineBuilder) {
-        lineBuilder.setUtLineHits(Integer.parseInt(value));
-      }
-    });
+  public void inputs_hash_changes_with_line_measures() throws Exception {
+    String emptyHash = sut.readInputs(inputFile).hash();
+    assertThat(sut.readInputs(inputFile).hash()).isEqualTo(emptyHash);
 
-    FileSourceDb.Data data = output.build();
-    assertThat(data.getLines(0).getUtLineHits()).isEqualTo(10);
-    assertThat(data.getLines(1).hasUtLineHits()).isFalse();
-    assertThat(data.getLines(2).getUtLineHits()).isEqualTo(4);
+    when(lineMeasureCache.get(inputFile.key(), CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY)).thenReturn(LineMeasures.ofInts(new int[] {10, -1, 4}));
+
+    assertThat(sut.readInputs(inputFile).hash()).isNotEqualTo(emptyHash);
+  }
+
+  @Test
+  public void inputs_hash_includes_format_version() throws Exception {
+    inputFile.setLanguage("java");
+
+    // hash of the same inputs before the format was versioned
+    assertThat(sut.readInputs(inputFile).hash()).isNotEqualTo(DigestUtils.md5Hex("java|dup"));
+    assertThat(sut.readInputs(inputFile).hash()).isEqualTo(DigestUtils.md5Hex("v" + SourceDataFactory.FORMAT_VERSION + "|java|dup"));
   }
 
   @Test
-  public void applyLineMeasure_ignore_bad_line_numbers() throws Exception {
-    Metric metric = CoreMetrics.COVERAGE_LINE_HITS_DATA;
-    when(measureCache.byMetric("component_key", metric.key())).thenReturn(
-      // line 30 does not exist
-      Arrays.asList(new Measure().setData("30=42").setMetric(metric)));
-
-    sut.applyLineMeasure("component_key", metric.key(), output, new SourceDataFactory.MeasureOperation() {
-      @Override
-      public void apply(String value, FileSourceDb.Line.Builder lineBuilder) {
-        lineBuilder.setUtLineHits(Integer.parseInt(value));
-      }
-    });
+  public void inputs_hash_changes_with_colorizer_if_no_highlighting() throws Exception {
+    inputFile.setLanguage("java");
+    when(colorizers.fingerprint("java")).thenReturn("JavaColorizer@plugin-1.0.jar");
+    String hash = sut.readInputs(inputFile).hash();
+
+    when(colorizers.fingerprint("java")).thenReturn("JavaColorizer@plugin-1.1.jar");
+    assertThat(sut.readInputs(inputFile).hash()).isNotEqualTo(hash);
+
+    // highlighting provided by sensors replaces colorizer
+    when(componentDataCache.getData(inputFile.key(), SnapshotDataTypes.SYNTAX_HIGHLIGHTING)).thenReturn(new SyntaxHighlightingDataBuilder()
+      .registerHighlightingRule(0, 3, TypeOfText.ANNOTATION).build());
+    String highlightedHash = sut.readInputs(inputFile).hash();
+    when(colorizers.fingerprint("java")).thenReturn("JavaColorizer@plugin-1.2.jar");
+    assertThat(sut.readInputs(inputFile).hash()).isEqualTo(highlightedHash);
+  }
+
+  @Test
+  public void applyLineMeasures_ignore_bad_line_numbers() throws Exception {
+    // line 30 does not exist
+    int[] hits = new int[30];
+    Arrays.fill(hits, LineMeasures.NO_VALUE);
+    hits[29] = 42;
+    when(lineMeasureCache.get(inputFile.key(), CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY)).thenReturn(LineMeasures.ofInts(hits));
+
+    sut.applyLineMeasures(inputFile, output);
 
     FileSourceDb.Data data = output.build();
     assertThat(data.getLinesCount()).isEqualTo(3);
+    assertThat(data.getLines(2).hasUtLineHits()).isFalse();
   }
 
   @Test
@@ -166,11 +181,11 @@ public class SourceDataFactoryTest {
 
     assertThat(data.getLines(2).getUtLineHits()).isEqualTo(4);
     assertThat(data.getLines(2).hasScmAuthor()).isFalse();
+    assertThat(data.getLines(2).getScmDate()).isEqualTo(DateUtils.parseDateTime("2014-10-13T16:44:02+0100").getTime());
   }
 
   private void setupLineMeasure(Metric metric, String dataPerLine) {
-    when(measureCache.byMetric(inputFile.key(), metric.key())).thenReturn(
-      Arrays.asList(new Measure().setData(dataPerLine).setMetric(metric)));
+    when(lineMeasureCache.get(inputFile.key(), metric.key())).thenReturn(LineMeasureCache.parse(metric.key(), dataPerLine));
   }
 
   @Test
@@ -0,0 +1,215 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.index;
+
+import com.google.common.base.Charsets;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.batch.sensor.duplication.internal.DefaultDuplication;
+import org.sonar.api.config.Settings;
+import org.sonar.api.measures.CoreMetrics;
+import org.sonar.api.resources.File;
+import org.sonar.api.resources.Project;
+import org.sonar.api.utils.System2;
+import org.sonar.batch.ProjectTree;
+import org.sonar.batch.duplication.DuplicationCache;
+import org.sonar.batch.scan.filesystem.InputFileMetadata;
+import org.sonar.batch.scan.filesystem.InputPathCache;
+import org.sonar.batch.scan.measure.LineMeasureCache;
+import org.sonar.batch.scan.measure.LineMeasures;
+import org.sonar.batch.source.CodeColorizers;
+import org.sonar.core.source.db.FileSourceDao;
+import org.sonar.core.source.db.FileSourceDto;
+import org.sonar.jpa.test.AbstractDbUnitTestCase;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SourcePersisterTest extends AbstractDbUnitTestCase {
+
+  private static final String PROJECT_UUID = "projectUuid";
+  private static final long DATE_1 = 1412952242000L;
+  private static final long DATE_2 = 1414597442000L;
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  java.io.File baseDir;
+  System2 system2 = mock(System2.class);
+  Settings settings = new Settings();
+  InputPathCache inputPathCache = new InputPathCache();
+  ResourceCache resourceCache = new ResourceCache();
+  LineMeasureCache lineMeasureCache = mock(LineMeasureCache.class);
+  FileSourceDao dao;
+  SourcePersister persister;
+
+  @Before
+  public void before() throws Exception {
+    baseDir = temp.newFolder();
+    Project project = new Project("foo");
+    project.setUuid(PROJECT_UUID);
+    resourceCache.add(project, null);
+    ProjectTree projectTree = mock(ProjectTree.class);
+    when(projectTree.getRootProject()).thenReturn(project);
+
+    DuplicationCache duplicationCache = mock(DuplicationCache.class);
+    when(duplicationCache.byComponent(anyString())).thenReturn(Collections.<DefaultDuplication>emptyList());
+    SourceDataFactory dataFactory = new SourceDataFactory(lineMeasureCache, mock(ComponentDataCache.class), duplicationCache, new CodeColorizers());
+
+    dao = new FileSourceDao(getMyBatis());
+    persister = new SourcePersister(inputPathCache, getMyBatis(), system2, projectTree, resourceCache, dataFactory, settings);
+  }
+
+  @Test
+  public void should_insert_new_file() throws Exception {
+    setupData("shared");
+    addFile("src/Foo.java", "uuidnew", "foo\nbar");
+    when(system2.now()).thenReturn(DATE_2);
+
+    persister.persist();
+
+    FileSourceDto dto = dao.select("uuidnew");
+    assertThat(dto.getProjectUuid()).isEqualTo(PROJECT_UUID);
+    assertThat(dto.getSrcHash()).isEqualTo(DigestUtils.md5Hex("foo\nbar"));
+    assertThat(dto.getInputHash()).isNotEmpty();
+    assertThat(dto.getDataHash()).isNotEmpty();
+    assertThat(dto.getLineHashes()).isEqualTo(DigestUtils.md5Hex("foo") + "\n" + DigestUtils.md5Hex("bar"));
+    assertThat(dto.getCreatedAt()).isEqualTo(DATE_2);
+    assertThat(dto.getUpdatedAt()).isEqualTo(DATE_2);
+  }
+
+  @Test
+  public void should_not_rewrite_unchanged_file() throws Exception {
+    addFile("src/Foo.java", "uuidsame", "foo\nbar");
+    when(system2.now()).thenReturn(DATE_1);
+    persister.persist();
+    FileSourceDto before = dao.select("uuidsame");
+
+    when(system2.now()).thenReturn(DATE_2);
+    persister.persist();
+
+    FileSourceDto after = dao.select("uuidsame");
+    assertThat(after.getId()).isEqualTo(before.getId());
+    assertThat(after.getUpdatedAt()).isEqualTo(DATE_1);
+    assertThat(after.getDataHash()).isEqualTo(before.getDataHash());
+  }
+
+  @Test
+  public void should_rewrite_changed_file() throws Exception {
+    addFile("src/Foo.java", "uuidchanged", "foo\nbar");
+    when(system2.now()).thenReturn(DATE_1);
+    persister.persist();
+    FileSourceDto before = dao.select("uuidchanged");
+
+    inputPathCache.removeModule("foo");
+    addFile("src/Foo.java", "uuidchanged", "foo\nbaz");
+    when(system2.now()).thenReturn(DATE_2);
+    persister.persist();
+
+    FileSourceDto after = dao.select("uuidchanged");
+    assertThat(after.getId()).isEqualTo(before.getId());
+    assertThat(after.getCreatedAt()).isEqualTo(DATE_1);
+    assertThat(after.getUpdatedAt()).isEqualTo(DATE_2);
+    assertThat(after.getSrcHash()).isEqualTo(DigestUtils.md5Hex("foo\nbaz"));
+    assertThat(after.getDataHash()).isNotEqualTo(before.getDataHash());
+    assertThat(after.getLineHashes()).isEqualTo(DigestUtils.md5Hex("foo") + "\n" + DigestUtils.md5Hex("baz"));
+  }
+
+  @Test
+  public void should_rewrite_file_when_only_line_measures_changed() throws Exception {
+    DefaultInputFile inputFile = addFile("src/Foo.java", "uuidcoverage", "foo\nbar");
+    when(system2.now()).thenReturn(DATE_1);
+    persister.persist();
+    FileSourceDto before = dao.select("uuidcoverage");
+
+    when(lineMeasureCache.get(inputFile.key(), CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY)).thenReturn(LineMeasures.ofInts(new int[] {3, 0}));
+    when(system2.now()).thenReturn(DATE_2);
+    persister.persist();
+
+    FileSourceDto after = dao.select("uuidcoverage");
+    assertThat(after.getUpdatedAt()).isEqualTo(DATE_2);
+    assertThat(after.getSrcHash()).isEqualTo(before.getSrcHash());
+    assertThat(after.getInputHash()).isNotEqualTo(before.getInputHash());
+    assertThat(after.getDataHash()).isNotEqualTo(before.getDataHash());
+  }
+
+  @Test
+  public void should_update_file_with_missing_src_hash() throws Exception {
+    setupData("file_sources_missing_src_hash");
+    addFile("src/Foo.java", "uuidsame", "foo\nbar");
+    when(system2.now()).thenReturn(DATE_2);
+
+    persister.persist();
+
+    FileSourceDto dto = dao.select("uuidsame");
+    assertThat(dto.getId()).isEqualTo(101L);
+    assertThat(dto.getSrcHash()).isEqualTo(DigestUtils.md5Hex("foo\nbar"));
+    assertThat(dto.getInputHash()).isNotEmpty();
+    assertThat(dto.getCreatedAt()).isEqualTo(DATE_1);
+    assertThat(dto.getUpdatedAt()).isEqualTo(DATE_2);
+  }
+
+  @Test
+  public void should_write_files_in_order_with_several_threads() throws Exception {
+    setupData("shared");
+    settings.setProperty(SourcePersister.THREADS_PROPERTY, 3);
+    int nbFiles = 150;
+    for (int i = 0; i < nbFiles; i++) {
+      addFile(String.format("src/Foo%03d.java", i), "uuid" + i, "foo\nbar" + i);
+    }
+    when(system2.now()).thenReturn(DATE_2);
+
+    persister.persist();
+
+    // row of other project is kept as id 1, then files are inserted in the order of the input path cache
+    assertThat(dao.select("FILE_UUID").getId()).isEqualTo(1L);
+    for (int i = 0; i < nbFiles; i++) {
+      FileSourceDto dto = dao.select("uuid" + i);
+      assertThat(dto.getId()).isEqualTo(i + 2L);
+      assertThat(dto.getSrcHash()).isEqualTo(DigestUtils.md5Hex("foo\nbar" + i));
+    }
+  }
+
+  private DefaultInputFile addFile(String relativePath, String uuid, String content) throws Exception {
+    DefaultInputFile inputFile = new DefaultInputFile("foo", relativePath)
+      .setModuleBaseDir(baseDir.toPath())
+      .setLines(content.split("\n").length)
+      .setCharset(Charsets.UTF_8);
+    FileUtils.write(inputFile.file(), content, Charsets.UTF_8);
+    inputPathCache.put("foo", inputFile);
+    inputPathCache.put("foo", relativePath, new InputFileMetadata().setHash(DigestUtils.md5Hex(content)));
+    if (resourceCache.get(inputFile.key()) == null) {
+      File file = File.create(relativePath);
+      file.setEffectiveKey(inputFile.key());
+      file.setUuid(uuid);
+      resourceCache.add(file, resourceCache.getRoot().resource());
+    }
+    return inputFile;
+  }
+}
@@ -19,15 +19,24 @@
  */
 package org.sonar.batch.issue.tracking;
 
+import com.google.common.base.Function;
+import com.google.common.io.InputSupplier;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.sonar.api.utils.HttpDownloader;
 import org.sonar.batch.bootstrap.ServerClient;
+import org.sonar.batch.protocol.input.BatchInput.FileLineHashes;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.anyString;
@@ -79,4 +88,27 @@ public class DefaultServerLineHashesLoaderTest {
     lastSnapshots.getLineHashes("foo");
   }
 
+
+  @Test
+  public void should_load_line_hashes_of_module() throws Exception {
+    ServerClient server = mock(ServerClient.class);
+    InputSupplier<InputStream> is = mock(InputSupplier.class);
+    when(server.doRequest("/api/sources/hashes?moduleKey=myproject", "GET", null)).thenReturn(is);
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    FileLineHashes.newBuilder().setFileKey("myproject:org/foo/Bar.c").addAllLineHash(Arrays.asList("ae12", "", "43fb")).build().writeDelimitedTo(bos);
+    FileLineHashes.newBuilder().setFileKey("myproject:org/foo/Foo.c").addLineHash("12ab").build().writeDelimitedTo(bos);
+    when(is.getInput()).thenReturn(new ByteArrayInputStream(bos.toByteArray()));
+
+    final List<FileLineHashes> result = new ArrayList<>();
+    new DefaultServerLineHashesLoader(server).loadLineHashesOfModule("myproject", new Function<FileLineHashes, Void>() {
+      @Override
+      public Void apply(FileLineHashes input) {
+        result.add(input);
+        return null;
+      }
+    });
+
+    assertThat(result).extracting("fileKey").containsExactly("myproject:org/foo/Bar.c", "myproject:org/foo/Foo.c");
+    assertThat(result.get(0).getLineHashList()).containsExactly("ae12", "", "43fb");
+  }
 }
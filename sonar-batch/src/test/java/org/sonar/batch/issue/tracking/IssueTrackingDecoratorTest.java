@@ -106,7 +106,8 @@ public class IssueTrackingDecoratorTest {
       perspectives,
       profile,
       ruleFinder,
-      inputPathCache);
+      inputPathCache,
+      mock(ModuleIssueTracking.class));
   }
 
   @Test
@@ -21,7 +21,9 @@
 package org.sonar.batch.issue.tracking;
 
 import com.google.common.base.Charsets;
+import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
 import com.google.common.io.Resources;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
@@ -42,6 +44,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -317,6 +320,68 @@ public class IssueTrackingTest {
     assertThat(result.matching(newIssue5)).isSameAs(referenceIssue1);
   }
 
+  @Test
+  public void should_track_issues_on_large_file() throws Exception {
+    // lines are repeated, so that they can't be matched by their hashes only
+    StringBuilder reference = new StringBuilder();
+    StringBuilder newSource = new StringBuilder();
+    List<ServerIssue> referenceIssues = Lists.newArrayList();
+    List<DefaultIssue> newIssues = Lists.newArrayList();
+    int newLine = 1;
+    for (int i = 0; i < 1000; i++) {
+      if (i % 10 == 0) {
+        newSource.append("// inserted\n");
+        newLine++;
+      }
+      reference.append("line").append(i % 5).append("\n");
+      newSource.append("line").append(i % 5).append("\n");
+      referenceIssues.add(newReferenceIssue("Issue " + i, i + 1, "squid", "AvoidCycle", null));
+      newIssues.add(newDefaultIssue("Issue " + i, newLine, RuleKey.of("squid", "AvoidCycle"), null));
+      newLine++;
+    }
+    initLastHashesWithContent(reference.toString(), newSource.toString());
+
+    IssueTrackingResult result = tracking.track(sourceHashHolder, referenceIssues, newIssues);
+
+    for (int i = 0; i < 1000; i++) {
+      assertThat(result.matching(newIssues.get(i))).isSameAs(referenceIssues.get(i));
+    }
+  }
+
+  @Test
+  public void should_track_issues_on_large_file_of_repeated_lines() throws Exception {
+    // two large blocks of identical lines are swapped, so that each line of the moved block has the same hash as all the lines of the block
+    StringBuilder reference = new StringBuilder();
+    StringBuilder newSource = new StringBuilder();
+    List<ServerIssue> referenceIssues = Lists.newArrayList();
+    List<DefaultIssue> newIssues = Lists.newArrayList();
+    for (int i = 0; i < 2000; i++) {
+      String block = i < 1000 ? "a" : "b";
+      reference.append(block).append("\n");
+      referenceIssues.add(newReferenceIssue("Issue " + block + (i % 1000), i + 1, "squid", "AvoidCycle", null));
+    }
+    for (int i = 0; i < 2000; i++) {
+      String block = i < 1000 ? "b" : "a";
+      newSource.append(block).append("\n");
+      newIssues.add(newDefaultIssue("Issue " + block + (i % 1000), i + 1, RuleKey.of("squid", "AvoidCycle"), null));
+    }
+    initLastHashesWithContent(reference.toString(), newSource.toString());
+
+    IssueTrackingResult result = tracking.track(sourceHashHolder, referenceIssues, newIssues);
+
+    // lines of the block that is unchanged are matched, pairs of lines of the moved block are too many to be all compared,
+    // but the nearest ones are
+    int matched = 0;
+    for (DefaultIssue newIssue : newIssues) {
+      ServerIssue matching = result.matching(newIssue);
+      if (matching != null) {
+        assertThat(matching.message()).isEqualTo(newIssue.message());
+        matched++;
+      }
+    }
+    assertThat(matched).isGreaterThan(1000);
+  }
+
   @Test
   public void dont_load_checksum_if_no_new_issue() throws Exception {
     sourceHashHolder = mock(SourceHashHolder.class);
@@ -328,6 +393,34 @@ public class IssueTrackingTest {
     verifyZeroInteractions(lastSnapshots, sourceHashHolder);
   }
 
+  @Test
+  public void compare_moved_line_to_nearest_lines_with_same_hash_only() {
+    // line 1 is moved after lines 2 and 3, and repeated 100 times
+    String[] referenceHashes = new String[] {"x", "a", "a"};
+    String[] sourceHashes = new String[102];
+    sourceHashes[0] = "a";
+    sourceHashes[1] = "a";
+    Arrays.fill(sourceHashes, 2, 102, "x");
+    FileHashes hashedReference = FileHashes.create(referenceHashes);
+    FileHashes hashedSource = FileHashes.create(sourceHashes);
+
+    Multimap<Integer, ServerIssue> lastIssuesByLines = LinkedHashMultimap.create();
+    lastIssuesByLines.put(1, mock(ServerIssue.class));
+    Multimap<Integer, DefaultIssue> newIssuesByLines = LinkedHashMultimap.create();
+    for (int line = 3; line <= 102; line++) {
+      newIssuesByLines.put(line, new DefaultIssue().setLine(line));
+    }
+
+    List<IssueTracking.LinePair> pairs = IssueTracking.movedLinePairs(hashedReference, hashedSource, LinesDiff.compute(hashedReference, hashedSource),
+      newIssuesByLines, lastIssuesByLines);
+
+    assertThat(pairs).hasSize(IssueTracking.MAX_MOVED_LINE_CANDIDATES);
+    for (IssueTracking.LinePair pair : pairs) {
+      assertThat(pair.lineA).isEqualTo(1);
+      assertThat(pair.lineB).isBetween(3, 2 + IssueTracking.MAX_MOVED_LINE_CANDIDATES);
+    }
+  }
+
   private static String load(String name) throws IOException {
     return Resources.toString(IssueTrackingTest.class.getResource("IssueTrackingTest/" + name + ".txt"), Charsets.UTF_8);
   }
@@ -351,16 +444,19 @@ public class IssueTrackingTest {
   }
 
   private void initLastHashes(String reference, String newSource) throws IOException {
+    initLastHashesWithContent(load(reference), load(newSource));
+  }
+
+  private void initLastHashesWithContent(String reference, String data) throws IOException {
     DefaultInputFile inputFile = mock(DefaultInputFile.class);
     File f = temp.newFile();
     when(inputFile.path()).thenReturn(f.toPath());
     when(inputFile.file()).thenReturn(f);
     when(inputFile.charset()).thenReturn(Charsets.UTF_8);
-    String data = load(newSource);
     when(inputFile.lines()).thenReturn(StringUtils.countMatches(data, "\n") + 1);
     FileUtils.write(f, data, Charsets.UTF_8);
     when(inputFile.key()).thenReturn("foo:Action.java");
-    when(lastSnapshots.getLineHashes("foo:Action.java")).thenReturn(computeHexHashes(load(reference)));
+    when(lastSnapshots.getLineHashes("foo:Action.java")).thenReturn(computeHexHashes(reference));
     sourceHashHolder = new SourceHashHolder(inputFile, lastSnapshots);
   }
 
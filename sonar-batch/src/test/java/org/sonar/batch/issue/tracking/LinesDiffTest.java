@@ -0,0 +1,112 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.issue.tracking;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LinesDiffTest {
+
+  @Test
+  public void same_lines() {
+    LinesDiff diff = LinesDiff.compute(t("abc"), t("abc"));
+    assertThat(matchingLines(diff, 3)).isEqualTo("1,2,3");
+  }
+
+  @Test
+  public void inserted_and_deleted_lines() {
+    LinesDiff diff = LinesDiff.compute(t("abcde"), t("xabdey"));
+    assertThat(matchingLines(diff, 5)).isEqualTo("2,3,0,4,5");
+  }
+
+  @Test
+  public void modified_lines() {
+    LinesDiff diff = LinesDiff.compute(t("abcdef"), t("abxyef"));
+    assertThat(matchingLines(diff, 6)).isEqualTo("1,2,0,0,5,6");
+    assertThat(diff.replacingLine(1)).isEqualTo(0);
+    assertThat(diff.replacingLine(3)).isEqualTo(3);
+    assertThat(diff.replacingLine(4)).isEqualTo(4);
+  }
+
+  @Test
+  public void no_replacing_line_when_block_is_shorter() {
+    LinesDiff diff = LinesDiff.compute(t("abcdef"), t("abxef"));
+    assertThat(diff.replacingLine(3)).isEqualTo(3);
+    assertThat(diff.replacingLine(4)).isEqualTo(0);
+  }
+
+  @Test
+  public void unique_lines_are_matched_first() {
+    // the block "b}" is matched with the first occurrence of "b}" after "A"
+    LinesDiff diff = LinesDiff.compute(t("Ab}"), t("Bb}Ab}Cb}"));
+    assertThat(matchingLines(diff, 3)).isEqualTo("4,5,6");
+  }
+
+  @Test
+  public void empty_versions() {
+    assertThat(matchingLines(LinesDiff.compute(t("abc"), t("")), 3)).isEqualTo("0,0,0");
+    assertThat(LinesDiff.compute(t("abc"), t("")).replacingLine(1)).isEqualTo(0);
+    assertThat(matchingLines(LinesDiff.compute(t(""), t("abc")), 0)).isEmpty();
+  }
+
+  @Test
+  public void large_versions() {
+    int size = 100000;
+    String[] reference = new String[size];
+    String[] source = new String[size];
+    for (int i = 0; i < size; i++) {
+      reference[i] = "line" + (i % 100);
+      // every 10th line is modified
+      source[i] = i % 10 == 0 ? "modified" + i : reference[i];
+    }
+
+    LinesDiff diff = LinesDiff.compute(FileHashes.create(reference), FileHashes.create(source));
+
+    for (int line = 1; line <= size; line++) {
+      if (line % 10 == 1) {
+        assertThat(diff.matchingLine(line)).isEqualTo(0);
+        assertThat(diff.replacingLine(line)).isEqualTo(line);
+      } else {
+        assertThat(diff.matchingLine(line)).isEqualTo(line);
+      }
+    }
+  }
+
+  private static String matchingLines(LinesDiff diff, int length) {
+    StringBuilder sb = new StringBuilder();
+    for (int line = 1; line <= length; line++) {
+      if (line > 1) {
+        sb.append(',');
+      }
+      sb.append(diff.matchingLine(line));
+    }
+    return sb.toString();
+  }
+
+  private static FileHashes t(String text) {
+    String[] array = new String[text.length()];
+    for (int i = 0; i < text.length(); i++) {
+      array[i] = "" + text.charAt(i);
+    }
+    return FileHashes.create(array);
+  }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.issue.tracking;
+
+import com.google.common.base.Charsets;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang.StringUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.api.batch.AnalysisMode;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.batch.rule.ActiveRules;
+import org.sonar.api.config.Settings;
+import org.sonar.api.issue.Issue;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.resources.Directory;
+import org.sonar.api.resources.File;
+import org.sonar.api.resources.Project;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.batch.index.BatchResource;
+import org.sonar.batch.index.Caches;
+import org.sonar.batch.index.CachesTest;
+import org.sonar.batch.index.ResourceCache;
+import org.sonar.batch.issue.IssueCache;
+import org.sonar.batch.protocol.Constants.Severity;
+import org.sonar.batch.protocol.input.BatchInput;
+import org.sonar.batch.protocol.input.ProjectRepositories;
+import org.sonar.batch.scan.filesystem.InputPathCache;
+import org.sonar.core.issue.IssueUpdater;
+import org.sonar.core.issue.workflow.IssueWorkflow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.apache.commons.codec.digest.DigestUtils.md5Hex;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LocalIssueTrackingTest {
+
+  private static final int FILES = 10;
+  private static final int LINES = 5;
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void concurrent_tracking_gives_same_matches_as_sequential_tracking() throws Exception {
+    java.io.File baseDir = temp.newFolder();
+    for (int i = 0; i < FILES; i++) {
+      List<String> lines = new ArrayList<>();
+      for (int line = 1; line <= LINES; line++) {
+        lines.add(lineContent(i, line));
+      }
+      FileUtils.write(new java.io.File(baseDir, "src/File" + i + ".xoo"), StringUtils.join(lines, '\n'), Charsets.UTF_8);
+    }
+
+    List<String> sequential = track(baseDir, 1);
+    List<String> concurrent = track(baseDir, 4);
+
+    // issues have been moved one line up, issue of removed line is closed
+    assertThat(sequential).hasSize(FILES * (LINES + 2));
+    assertThat(sequential).contains("foo:src/File3.xoo|old-3-2|1|false|false", "foo:src/File3.xoo|old-3-6|5|false|false",
+      "foo:src/File3.xoo|new-3|3|true|false", "foo:src/File3.xoo|old-3-1|1|false|true");
+    assertThat(concurrent).isEqualTo(sequential);
+  }
+
+  private List<String> track(java.io.File baseDir, int threads) throws Exception {
+    Caches caches = CachesTest.createCacheOnTemp(temp);
+    caches.start();
+    try {
+      Project project = (Project) new Project("foo").setAnalysisDate(new Date()).setEffectiveKey("foo");
+      Directory dir = (Directory) Directory.create("src").setEffectiveKey("foo:src");
+      ResourceCache resourceCache = new ResourceCache();
+      resourceCache.add(project, null);
+      resourceCache.add(dir, project);
+
+      IssueCache issueCache = new IssueCache(caches);
+      InputPathCache inputPathCache = new InputPathCache();
+      ServerLineHashesLoader lineHashesLoader = mock(ServerLineHashesLoader.class);
+      ServerIssueRepository serverIssueRepository = mock(ServerIssueRepository.class);
+      when(serverIssueRepository.issuesOnMissingComponents()).thenReturn(Collections.<BatchInput.ServerIssue>emptyList());
+      when(serverIssueRepository.byComponent(any(BatchResource.class))).thenReturn(Collections.<BatchInput.ServerIssue>emptyList());
+
+      for (int i = 0; i < FILES; i++) {
+        String fileKey = "foo:src/File" + i + ".xoo";
+        File file = (File) File.create("src/File" + i + ".xoo").setEffectiveKey(fileKey);
+        BatchResource component = resourceCache.add(file, dir);
+        inputPathCache.put("foo", new DefaultInputFile("foo", "src/File" + i + ".xoo").setModuleBaseDir(baseDir.toPath())
+          .setLines(LINES).setCharset(Charsets.UTF_8).setStatus(InputFile.Status.CHANGED));
+
+        // a line has been removed at the beginning of file since previous analysis
+        String[] previousLineHashes = new String[LINES + 1];
+        List<BatchInput.ServerIssue> serverIssues = new ArrayList<>();
+        previousLineHashes[0] = md5Hex("removed");
+        for (int line = 1; line <= LINES; line++) {
+          previousLineHashes[line] = md5Hex(lineContent(i, line));
+          serverIssues.add(serverIssue(i, line + 1, "R" + (line + 1), previousLineHashes[line]));
+        }
+        serverIssues.add(serverIssue(i, 1, "Removed", previousLineHashes[0]));
+        when(lineHashesLoader.getLineHashes(fileKey)).thenReturn(previousLineHashes);
+        when(serverIssueRepository.byComponent(component)).thenReturn(serverIssues);
+
+        for (int line = 1; line <= LINES; line++) {
+          issueCache.put(new DefaultIssue().setKey("new-" + i + "-" + line).setComponentKey(fileKey).setLine(line)
+            .setRuleKey(RuleKey.of("xoo", "R" + (line + 1))).setStatus(Issue.STATUS_OPEN).setNew(true));
+        }
+        issueCache.put(new DefaultIssue().setKey("new-" + i).setComponentKey(fileKey).setLine(3)
+          .setRuleKey(RuleKey.of("xoo", "Added")).setStatus(Issue.STATUS_OPEN).setNew(true));
+      }
+
+      ProjectRepositories projectRepositories = new ProjectRepositories();
+      projectRepositories.setLastAnalysisDate(new Date());
+      Settings settings = new Settings();
+      settings.setProperty(LocalIssueTracking.THREADS_PROPERTY, threads);
+      new LocalIssueTracking(resourceCache, issueCache, new IssueTracking(), lineHashesLoader, mock(IssueWorkflow.class), mock(IssueUpdater.class),
+        mock(ActiveRules.class), inputPathCache, serverIssueRepository, projectRepositories, mock(AnalysisMode.class), caches, settings).execute();
+
+      List<String> result = new ArrayList<>();
+      for (DefaultIssue issue : issueCache.all()) {
+        result.add(issue.componentKey() + "|" + issue.key() + "|" + issue.line() + "|" + issue.isNew() + "|" + issue.isEndOfLife());
+      }
+      return result;
+    } finally {
+      caches.stop();
+    }
+  }
+
+  private static BatchInput.ServerIssue serverIssue(int file, int line, String ruleKey, String checksum) {
+    return BatchInput.ServerIssue.newBuilder()
+      .setKey("old-" + file + "-" + line)
+      .setModuleKey("foo")
+      .setPath("src/File" + file + ".xoo")
+      .setRuleRepository("xoo")
+      .setRuleKey(ruleKey)
+      .setLine(line)
+      .setSeverity(Severity.MAJOR)
+      .setCreationDate(new Date().getTime())
+      .setChecksum(checksum)
+      .setStatus(Issue.STATUS_OPEN)
+      .build();
+  }
+
+  private static String lineContent(int file, int line) {
+    return "line" + line + "_of_file" + file;
+  }
+}
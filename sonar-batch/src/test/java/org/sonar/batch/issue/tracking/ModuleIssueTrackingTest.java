@@ -0,0 +1,225 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.issue.tracking;
+
+import com.google.common.base.Charsets;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.component.ResourcePerspectives;
+import org.sonar.api.config.Settings;
+import org.sonar.api.issue.Issue;
+import org.sonar.api.issue.internal.DefaultIssue;
+import org.sonar.api.profiles.RulesProfile;
+import org.sonar.api.resources.File;
+import org.sonar.api.resources.Project;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.rule.Severity;
+import org.sonar.api.rules.RuleFinder;
+import org.sonar.batch.index.Caches;
+import org.sonar.batch.index.CachesTest;
+import org.sonar.batch.issue.IssueCache;
+import org.sonar.batch.scan.filesystem.InputPathCache;
+import org.sonar.core.issue.IssueUpdater;
+import org.sonar.core.issue.db.IssueDto;
+import org.sonar.core.issue.workflow.IssueWorkflow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.apache.commons.codec.digest.DigestUtils.md5Hex;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ModuleIssueTrackingTest {
+
+  private static final int FILES = 10;
+  private static final int LINES = 5;
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  Caches caches;
+  IssueCache issueCache;
+  InitialOpenIssuesStack initialOpenIssues;
+  IssueTracking tracking = spy(new IssueTracking());
+  ServerLineHashesLoader lineHashesLoader = mock(ServerLineHashesLoader.class);
+  InputPathCache inputPathCache = new InputPathCache();
+  Project project = (Project) new Project("foo").setEffectiveKey("foo");
+  Settings settings = new Settings();
+  ModuleIssueTracking moduleIssueTracking;
+  IssueTrackingDecorator decorator;
+
+  @Before
+  public void prepare() throws Exception {
+    caches = CachesTest.createCacheOnTemp(temp);
+    caches.start();
+    issueCache = new IssueCache(caches);
+    initialOpenIssues = new InitialOpenIssuesStack(caches);
+    settings.setProperty(LocalIssueTracking.THREADS_PROPERTY, 4);
+    moduleIssueTracking = new ModuleIssueTracking(issueCache, initialOpenIssues, tracking, lineHashesLoader, inputPathCache, project, settings);
+    decorator = new IssueTrackingDecorator(issueCache, initialOpenIssues, tracking, lineHashesLoader, mock(IssueHandlers.class), mock(IssueWorkflow.class),
+      mock(IssueUpdater.class), project, mock(ResourcePerspectives.class), mock(RulesProfile.class), mock(RuleFinder.class), inputPathCache, moduleIssueTracking);
+
+    java.io.File baseDir = temp.newFolder();
+    for (int i = 0; i < FILES; i++) {
+      List<String> lines = new ArrayList<>();
+      for (int line = 1; line <= LINES; line++) {
+        lines.add(lineContent(i, line));
+      }
+      FileUtils.write(new java.io.File(baseDir, "src/File" + i + ".xoo"), StringUtils.join(lines, '\n'), Charsets.UTF_8);
+      inputPathCache.put("foo", new DefaultInputFile("foo", "src/File" + i + ".xoo").setModuleBaseDir(baseDir.toPath())
+        .setLines(LINES).setCharset(Charsets.UTF_8).setStatus(InputFile.Status.CHANGED));
+
+      // a line has been removed at the beginning of file since previous analysis
+      String fileKey = fileKey(i);
+      String[] previousLineHashes = new String[LINES + 1];
+      previousLineHashes[0] = md5Hex("removed");
+      for (int line = 1; line <= LINES; line++) {
+        previousLineHashes[line] = md5Hex(lineContent(i, line));
+        initialOpenIssues.addIssue(dbIssue(i, line + 1, previousLineHashes[line]));
+        issueCache.put(new DefaultIssue().setKey("new-" + i + "-" + line).setComponentKey(fileKey).setLine(line)
+          .setRuleKey(RuleKey.of("xoo", "R" + (line + 1))).setStatus(Issue.STATUS_OPEN).setNew(true));
+      }
+      when(lineHashesLoader.getLineHashes(fileKey)).thenReturn(previousLineHashes);
+    }
+  }
+
+  @After
+  public void stop() {
+    caches.stop();
+  }
+
+  @Test
+  public void decorator_consumes_issues_tracked_before_decoration() {
+    moduleIssueTracking.execute();
+    verify(tracking, times(FILES)).track(any(SourceHashHolder.class), anyCollection(), anyCollection());
+
+    for (int i = 0; i < FILES; i++) {
+      decorator.doDecorate(File.create("src/File" + i + ".xoo").setEffectiveKey(fileKey(i)));
+    }
+
+    // no more tracking during decoration
+    verify(tracking, times(FILES)).track(any(SourceHashHolder.class), anyCollection(), anyCollection());
+    for (int i = 0; i < FILES; i++) {
+      assertIssuesMovedOneLineUp(i);
+    }
+  }
+
+  @Test
+  public void decorator_tracks_issues_again_if_they_changed_since_module_tracking() {
+    moduleIssueTracking.execute();
+    issueCache.put(new DefaultIssue().setKey("added").setComponentKey(fileKey(3)).setLine(1)
+      .setRuleKey(RuleKey.of("xoo", "Added")).setStatus(Issue.STATUS_OPEN).setNew(true));
+
+    for (int i = 0; i < FILES; i++) {
+      decorator.doDecorate(File.create("src/File" + i + ".xoo").setEffectiveKey(fileKey(i)));
+    }
+
+    verify(tracking, times(FILES + 1)).track(any(SourceHashHolder.class), anyCollection(), anyCollection());
+    for (int i = 0; i < FILES; i++) {
+      assertIssuesMovedOneLineUp(i);
+    }
+    DefaultIssue added = issueCache.byComponent(fileKey(3)).iterator().next();
+    assertThat(added.key()).isEqualTo("added");
+    assertThat(added.isNew()).isTrue();
+  }
+
+  @Test
+  public void decorator_tracks_issues_again_if_they_were_modified_since_module_tracking() {
+    moduleIssueTracking.execute();
+    DefaultIssue modified = issueCache.byComponent(fileKey(3)).iterator().next();
+    issueCache.put(modified.setSeverity(Severity.BLOCKER));
+
+    for (int i = 0; i < FILES; i++) {
+      decorator.doDecorate(File.create("src/File" + i + ".xoo").setEffectiveKey(fileKey(i)));
+    }
+
+    verify(tracking, times(FILES + 1)).track(any(SourceHashHolder.class), anyCollection(), anyCollection());
+    for (int i = 0; i < FILES; i++) {
+      assertIssuesMovedOneLineUp(i);
+    }
+    assertThat(issueCache.byComponent(fileKey(3))).extracting("severity").contains(Severity.BLOCKER);
+  }
+
+  @Test
+  public void line_hashes_are_loaded_in_calling_thread() {
+    final Thread callingThread = Thread.currentThread();
+    final List<Thread> loadingThreads = new CopyOnWriteArrayList<>();
+    when(lineHashesLoader.getLineHashes(anyString())).thenAnswer(new Answer<String[]>() {
+      @Override
+      public String[] answer(InvocationOnMock invocation) {
+        loadingThreads.add(Thread.currentThread());
+        return null;
+      }
+    });
+
+    moduleIssueTracking.execute();
+
+    assertThat(loadingThreads).hasSize(FILES).containsOnly(callingThread);
+  }
+
+  private void assertIssuesMovedOneLineUp(int file) {
+    List<String> keys = new ArrayList<>();
+    for (DefaultIssue issue : issueCache.byComponent(fileKey(file))) {
+      if (!issue.isNew()) {
+        keys.add(issue.key() + "|" + issue.line());
+      }
+    }
+    assertThat(keys).hasSize(LINES);
+    for (int line = 1; line <= LINES; line++) {
+      assertThat(keys).contains("old-" + file + "-" + (line + 1) + "|" + line);
+    }
+  }
+
+  private static IssueDto dbIssue(int file, int line, String checksum) {
+    return new IssueDto()
+      .setKee("old-" + file + "-" + line)
+      .setComponentKey(fileKey(file))
+      .setRuleKey("xoo", "R" + line)
+      .setLine(line)
+      .setChecksum(checksum)
+      .setStatus(Issue.STATUS_OPEN);
+  }
+
+  private static String fileKey(int file) {
+    return "foo:src/File" + file + ".xoo";
+  }
+
+  private static String lineContent(int file, int line) {
+    return "line" + line + "_of_file" + file;
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.issue.tracking;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.batch.index.Caches;
+import org.sonar.batch.index.CachesTest;
+import org.sonar.batch.protocol.input.BatchInput.FileLineHashes;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class PrefetchedLineHashesLoaderTest {
+
+  @ClassRule
+  public static TemporaryFolder temp = new TemporaryFolder();
+
+  Caches caches;
+  ServerLineHashesLoader loader = new FakeLoader();
+
+  @Before
+  public void start() {
+    caches = CachesTest.createCacheOnTemp(temp);
+    caches.start();
+  }
+
+  @After
+  public void stop() {
+    caches.stop();
+  }
+
+  @Test
+  public void prefetch_line_hashes_of_modules() throws Exception {
+    PrefetchedLineHashesLoader prefetched = new PrefetchedLineHashesLoader(loader, caches);
+    SetMultimap<String, String> fileKeysByModule = LinkedHashMultimap.create();
+    for (String moduleKey : Arrays.asList("moduleA", "moduleB", "moduleC", "moduleD", "moduleE")) {
+      fileKeysByModule.put(moduleKey, moduleKey + ":Foo.java");
+    }
+    prefetched.prefetch(fileKeysByModule);
+
+    assertThat(prefetched.getLineHashes("moduleA:Foo.java")).containsExactly("moduleA-1", "moduleA-2");
+    assertThat(prefetched.getLineHashes("moduleE:Foo.java")).containsExactly("moduleE-1", "moduleE-2");
+  }
+
+  @Test
+  public void keep_only_line_hashes_of_requested_files() throws Exception {
+    PrefetchedLineHashesLoader prefetched = new PrefetchedLineHashesLoader(loader, caches);
+    prefetched.prefetch(ImmutableSetMultimap.of("moduleA", "moduleA:Foo.java"));
+
+    assertThat(prefetched.getLineHashes("moduleA:Foo.java")).containsExactly("moduleA-1", "moduleA-2");
+    assertThat(prefetched.getLineHashes("moduleA:Bar.java")).containsExactly("loaded");
+  }
+
+  @Test
+  public void fallback_to_loader_if_file_not_prefetched() throws Exception {
+    ServerLineHashesLoader loader = mock(ServerLineHashesLoader.class);
+    when(loader.getLineHashes(anyString())).thenReturn(new String[] {"ab12"});
+
+    PrefetchedLineHashesLoader prefetched = new PrefetchedLineHashesLoader(loader, caches);
+    prefetched.prefetch(ImmutableSetMultimap.<String, String>of());
+    verifyZeroInteractions(loader);
+
+    assertThat(prefetched.getLineHashes("moduleA:Foo.java")).containsExactly("ab12");
+    verify(loader).getLineHashes("moduleA:Foo.java");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void fail_if_module_can_not_be_loaded() throws Exception {
+    ServerLineHashesLoader loader = mock(ServerLineHashesLoader.class);
+    doThrow(new IllegalStateException("Server error")).when(loader).loadLineHashesOfModule(anyString(), any(Function.class));
+
+    new PrefetchedLineHashesLoader(loader, caches).prefetch(ImmutableSetMultimap.of("moduleA", "moduleA:Foo.java"));
+  }
+
+  private static class FakeLoader implements ServerLineHashesLoader {
+    @Override
+    public String[] getLineHashes(String fileKey) {
+      return new String[] {"loaded"};
+    }
+
+    @Override
+    public void loadLineHashesOfModule(String moduleKey, Function<FileLineHashes, Void> consumer) {
+      consumer.apply(FileLineHashes.newBuilder().setFileKey(moduleKey + ":Foo.java").addAllLineHash(Arrays.asList(moduleKey + "-1", moduleKey + "-2")).build());
+      consumer.apply(FileLineHashes.newBuilder().setFileKey(moduleKey + ":Bar.java").addAllLineHash(Arrays.asList(moduleKey + "-3")).build());
+    }
+  }
+}
@@ -92,6 +92,22 @@ public class SourceHashHolderTest {
     Mockito.verifyNoMoreInteractions(lastSnapshots);
   }
 
+  @Test
+  public void should_load_reference_hashes_before_hashing_source() throws Exception {
+    String key = "foo:src/Foo.java";
+    when(file.key()).thenReturn(key);
+    when(file.status()).thenReturn(InputFile.Status.CHANGED);
+    when(lastSnapshots.getLineHashes(key)).thenReturn(new String[] {md5Hex("source")});
+
+    sourceHashHolder.loadReference();
+    verify(lastSnapshots).getLineHashes(key);
+    verify(file, Mockito.never()).file();
+
+    FileUtils.write(ioFile, "source", Charsets.UTF_8);
+    assertThat(sourceHashHolder.getNewLinesMatching(1)).containsOnly(1);
+    Mockito.verifyNoMoreInteractions(lastSnapshots);
+  }
+
   @Test
   public void should_not_load_reference_hashes_when_status_same() throws Exception {
     final String source = "source";
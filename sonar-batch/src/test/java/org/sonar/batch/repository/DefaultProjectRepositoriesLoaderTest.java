@@ -20,16 +20,29 @@
 package org.sonar.batch.repository;
 
 import com.google.common.collect.Maps;
+import com.google.common.io.InputSupplier;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.sonar.api.batch.bootstrap.ProjectDefinition;
 import org.sonar.api.batch.bootstrap.ProjectReactor;
 import org.sonar.batch.bootstrap.DefaultAnalysisMode;
 import org.sonar.batch.bootstrap.ServerClient;
 import org.sonar.batch.bootstrap.TaskProperties;
+import org.sonar.batch.protocol.input.ActiveRule;
+import org.sonar.batch.protocol.input.BatchInput.ProjectRepositoryItem;
+import org.sonar.batch.protocol.input.FileData;
+import org.sonar.batch.protocol.input.ProjectRepositories;
 import org.sonar.batch.rule.ModuleQProfiles;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -42,42 +55,82 @@ public class DefaultProjectRepositoriesLoaderTest {
   private DefaultAnalysisMode analysisMode;
   private ProjectReactor reactor;
   private TaskProperties taskProperties;
+  private FileDataCache fileDataCache;
 
   @Before
-  public void prepare() {
+  public void prepare() throws Exception {
     serverClient = mock(ServerClient.class);
     analysisMode = mock(DefaultAnalysisMode.class);
     loader = new DefaultProjectRepositoriesLoader(serverClient, analysisMode);
     loader = spy(loader);
-    when(serverClient.request(anyString())).thenReturn("{}");
+    InputSupplier<InputStream> emptyResponse = mock(InputSupplier.class);
+    when(emptyResponse.getInput()).thenReturn(new ByteArrayInputStream(new byte[0]));
+    when(serverClient.doRequest(anyString(), eq("GET"), (Integer) isNull())).thenReturn(emptyResponse);
     taskProperties = new TaskProperties(Maps.<String, String>newHashMap(), "");
+    fileDataCache = mock(FileDataCache.class);
   }
 
   @Test
   public void passPreviewParameter() {
     reactor = new ProjectReactor(ProjectDefinition.create().setKey("foo"));
     when(analysisMode.isPreview()).thenReturn(false);
-    loader.load(reactor, taskProperties);
-    verify(serverClient).request("/batch/project?key=foo&preview=false");
+    loader.load(reactor, taskProperties, fileDataCache);
+    verify(serverClient).doRequest("/batch/project?key=foo&preview=false&format=protobuf", "GET", null);
 
     when(analysisMode.isPreview()).thenReturn(true);
-    loader.load(reactor, taskProperties);
-    verify(serverClient).request("/batch/project?key=foo&preview=true");
+    loader.load(reactor, taskProperties, fileDataCache);
+    verify(serverClient).doRequest("/batch/project?key=foo&preview=true&format=protobuf", "GET", null);
   }
 
   @Test
   public void passAndEncodeProjectKeyParameter() {
     reactor = new ProjectReactor(ProjectDefinition.create().setKey("foo bàr"));
-    loader.load(reactor, taskProperties);
-    verify(serverClient).request("/batch/project?key=foo+b%C3%A0r&preview=false");
+    loader.load(reactor, taskProperties, fileDataCache);
+    verify(serverClient).doRequest("/batch/project?key=foo+b%C3%A0r&preview=false&format=protobuf", "GET", null);
   }
 
   @Test
   public void passAndEncodeProfileParameter() {
     reactor = new ProjectReactor(ProjectDefinition.create().setKey("foo"));
     taskProperties.properties().put(ModuleQProfiles.SONAR_PROFILE_PROP, "my-profile#2");
-    loader.load(reactor, taskProperties);
-    verify(serverClient).request("/batch/project?key=foo&profile=my-profile%232&preview=false");
+    loader.load(reactor, taskProperties, fileDataCache);
+    verify(serverClient).doRequest("/batch/project?key=foo&profile=my-profile%232&preview=false&format=protobuf", "GET", null);
+  }
+
+  @Test
+  public void parseProtobufItems() throws Exception {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    ProjectRepositoryItem.newBuilder().setLastAnalysisDate(1500000000000L).build().writeDelimitedTo(bos);
+    ProjectRepositoryItem.Property property = ProjectRepositoryItem.Property.newBuilder().setKey("sonar.jira.project.key").setValue("SONAR").build();
+    ProjectRepositoryItem.newBuilder().setModuleSettings(ProjectRepositoryItem.ModuleSettings.newBuilder()
+      .setModuleKey("foo").addProperty(property)).build().writeDelimitedTo(bos);
+    ProjectRepositoryItem.newBuilder().setQprofile(ProjectRepositoryItem.QProfile.newBuilder()
+      .setKey("abcd").setName("Java Way").setLanguage("java").setRulesUpdatedAt(1400000000000L)).build().writeDelimitedTo(bos);
+    ProjectRepositoryItem.newBuilder().setActiveRule(ProjectRepositoryItem.ActiveRule.newBuilder()
+      .setRepositoryKey("squid").setRuleKey("AvoidCycle").setSeverity("MINOR").setLanguage("java")
+      .addParam(ProjectRepositoryItem.Property.newBuilder().setKey("max").setValue("2"))).build().writeDelimitedTo(bos);
+    ProjectRepositoryItem.newBuilder().setFileData(ProjectRepositoryItem.FileData.newBuilder()
+      .setModuleKey("foo").setPath("src/Foo.java").setHash("xyz")).build().writeDelimitedTo(bos);
+
+    InputSupplier<InputStream> response = mock(InputSupplier.class);
+    when(response.getInput()).thenReturn(new ByteArrayInputStream(bos.toByteArray()));
+    when(serverClient.doRequest("/batch/project?key=foo&preview=false&format=protobuf", "GET", null)).thenReturn(response);
+
+    reactor = new ProjectReactor(ProjectDefinition.create().setKey("foo"));
+    ProjectRepositories ref = loader.load(reactor, taskProperties, fileDataCache);
+
+    assertThat(ref.lastAnalysisDate().getTime()).isEqualTo(1500000000000L);
+    assertThat(ref.settings("foo")).containsEntry("sonar.jira.project.key", "SONAR");
+    assertThat(ref.qProfiles()).extracting("key").containsOnly("abcd");
+    assertThat(ref.qProfiles().iterator().next().rulesUpdatedAt().getTime()).isEqualTo(1400000000000L);
+    ActiveRule activeRule = ref.activeRules().iterator().next();
+    assertThat(activeRule.ruleKey()).isEqualTo("AvoidCycle");
+    assertThat(activeRule.templateRuleKey()).isNull();
+    assertThat(activeRule.param("max")).isEqualTo("2");
+    ArgumentCaptor<FileData> fileData = ArgumentCaptor.forClass(FileData.class);
+    verify(fileDataCache).put(eq("foo"), eq("src/Foo.java"), fileData.capture());
+    assertThat(fileData.getValue().hash()).isEqualTo("xyz");
+    assertThat(ref.fileDataByPath("foo")).isEmpty();
   }
 
 }
@@ -0,0 +1,76 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.repository;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.batch.index.Caches;
+import org.sonar.batch.index.CachesTest;
+import org.sonar.batch.protocol.input.FileData;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileDataCacheTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  Caches caches;
+
+  @Before
+  public void start() throws Exception {
+    caches = CachesTest.createCacheOnTemp(temp);
+    caches.start();
+  }
+
+  @After
+  public void stop() {
+    caches.stop();
+  }
+
+  @Test
+  public void should_put_and_get_file_data() throws Exception {
+    FileDataCache cache = new FileDataCache(caches);
+    cache.put("foo", "src/Foo.java", new FileData("ABCDE", true, null, null, null));
+    cache.put("foo", "src/Bar.java", new FileData("FGHIJ", false, "1=123,2=456", "1=abc,2=def", "1=julien,2=simon"));
+    cache.put("foo:bar", "src/Baz.java", new FileData(null, true, null, null, null));
+
+    FileData foo = cache.get("foo", "src/Foo.java");
+    assertThat(foo.hash()).isEqualTo("ABCDE");
+    assertThat(foo.needBlame()).isTrue();
+    assertThat(foo.scmAuthorsByLine()).isNull();
+
+    FileData bar = cache.get("foo", "src/Bar.java");
+    assertThat(bar.hash()).isEqualTo("FGHIJ");
+    assertThat(bar.needBlame()).isFalse();
+    assertThat(bar.scmLastCommitDatetimesByLine()).isEqualTo("1=123,2=456");
+    assertThat(bar.scmRevisionsByLine()).isEqualTo("1=abc,2=def");
+    assertThat(bar.scmAuthorsByLine()).isEqualTo("1=julien,2=simon");
+
+    assertThat(cache.get("foo:bar", "src/Baz.java").hash()).isNull();
+    assertThat(cache.get("foo", "src/Other.java")).isNull();
+    assertThat(cache.paths("foo")).containsOnly("src/Foo.java", "src/Bar.java");
+    assertThat(cache.paths("other")).isEmpty();
+  }
+
+}
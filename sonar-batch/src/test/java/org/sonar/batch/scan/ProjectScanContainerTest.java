@@ -20,7 +20,9 @@
 package org.sonar.batch.scan;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.sonar.api.BatchExtension;
 import org.sonar.api.CoreProperties;
 import org.sonar.api.ServerExtension;
@@ -33,7 +35,7 @@ import org.sonar.api.config.Settings;
 import org.sonar.api.platform.ComponentContainer;
 import org.sonar.api.task.TaskExtension;
 import org.sonar.api.utils.System2;
-import org.sonar.api.utils.TempFolder;
+import org.sonar.api.utils.internal.DefaultTempFolder;
 import org.sonar.batch.bootstrap.BootstrapProperties;
 import org.sonar.batch.bootstrap.DefaultAnalysisMode;
 import org.sonar.batch.bootstrap.ExtensionInstaller;
@@ -42,6 +44,7 @@ import org.sonar.batch.bootstrap.TaskProperties;
 import org.sonar.batch.profiling.PhasesSumUpTimeProfiler;
 import org.sonar.batch.protocol.input.GlobalRepositories;
 import org.sonar.batch.protocol.input.ProjectRepositories;
+import org.sonar.batch.repository.FileDataCache;
 import org.sonar.batch.repository.ProjectRepositoriesLoader;
 
 import java.util.Collections;
@@ -52,6 +55,9 @@ import static org.mockito.Mockito.when;
 
 public class ProjectScanContainerTest {
 
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
   private ProjectBootstrapper projectBootstrapper;
   private ProjectScanContainer container;
   private Settings settings;
@@ -73,7 +79,7 @@ public class ProjectScanContainerTest {
     parentContainer.add(settings);
     ProjectRepositoriesLoader projectReferentialsLoader = new ProjectRepositoriesLoader() {
       @Override
-      public ProjectRepositories load(ProjectReactor reactor, TaskProperties taskProperties) {
+      public ProjectRepositories load(ProjectReactor reactor, TaskProperties taskProperties, FileDataCache fileDataCache) {
         return new ProjectRepositories();
       }
     };
@@ -83,8 +89,8 @@ public class ProjectScanContainerTest {
   }
 
   @Test
-  public void should_activate_profiling() {
-    container.add(mock(ExtensionInstaller.class), projectBootstrapper, mock(TempFolder.class));
+  public void should_activate_profiling() throws Exception {
+    container.add(mock(ExtensionInstaller.class), projectBootstrapper, new DefaultTempFolder(temp.newFolder()));
     container.doBeforeStart();
 
     assertThat(container.getComponentsByType(PhasesSumUpTimeProfiler.class)).hasSize(0);
@@ -92,7 +98,7 @@ public class ProjectScanContainerTest {
     settings.setProperty(CoreProperties.PROFILING_LOG_PROPERTY, "true");
 
     container = new ProjectScanContainer(parentContainer);
-    container.add(mock(ExtensionInstaller.class), projectBootstrapper, mock(TempFolder.class));
+    container.add(mock(ExtensionInstaller.class), projectBootstrapper, new DefaultTempFolder(temp.newFolder()));
     container.doBeforeStart();
 
     assertThat(container.getComponentsByType(PhasesSumUpTimeProfiler.class)).hasSize(1);
@@ -22,17 +22,19 @@ package org.sonar.batch.scan.filesystem;
 import org.junit.Test;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.batch.protocol.input.FileData;
-import org.sonar.batch.protocol.input.ProjectRepositories;
+import org.sonar.batch.repository.FileDataCache;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class StatusDetectionTest {
   @Test
   public void detect_status() throws Exception {
-    ProjectRepositories ref = new ProjectRepositories();
-    ref.addFileData("foo", "src/Foo.java", new FileData("ABCDE", true, null, null, null));
-    ref.addFileData("foo", "src/Bar.java", new FileData("FGHIJ", true, null, null, null));
-    StatusDetection statusDetection = new StatusDetection(ref);
+    FileDataCache fileDataCache = mock(FileDataCache.class);
+    when(fileDataCache.get("foo", "src/Foo.java")).thenReturn(new FileData("ABCDE", true, null, null, null));
+    when(fileDataCache.get("foo", "src/Bar.java")).thenReturn(new FileData("FGHIJ", true, null, null, null));
+    StatusDetection statusDetection = new StatusDetection(fileDataCache);
 
     assertThat(statusDetection.status("foo", "src/Foo.java", "ABCDE")).isEqualTo(InputFile.Status.SAME);
     assertThat(statusDetection.status("foo", "src/Foo.java", "XXXXX")).isEqualTo(InputFile.Status.CHANGED);
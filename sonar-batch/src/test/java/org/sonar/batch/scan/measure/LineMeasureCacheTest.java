@@ -0,0 +1,86 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.scan.measure;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.api.measures.CoreMetrics;
+import org.sonar.api.utils.DateUtils;
+import org.sonar.batch.index.Caches;
+import org.sonar.batch.index.CachesTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LineMeasureCacheTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  Caches caches;
+
+  LineMeasureCache cache;
+
+  @Before
+  public void start() throws Exception {
+    caches = CachesTest.createCacheOnTemp(temp);
+    caches.start();
+    cache = new LineMeasureCache(caches);
+  }
+
+  @After
+  public void stop() {
+    caches.stop();
+  }
+
+  @Test
+  public void should_store_int_columns() throws Exception {
+    cache.putData("struts:Action.java", CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY, "1=10;3=0;4=");
+
+    assertThat(cache.contains("struts:Action.java", CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY)).isTrue();
+    assertThat(cache.contains("struts:Action.java", CoreMetrics.CONDITIONS_BY_LINE_KEY)).isFalse();
+    assertThat(cache.get("struts:Action.java", CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY).ints()).containsExactly(10, LineMeasures.NO_VALUE, 0, LineMeasures.NO_VALUE);
+    assertThat(cache.get("struts:Action.java", CoreMetrics.CONDITIONS_BY_LINE_KEY)).isNull();
+  }
+
+  @Test
+  public void should_store_date_columns() throws Exception {
+    cache.putData("struts:Action.java", CoreMetrics.SCM_LAST_COMMIT_DATETIMES_BY_LINE_KEY, "1=2014-10-11T16:44:02+0100;2=");
+
+    assertThat(cache.get("struts:Action.java", CoreMetrics.SCM_LAST_COMMIT_DATETIMES_BY_LINE_KEY).longs())
+      .containsExactly(DateUtils.parseDateTime("2014-10-11T16:44:02+0100").getTime(), LineMeasures.NO_VALUE);
+  }
+
+  @Test
+  public void should_store_string_columns() throws Exception {
+    cache.putData("struts:Action.java", CoreMetrics.SCM_AUTHORS_BY_LINE_KEY, "1=him;3=her");
+
+    assertThat(cache.get("struts:Action.java", CoreMetrics.SCM_AUTHORS_BY_LINE_KEY).strings()).containsExactly("him", null, "her");
+  }
+
+  @Test
+  public void line_metrics() {
+    assertThat(LineMeasureCache.isLineMetric(CoreMetrics.OVERALL_COVERED_CONDITIONS_BY_LINE_KEY)).isTrue();
+    assertThat(LineMeasureCache.isLineMetric(CoreMetrics.SCM_REVISIONS_BY_LINE_KEY)).isTrue();
+    assertThat(LineMeasureCache.isLineMetric(CoreMetrics.NCLOC_KEY)).isFalse();
+  }
+}
@@ -66,6 +66,8 @@ public class MeasureCacheTest {
 
   private TechnicalDebtModel techDebtModel;
 
+  private LineMeasureCache lineMeasureCache;
+
   private MeasureCache cache;
 
   @Before
@@ -75,7 +77,8 @@ public class MeasureCacheTest {
     metricFinder = mock(MetricFinder.class);
     when(metricFinder.findByKey(CoreMetrics.NCLOC_KEY)).thenReturn(CoreMetrics.NCLOC);
     techDebtModel = mock(TechnicalDebtModel.class);
-    cache = new MeasureCache(caches, metricFinder, techDebtModel);
+    lineMeasureCache = new LineMeasureCache(caches);
+    cache = new MeasureCache(caches, metricFinder, techDebtModel, lineMeasureCache);
   }
 
   @After
@@ -309,4 +312,28 @@ public class MeasureCacheTest {
     assertThat(EqualsBuilder.reflectionEquals(measure, savedMeasure)).isTrue();
 
   }
+  @Test
+  public void should_parse_line_measures_of_files() throws Exception {
+    Resource file = File.create("foo/bar/File1.txt").setEffectiveKey("struts:foo/bar/File1.txt");
+    Resource dir = Directory.create("foo/bar").setEffectiveKey("struts:foo/bar");
+
+    cache.put(file, new Measure(CoreMetrics.COVERAGE_LINE_HITS_DATA, "1=2;3=0"));
+    cache.put(dir, new Measure(CoreMetrics.CONDITIONS_BY_LINE, "1=2"));
+
+    assertThat(lineMeasureCache.get("struts:foo/bar/File1.txt", CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY).ints()).containsExactly(2, LineMeasures.NO_VALUE, 0);
+    assertThat(lineMeasureCache.contains("struts:foo/bar", CoreMetrics.CONDITIONS_BY_LINE_KEY)).isFalse();
+  }
+
+  @Test
+  public void should_update_line_measures_when_data_changes() throws Exception {
+    when(metricFinder.findByKey(CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY)).thenReturn(CoreMetrics.COVERAGE_LINE_HITS_DATA);
+    Resource file = File.create("foo/bar/File1.txt").setEffectiveKey("struts:foo/bar/File1.txt");
+
+    cache.put(file, new Measure(CoreMetrics.COVERAGE_LINE_HITS_DATA, "1=2;3=0"));
+    cache.put(file, new Measure(CoreMetrics.COVERAGE_LINE_HITS_DATA, "1=5;2=1"));
+
+    assertThat(lineMeasureCache.get("struts:foo/bar/File1.txt", CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY).ints()).containsExactly(5, 1);
+    assertThat(cache.byMetric(file, CoreMetrics.COVERAGE_LINE_HITS_DATA_KEY).iterator().next().getData()).isEqualTo("1=5;2=1");
+  }
+
 }
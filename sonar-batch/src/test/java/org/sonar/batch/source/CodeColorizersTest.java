@@ -28,6 +28,7 @@ import org.junit.rules.TemporaryFolder;
 import org.sonar.api.web.CodeColorizerFormat;
 import org.sonar.batch.highlighting.SyntaxHighlightingData;
 import org.sonar.colorizer.CDocTokenizer;
+import org.sonar.colorizer.CodeColorizer;
 import org.sonar.colorizer.CppDocTokenizer;
 import org.sonar.colorizer.JavadocTokenizer;
 import org.sonar.colorizer.KeywordsTokenizer;
@@ -73,6 +74,15 @@ public class CodeColorizersTest {
     assertThat(syntaxHighlighting.writeString()).isEqualTo(HIGHLIGHTING_JS);
   }
 
+  @Test
+  public void fingerprint_identifies_colorizer_and_its_location() {
+    CodeColorizers codeColorizers = new CodeColorizers(Arrays.<CodeColorizerFormat>asList(new JavaScriptColorizerFormat()));
+
+    assertThat(codeColorizers.fingerprint("js")).startsWith(JavaScriptColorizerFormat.class.getName() + "@file:");
+    assertThat(codeColorizers.fingerprint("java")).startsWith(CodeColorizer.class.getName() + "@");
+    assertThat(codeColorizers.fingerprint("cobol")).isNull();
+  }
+
   @Test
   public void shouldSupportJavaIfNotProvidedByJavaPluginForBackwardCompatibility() throws Exception {
     CodeColorizers codeColorizers = new CodeColorizers(Arrays.<CodeColorizerFormat>asList());
@@ -0,0 +1,97 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.batch.util;
+
+import org.junit.Test;
+import org.sonar.api.config.Settings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class OrderedExecutorTest {
+
+  @Test
+  public void results_are_consumed_in_the_order_of_submission() {
+    final List<Integer> consumed = new ArrayList<>();
+    final AtomicInteger maxPending = new AtomicInteger();
+    final AtomicInteger submitted = new AtomicInteger();
+    try (OrderedExecutor<Integer> executor = new OrderedExecutor<>(3, new OrderedExecutor.Consumer<Integer>() {
+      @Override
+      public void consume(Integer result) {
+        consumed.add(result);
+        maxPending.set(Math.max(maxPending.get(), submitted.get() - consumed.size() + 1));
+      }
+    })) {
+      for (int i = 0; i < 100; i++) {
+        final int value = i;
+        submitted.incrementAndGet();
+        executor.submit(new Callable<Integer>() {
+          @Override
+          public Integer call() throws Exception {
+            // later tasks tend to complete first
+            Thread.sleep(value % 3 == 0 ? 3 : 0);
+            return value;
+          }
+        });
+      }
+      executor.finish();
+    }
+
+    assertThat(consumed).hasSize(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(consumed.get(i)).isEqualTo(i);
+    }
+    assertThat(maxPending.get()).isLessThanOrEqualTo(3 * OrderedExecutor.PENDING_TASKS_PER_THREAD);
+  }
+
+  @Test
+  public void failure_of_task_is_propagated() {
+    try (OrderedExecutor<String> executor = new OrderedExecutor<>(2, new OrderedExecutor.Consumer<String>() {
+      @Override
+      public void consume(String result) {
+      }
+    })) {
+      executor.submit(new Callable<String>() {
+        @Override
+        public String call() {
+          throw new IllegalArgumentException("BOOM");
+        }
+      });
+      executor.finish();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessage("BOOM");
+    }
+  }
+
+  @Test
+  public void threads_are_configurable() {
+    Settings settings = new Settings();
+    assertThat(OrderedExecutor.threads(settings, "sonar.foo.threads")).isEqualTo(Runtime.getRuntime().availableProcessors());
+
+    settings.setProperty("sonar.foo.threads", 3);
+    assertThat(OrderedExecutor.threads(settings, "sonar.foo.threads")).isEqualTo(3);
+  }
+}
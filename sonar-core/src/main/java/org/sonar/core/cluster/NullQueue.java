@@ -27,4 +27,9 @@ public class NullQueue implements WorkQueue<ClusterAction> {
   public void enqueue(List<ClusterAction> actions) {
     // do nothing
   }
+
+  @Override
+  public void enqueueAsync(List<ClusterAction> actions) {
+    // do nothing
+  }
 }
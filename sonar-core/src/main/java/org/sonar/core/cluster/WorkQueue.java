@@ -26,4 +26,10 @@ public interface WorkQueue<K extends Callable> {
 
   void enqueue(List<K> actions);
 
+  /**
+   * Same as {@link #enqueue(List)}, but the implementation is allowed to return
+   * before actions are executed.
+   */
+  void enqueueAsync(List<K> actions);
+
 }
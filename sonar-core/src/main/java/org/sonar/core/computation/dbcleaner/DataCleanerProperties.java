@@ -102,6 +102,17 @@ public final class DataCleanerProperties {
         .category(CoreProperties.CATEGORY_GENERAL)
         .subCategory(CoreProperties.SUBCATEGORY_DATABASE_CLEANER)
         .index(6)
+        .build(),
+
+      PropertyDefinition.builder(DbCleanerConstants.MAX_PURGE_DURATION_IN_SECONDS)
+        .defaultValue("300")
+        .name("Maximum duration of purge")
+        .description("Maximum number of seconds spent to delete the history of a project after an analysis. "
+          + "The remaining history is deleted after the next analyses. Zero means no limit.")
+        .type(PropertyType.INTEGER)
+        .category(CoreProperties.CATEGORY_GENERAL)
+        .subCategory(CoreProperties.SUBCATEGORY_DATABASE_CLEANER)
+        .index(7)
         .build()
       );
   }
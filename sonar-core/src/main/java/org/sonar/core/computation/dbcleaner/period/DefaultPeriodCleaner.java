@@ -21,6 +21,7 @@
 package org.sonar.core.computation.dbcleaner.period;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import org.sonar.api.ServerExtension;
 import org.sonar.api.config.Settings;
 import org.sonar.api.task.TaskExtension;
@@ -30,7 +31,6 @@ import org.sonar.api.utils.log.Loggers;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.MyBatis;
 import org.sonar.core.purge.PurgeDao;
-import org.sonar.core.purge.PurgeSnapshotQuery;
 import org.sonar.core.purge.PurgeableSnapshotDto;
 
 import java.util.List;
@@ -75,11 +75,15 @@ public class DefaultPeriodCleaner implements TaskExtension, ServerExtension {
   }
 
   private void delete(List<PurgeableSnapshotDto> snapshots, DbSession session) {
+    if (snapshots.isEmpty()) {
+      return;
+    }
+    List<Long> snapshotIds = Lists.newArrayListWithCapacity(snapshots.size());
     for (PurgeableSnapshotDto snapshot : snapshots) {
       LOG.debug("<- Delete snapshot: {} [{}]", DateUtils.formatDateTime(snapshot.getDate()), snapshot.getSnapshotId());
-      purgeDao.deleteSnapshots(PurgeSnapshotQuery.create().setRootSnapshotId(snapshot.getSnapshotId()), session);
-      purgeDao.deleteSnapshots(PurgeSnapshotQuery.create().setId(snapshot.getSnapshotId()), session);
+      snapshotIds.add(snapshot.getSnapshotId());
     }
+    purgeDao.deleteSnapshotTrees(snapshotIds, session);
   }
 
   private List<PurgeableSnapshotDto> selectProjectSnapshots(long resourceId, DbSession session) {
@@ -25,7 +25,10 @@ import org.sonar.api.ServerComponent;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.MyBatis;
 
+import javax.annotation.Nullable;
+
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 public class DuplicationDao implements BatchComponent, ServerComponent {
@@ -46,6 +49,25 @@ public class DuplicationDao implements BatchComponent, ServerComponent {
     }
   }
 
+  /**
+   * Candidates of several resources at once, in order to decrease the number of SQL requests. Hashes
+   * are not associated to the resources they come from.
+   *
+   * @param resourceSnapshotIds must not contain more than 1000 elements
+   */
+  public List<DuplicationUnitDto> selectCandidates(Collection<Integer> resourceSnapshotIds, @Nullable Integer lastSnapshotId, String language) {
+    if (resourceSnapshotIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+    SqlSession session = mybatis.openSession(false);
+    try {
+      DuplicationMapper mapper = session.getMapper(DuplicationMapper.class);
+      return mapper.selectCandidatesOfSnapshots(resourceSnapshotIds, lastSnapshotId, language);
+    } finally {
+      MyBatis.closeQuietly(session);
+    }
+  }
+
   /**
    * Insert rows in the table DUPLICATIONS_INDEX.
    * Note that generated ids are not returned.
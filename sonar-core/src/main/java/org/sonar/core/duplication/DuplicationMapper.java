@@ -21,6 +21,7 @@ package org.sonar.core.duplication;
 
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface DuplicationMapper {
@@ -30,6 +31,11 @@ public interface DuplicationMapper {
       @Param("last_project_snapshot_id") Integer lastSnapshotId,
       @Param("language") String language);
 
+  List<DuplicationUnitDto> selectCandidatesOfSnapshots(
+      @Param("resource_snapshot_ids") Collection<Integer> resourceSnapshotIds,
+      @Param("last_project_snapshot_id") Integer lastSnapshotId,
+      @Param("language") String language);
+
   void batchInsert(DuplicationUnitDto unit);
 
 }
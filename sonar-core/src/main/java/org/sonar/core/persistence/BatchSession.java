@@ -184,6 +184,12 @@ public class BatchSession extends DbSession {
     reset();
   }
 
+  @Override
+  public void commitAndEnqueueAsync() {
+    super.commitAndEnqueueAsync();
+    reset();
+  }
+
   @Override
   public void rollback() {
     super.rollback();
@@ -70,6 +70,16 @@ public class DbSession implements SqlSession {
     actions.clear();
   }
 
+  /**
+   * Same as {@link #commit()}, except that the queued actions may be executed in background,
+   * for example to not block a web request on indexing of a bulk change.
+   */
+  public void commitAndEnqueueAsync() {
+    session.commit();
+    queue.enqueueAsync(new ArrayList<ClusterAction>(actions));
+    actions.clear();
+  }
+
   /**
    * We only care about the the commit section.
    * The rest is simply passed to its parent.
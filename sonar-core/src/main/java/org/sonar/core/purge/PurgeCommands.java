@@ -21,6 +21,7 @@ package org.sonar.core.purge;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
+import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.session.SqlSession;
 
 import java.util.List;
@@ -28,6 +29,11 @@ import java.util.List;
 class PurgeCommands {
 
   private static final int MAX_SNAPSHOTS_PER_QUERY = 1000;
+
+  /**
+   * The snapshots of the trees rooted by these snapshots are loaded in memory at the same time
+   */
+  static final int MAX_ROOT_SNAPSHOTS_PER_BATCH = 20;
   private static final int MAX_RESOURCES_PER_QUERY = 1000;
 
   private final SqlSession session;
@@ -66,92 +72,79 @@ class PurgeCommands {
     for (List<Long> partResourceIds : componentIdPartitions) {
       purgeMapper.deleteResourceLinks(partResourceIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
 
     profiler.start("deleteResourceProperties (properties)");
     for (List<Long> partResourceIds : componentIdPartitions) {
       purgeMapper.deleteResourceProperties(partResourceIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
 
     profiler.start("deleteResourceIndex (resource_index)");
     for (List<Long> partResourceIds : componentIdPartitions) {
       purgeMapper.deleteResourceIndex(partResourceIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
 
     profiler.start("deleteResourceGroupRoles (group_roles)");
     for (List<Long> partResourceIds : componentIdPartitions) {
       purgeMapper.deleteResourceGroupRoles(partResourceIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
 
     profiler.start("deleteResourceUserRoles (user_roles)");
     for (List<Long> partResourceIds : componentIdPartitions) {
       purgeMapper.deleteResourceUserRoles(partResourceIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
 
     profiler.start("deleteResourceManualMeasures (manual_measures)");
     for (List<Long> partResourceIds : componentIdPartitions) {
       purgeMapper.deleteResourceManualMeasures(partResourceIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
 
     profiler.start("deleteComponentIssueChanges (issue_changes)");
     for (List<String> componentUuidPartition : componentUuidsPartitions) {
       purgeMapper.deleteComponentIssueChanges(componentUuidPartition);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
 
     profiler.start("deleteComponentIssues (issues)");
     for (List<String> componentUuidPartition : componentUuidsPartitions) {
       purgeMapper.deleteComponentIssues(componentUuidPartition);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
 
     profiler.start("deleteResourceActionPlans (action_plans)");
     for (List<Long> partResourceIds : componentIdPartitions) {
       purgeMapper.deleteResourceActionPlans(partResourceIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
 
     profiler.start("deleteResourceEvents (events)");
     for (List<Long> partResourceIds : componentIdPartitions) {
       purgeMapper.deleteResourceEvents(partResourceIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
 
     profiler.start("deleteResourceGraphs (graphs)");
     for (List<Long> partResourceIds : componentIdPartitions) {
       purgeMapper.deleteResourceGraphs(partResourceIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
 
     profiler.start("deleteResource (projects)");
     for (List<Long> partResourceIds : componentIdPartitions) {
       purgeMapper.deleteResource(partResourceIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
 
     profiler.start("deleteAuthors (authors)");
     for (List<Long> partResourceIds : componentIdPartitions) {
       purgeMapper.deleteAuthors(partResourceIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
   }
 
   void deleteSnapshots(final PurgeSnapshotQuery query) {
@@ -171,15 +164,13 @@ class PurgeCommands {
     for (List<Long> partSnapshotIds : snapshotIdsPartition) {
       purgeMapper.deleteSnapshotEvents(partSnapshotIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
 
     profiler.start("deleteSnapshotMeasures (project_measures)");
     for (List<Long> partSnapshotIds : snapshotIdsPartition) {
       purgeMapper.deleteSnapshotMeasures(partSnapshotIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
 
     deleteSnapshotGraphs(snapshotIdsPartition);
 
@@ -187,8 +178,18 @@ class PurgeCommands {
     for (List<Long> partSnapshotIds : snapshotIdsPartition) {
       purgeMapper.deleteSnapshot(partSnapshotIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
+  }
+
+  /**
+   * Deletes the given snapshots and all the snapshots of their trees. Roots are deleted after their trees
+   * for reentrance.
+   */
+  void deleteSnapshotTrees(List<Long> rootSnapshotIds) {
+    for (List<Long> partRootSnapshotIds : Lists.partition(rootSnapshotIds, MAX_ROOT_SNAPSHOTS_PER_BATCH)) {
+      deleteSnapshots(PurgeSnapshotQuery.create().setRootSnapshotIds(partRootSnapshotIds));
+      deleteSnapshots(partRootSnapshotIds);
+    }
   }
 
   void purgeSnapshots(final PurgeSnapshotQuery query) {
@@ -211,15 +212,13 @@ class PurgeCommands {
     for (List<Long> partSnapshotIds : snapshotIdsPartition) {
       purgeMapper.deleteSnapshotWastedMeasures(partSnapshotIds, metricIdsWithoutHistoricalData);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
 
     profiler.start("updatePurgeStatusToOne (snapshots)");
-    for (Long snapshotId : snapshotIds) {
-      purgeMapper.updatePurgeStatusToOne(snapshotId);
+    for (List<Long> partSnapshotIds : snapshotIdsPartition) {
+      purgeMapper.updatePurgeStatusToOne(partSnapshotIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
   }
 
   private void deleteSnapshotGraphs(final List<List<Long>> snapshotIdsPartition) {
@@ -227,8 +226,7 @@ class PurgeCommands {
     for (List<Long> partSnapshotIds : snapshotIdsPartition) {
       purgeMapper.deleteSnapshotGraphs(partSnapshotIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
   }
 
   private void deleteSnapshotDuplications(final List<List<Long>> snapshotIdsPartition) {
@@ -236,8 +234,7 @@ class PurgeCommands {
     for (List<Long> partSnapshotIds : snapshotIdsPartition) {
       purgeMapper.deleteSnapshotDuplications(partSnapshotIds);
     }
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
   }
 
   private void deleteSnapshotDependencies(final List<List<Long>> snapshotIdsPartition) {
@@ -250,14 +247,29 @@ class PurgeCommands {
       purgeMapper.deleteSnapshotDependenciesToSnapshotId(partSnapshotIds);
       purgeMapper.deleteSnapshotDependenciesProjectSnapshotId(partSnapshotIds);
     }
+    profiler.stop(commit());
+  }
+
+  /**
+   * Executes the statements of the current table and returns the number of affected rows. It is known only
+   * in batch mode, and only if the JDBC driver provides it.
+   */
+  private long commit() {
+    long rows = 0L;
+    for (BatchResult batchResult : session.flushStatements()) {
+      for (int updateCount : batchResult.getUpdateCounts()) {
+        if (updateCount > 0) {
+          rows += updateCount;
+        }
+      }
+    }
     session.commit();
-    profiler.stop();
+    return rows;
   }
 
   public void deleteFileSources(String rootUuid) {
     profiler.start("deleteFileSources (file_sources)");
     purgeMapper.deleteFileSourcesByProjectUuid(rootUuid);
-    session.commit();
-    profiler.stop();
+    profiler.stop(commit());
   }
 }
@@ -34,17 +34,29 @@ public class PurgeConfiguration {
   private final IdUuidPair rootProjectIdUuid;
   private final String[] scopesWithoutHistoricalData;
   private final int maxAgeInDaysOfClosedIssues;
+  private final long maxDurationInMs;
   private final System2 system2;
 
   public PurgeConfiguration(IdUuidPair rootProjectId, String[] scopesWithoutHistoricalData, int maxAgeInDaysOfClosedIssues) {
-    this(rootProjectId, scopesWithoutHistoricalData, maxAgeInDaysOfClosedIssues, System2.INSTANCE);
+    this(rootProjectId, scopesWithoutHistoricalData, maxAgeInDaysOfClosedIssues, 0L);
+  }
+
+  public PurgeConfiguration(IdUuidPair rootProjectId, String[] scopesWithoutHistoricalData, int maxAgeInDaysOfClosedIssues, long maxDurationInMs) {
+    this(rootProjectId, scopesWithoutHistoricalData, maxAgeInDaysOfClosedIssues, maxDurationInMs, System2.INSTANCE);
   }
 
   @VisibleForTesting
   PurgeConfiguration(IdUuidPair rootProjectId, String[] scopesWithoutHistoricalData, int maxAgeInDaysOfClosedIssues, System2 system2) {
+    this(rootProjectId, scopesWithoutHistoricalData, maxAgeInDaysOfClosedIssues, 0L, system2);
+  }
+
+  @VisibleForTesting
+  PurgeConfiguration(IdUuidPair rootProjectId, String[] scopesWithoutHistoricalData, int maxAgeInDaysOfClosedIssues, long maxDurationInMs,
+    System2 system2) {
     this.rootProjectIdUuid = rootProjectId;
     this.scopesWithoutHistoricalData = scopesWithoutHistoricalData;
     this.maxAgeInDaysOfClosedIssues = maxAgeInDaysOfClosedIssues;
+    this.maxDurationInMs = maxDurationInMs;
     this.system2 = system2;
   }
 
@@ -53,7 +65,8 @@ public class PurgeConfiguration {
     if (settings.getBoolean(DbCleanerConstants.PROPERTY_CLEAN_DIRECTORY)) {
       scopes = new String[]{Scopes.DIRECTORY, Scopes.FILE};
     }
-    return new PurgeConfiguration(idUuidPair, scopes, settings.getInt(DbCleanerConstants.DAYS_BEFORE_DELETING_CLOSED_ISSUES));
+    return new PurgeConfiguration(idUuidPair, scopes, settings.getInt(DbCleanerConstants.DAYS_BEFORE_DELETING_CLOSED_ISSUES),
+      settings.getLong(DbCleanerConstants.MAX_PURGE_DURATION_IN_SECONDS) * 1000L);
   }
 
   public IdUuidPair rootProjectIdUuid() {
@@ -64,6 +77,14 @@ public class PurgeConfiguration {
     return scopesWithoutHistoricalData;
   }
 
+  /**
+   * Time budget of the purge of history. Purge is stopped when it's reached, and resumed during
+   * next purge of the project. Zero if unlimited.
+   */
+  public long maxDurationInMs() {
+    return maxDurationInMs;
+  }
+
   @CheckForNull
   public Date maxLiveDateOfClosedIssues() {
     return maxLiveDateOfClosedIssues(new Date(system2.now()));
@@ -72,10 +72,16 @@ public class PurgeDao {
     PurgeMapper mapper = session.getMapper(PurgeMapper.class);
     PurgeCommands commands = new PurgeCommands(session, mapper, profiler);
     List<ResourceDto> projects = getProjects(conf.rootProjectIdUuid().getId(), session);
+    long start = system2.now();
+    long deadline = conf.maxDurationInMs() > 0L ? (start + conf.maxDurationInMs()) : Long.MAX_VALUE;
     for (ResourceDto project : projects) {
       LOG.debug("-> Clean " + project.getLongName() + " [id=" + project.getId() + "]");
-      deleteAbortedBuilds(project, commands);
-      purge(project, conf.scopesWithoutHistoricalData(), commands);
+      deleteAbortedBuilds(project, commands, start);
+      if (!purge(project, conf.scopesWithoutHistoricalData(), commands, start, deadline)) {
+        LOG.info("Purge of history is stopped after " + conf.maxDurationInMs() + "ms. It will be resumed during next purge of "
+          + project.getLongName() + " [id=" + project.getId() + "]");
+        break;
+      }
     }
     for (ResourceDto project : projects) {
       disableOrphanResources(project, session, mapper, purgeListener);
@@ -89,48 +95,65 @@ public class PurgeDao {
     mapper.deleteOldClosedIssues(conf.rootProjectIdUuid().getUuid(), dateToLong(toDate));
   }
 
-  private void deleteAbortedBuilds(ResourceDto project, PurgeCommands commands) {
-    if (hasAbortedBuilds(project.getId(), commands)) {
+  /**
+   * Purge runs in background, so unprocessed snapshots created after its start may belong to an analysis
+   * in progress. They are deleted by the next purge if they are aborted.
+   */
+  private void deleteAbortedBuilds(ResourceDto project, PurgeCommands commands, long createdBefore) {
+    if (hasAbortedBuilds(project.getId(), commands, createdBefore)) {
       LOG.debug("<- Delete aborted builds");
       PurgeSnapshotQuery query = PurgeSnapshotQuery.create()
         .setIslast(false)
         .setStatus(new String[] {"U"})
-        .setRootProjectId(project.getId());
+        .setRootProjectId(project.getId())
+        .setCreatedBefore(createdBefore);
       commands.deleteSnapshots(query);
     }
   }
 
-  private boolean hasAbortedBuilds(Long projectId, PurgeCommands commands) {
+  private boolean hasAbortedBuilds(Long projectId, PurgeCommands commands, long createdBefore) {
     PurgeSnapshotQuery query = PurgeSnapshotQuery.create()
       .setIslast(false)
       .setStatus(new String[] {"U"})
-      .setResourceId(projectId);
+      .setResourceId(projectId)
+      .setCreatedBefore(createdBefore);
     return !commands.selectSnapshotIds(query).isEmpty();
   }
 
-  private void purge(ResourceDto project, String[] scopesWithoutHistoricalData, PurgeCommands purgeCommands) {
+  /**
+   * The snapshots of several analyses are purged by the same statements. Snapshots created after the start of purge
+   * are not purged, as they may belong to an analysis in progress.
+   *
+   * @return false if the deadline is reached before the end of purge
+   */
+  private boolean purge(ResourceDto project, String[] scopesWithoutHistoricalData, PurgeCommands purgeCommands, long createdBefore, long deadline) {
     List<Long> projectSnapshotIds = purgeCommands.selectSnapshotIds(
       PurgeSnapshotQuery.create()
         .setResourceId(project.getId())
         .setIslast(false)
         .setNotPurged(true)
+        .setCreatedBefore(createdBefore)
       );
-    for (final Long projectSnapshotId : projectSnapshotIds) {
-      LOG.debug("<- Clean snapshot " + projectSnapshotId);
+    for (List<Long> partProjectSnapshotIds : Lists.partition(projectSnapshotIds, PurgeCommands.MAX_ROOT_SNAPSHOTS_PER_BATCH)) {
+      if (system2.now() > deadline) {
+        return false;
+      }
+      LOG.debug("<- Clean snapshots " + partProjectSnapshotIds);
       if (!ArrayUtils.isEmpty(scopesWithoutHistoricalData)) {
         PurgeSnapshotQuery query = PurgeSnapshotQuery.create()
           .setIslast(false)
           .setScopes(scopesWithoutHistoricalData)
-          .setRootSnapshotId(projectSnapshotId);
+          .setRootSnapshotIds(partProjectSnapshotIds);
         purgeCommands.deleteSnapshots(query);
       }
 
-      PurgeSnapshotQuery query = PurgeSnapshotQuery.create().setRootSnapshotId(projectSnapshotId).setNotPurged(true);
+      PurgeSnapshotQuery query = PurgeSnapshotQuery.create().setRootSnapshotIds(partProjectSnapshotIds).setNotPurged(true);
       purgeCommands.purgeSnapshots(query);
 
       // must be executed at the end for reentrance
-      purgeCommands.purgeSnapshots(PurgeSnapshotQuery.create().setId(projectSnapshotId).setNotPurged(true));
+      purgeCommands.purgeSnapshots(partProjectSnapshotIds);
     }
+    return true;
   }
 
   private void disableOrphanResources(final ResourceDto project, final SqlSession session, final PurgeMapper purgeMapper, final PurgeListener purgeListener) {
@@ -222,6 +245,14 @@ public class PurgeDao {
     return this;
   }
 
+  /**
+   * Delete the given snapshots, generally of projects, and all the snapshots of their trees
+   */
+  public PurgeDao deleteSnapshotTrees(List<Long> rootSnapshotIds, final DbSession session) {
+    new PurgeCommands(session, profiler).deleteSnapshotTrees(rootSnapshotIds);
+    return this;
+  }
+
   /**
    * Load the whole tree of projects, including the project given in parameter.
    */
@@ -54,7 +54,7 @@ public interface PurgeMapper {
 
   void deleteSnapshotWastedMeasures(@Param("snapshotIds") List<Long> snapshotIds, @Param("mids") List<Long> metricIds);
 
-  void updatePurgeStatusToOne(long snapshotId);
+  void updatePurgeStatusToOne(@Param("snapshotIds") List<Long> snapshotIds);
 
   void disableResource(long resourceId);
 
@@ -34,6 +34,7 @@ import java.util.Map.Entry;
 public class PurgeProfiler {
 
   private Map<String, Long> durations = new HashMap<String, Long>();
+  private Map<String, Long> rows = new HashMap<String, Long>();
   private long startTime;
   private String currentTable;
   private final Clock clock;
@@ -49,6 +50,7 @@ public class PurgeProfiler {
 
   public void reset() {
     durations.clear();
+    rows.clear();
   }
 
   void start(String table) {
@@ -57,13 +59,20 @@ public class PurgeProfiler {
   }
 
   void stop() {
-    final Long cumulatedDuration;
-    if (durations.containsKey(currentTable)) {
-      cumulatedDuration = durations.get(currentTable);
-    } else {
-      cumulatedDuration = 0L;
-    }
-    durations.put(currentTable, cumulatedDuration + (clock.now() - startTime));
+    stop(0L);
+  }
+
+  /**
+   * @param affectedRows number of rows deleted or updated since {@link #start(String)}, zero if unknown
+   */
+  void stop(long affectedRows) {
+    durations.put(currentTable, cumulated(durations, currentTable) + (clock.now() - startTime));
+    rows.put(currentTable, cumulated(rows, currentTable) + affectedRows);
+  }
+
+  private static long cumulated(Map<String, Long> values, String table) {
+    Long value = values.get(table);
+    return value == null ? 0L : value;
   }
 
   public void dump(long totalTime, Logger logger) {
@@ -79,10 +88,21 @@ public class PurgeProfiler {
       StringBuilder sb = new StringBuilder();
       sb.append("   o ").append(entry.getKey()).append(": ").append(TimeUtils.formatDuration(entry.getValue()))
           .append(" (").append((int) (entry.getValue() / percent)).append("%)");
+      appendRows(sb, entry.getKey(), entry.getValue());
       logger.info(sb.toString());
     }
   }
 
+  private void appendRows(StringBuilder sb, String table, long duration) {
+    long tableRows = cumulated(rows, table);
+    if (tableRows > 0L) {
+      sb.append(", ").append(tableRows).append(" rows");
+      if (duration > 0L) {
+        sb.append(" (").append(tableRows * 1000L / duration).append(" rows/s)");
+      }
+    }
+  }
+
   private List<Entry<String, Long>> truncateList(List<Entry<String, Long>> sortedFullList) {
     int maxSize = 10;
     List<Entry<String, Long>> result = new ArrayList<Entry<String, Long>>(maxSize);
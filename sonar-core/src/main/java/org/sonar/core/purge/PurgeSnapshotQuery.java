@@ -19,10 +19,13 @@
  */
 package org.sonar.core.purge;
 
+import java.util.List;
+
 public final class PurgeSnapshotQuery {
   private Long id;
   private Long rootProjectId;
   private Long rootSnapshotId;
+  private List<Long> rootSnapshotIds;
   private Long resourceId;
   private String[] scopes;
   private String[] qualifiers;
@@ -30,6 +33,7 @@ public final class PurgeSnapshotQuery {
   private Boolean islast;
   private Boolean notPurged;
   private Boolean withVersionEvent;
+  private Long createdBefore;
 
   private PurgeSnapshotQuery() {
   }
@@ -110,6 +114,18 @@ public final class PurgeSnapshotQuery {
     return this;
   }
 
+  public List<Long> getRootSnapshotIds() {
+    return rootSnapshotIds;
+  }
+
+  /**
+   * Snapshots of several trees. Number of ids must not exceed 1000.
+   */
+  public PurgeSnapshotQuery setRootSnapshotIds(List<Long> rootSnapshotIds) {
+    this.rootSnapshotIds = rootSnapshotIds;
+    return this;
+  }
+
   public Long getResourceId() {
     return resourceId;
   }
@@ -127,4 +143,16 @@ public final class PurgeSnapshotQuery {
     this.withVersionEvent = withVersionEvent;
     return this;
   }
+
+  public Long getCreatedBefore() {
+    return createdBefore;
+  }
+
+  /**
+   * Snapshots created strictly before the given date, in milliseconds
+   */
+  public PurgeSnapshotQuery setCreatedBefore(Long createdBefore) {
+    this.createdBefore = createdBefore;
+    return this;
+  }
 }
@@ -0,0 +1,44 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.core.resource;
+
+import org.apache.ibatis.annotations.Param;
+import org.sonar.api.database.model.ResourceModel;
+
+import java.util.List;
+
+/**
+ * Batch persistence of the components (directories and files) of a module.
+ *
+ * @since 5.1
+ */
+public interface ResourceModelMapper {
+
+  List<ResourceModel> selectByKeys(@Param("keys") List<String> keys);
+
+  /**
+   * Only id and uuid are loaded
+   */
+  List<ResourceModel> selectIdsByUuids(@Param("uuids") List<String> uuids);
+
+  void insert(ResourceModel model);
+
+  void update(ResourceModel model);
+}
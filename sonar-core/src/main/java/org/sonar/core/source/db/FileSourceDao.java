@@ -21,16 +21,19 @@
 package org.sonar.core.source.db;
 
 import com.google.common.base.Function;
+import com.google.common.base.Splitter;
 import org.apache.commons.dbutils.DbUtils;
 import org.apache.commons.io.IOUtils;
 import org.sonar.api.BatchComponent;
 import org.sonar.api.ServerComponent;
+import org.sonar.batch.protocol.input.BatchInput.FileLineHashes;
 import org.sonar.core.persistence.DaoComponent;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.MyBatis;
 
 import javax.annotation.CheckForNull;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.sql.Connection;
@@ -101,6 +104,50 @@ public class FileSourceDao implements BatchComponent, ServerComponent, DaoCompon
     }
   }
 
+  /**
+   * Line hashes of the files of a module, excluding the files of its sub-modules. They are read
+   * file by file, so that they are never all loaded in memory. The session is not closed.
+   */
+  public <T> void readLineHashesOfModule(DbSession dbSession, String moduleUuid, Function<FileLineHashes, T> function) {
+    Connection connection = dbSession.getConnection();
+    PreparedStatement pstmt = null;
+    ResultSet rs = null;
+    try {
+      pstmt = connection.prepareStatement("SELECT p.kee, fs.line_hashes FROM projects p INNER JOIN file_sources fs ON fs.file_uuid=p.uuid " +
+        "WHERE p.module_uuid=? AND p.enabled=?");
+      pstmt.setString(1, moduleUuid);
+      pstmt.setBoolean(2, true);
+      rs = pstmt.executeQuery();
+      while (rs.next()) {
+        FileLineHashes.Builder fileLineHashes = FileLineHashes.newBuilder().setFileKey(rs.getString(1));
+        String lineHashes = readCharacterStream(rs, 2);
+        if (lineHashes != null) {
+          fileLineHashes.addAllLineHash(Splitter.on('\n').split(lineHashes));
+        }
+        function.apply(fileLineHashes.build());
+      }
+    } catch (SQLException | IOException e) {
+      throw new IllegalStateException("Fail to read FILE_SOURCES.LINE_HASHES of module " + moduleUuid, e);
+    } finally {
+      // connection belongs to the session of caller
+      DbUtils.closeQuietly(rs);
+      DbUtils.closeQuietly(pstmt);
+    }
+  }
+
+  @CheckForNull
+  private static String readCharacterStream(ResultSet rs, int columnIndex) throws SQLException, IOException {
+    Reader reader = rs.getCharacterStream(columnIndex);
+    if (reader == null) {
+      return null;
+    }
+    try {
+      return IOUtils.toString(reader);
+    } finally {
+      IOUtils.closeQuietly(reader);
+    }
+  }
+
   public void insert(FileSourceDto dto) {
     DbSession session = mybatis.openSession(false);
     try {
@@ -41,6 +41,7 @@ public class FileSourceDto {
   private long updatedAt;
   private String lineHashes;
   private String srcHash;
+  private String inputHash;
   private byte[] binaryData;
   private String dataHash;
 
@@ -171,6 +172,20 @@ public class FileSourceDto {
     return this;
   }
 
+  @CheckForNull
+  public String getInputHash() {
+    return inputHash;
+  }
+
+  /**
+   * Hash of the data used to build {@link #getBinaryData()}, except file content (see {@link #getSrcHash()}).
+   * Value is computed by batch, so that unchanged files are not processed again.
+   */
+  public FileSourceDto setInputHash(@Nullable String inputHash) {
+    this.inputHash = inputHash;
+    return this;
+  }
+
   public long getCreatedAt() {
     return createdAt;
   }
@@ -20,10 +20,7 @@
 
 package org.sonar.core.computation.dbcleaner.period;
 
-import org.apache.commons.lang.ObjectUtils;
-import org.hamcrest.BaseMatcher;
 import org.junit.Test;
-import org.mockito.ArgumentMatcher;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.sonar.api.config.Settings;
@@ -31,13 +28,12 @@ import org.sonar.api.utils.System2;
 import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.MyBatis;
 import org.sonar.core.purge.PurgeDao;
-import org.sonar.core.purge.PurgeSnapshotQuery;
 import org.sonar.core.purge.PurgeableSnapshotDto;
 
 import java.util.Arrays;
+import java.util.Collections;
 
 import static org.mockito.Matchers.anyListOf;
-import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -57,28 +53,19 @@ public class DefaultPeriodCleanerTest {
 
     verify(filter1).log();
     verify(filter2).log();
-    verify(dao, times(2)).deleteSnapshots(argThat(newRootSnapshotQuery()), eq(session));
-    verify(dao, times(2)).deleteSnapshots(argThat(newSnapshotIdQuery()), eq(session));
+    verify(dao, times(2)).deleteSnapshotTrees(eq(Arrays.asList(999L)), eq(session));
   }
 
-  private BaseMatcher<PurgeSnapshotQuery> newRootSnapshotQuery() {
-    return new ArgumentMatcher<PurgeSnapshotQuery>() {
-      @Override
-      public boolean matches(Object o) {
-        PurgeSnapshotQuery query = (PurgeSnapshotQuery) o;
-        return ObjectUtils.equals(query.getRootSnapshotId(), 999L);
-      }
-    };
-  }
+  @Test
+  public void do_not_delete_if_no_snapshots_are_filtered() {
+    PurgeDao dao = mock(PurgeDao.class);
+    DbSession session = mock(DbSession.class);
+    when(dao.selectPurgeableSnapshots(123L, session)).thenReturn(Collections.<PurgeableSnapshotDto>emptyList());
 
-  private BaseMatcher<PurgeSnapshotQuery> newSnapshotIdQuery() {
-    return new ArgumentMatcher<PurgeSnapshotQuery>() {
-      @Override
-      public boolean matches(Object o) {
-        PurgeSnapshotQuery query = (PurgeSnapshotQuery) o;
-        return ObjectUtils.equals(query.getId(), 999L);
-      }
-    };
+    DefaultPeriodCleaner cleaner = new DefaultPeriodCleaner(dao, mock(Settings.class), mock(MyBatis.class));
+    cleaner.doClean(123L, Arrays.asList(newLazyFilter()), session);
+
+    verify(dao, never()).deleteSnapshotTrees(anyListOf(Long.class), eq(session));
   }
 
   private Filter newLazyFilter() {
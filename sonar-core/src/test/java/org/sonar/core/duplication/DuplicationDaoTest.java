@@ -24,6 +24,7 @@ import org.junit.Test;
 import org.sonar.core.persistence.AbstractDaoTestCase;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
@@ -57,6 +58,19 @@ public class DuplicationDaoTest extends AbstractDaoTestCase {
     assertThat(blocks.size(), is(2));
   }
 
+  @Test
+  public void select_candidates_of_several_snapshots() throws Exception {
+    setupData("shouldGetByHash");
+
+    List<DuplicationUnitDto> blocks = dao.selectCandidates(Arrays.asList(10, 2), 7, "java");
+    assertThat(blocks.size(), is(1));
+    assertThat(blocks.get(0).getResourceKey(), is("bar-last"));
+    assertThat(blocks.get(0).getHash(), is("aa"));
+
+    assertThat(dao.selectCandidates(Arrays.asList(10, 2), null, "java").size(), is(2));
+    assertThat(dao.selectCandidates(Collections.<Integer>emptyList(), null, "java").isEmpty(), is(true));
+  }
+
   @Test
   public void shouldInsert() throws Exception {
     setupData("shouldInsert");
@@ -24,7 +24,10 @@ import org.junit.Test;
 import org.sonar.core.cluster.ClusterAction;
 import org.sonar.core.cluster.WorkQueue;
 
+import java.util.Arrays;
+
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyList;
 import static org.mockito.Mockito.*;
 
 public class BatchSessionTest {
@@ -77,4 +80,19 @@ public class BatchSessionTest {
       }
       verify(mybatisSession, times(3)).commit();
     }
+
+  @Test
+  public void commitAndEnqueueActionsAsynchronously() {
+    SqlSession mybatisSession = mock(SqlSession.class);
+    WorkQueue queue = mock(WorkQueue.class);
+    BatchSession session = new BatchSession(queue, mybatisSession, 10);
+    ClusterAction action = mock(ClusterAction.class);
+    session.enqueue(action);
+
+    session.commitAndEnqueueAsync();
+
+    verify(mybatisSession).commit();
+    verify(queue).enqueueAsync(Arrays.asList(action));
+    verify(queue, never()).enqueue(anyList());
+  }
 }
@@ -22,12 +22,18 @@ package org.sonar.core.purge;
 import org.apache.ibatis.session.SqlSession;
 import org.junit.Before;
 import org.junit.Test;
+import org.sonar.api.utils.log.Logger;
 import org.sonar.core.persistence.AbstractDaoTestCase;
+import org.sonar.core.persistence.DbSession;
 import org.sonar.core.persistence.MyBatis;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static org.mockito.Matchers.matches;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 public class PurgeCommandsTest extends AbstractDaoTestCase {
 
@@ -54,6 +60,45 @@ public class PurgeCommandsTest extends AbstractDaoTestCase {
     checkTables("shouldDeleteSnapshot", "snapshots", "project_measures", "duplications_index", "events", "dependencies");
   }
 
+  @Test
+  public void delete_snapshot_trees() {
+    setupData("shouldDeleteSnapshot");
+
+    SqlSession session = getMyBatis().openSession();
+    try {
+      new PurgeCommands(session, profiler).deleteSnapshotTrees(Arrays.asList(5L));
+    } finally {
+      MyBatis.closeQuietly(session);
+    }
+    checkTables("shouldDeleteSnapshot", "snapshots", "project_measures", "duplications_index", "events", "dependencies");
+  }
+
+  @Test
+  public void profile_deleted_rows_in_batch_mode() {
+    setupData("shouldDeleteSnapshot");
+    Logger logger = mock(Logger.class);
+    // each statement lasts 1ms, otherwise statements of zero duration are not logged
+    profiler = new PurgeProfiler(new PurgeProfiler.Clock() {
+      private long now = 0L;
+
+      @Override
+      public long now() {
+        return now++;
+      }
+    });
+
+    DbSession session = getMyBatis().openSession(true);
+    try {
+      new PurgeCommands(session, profiler).deleteSnapshots(PurgeSnapshotQuery.create().setId(5L));
+    } finally {
+      MyBatis.closeQuietly(session);
+    }
+    profiler.dump(1L, logger);
+
+    // snapshot 5
+    verify(logger).info(matches(".*deleteSnapshot \\(snapshots\\): .*, 1 rows.*"));
+  }
+
   /**
    * Test that SQL queries execution do not fail with a huge number of parameter
    */
@@ -71,6 +71,13 @@ public class PurgeDaoTest extends AbstractDaoTestCase {
     checkTables("shouldDeleteAbortedBuilds", "snapshots");
   }
 
+  @Test
+  public void do_not_delete_unprocessed_snapshots_created_after_start_of_purge() {
+    setupData("do_not_delete_unprocessed_snapshots_created_after_start_of_purge");
+    sut.purge(newConfigurationWith30Days(), PurgeListener.EMPTY);
+    checkTables("do_not_delete_unprocessed_snapshots_created_after_start_of_purge", "snapshots");
+  }
+
   @Test
   public void should_purge_project() {
     setupData("shouldPurgeProject");
@@ -78,6 +85,18 @@ public class PurgeDaoTest extends AbstractDaoTestCase {
     checkTables("shouldPurgeProject", "projects", "snapshots");
   }
 
+  @Test
+  public void stop_purge_of_history_when_time_budget_is_reached() {
+    setupData("shouldPurgeProject");
+    // the budget of 1s is consumed before the first batch of snapshots
+    when(system2.now()).thenReturn(1450000000000L, 1450000002000L);
+
+    sut.purge(new PurgeConfiguration(new IdUuidPair(1L, "1"), new String[0], 30, 1000L, system2), PurgeListener.EMPTY);
+
+    // snapshot 3 is still not purged
+    checkTables("stop_purge_of_history_when_time_budget_is_reached", "projects", "snapshots");
+  }
+
   private PurgeConfiguration newConfigurationWith30Days() {
     return new PurgeConfiguration(new IdUuidPair(1L, "1"), new String[0], 30);
   }
@@ -139,7 +158,7 @@ public class PurgeDaoTest extends AbstractDaoTestCase {
   @Test
   public void should_delete_old_closed_issues() {
     setupData("should_delete_old_closed_issues");
-    sut.purge(newConfigurationWith30Days(), PurgeListener.EMPTY);
+    sut.purge(newConfigurationWith30Days(system2), PurgeListener.EMPTY);
     checkTables("should_delete_old_closed_issues", "issues", "issue_changes");
   }
 
@@ -24,6 +24,7 @@ import org.junit.Test;
 import org.sonar.api.utils.log.Logger;
 
 import static org.mockito.Matchers.contains;
+import static org.mockito.Matchers.endsWith;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -59,6 +60,25 @@ public class PurgeProfilerTest {
     verify(logger).info(contains("bar: 5ms"));
   }
 
+  @Test
+  public void shouldProfileDeletedRows() {
+    profiler.start("foo");
+    clock.sleep(100);
+    profiler.stop(30);
+
+    profiler.start("foo");
+    clock.sleep(100);
+    profiler.stop(10);
+
+    profiler.start("bar");
+    clock.sleep(5);
+    profiler.stop();
+
+    profiler.dump(205, logger);
+    verify(logger).info(contains("foo: 200ms (97%), 40 rows (200 rows/s)"));
+    verify(logger).info(endsWith("bar: 5ms (2%)"));
+  }
+
   @Test
   public void shouldResetPurgeProfiling() {
     profiler.start("foo");
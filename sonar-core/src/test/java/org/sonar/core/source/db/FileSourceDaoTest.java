@@ -26,11 +26,14 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.sonar.core.persistence.AbstractDaoTestCase;
+import org.sonar.batch.protocol.input.BatchInput.FileLineHashes;
 import org.sonar.core.persistence.DbSession;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -95,6 +98,32 @@ public class FileSourceDaoTest extends AbstractDaoTestCase {
     assertThat(fn.result).isNull();
   }
 
+  @Test
+  public void select_line_hashes_of_module() throws Exception {
+    setupData("line_hashes_of_module");
+
+    final List<FileLineHashes> result = new ArrayList<>();
+    dao.readLineHashesOfModule(session, "MODULE_UUID", new Function<FileLineHashes, Void>() {
+      @Override
+      public Void apply(FileLineHashes input) {
+        result.add(input);
+        return null;
+      }
+    });
+
+    assertThat(result).extracting("fileKey").containsOnly("struts:src/Action.java", "struts:src/Empty.java");
+    for (FileLineHashes fileLineHashes : result) {
+      if (fileLineHashes.getFileKey().equals("struts:src/Action.java")) {
+        assertThat(fileLineHashes.getLineHashList()).containsExactly("ABC", "DEF");
+      } else {
+        assertThat(fileLineHashes.getLineHashList()).isEmpty();
+      }
+    }
+
+    // session of caller is still usable
+    assertThat(session.getConnection().isClosed()).isFalse();
+  }
+
   @Test
   public void insert() throws Exception {
     setupData("shared");
@@ -106,10 +135,11 @@ public class FileSourceDaoTest extends AbstractDaoTestCase {
       .setDataHash("FILE2_DATA_HASH")
       .setLineHashes("LINE1_HASH\\nLINE2_HASH")
       .setSrcHash("FILE2_HASH")
+      .setInputHash("FILE2_INPUT_HASH")
       .setCreatedAt(1500000000000L)
       .setUpdatedAt(1500000000001L));
 
-    checkTable("insert", "file_sources", "project_uuid", "file_uuid", "data_hash", "line_hashes", "src_hash", "created_at", "updated_at");
+    checkTable("insert", "file_sources", "project_uuid", "file_uuid", "data_hash", "line_hashes", "src_hash", "input_hash", "created_at", "updated_at");
   }
 
   @Test
@@ -122,10 +152,11 @@ public class FileSourceDaoTest extends AbstractDaoTestCase {
       .setBinaryData("updated data".getBytes())
       .setDataHash("NEW_DATA_HASH")
       .setSrcHash("NEW_FILE_HASH")
+      .setInputHash("NEW_INPUT_HASH")
       .setLineHashes("NEW_LINE_HASHES")
       .setUpdatedAt(1500000000002L));
 
-    checkTable("update", "file_sources", "project_uuid", "file_uuid", "data_hash", "line_hashes", "src_hash", "created_at", "updated_at");
+    checkTable("update", "file_sources", "project_uuid", "file_uuid", "data_hash", "line_hashes", "src_hash", "input_hash", "created_at", "updated_at");
   }
 
   private static class ReaderToStringFunction implements Function<Reader, String> {
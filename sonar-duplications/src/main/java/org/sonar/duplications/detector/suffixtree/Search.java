@@ -20,6 +20,7 @@
 package org.sonar.duplications.detector.suffixtree;
 
 import com.google.common.collect.Lists;
+import org.sonar.duplications.DuplicationsException;
 
 import java.util.*;
 
@@ -67,6 +68,7 @@ public final class Search {
     Deque<Node> stack = Lists.newLinkedList();
     stack.add(tree.getRootNode());
     while (!stack.isEmpty()) {
+      checkInterrupted();
       Node node = stack.removeLast();
       node.startSize = list.size();
       if (node.getEdges().isEmpty()) {
@@ -102,6 +104,7 @@ public final class Search {
    */
   private void visitInnerNodes() {
     for (Node node : innerNodes) {
+      checkInterrupted();
       if (containsOrigin(node)) {
         report(node);
       }
@@ -114,6 +117,16 @@ public final class Search {
    * however it should be noted that this check can't be done in {@link Collector#endOfGroup()},
    * because it might lead to creation of unnecessary new objects
    */
+  /**
+   * Detection can last for minutes on huge texts, so it stops as soon as the thread is interrupted, for example
+   * when the task executing it is cancelled on timeout.
+   */
+  static void checkInterrupted() {
+    if (Thread.interrupted()) {
+      throw new DuplicationsException("Detection of duplications has been interrupted");
+    }
+  }
+
   private boolean containsOrigin(Node node) {
     for (int i = node.startSize; i < node.endSize; i++) {
       int start = tree.text.length() - list.get(i);
@@ -51,6 +51,7 @@ public final class SuffixTree {
     SuffixTree tree = new SuffixTree(text);
     Suffix active = new Suffix(tree.root, 0, -1);
     for (int i = 0; i < text.length(); i++) {
+      Search.checkInterrupted();
       tree.addPrefix(active, i);
     }
     return tree;
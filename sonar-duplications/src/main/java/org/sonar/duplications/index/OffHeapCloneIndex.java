@@ -0,0 +1,547 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.duplications.index;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.sonar.duplications.block.Block;
+import org.sonar.duplications.block.ByteArray;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Same layout as {@link PackedMemoryCloneIndex}, but blocks are stored in direct {@link ByteBuffer}s, outside of the Java heap.
+ * <p>
+ * Each block is a fixed-size record: index of resource, hash, index in file, lines and units.
+ * Resource ids are stored only once per resource, so the heap only holds the table of resources.
+ * Records are searched in place, without copying hashes into temporary arrays. {@link #visitBySequenceHash(ByteArray, Visitor)}
+ * and {@link #visitByResourceId(String, Visitor)} expose the matching records through a {@link BlockView} reused for all
+ * the records of a query, so callers which do not need to retain blocks do not allocate anything per block.
+ * </p>
+ * <p>
+ * Note that this implementation does not support deletion. It is not thread-safe while blocks are inserted, but once
+ * {@link #freeze()} has been called, index is sorted and immutable, so it can be queried by several threads without
+ * synchronization.
+ * </p>
+ *
+ * @since 5.1
+ */
+public class OffHeapCloneIndex extends AbstractCloneIndex {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+  /**
+   * Index of resource, index in file, first line, last line, first unit, last unit
+   */
+  private static final int BLOCK_INTS = 6;
+
+  private static final int RESOURCE_OFFSET = 0;
+  private static final int HASH_OFFSET = 4;
+
+  private final int hashBytes;
+  private final int blockBytes;
+  private final int dataOffset;
+
+  /**
+   * Maximal number of blocks, so that all the blocks fit in a single buffer.
+   */
+  private final int maxCapacity;
+
+  /**
+   * Indicates that index requires sorting to perform queries.
+   */
+  private boolean sorted;
+
+  /**
+   * Indicates that index is sorted and can not be modified anymore.
+   */
+  private boolean frozen;
+
+  /**
+   * Current number of blocks in index.
+   */
+  private int size;
+
+  private int capacity;
+
+  /**
+   * Blocks, sorted by hash when {@link #sorted} is true.
+   */
+  private ByteBuffer blockData;
+
+  /**
+   * Positions of blocks in {@link #blockData}, sorted by resource when {@link #sorted} is true.
+   */
+  private ByteBuffer resourceIdsIndex;
+
+  private final List<String> resourceIds = Lists.newArrayList();
+  private final Map<String, Integer> resourceIndices = Maps.newHashMap();
+
+  public OffHeapCloneIndex() {
+    this(8, DEFAULT_INITIAL_CAPACITY);
+  }
+
+  /**
+   * @param hashBytes size of hash in bytes, must be a multiple of 4
+   * @param initialCapacity the initial capacity
+   */
+  public OffHeapCloneIndex(int hashBytes, int initialCapacity) {
+    if (hashBytes <= 0 || hashBytes % 4 != 0) {
+      throw new IllegalArgumentException("Size of hash must be a positive multiple of 4, but got " + hashBytes);
+    }
+    this.hashBytes = hashBytes;
+    this.blockBytes = hashBytes + BLOCK_INTS * 4;
+    this.dataOffset = HASH_OFFSET + hashBytes;
+    this.maxCapacity = Integer.MAX_VALUE / blockBytes;
+    if (initialCapacity > maxCapacity) {
+      throw new IllegalArgumentException("Initial capacity must not exceed " + maxCapacity + " blocks, but got " + initialCapacity);
+    }
+    this.sorted = false;
+    this.frozen = false;
+    this.size = 0;
+    this.capacity = Math.max(1, initialCapacity);
+    this.blockData = allocate(capacity, blockBytes);
+    this.resourceIdsIndex = allocate(capacity, 4);
+  }
+
+  /**
+   * Sorts index and forbids further insertions. Queries of a frozen index do not modify it, so they are thread-safe,
+   * as long as index is published to other threads after this call.
+   */
+  public void freeze() {
+    ensureSorted();
+    frozen = true;
+  }
+
+  public boolean isFrozen() {
+    return frozen;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * <strong>Note that this implementation does not guarantee that blocks would be sorted by index.</strong>
+   * </p>
+   */
+  @Override
+  public Collection<Block> getByResourceId(String resourceId) {
+    final List<Block> result = Lists.newArrayList();
+    visitByResourceId(resourceId, new Visitor() {
+      @Override
+      public void visit(BlockView block) {
+        result.add(block.toBlock());
+      }
+    });
+    return result;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Hashes are compared off-heap, and no block is created when none matches. Blocks of a frozen index are returned
+   * as an immutable view, which creates each block when it is read, so a caller which stops iterating early does not
+   * pay for the other blocks. All returned blocks share the requested hash instance.
+   * </p>
+   */
+  @Override
+  public Collection<Block> getBySequenceHash(final ByteArray sequenceHash) {
+    ensureSorted();
+    byte[] hash = sequenceHash.getBytes();
+    checkHashSize(hash);
+    int from = lowerBound(hash);
+    int to = from;
+    while (to < size && compareHash(to, hash) == 0) {
+      to++;
+    }
+    if (from == to) {
+      return Collections.emptyList();
+    }
+    List<Block> view = new BlocksWithHash(sequenceHash, from, to);
+    // positions of an index which is not frozen are changed by next insertions
+    return frozen ? view : Lists.newArrayList(view);
+  }
+
+  /**
+   * Calls visitor for each block of the given resource. The view given to visitor is only valid during the call.
+   * Index is sorted on the fly if it has not been frozen.
+   *
+   * @return number of visited blocks
+   */
+  public int visitByResourceId(String resourceId, Visitor visitor) {
+    ensureSorted();
+    Integer resourceIndex = resourceIndices.get(resourceId);
+    if (resourceIndex == null) {
+      return 0;
+    }
+    int lower = 0;
+    int upper = size;
+    while (lower < upper) {
+      int mid = (lower + upper) >>> 1;
+      if (resourceAt(resourceIdsIndex.getInt(mid * 4)) < resourceIndex) {
+        lower = mid + 1;
+      } else {
+        upper = mid;
+      }
+    }
+    BlockView view = new BlockView();
+    int count = 0;
+    for (int i = lower; i < size; i++) {
+      int position = resourceIdsIndex.getInt(i * 4);
+      if (resourceAt(position) != resourceIndex) {
+        break;
+      }
+      visitor.visit(view.at(position));
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Calls visitor for each block with the given hash. The view given to visitor is only valid during the call.
+   * Index is sorted on the fly if it has not been frozen.
+   *
+   * @return number of visited blocks
+   */
+  public int visitBySequenceHash(ByteArray sequenceHash, Visitor visitor) {
+    ensureSorted();
+    byte[] hash = sequenceHash.getBytes();
+    checkHashSize(hash);
+
+    BlockView view = new BlockView();
+    int count = 0;
+    for (int i = lowerBound(hash); i < size && compareHash(i, hash) == 0; i++) {
+      visitor.visit(view.at(i));
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * <strong>Note that this implementation allows insertion of two blocks with same index for one resource.</strong>
+   * </p>
+   */
+  @Override
+  public void insert(Block block) {
+    if (frozen) {
+      throw new IllegalStateException("Index is frozen");
+    }
+    byte[] hash = block.getBlockHash().getBytes();
+    checkHashSize(hash);
+    sorted = false;
+    ensureCapacity();
+
+    int offset = size * blockBytes;
+    blockData.putInt(offset + RESOURCE_OFFSET, resourceIndex(block.getResourceId()));
+    for (int i = 0; i < hashBytes; i++) {
+      blockData.put(offset + HASH_OFFSET + i, hash[i]);
+    }
+    offset += dataOffset;
+    blockData.putInt(offset, block.getIndexInFile());
+    blockData.putInt(offset + 4, block.getStartLine());
+    blockData.putInt(offset + 8, block.getEndLine());
+    blockData.putInt(offset + 12, block.getStartUnit());
+    blockData.putInt(offset + 16, block.getEndUnit());
+
+    size++;
+  }
+
+  /**
+   * @return number of blocks in index
+   */
+  public int size() {
+    return size;
+  }
+
+  private void checkHashSize(byte[] hash) {
+    if (hash.length != hashBytes) {
+      throw new IllegalArgumentException("Expected " + hashBytes + " bytes in hash, but got " + hash.length);
+    }
+  }
+
+  private int resourceIndex(String resourceId) {
+    Integer index = resourceIndices.get(resourceId);
+    if (index == null) {
+      index = resourceIds.size();
+      resourceIds.add(resourceId);
+      resourceIndices.put(resourceId, index);
+    }
+    return index;
+  }
+
+  private int resourceAt(int position) {
+    return blockData.getInt(position * blockBytes + RESOURCE_OFFSET);
+  }
+
+  /**
+   * @return position of the first block whose hash is not less than the given one
+   */
+  private int lowerBound(byte[] hash) {
+    int lower = 0;
+    int upper = size;
+    while (lower < upper) {
+      int mid = (lower + upper) >>> 1;
+      if (compareHash(mid, hash) < 0) {
+        lower = mid + 1;
+      } else {
+        upper = mid;
+      }
+    }
+    return lower;
+  }
+
+  private int compareHash(int position, byte[] hash) {
+    int offset = position * blockBytes + HASH_OFFSET;
+    for (int k = 0; k < hashBytes; k++) {
+      byte b = blockData.get(offset + k);
+      if (b != hash[k]) {
+        return b < hash[k] ? -1 : 1;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Size is computed as a long, so that an overflow is reported instead of allocating a truncated buffer.
+   */
+  private static ByteBuffer allocate(int count, int bytesPerRecord) {
+    long bytes = (long) count * bytesPerRecord;
+    if (bytes > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Unable to allocate " + bytes + " bytes for " + count + " blocks");
+    }
+    return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+  }
+
+  /**
+   * Increases the capacity, if necessary.
+   */
+  private void ensureCapacity() {
+    if (size < capacity) {
+      return;
+    }
+    if (capacity == maxCapacity) {
+      throw new IllegalStateException("Index can not contain more than " + maxCapacity + " blocks");
+    }
+    capacity = grow(capacity, maxCapacity);
+    ByteBuffer oldBlockData = blockData;
+    blockData = allocate(capacity, blockBytes);
+    oldBlockData.clear();
+    blockData.put(oldBlockData);
+    blockData.clear();
+    // no need to copy old positions, because would be restored in method ensureSorted
+    resourceIdsIndex = allocate(capacity, 4);
+    sorted = false;
+  }
+
+  static int grow(int capacity, int maxCapacity) {
+    return (int) Math.min((capacity * 3L) / 2 + 1, maxCapacity);
+  }
+
+  /**
+   * Performs sorting, if necessary. Does nothing once index is frozen, so that queries do not modify it.
+   */
+  private void ensureSorted() {
+    if (sorted) {
+      return;
+    }
+    DataUtils.sort(byBlockHash);
+    for (int i = 0; i < size; i++) {
+      resourceIdsIndex.putInt(i * 4, i);
+    }
+    DataUtils.sort(byResourceId);
+    sorted = true;
+  }
+
+  private final DataUtils.Sortable byBlockHash = new DataUtils.Sortable() {
+    @Override
+    public void swap(int i, int j) {
+      int i2 = i * blockBytes;
+      int j2 = j * blockBytes;
+      for (int k = 0; k < blockBytes; k += 4, i2 += 4, j2 += 4) {
+        int x = blockData.getInt(i2);
+        blockData.putInt(i2, blockData.getInt(j2));
+        blockData.putInt(j2, x);
+      }
+    }
+
+    @Override
+    public boolean isLess(int i, int j) {
+      int i2 = i * blockBytes + HASH_OFFSET;
+      int j2 = j * blockBytes + HASH_OFFSET;
+      for (int k = 0; k < hashBytes; k++, i2++, j2++) {
+        byte a = blockData.get(i2);
+        byte b = blockData.get(j2);
+        if (a != b) {
+          return a < b;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  };
+
+  private final DataUtils.Sortable byResourceId = new DataUtils.Sortable() {
+    @Override
+    public void swap(int i, int j) {
+      int tmp = resourceIdsIndex.getInt(i * 4);
+      resourceIdsIndex.putInt(i * 4, resourceIdsIndex.getInt(j * 4));
+      resourceIdsIndex.putInt(j * 4, tmp);
+    }
+
+    @Override
+    public boolean isLess(int i, int j) {
+      return resourceAt(resourceIdsIndex.getInt(i * 4)) < resourceAt(resourceIdsIndex.getInt(j * 4));
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  };
+
+  private Block blockAt(int offset, ByteArray hash) {
+    int data = offset + dataOffset;
+    return Block.builder()
+      .setResourceId(resourceIds.get(blockData.getInt(offset + RESOURCE_OFFSET)))
+      .setBlockHash(hash)
+      .setIndexInFile(blockData.getInt(data))
+      .setLines(blockData.getInt(data + 4), blockData.getInt(data + 8))
+      .setUnit(blockData.getInt(data + 12), blockData.getInt(data + 16))
+      .build();
+  }
+
+  /**
+   * Blocks of a frozen index between two positions, with the same hash
+   */
+  private final class BlocksWithHash extends AbstractList<Block> implements RandomAccess {
+
+    private final ByteArray hash;
+    private final int from;
+    private final int to;
+
+    private BlocksWithHash(ByteArray hash, int from, int to) {
+      this.hash = hash;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public Block get(int index) {
+      if (index < 0 || index >= size()) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+      }
+      return blockAt((from + index) * blockBytes, hash);
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+  }
+
+  public interface Visitor {
+    void visit(BlockView block);
+  }
+
+  /**
+   * Flyweight on a block stored in the index. Instance is reused between blocks of a query, so values must be
+   * copied (see {@link #toBlock()}) in order to be retained.
+   */
+  public final class BlockView {
+
+    private int offset;
+
+    private BlockView() {
+    }
+
+    private BlockView at(int position) {
+      this.offset = position * blockBytes;
+      return this;
+    }
+
+    public String getResourceId() {
+      return resourceIds.get(blockData.getInt(offset + RESOURCE_OFFSET));
+    }
+
+    /**
+     * @return true if block has the given hash, without copying stored hash
+     */
+    public boolean hasHash(ByteArray hash) {
+      byte[] bytes = hash.getBytes();
+      if (bytes.length != hashBytes) {
+        return false;
+      }
+      for (int k = 0; k < hashBytes; k++) {
+        if (blockData.get(offset + HASH_OFFSET + k) != bytes[k]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    public int getIndexInFile() {
+      return blockData.getInt(offset + dataOffset);
+    }
+
+    public int getStartLine() {
+      return blockData.getInt(offset + dataOffset + 4);
+    }
+
+    public int getEndLine() {
+      return blockData.getInt(offset + dataOffset + 8);
+    }
+
+    public int getStartUnit() {
+      return blockData.getInt(offset + dataOffset + 12);
+    }
+
+    public int getEndUnit() {
+      return blockData.getInt(offset + dataOffset + 16);
+    }
+
+    public Block toBlock() {
+      byte[] hash = new byte[hashBytes];
+      for (int k = 0; k < hashBytes; k++) {
+        hash[k] = blockData.get(offset + HASH_OFFSET + k);
+      }
+      return toBlock(new ByteArray(hash));
+    }
+
+    /**
+     * @param hash instance to share with the returned block, must be equal to the stored hash
+     */
+    public Block toBlock(ByteArray hash) {
+      return blockAt(offset, hash);
+    }
+  }
+
+}
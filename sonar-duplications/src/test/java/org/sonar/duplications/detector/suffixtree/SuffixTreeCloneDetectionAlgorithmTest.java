@@ -20,6 +20,7 @@
 package org.sonar.duplications.detector.suffixtree;
 
 import org.junit.Test;
+import org.sonar.duplications.DuplicationsException;
 import org.sonar.duplications.block.Block;
 import org.sonar.duplications.block.ByteArray;
 import org.sonar.duplications.detector.DetectorTestCase;
@@ -73,6 +74,22 @@ public class SuffixTreeCloneDetectionAlgorithmTest extends DetectorTestCase {
     assertEquals(1, result.size());
   }
 
+  @Test(expected = DuplicationsException.class)
+  public void stop_detection_when_thread_is_interrupted() {
+    CloneIndex index = createIndex();
+    Block[] fileBlocks = new Block[5000];
+    for (int i = 0; i < 5000; i++) {
+      fileBlocks[i] = newBlock("x", new ByteArray("01"), i);
+    }
+    Thread.currentThread().interrupt();
+    try {
+      detect(index, fileBlocks);
+    } finally {
+      // clear the flag if detection did not
+      Thread.interrupted();
+    }
+  }
+
   /**
    * Given:
    * <pre>
@@ -0,0 +1,274 @@
+/*
+ * SonarQube, open source software quality management tool.
+ * Copyright (C) 2008-2014 SonarSource
+ * mailto:contact AT sonarsource DOT com
+ *
+ * SonarQube is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * SonarQube is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.duplications.index;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sonar.duplications.block.Block;
+import org.sonar.duplications.block.ByteArray;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class OffHeapCloneIndexTest {
+
+  private OffHeapCloneIndex index;
+
+  @Before
+  public void setUp() {
+    index = new OffHeapCloneIndex();
+  }
+
+  @Test
+  public void test() {
+    index.insert(newBlock("a", 1));
+    index.insert(newBlock("a", 2));
+    index.insert(newBlock("b", 1));
+    index.insert(newBlock("c", 1));
+    index.insert(newBlock("d", 1));
+    index.insert(newBlock("e", 1));
+    index.insert(newBlock("e", 2));
+    index.insert(newBlock("e", 3));
+
+    assertThat(index.size(), is(8));
+    assertThat(index.getBySequenceHash(new ByteArray(1L)).size(), is(5));
+    assertThat(index.getBySequenceHash(new ByteArray(2L)).size(), is(2));
+    assertThat(index.getBySequenceHash(new ByteArray(3L)).size(), is(1));
+    assertThat(index.getBySequenceHash(new ByteArray(4L)).size(), is(0));
+    assertThat(index.getByResourceId("a").size(), is(2));
+    assertThat(index.getByResourceId("b").size(), is(1));
+    assertThat(index.getByResourceId("e").size(), is(3));
+    assertThat(index.getByResourceId("does not exist").size(), is(0));
+  }
+
+  @Test
+  public void should_restore_blocks() {
+    Block block = Block.builder()
+      .setResourceId("a")
+      .setBlockHash(new ByteArray(-7L))
+      .setIndexInFile(3)
+      .setLines(10, 20)
+      .setUnit(30, 40)
+      .build();
+    index.insert(newBlock("b", 5L));
+    index.insert(block);
+
+    Block restored = index.getByResourceId("a").iterator().next();
+    assertThat(restored, is(block));
+    assertThat(restored.getStartUnit(), is(30));
+    assertThat(restored.getEndUnit(), is(40));
+    assertThat(index.getBySequenceHash(new ByteArray(-7L)).iterator().next(), is(block));
+  }
+
+  /**
+   * When: query by a hash value.
+   * Expected: all blocks should have same hash, which presented in the form of the same object.
+   */
+  @Test
+  public void should_construct_blocks_with_normalized_hash() {
+    index.insert(newBlock("a", 1));
+    index.insert(newBlock("b", 1));
+    index.insert(newBlock("c", 1));
+    ByteArray requestedHash = new ByteArray(1L);
+    Collection<Block> blocks = index.getBySequenceHash(requestedHash);
+    assertThat(blocks.size(), is(3));
+    for (Block block : blocks) {
+      assertThat(block.getBlockHash(), sameInstance(requestedHash));
+    }
+  }
+
+  @Test
+  public void should_visit_blocks_through_the_same_view() {
+    index.insert(newBlock("a", 1));
+    index.insert(newBlock("b", 1));
+    index.insert(newBlock("b", 2));
+    final OffHeapCloneIndex.BlockView[] views = new OffHeapCloneIndex.BlockView[2];
+
+    int count = index.visitBySequenceHash(new ByteArray(1L), new OffHeapCloneIndex.Visitor() {
+      private int i = 0;
+
+      @Override
+      public void visit(OffHeapCloneIndex.BlockView block) {
+        assertThat(block.hasHash(new ByteArray(1L)), is(true));
+        assertThat(block.getStartLine(), is(1));
+        views[i++] = block;
+      }
+    });
+
+    assertThat(count, is(2));
+    assertThat(views[0], sameInstance(views[1]));
+    assertThat(index.visitByResourceId("b", new OffHeapCloneIndex.Visitor() {
+      @Override
+      public void visit(OffHeapCloneIndex.BlockView block) {
+        assertThat(block.getResourceId(), is("b"));
+      }
+    }), is(2));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void should_not_insert_into_frozen_index() {
+    index.insert(newBlock("a", 1));
+    index.freeze();
+
+    index.insert(newBlock("b", 1));
+  }
+
+  @Test
+  public void should_query_frozen_index_concurrently() throws Exception {
+    for (int i = 0; i < 1000; i++) {
+      index.insert(newBlock("r" + (i % 10), i % 100));
+    }
+    index.freeze();
+    assertThat(index.isFrozen(), is(true));
+
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Integer>> tasks = new ArrayList<Future<Integer>>();
+      for (int i = 0; i < 100; i++) {
+        final long hash = i;
+        tasks.add(executorService.submit(new Callable<Integer>() {
+          @Override
+          public Integer call() {
+            int count = 0;
+            for (Block block : index.getBySequenceHash(new ByteArray(hash))) {
+              assertThat(block.getBlockHash(), is(new ByteArray(hash)));
+              count++;
+            }
+            return count + index.getByResourceId("r" + (hash % 10)).size();
+          }
+        }));
+      }
+      for (Future<Integer> task : tasks) {
+        assertThat(task.get(), is(10 + 100));
+      }
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  /**
+   * Given: index with initial capacity 1.
+   * Expected: size and capacity should be increased after insertion of blocks, even after a query.
+   */
+  @Test
+  public void should_increase_capacity() {
+    CloneIndex index = new OffHeapCloneIndex(8, 1);
+    index.insert(newBlock("a", 1));
+    index.insert(newBlock("a", 2));
+    assertThat(index.getByResourceId("a").size(), is(2));
+    index.insert(newBlock("a", 3));
+    index.insert(newBlock("b", 1));
+    assertThat(index.getByResourceId("a").size(), is(3));
+    assertThat(index.getBySequenceHash(new ByteArray(1L)).size(), is(2));
+  }
+
+  @Test
+  public void should_return_blocks_of_frozen_index_as_view() {
+    index.insert(newBlock("a", 1));
+    index.insert(newBlock("b", 1));
+    index.insert(newBlock("b", 2));
+    index.freeze();
+
+    ByteArray hash = new ByteArray(1L);
+    List<Block> blocks = (List<Block>) index.getBySequenceHash(hash);
+    assertThat(blocks.size(), is(2));
+    assertThat(blocks.get(0).getBlockHash(), sameInstance(hash));
+    assertThat(blocks.get(1).getBlockHash(), sameInstance(hash));
+    assertThat(blocks.get(0).getResourceId().equals(blocks.get(1).getResourceId()), is(false));
+    assertThat(blocks.contains(newBlock("b", 1)), is(true));
+    assertThat(index.getBySequenceHash(new ByteArray(3L)).isEmpty(), is(true));
+    try {
+      blocks.add(newBlock("c", 1));
+      fail();
+    } catch (UnsupportedOperationException e) {
+      // view is immutable
+    }
+  }
+
+  @Test
+  public void should_copy_blocks_of_index_which_is_not_frozen() {
+    index.insert(newBlock("b", 1));
+    Collection<Block> blocks = index.getBySequenceHash(new ByteArray(1L));
+
+    index.insert(newBlock("a", 1));
+    index.getBySequenceHash(new ByteArray(1L));
+
+    assertThat(blocks.size(), is(1));
+    assertThat(blocks.iterator().next().getResourceId(), is("b"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void initial_capacity_must_fit_in_a_buffer() {
+    new OffHeapCloneIndex(8, Integer.MAX_VALUE / 32 + 1);
+  }
+
+  @Test
+  public void capacity_is_increased_up_to_the_limit_of_a_buffer() {
+    int maxCapacity = Integer.MAX_VALUE / 32;
+    assertThat(OffHeapCloneIndex.grow(10, maxCapacity), is(16));
+    assertThat(OffHeapCloneIndex.grow(maxCapacity - 10, maxCapacity), is(maxCapacity));
+    assertThat(OffHeapCloneIndex.grow(Integer.MAX_VALUE - 1, Integer.MAX_VALUE), is(Integer.MAX_VALUE));
+  }
+
+  /**
+   * Given: index, which accepts blocks with 4-byte hash.
+   * Expected: exception during insertion of block with 8-byte hash.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void attempt_to_insert_hash_of_incorrect_size() {
+    CloneIndex index = new OffHeapCloneIndex(4, 1);
+    index.insert(newBlock("a", 1));
+  }
+
+  /**
+   * Given: index, which accepts blocks with 4-byte hash.
+   * Expected: exception during search by 8-byte hash.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void attempt_to_find_hash_of_incorrect_size() {
+    CloneIndex index = new OffHeapCloneIndex(4, 1);
+    index.getBySequenceHash(new ByteArray(1L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void hash_size_must_be_multiple_of_4() {
+    new OffHeapCloneIndex(6, 1);
+  }
+
+  private static Block newBlock(String resourceId, long hash) {
+    return Block.builder()
+      .setResourceId(resourceId)
+      .setBlockHash(new ByteArray(hash))
+      .setIndexInFile(1)
+      .setLines(1, 2)
+      .build();
+  }
+
+}
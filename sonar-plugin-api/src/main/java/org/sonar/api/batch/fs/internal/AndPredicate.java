@@ -19,7 +19,6 @@
  */
 package org.sonar.api.batch.fs.internal;
 
-import com.google.common.annotations.VisibleForTesting;
 import org.sonar.api.batch.fs.FilePredicate;
 import org.sonar.api.batch.fs.FileSystem.Index;
 import org.sonar.api.batch.fs.InputFile;
@@ -83,17 +82,50 @@ class AndPredicate extends AbstractFilePredicate {
     if (predicates.isEmpty()) {
       return index.inputFiles();
     }
-    // Optimization, use get on first predicate then filter with next predicates
-    Iterable<InputFile> result = predicates.get(0).get(index);
-    for (int i = 1; i < predicates.size(); i++) {
-      result = predicates.get(i).filter(result);
+    // Optimization, start from the smallest set of files returned by an index, then filter with the other predicates.
+    // By default use get on first predicate.
+    OptimizedFilePredicate first = predicates.get(0);
+    Iterable<InputFile> result = null;
+    int smallestSize = Integer.MAX_VALUE;
+    for (OptimizedFilePredicate predicate : predicates) {
+      if (predicate.priority() > DEFAULT_PRIORITY) {
+        Iterable<InputFile> candidates = predicate.get(index);
+        if (candidates instanceof Collection && ((Collection<?>) candidates).size() < smallestSize) {
+          first = predicate;
+          result = candidates;
+          smallestSize = ((Collection<?>) candidates).size();
+        }
+      }
+    }
+    if (result == null) {
+      result = first.get(index);
+    }
+    for (OptimizedFilePredicate predicate : predicates) {
+      if (predicate != first) {
+        result = predicate.filter(result);
+      }
     }
     return result;
   }
 
-  @VisibleForTesting
   Collection<OptimizedFilePredicate> predicates() {
     return predicates;
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return predicates.equals(((AndPredicate) o).predicates);
+  }
+
+  @Override
+  public int hashCode() {
+    return predicates.hashCode();
+  }
+
 }
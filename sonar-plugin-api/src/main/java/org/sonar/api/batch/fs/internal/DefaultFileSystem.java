@@ -20,6 +20,7 @@
 package org.sonar.api.batch.fs.internal;
 
 import com.google.common.base.Function;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import org.sonar.api.batch.fs.FilePredicate;
 import org.sonar.api.batch.fs.FilePredicates;
@@ -37,11 +38,16 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
 /**
@@ -55,6 +61,8 @@ public class DefaultFileSystem implements FileSystem {
   private Path workDir;
   private Charset encoding;
   private final FilePredicates predicates;
+  private final Map<FilePredicate, List<InputFile>> memoizedResults = new HashMap<FilePredicate, List<InputFile>>();
+  private int memoizedModCount = -1;
 
   /**
    * Only for testing
@@ -139,9 +147,41 @@ public class DefaultFileSystem implements FileSystem {
   @Override
   public Iterable<InputFile> inputFiles(FilePredicate predicate) {
     doPreloadFiles();
+    if (cache.isIndexed() && isMemoizable(predicate)) {
+      return memoizedInputFiles(predicate);
+    }
     return OptimizedFilePredicateAdapter.create(predicate).get(cache);
   }
 
+  /**
+   * Results of combinations of language, type and status predicates are kept until a file is indexed.
+   */
+  private synchronized List<InputFile> memoizedInputFiles(FilePredicate predicate) {
+    int modCount = cache.modCount();
+    if (modCount != memoizedModCount) {
+      memoizedResults.clear();
+      memoizedModCount = modCount;
+    }
+    List<InputFile> result = memoizedResults.get(predicate);
+    if (result == null) {
+      result = ImmutableList.copyOf(OptimizedFilePredicateAdapter.create(predicate).get(cache));
+      memoizedResults.put(predicate, result);
+    }
+    return result;
+  }
+
+  private static boolean isMemoizable(FilePredicate predicate) {
+    if (!(predicate instanceof AndPredicate)) {
+      return false;
+    }
+    for (OptimizedFilePredicate operand : ((AndPredicate) predicate).predicates()) {
+      if (!(operand instanceof LanguagePredicate || operand instanceof TypePredicate || operand instanceof StatusPredicate)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   @Override
   public boolean hasFiles(FilePredicate predicate) {
     return inputFiles(predicate).iterator().hasNext();
@@ -227,6 +267,13 @@ public class DefaultFileSystem implements FileSystem {
   }
 
   public abstract static class Cache implements Index {
+    private final Map<String, IndexedFile> indexedFiles = new HashMap<String, IndexedFile>();
+    private final Map<String, SortedMap<String, InputFile>> filesByLanguage = new HashMap<String, SortedMap<String, InputFile>>();
+    private final Map<InputFile.Type, SortedMap<String, InputFile>> filesByType = new EnumMap<InputFile.Type, SortedMap<String, InputFile>>(InputFile.Type.class);
+    private final Map<InputFile.Status, SortedMap<String, InputFile>> filesByStatus = new EnumMap<InputFile.Status, SortedMap<String, InputFile>>(
+      InputFile.Status.class);
+    private volatile int modCount = 0;
+
     @Override
     public abstract Iterable<InputFile> inputFiles();
 
@@ -242,8 +289,99 @@ public class DefaultFileSystem implements FileSystem {
 
     protected abstract void doAdd(InputDir inputDir);
 
-    final void add(InputFile inputFile) {
+    final synchronized void add(InputFile inputFile) {
+      unindex(inputFile.relativePath());
       doAdd(inputFile);
+      index(inputFile);
+      if (inputFile instanceof DefaultInputFile) {
+        ((DefaultInputFile) inputFile).setIndex(this);
+      }
+    }
+
+    /**
+     * Called when the language, type or status of a file changed after it was added
+     */
+    final synchronized void reindex(InputFile inputFile) {
+      IndexedFile indexed = indexedFiles.get(inputFile.relativePath());
+      if (indexed != null && indexed.file == inputFile) {
+        unindex(inputFile.relativePath());
+        index(inputFile);
+      }
+    }
+
+    /**
+     * Files are indexed only when they are added through {@link DefaultFileSystem#add(DefaultInputFile)}. Search
+     * must scan all the files when none was indexed, for example for files added directly to the underlying storage.
+     */
+    final boolean isIndexed() {
+      // indexes are null on mocks
+      return indexedFiles != null && !indexedFiles.isEmpty();
+    }
+
+    /**
+     * Incremented each time a file is indexed, so that results of searches can be cached
+     */
+    final int modCount() {
+      return modCount;
+    }
+
+    /**
+     * Files of the given language, sorted by relative path.
+     * @return null if files are not indexed
+     */
+    @CheckForNull
+    final Collection<InputFile> inputFilesByLanguage(String language) {
+      return isIndexed() ? indexed(filesByLanguage, language) : null;
+    }
+
+    @CheckForNull
+    final Collection<InputFile> inputFilesByType(InputFile.Type type) {
+      return isIndexed() ? indexed(filesByType, type) : null;
+    }
+
+    @CheckForNull
+    final Collection<InputFile> inputFilesByStatus(InputFile.Status status) {
+      return isIndexed() ? indexed(filesByStatus, status) : null;
+    }
+
+    private void index(InputFile inputFile) {
+      IndexedFile indexed = new IndexedFile(inputFile);
+      indexedFiles.put(inputFile.relativePath(), indexed);
+      index(filesByLanguage, indexed.language, inputFile);
+      index(filesByType, indexed.type, inputFile);
+      index(filesByStatus, indexed.status, inputFile);
+      modCount++;
+    }
+
+    private void unindex(String relativePath) {
+      IndexedFile indexed = indexedFiles.remove(relativePath);
+      if (indexed != null) {
+        unindex(filesByLanguage, indexed.language, relativePath);
+        unindex(filesByType, indexed.type, relativePath);
+        unindex(filesByStatus, indexed.status, relativePath);
+      }
+    }
+
+    private static <K> void index(Map<K, SortedMap<String, InputFile>> index, @Nullable K key, InputFile inputFile) {
+      if (key != null) {
+        SortedMap<String, InputFile> files = index.get(key);
+        if (files == null) {
+          files = new TreeMap<String, InputFile>();
+          index.put(key, files);
+        }
+        files.put(inputFile.relativePath(), inputFile);
+      }
+    }
+
+    private static <K> void unindex(Map<K, SortedMap<String, InputFile>> index, @Nullable K key, String relativePath) {
+      if (key != null && index.containsKey(key)) {
+        index.get(key).remove(relativePath);
+      }
+    }
+
+    private static <K> Collection<InputFile> indexed(Map<K, SortedMap<String, InputFile>> index, K key) {
+      SortedMap<String, InputFile> files = index.get(key);
+      return files != null ? Collections.unmodifiableCollection(files.values()) : Collections.<InputFile>emptyList();
     }
 
     public void add(InputDir inputDir) {
@@ -252,6 +390,23 @@ public class DefaultFileSystem implements FileSystem {
 
   }
 
+  /**
+   * Keys under which a file is indexed, as they may change after the file is added
+   */
+  private static class IndexedFile {
+    private final InputFile file;
+    private final String language;
+    private final InputFile.Type type;
+    private final InputFile.Status status;
+
+    IndexedFile(InputFile file) {
+      this.file = file;
+      this.language = file.language();
+      this.type = file.type();
+      this.status = file.status();
+    }
+  }
+
   /**
    * Used only for testing
    */
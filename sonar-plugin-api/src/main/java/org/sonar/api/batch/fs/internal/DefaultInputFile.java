@@ -43,6 +43,7 @@ public class DefaultInputFile implements InputFile {
   private int lines;
   private Charset charset;
   private int lastValidOffset;
+  private transient DefaultFileSystem.Cache index;
 
   public DefaultInputFile(String moduleKey, String relativePath) {
     this.moduleKey = moduleKey;
@@ -121,19 +122,35 @@ public class DefaultInputFile implements InputFile {
 
   public DefaultInputFile setLanguage(@Nullable String language) {
     this.language = language;
+    reindex();
     return this;
   }
 
   public DefaultInputFile setType(Type type) {
     this.type = type;
+    reindex();
     return this;
   }
 
   public DefaultInputFile setStatus(Status status) {
     this.status = status;
+    reindex();
     return this;
   }
 
+  /**
+   * Registers the file system index of the file, so that it is updated when language, type or status change
+   */
+  void setIndex(DefaultFileSystem.Cache index) {
+    this.index = index;
+  }
+
+  private void reindex() {
+    if (index != null) {
+      index.reindex(this);
+    }
+  }
+
   public DefaultInputFile setLines(int lines) {
     this.lines = lines;
     return this;
@@ -19,8 +19,11 @@
  */
 package org.sonar.api.batch.fs.internal;
 
+import org.sonar.api.batch.fs.FileSystem.Index;
 import org.sonar.api.batch.fs.InputFile;
 
+import java.util.Collection;
+
 /**
  * @since 4.2
  */
@@ -37,4 +40,36 @@ class StatusPredicate extends AbstractFilePredicate {
     return status == f.status();
   }
 
+  @Override
+  public Iterable<InputFile> get(Index index) {
+    if (index instanceof DefaultFileSystem.Cache) {
+      Collection<InputFile> indexed = ((DefaultFileSystem.Cache) index).inputFilesByStatus(status);
+      if (indexed != null) {
+        return indexed;
+      }
+    }
+    return super.get(index);
+  }
+
+  @Override
+  public int priority() {
+    return USE_SECONDARY_INDEX;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return status == ((StatusPredicate) o).status;
+  }
+
+  @Override
+  public int hashCode() {
+    return status.hashCode();
+  }
+
 }
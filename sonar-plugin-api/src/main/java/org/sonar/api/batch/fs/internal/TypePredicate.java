@@ -19,8 +19,11 @@
  */
 package org.sonar.api.batch.fs.internal;
 
+import org.sonar.api.batch.fs.FileSystem.Index;
 import org.sonar.api.batch.fs.InputFile;
 
+import java.util.Collection;
+
 /**
  * @since 4.2
  */
@@ -37,4 +40,36 @@ class TypePredicate extends AbstractFilePredicate {
     return type == f.type();
   }
 
+  @Override
+  public Iterable<InputFile> get(Index index) {
+    if (index instanceof DefaultFileSystem.Cache) {
+      Collection<InputFile> indexed = ((DefaultFileSystem.Cache) index).inputFilesByType(type);
+      if (indexed != null) {
+        return indexed;
+      }
+    }
+    return super.get(index);
+  }
+
+  @Override
+  public int priority() {
+    return USE_SECONDARY_INDEX;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return type == ((TypePredicate) o).type;
+  }
+
+  @Override
+  public int hashCode() {
+    return type.hashCode();
+  }
+
 }
@@ -24,9 +24,14 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
+import org.sonar.api.batch.fs.FilePredicates;
+import org.sonar.api.batch.fs.InputDir;
+import org.sonar.api.batch.fs.InputFile;
 
 import java.io.File;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -107,6 +112,106 @@ public class DefaultFileSystemTest {
     assertThat(fs.languages()).containsOnly("java", "php");
   }
 
+  @Test
+  public void files_by_language_type_and_status() throws Exception {
+    fs.add(new DefaultInputFile("foo", "src/Foo.java").setLanguage("java").setStatus(InputFile.Status.ADDED));
+    fs.add(new DefaultInputFile("foo", "src/Bar.java").setLanguage("java").setStatus(InputFile.Status.SAME));
+    fs.add(new DefaultInputFile("foo", "test/FooTest.java").setLanguage("java").setType(InputFile.Type.TEST).setStatus(InputFile.Status.ADDED));
+    fs.add(new DefaultInputFile("foo", "src/Foo.php").setLanguage("php").setStatus(InputFile.Status.ADDED));
+
+    FilePredicates p = fs.predicates();
+    assertThat(fs.inputFiles(p.hasType(InputFile.Type.TEST))).containsExactly(new DefaultInputFile("foo", "test/FooTest.java"));
+    assertThat(fs.inputFiles(p.hasStatus(InputFile.Status.ADDED))).hasSize(3);
+    assertThat(fs.inputFiles(p.and(p.hasLanguage("java"), p.hasType(InputFile.Type.MAIN))))
+      .containsExactly(new DefaultInputFile("foo", "src/Bar.java"), new DefaultInputFile("foo", "src/Foo.java"));
+    assertThat(fs.inputFiles(p.and(p.hasLanguage("java"), p.hasStatus(InputFile.Status.ADDED), p.hasType(InputFile.Type.MAIN))))
+      .containsExactly(new DefaultInputFile("foo", "src/Foo.java"));
+    assertThat(fs.inputFiles(p.and(p.hasLanguage("java"), p.hasRelativePath("src/Foo.php")))).isEmpty();
+
+    // replacing a file updates the indexes
+    fs.add(new DefaultInputFile("foo", "src/Foo.php").setLanguage("java").setStatus(InputFile.Status.SAME));
+    assertThat(fs.inputFiles(p.hasLanguage("php"))).isEmpty();
+    assertThat(fs.inputFiles(p.hasStatus(InputFile.Status.ADDED))).hasSize(2);
+  }
+
+  @Test
+  public void memoized_results_are_cleared_when_adding_files() throws Exception {
+    FilePredicates p = fs.predicates();
+    fs.add(new DefaultInputFile("foo", "src/Foo.java").setLanguage("java"));
+
+    Iterable<InputFile> files = fs.inputFiles(p.and(p.hasLanguage("java"), p.hasType(InputFile.Type.MAIN)));
+    assertThat(files).hasSize(1);
+    assertThat(fs.inputFiles(p.and(p.hasLanguage("java"), p.hasType(InputFile.Type.MAIN)))).isSameAs(files);
+
+    fs.add(new DefaultInputFile("foo", "src/Bar.java").setLanguage("java"));
+    assertThat(fs.inputFiles(p.and(p.hasLanguage("java"), p.hasType(InputFile.Type.MAIN)))).hasSize(2);
+  }
+
+  @Test
+  public void indexes_are_updated_when_changing_files() throws Exception {
+    FilePredicates p = fs.predicates();
+    DefaultInputFile file = new DefaultInputFile("foo", "src/Foo.java").setLanguage("java").setStatus(InputFile.Status.ADDED);
+    fs.add(file);
+    assertThat(fs.inputFiles(p.and(p.hasLanguage("java"), p.hasType(InputFile.Type.MAIN)))).hasSize(1);
+
+    file.setLanguage("php").setType(InputFile.Type.TEST).setStatus(InputFile.Status.SAME);
+
+    assertThat(fs.inputFiles(p.and(p.hasLanguage("java"), p.hasType(InputFile.Type.MAIN)))).isEmpty();
+    assertThat(fs.inputFiles(p.and(p.hasLanguage("php"), p.hasType(InputFile.Type.TEST)))).containsExactly(file);
+    assertThat(fs.inputFiles(p.hasStatus(InputFile.Status.ADDED))).isEmpty();
+    assertThat(fs.inputFiles(p.hasStatus(InputFile.Status.SAME))).containsExactly(file);
+  }
+
+  @Test
+  public void replaced_file_does_not_update_indexes() throws Exception {
+    FilePredicates p = fs.predicates();
+    DefaultInputFile replaced = new DefaultInputFile("foo", "src/Foo.java").setLanguage("java");
+    fs.add(replaced);
+    fs.add(new DefaultInputFile("foo", "src/Foo.java").setLanguage("java"));
+
+    replaced.setLanguage("php");
+
+    assertThat(fs.inputFiles(p.hasLanguage("java"))).hasSize(1);
+    assertThat(fs.inputFiles(p.hasLanguage("php"))).isEmpty();
+  }
+
+  @Test
+  public void files_are_scanned_if_not_indexed() throws Exception {
+    // files are stored without being added to file system
+    final List<InputFile> files = Arrays.<InputFile>asList(
+      new DefaultInputFile("foo", "src/Foo.java").setLanguage("java"),
+      new DefaultInputFile("foo", "test/FooTest.java").setLanguage("java").setType(InputFile.Type.TEST));
+    DefaultFileSystem.Cache cache = new DefaultFileSystem.Cache() {
+      @Override
+      public Iterable<InputFile> inputFiles() {
+        return files;
+      }
+
+      @Override
+      public InputFile inputFile(String relativePath) {
+        return null;
+      }
+
+      @Override
+      public InputDir inputDir(String relativePath) {
+        return null;
+      }
+
+      @Override
+      protected void doAdd(InputFile inputFile) {
+      }
+
+      @Override
+      protected void doAdd(InputDir inputDir) {
+      }
+    };
+    fs = new DefaultFileSystem(basedir, cache);
+    FilePredicates p = fs.predicates();
+
+    assertThat(fs.inputFiles(p.hasType(InputFile.Type.TEST))).containsExactly(new DefaultInputFile("foo", "test/FooTest.java"));
+    assertThat(fs.inputFiles(p.and(p.hasLanguage("java"), p.hasType(InputFile.Type.MAIN)))).containsExactly(new DefaultInputFile("foo", "src/Foo.java"));
+  }
+
   @Test
   public void input_file_returns_null_if_file_not_found() throws Exception {
     assertThat(fs.inputFile(fs.predicates().hasRelativePath("src/Bar.java"))).isNull();